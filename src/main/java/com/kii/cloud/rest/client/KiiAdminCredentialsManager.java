@@ -0,0 +1,367 @@
+package com.kii.cloud.rest.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.model.KiiAdminCredentials;
+import com.kii.cloud.rest.client.model.KiiCredentialsContainer;
+import com.kii.cloud.rest.client.model.KiiRefreshableCredentialsContainer;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.KiiOAuthResource;
+import com.kii.cloud.rest.client.util.ConcurrentUtils;
+import com.kii.cloud.rest.client.util.StringUtils;
+
+/**
+ * Issues and caches the admin access tokens per client ID.
+ * <p>
+ * The token is issued when the client is registered, and is issued again in the background
+ * {@link #getRefreshAhead()} before it expires, so the requests use the cached token without waiting for the issuance.
+ * The request that is rejected with 401 waits for the new token and is sent again once.
+ * The concurrent issuances for the same client are coalesced into a single request.
+ * The failed background issuance is tried again with the exponential backoff,
+ * except when it is rejected with 4xx, which is not fixed by trying again.
+ * Then the token is issued on demand by the next request, and the failure is thrown to its caller.
+ * <p>
+ * This class is thread safe.
+ */
+public class KiiAdminCredentialsManager {
+
+	public static final long DEFAULT_REFRESH_AHEAD = TimeUnit.MINUTES.toMillis(5);
+	public static final long DEFAULT_INITIAL_RETRY_DELAY = TimeUnit.SECONDS.toMillis(10);
+	public static final long DEFAULT_MAX_RETRY_DELAY = TimeUnit.MINUTES.toMillis(10);
+
+	private static final ScheduledExecutorService SCHEDULER = ConcurrentUtils.newDaemonScheduler("KiiAdminCredentialsManager");
+
+	/**
+	 * The cached admin token of the client, that is passed to {@link KiiAppResource} as the credentials.
+	 * The access token is replaced in place when it is issued again.
+	 */
+	public class AdminToken implements KiiRefreshableCredentialsContainer {
+		private final String clientID;
+		private final String clientSecret;
+		private volatile KiiAdminCredentials credentials;
+		private volatile long expiresAt = Long.MAX_VALUE;
+		private volatile boolean closed = false;
+		private volatile KiiRestException lastFailure;
+		private int consecutiveFailures = 0;
+		private CompletableFuture<KiiCredentialsContainer> issuing;
+		private ScheduledFuture<?> scheduled;
+
+		private AdminToken(String clientID, String clientSecret) {
+			this.clientID = clientID;
+			this.clientSecret = clientSecret;
+		}
+		public String getClientID() {
+			return this.clientID;
+		}
+		@Override
+		public String getID() {
+			KiiAdminCredentials credentials = this.credentials;
+			return credentials == null ? null : credentials.getID();
+		}
+		/**
+		 * This method never blocks.
+		 *
+		 * @return null if the token has not been issued yet.
+		 */
+		@Override
+		public String getAccessToken() {
+			KiiAdminCredentials credentials = this.credentials;
+			return credentials == null ? null : credentials.getAccessToken();
+		}
+		@Override
+		public String getRefreshToken() {
+			return null;
+		}
+		@Override
+		public boolean hasCredentials() {
+			return this.credentials != null;
+		}
+		@Override
+		public boolean isAdmin() {
+			return true;
+		}
+		/**
+		 * @return the time in milliseconds when the current access token expires, or Long.MAX_VALUE if it does not expire.
+		 */
+		public long getExpiresAt() {
+			return this.expiresAt;
+		}
+		/**
+		 * @return the failure of the last issuance, or null if the last issuance succeeded.
+		 */
+		public KiiRestException getLastFailure() {
+			return this.lastFailure;
+		}
+		/**
+		 * Issues the access token. If the issuance is in progress, its result is shared.
+		 *
+		 * @return the future that is completed with the issued credentials,
+		 *         or completed exceptionally with {@link KiiRestException}.
+		 */
+		public synchronized CompletableFuture<KiiCredentialsContainer> refresh() {
+			if (this.issuing != null) {
+				return this.issuing;
+			}
+			final CompletableFuture<KiiCredentialsContainer> result = new CompletableFuture<KiiCredentialsContainer>();
+			this.issuing = result;
+			final long issuedAt = System.currentTimeMillis();
+			oauth.getAdminAccessTokenAsync(this.clientID, this.clientSecret).whenComplete((issued, error) -> {
+				KiiRestException failure = error == null ? null : toRestException(error);
+				synchronized (this) {
+					this.issuing = null;
+					this.lastFailure = failure;
+					if (error == null) {
+						this.consecutiveFailures = 0;
+						this.credentials = issued;
+						this.expiresAt = issued.getExpiresAt(issuedAt);
+						// the short lived token is issued again at the half of its lifetime at the earliest
+						this.scheduleRefresh(this.expiresAt == Long.MAX_VALUE ? -1
+								: Math.max(this.expiresAt - refreshAhead, issuedAt + (this.expiresAt - issuedAt) / 2) - System.currentTimeMillis());
+					} else if (failure.getStatus() >= 400 && failure.getStatus() < 500) {
+						// the wrong client or secret is not fixed by trying again
+						this.consecutiveFailures = 0;
+						this.cancelRefresh();
+					} else {
+						this.scheduleRefresh(retryDelay(this.consecutiveFailures++));
+					}
+				}
+				if (error != null) {
+					failureCount.incrementAndGet();
+					result.completeExceptionally(failure);
+					return;
+				}
+				issuedCount.incrementAndGet();
+				result.complete(issued);
+			});
+			return result;
+		}
+		@Override
+		public CompletableFuture<KiiCredentialsContainer> refreshIfCurrent(String rejectedAccessToken) {
+			synchronized (this) {
+				KiiAdminCredentials current = this.credentials;
+				if (current != null && !current.getAccessToken().equals(rejectedAccessToken)) {
+					return CompletableFuture.completedFuture(current);
+				}
+				return this.refresh();
+			}
+		}
+		/**
+		 * Waits for the first issuance if the token has not been issued yet.
+		 */
+		private void await() throws KiiRestException {
+			if (this.credentials != null) {
+				return;
+			}
+			try {
+				this.refresh().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new KiiRestException("Interrupted while issuing the admin token.", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof KiiRestException) {
+					throw (KiiRestException)e.getCause();
+				}
+				throw new KiiRestException("Failed to issue the admin token.", e);
+			}
+		}
+		/**
+		 * Must be called with the lock.
+		 *
+		 * @param delay negative value cancels the scheduled refresh if the token does not expire.
+		 */
+		private void scheduleRefresh(long delay) {
+			this.cancelRefresh();
+			if (this.closed || this.expiresAt == Long.MAX_VALUE && delay < 0) {
+				return;
+			}
+			this.scheduled = SCHEDULER.schedule(() -> this.refresh(), Math.max(delay, 0), TimeUnit.MILLISECONDS);
+		}
+		/**
+		 * Must be called with the lock.
+		 */
+		private void cancelRefresh() {
+			if (this.scheduled != null) {
+				this.scheduled.cancel(false);
+				this.scheduled = null;
+			}
+		}
+		private synchronized void close() {
+			this.closed = true;
+			this.cancelRefresh();
+		}
+	}
+
+	private final KiiAppResource app;
+	private final KiiOAuthResource oauth;
+	private final ConcurrentMap<String, AdminToken> tokens = new ConcurrentHashMap<String, AdminToken>();
+	private volatile long refreshAhead = DEFAULT_REFRESH_AHEAD;
+	private volatile long initialRetryDelay = DEFAULT_INITIAL_RETRY_DELAY;
+	private volatile long maxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+	private final AtomicLong issuedCount = new AtomicLong();
+	private final AtomicLong failureCount = new AtomicLong();
+
+	/**
+	 * @param rest
+	 */
+	public KiiAdminCredentialsManager(KiiRest rest) {
+		this(rest.api());
+	}
+	/**
+	 * @param app the app to issue the tokens. The requests are sent with its context.
+	 */
+	public KiiAdminCredentialsManager(KiiAppResource app) {
+		if (app == null) {
+			throw new IllegalArgumentException("app is null");
+		}
+		this.app = new KiiAppResource(app.getAppID(), app.getAppKey(), app.getEndpoint(), null, app.getContext());
+		this.oauth = this.app.oauth();
+	}
+	public long getRefreshAhead() {
+		return this.refreshAhead;
+	}
+	/**
+	 * @param refreshAhead the token is issued again this time before the expiration.
+	 * @param unit
+	 * @return this instance
+	 */
+	public KiiAdminCredentialsManager setRefreshAhead(long refreshAhead, TimeUnit unit) {
+		if (refreshAhead < 0) {
+			throw new IllegalArgumentException("refreshAhead is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.refreshAhead = unit.toMillis(refreshAhead);
+		return this;
+	}
+	public long getInitialRetryDelay() {
+		return this.initialRetryDelay;
+	}
+	public long getMaxRetryDelay() {
+		return this.maxRetryDelay;
+	}
+	/**
+	 * @param initialRetryDelay the failed issuance is tried again after this delay. It is doubled on each consecutive failure.
+	 * @param maxRetryDelay the upper limit of the delay.
+	 * @param unit
+	 * @return this instance
+	 */
+	public KiiAdminCredentialsManager setRetryDelay(long initialRetryDelay, long maxRetryDelay, TimeUnit unit) {
+		if (initialRetryDelay < 0) {
+			throw new IllegalArgumentException("initialRetryDelay is negative");
+		}
+		if (maxRetryDelay < initialRetryDelay) {
+			throw new IllegalArgumentException("maxRetryDelay is less than initialRetryDelay");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.initialRetryDelay = unit.toMillis(initialRetryDelay);
+		this.maxRetryDelay = unit.toMillis(maxRetryDelay);
+		return this;
+	}
+	/**
+	 * Registers the client and starts issuing its token, so that the token is ready before the first request.
+	 * If the client is already registered, the secret is ignored.
+	 *
+	 * @param clientID
+	 * @param clientSecret
+	 * @return the future that is completed when the token is ready.
+	 */
+	public CompletableFuture<KiiCredentialsContainer> register(String clientID, String clientSecret) {
+		if (StringUtils.isEmpty(clientID)) {
+			throw new IllegalArgumentException("clientID is null or empty");
+		}
+		if (StringUtils.isEmpty(clientSecret)) {
+			throw new IllegalArgumentException("clientSecret is null or empty");
+		}
+		AdminToken token = this.tokens.computeIfAbsent(clientID, id -> new AdminToken(id, clientSecret));
+		if (token.hasCredentials()) {
+			return CompletableFuture.completedFuture(token);
+		}
+		return token.refresh();
+	}
+	/**
+	 * Stops refreshing the token of the client.
+	 *
+	 * @param clientID
+	 */
+	public void unregister(String clientID) {
+		AdminToken token = this.tokens.remove(clientID);
+		if (token != null) {
+			token.close();
+		}
+	}
+	/**
+	 * Stops refreshing all tokens.
+	 */
+	public void clear() {
+		for (String clientID : this.tokens.keySet()) {
+			this.unregister(clientID);
+		}
+	}
+	/**
+	 * Returns the cached token without the request. Waits for the first issuance only if the token is not ready yet.
+	 *
+	 * @param clientID the client that is registered by {@link #register(String, String)}.
+	 * @return
+	 * @throws KiiRestException if the first issuance fails.
+	 */
+	public AdminToken getCredentials(String clientID) throws KiiRestException {
+		AdminToken token = this.tokens.get(clientID);
+		if (token == null) {
+			throw new IllegalArgumentException("clientID is not registered");
+		}
+		token.await();
+		return token;
+	}
+	/**
+	 * @param clientID the client that is registered by {@link #register(String, String)}.
+	 * @return the app resource that accesses as the admin of the client.
+	 * @throws KiiRestException if the first issuance fails.
+	 */
+	public KiiAppResource api(String clientID) throws KiiRestException {
+		return new KiiAppResource(this.app.getAppID(), this.app.getAppKey(), this.app.getEndpoint(), this.getCredentials(clientID), this.app.getContext());
+	}
+	/**
+	 * @return the number of the issued tokens.
+	 */
+	public long getIssuedCount() {
+		return this.issuedCount.get();
+	}
+	/**
+	 * @return the number of the failed issuances.
+	 */
+	public long getFailureCount() {
+		return this.failureCount.get();
+	}
+	/**
+	 * @param failures the number of the consecutive failures before the last one.
+	 * @return
+	 */
+	private long retryDelay(int failures) {
+		long delay = this.initialRetryDelay;
+		for (int i = 0; i < failures && delay < this.maxRetryDelay; i++) {
+			delay *= 2;
+		}
+		return Math.min(delay, this.maxRetryDelay);
+	}
+	private static KiiRestException toRestException(Throwable error) {
+		if (error instanceof CompletionException && error.getCause() != null) {
+			error = error.getCause();
+		}
+		if (error instanceof KiiRestException) {
+			return (KiiRestException)error;
+		}
+		return new KiiRestException("Failed to issue the admin token.", error instanceof Exception ? (Exception)error : new Exception(error));
+	}
+}
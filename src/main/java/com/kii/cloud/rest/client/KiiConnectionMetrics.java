@@ -0,0 +1,163 @@
+package com.kii.cloud.rest.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.squareup.okhttp.Connection;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Response;
+
+/**
+ * Counts the requests that are sent on each connection, to see how well the connections are reused.
+ * <p>
+ * The connection that negotiated HTTP/2 or SPDY carries the concurrent requests as the multiplexed streams,
+ * and the HTTP/1.1 connection carries the requests one by one.
+ * The stream is counted as active until its response headers are received.
+ * The statistics are kept while the connection is alive, so they are not cumulative over the closed connections.
+ * <p>
+ * This class is thread safe.
+ *
+ * @see KiiHttpClientConfiguration#setConnectionMetrics(KiiConnectionMetrics)
+ */
+public class KiiConnectionMetrics implements Interceptor {
+
+	/**
+	 * The statistics of a connection.
+	 */
+	public static class ConnectionStats {
+		private final String host;
+		private final Protocol protocol;
+		private long requestCount = 0;
+		private int activeStreams = 0;
+		private int maxConcurrentStreams = 0;
+
+		private ConnectionStats(String host, Protocol protocol) {
+			this.host = host;
+			this.protocol = protocol;
+		}
+		private ConnectionStats(ConnectionStats stats) {
+			this.host = stats.host;
+			this.protocol = stats.protocol;
+			this.requestCount = stats.requestCount;
+			this.activeStreams = stats.activeStreams;
+			this.maxConcurrentStreams = stats.maxConcurrentStreams;
+		}
+		public String getHost() {
+			return this.host;
+		}
+		/**
+		 * @return the protocol that is negotiated for the connection.
+		 */
+		public Protocol getProtocol() {
+			return this.protocol;
+		}
+		public long getRequestCount() {
+			return this.requestCount;
+		}
+		public int getActiveStreams() {
+			return this.activeStreams;
+		}
+		public int getMaxConcurrentStreams() {
+			return this.maxConcurrentStreams;
+		}
+		@Override
+		public String toString() {
+			return String.format("%s(%s): requests=%d, active=%d, maxConcurrent=%d",
+					this.host, this.protocol, this.requestCount, this.activeStreams, this.maxConcurrentStreams);
+		}
+	}
+
+	private final Map<Connection, ConnectionStats> connections = new WeakHashMap<Connection, ConnectionStats>();
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Connection connection = chain.connection();
+		if (connection == null) {
+			return chain.proceed(chain.request());
+		}
+		ConnectionStats stats;
+		synchronized (this) {
+			stats = this.connections.get(connection);
+			if (stats == null) {
+				stats = new ConnectionStats(connection.getRoute().getAddress().getUriHost(), connection.getProtocol());
+				this.connections.put(connection, stats);
+			}
+			stats.requestCount++;
+			stats.activeStreams++;
+			stats.maxConcurrentStreams = Math.max(stats.maxConcurrentStreams, stats.activeStreams);
+		}
+		try {
+			return chain.proceed(chain.request());
+		} finally {
+			synchronized (this) {
+				stats.activeStreams--;
+			}
+		}
+	}
+	/**
+	 * @return the snapshot of the statistics of the connections that are still referenced by the connection pool.
+	 */
+	public synchronized List<ConnectionStats> getConnections() {
+		List<ConnectionStats> result = new ArrayList<ConnectionStats>();
+		for (ConnectionStats stats : this.connections.values()) {
+			result.add(new ConnectionStats(stats));
+		}
+		return result;
+	}
+	/**
+	 * The connections that are closed and collected are not counted.
+	 *
+	 * @return the number of the connections that have been used.
+	 */
+	public synchronized int getConnectionCount() {
+		return this.connections.size();
+	}
+	/**
+	 * @param protocol
+	 * @return the number of the connections that have negotiated the protocol.
+	 */
+	public synchronized int getConnectionCount(Protocol protocol) {
+		int count = 0;
+		for (ConnectionStats stats : this.connections.values()) {
+			if (stats.protocol == protocol) {
+				count++;
+			}
+		}
+		return count;
+	}
+	public synchronized long getRequestCount() {
+		long count = 0;
+		for (ConnectionStats stats : this.connections.values()) {
+			count += stats.requestCount;
+		}
+		return count;
+	}
+	/**
+	 * @return the average number of the requests per connection, or 0 if no request is sent.
+	 */
+	public synchronized double getStreamsPerConnection() {
+		if (this.connections.isEmpty()) {
+			return 0;
+		}
+		return (double)this.getRequestCount() / this.connections.size();
+	}
+	/**
+	 * @return the maximum number of the streams that are active on a connection at the same time.
+	 */
+	public synchronized int getMaxConcurrentStreams() {
+		int max = 0;
+		for (ConnectionStats stats : this.connections.values()) {
+			max = Math.max(max, stats.maxConcurrentStreams);
+		}
+		return max;
+	}
+	@Override
+	public String toString() {
+		return String.format("connections=%d, requests=%d, streamsPerConnection=%.2f, maxConcurrentStreams=%d",
+				this.getConnectionCount(), this.getRequestCount(), this.getStreamsPerConnection(), this.getMaxConcurrentStreams());
+	}
+}
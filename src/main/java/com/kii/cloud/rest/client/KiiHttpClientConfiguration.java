@@ -0,0 +1,277 @@
+package com.kii.cloud.rest.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLSocketFactory;
+
+import com.squareup.okhttp.ConnectionSpec;
+import com.squareup.okhttp.Protocol;
+
+/**
+ * Represents the settings of the http client that is used by a {@link KiiRest} instance.
+ * <p>
+ * Each {@link KiiRest} that is configured with this class owns its own connection pool and dispatcher,
+ * so the workloads of the instances do not affect each other.
+ * The instances that are configured with the same settings through {@link KiiRest#setSharedHttpClientConfiguration(KiiHttpClientConfiguration)}
+ * share the connection pool instead.
+ *
+ * @see KiiRest#setHttpClientConfiguration(KiiHttpClientConfiguration)
+ */
+public class KiiHttpClientConfiguration {
+	/**
+	 * The protocols that are offered to the server.
+	 */
+	public enum ProtocolMode {
+		/**
+		 * Offers HTTP/2 and SPDY, so the concurrent requests to the same host can share a connection as the streams.
+		 * This is the same list that the http client offers by default.
+		 * <p>
+		 * The protocol is negotiated by ALPN, that Java 8 supports only with the ALPN boot jar
+		 * that matches the JVM version on the boot classpath (-Xbootclasspath/p).
+		 * Without it, and when the server does not support the negotiation, the connection falls back to HTTP/1.1
+		 * and the requests are not multiplexed. {@link KiiConnectionMetrics} shows the negotiated protocols.
+		 */
+		MULTIPLEXED(Protocol.HTTP_2, Protocol.SPDY_3, Protocol.HTTP_1_1),
+		/**
+		 * Uses only HTTP/1.1. The connections are still kept alive and reused by the sequential requests.
+		 */
+		HTTP_1_1(Protocol.HTTP_1_1);
+		private final List<Protocol> protocols;
+		private ProtocolMode(Protocol... protocols) {
+			this.protocols = Collections.unmodifiableList(Arrays.asList(protocols));
+		}
+		public List<Protocol> getProtocols() {
+			return this.protocols;
+		}
+	}
+	public static final long DEFAULT_CONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+	public static final long DEFAULT_WRITE_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+	public static final long DEFAULT_READ_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+	public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+	public static final long DEFAULT_KEEP_ALIVE_DURATION = TimeUnit.MINUTES.toMillis(5);
+	public static final int DEFAULT_MAX_REQUESTS = 64;
+	public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+	public static final ProtocolMode DEFAULT_PROTOCOL_MODE = ProtocolMode.MULTIPLEXED;
+
+	private long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+	private long writeTimeout = DEFAULT_WRITE_TIMEOUT;
+	private long readTimeout = DEFAULT_READ_TIMEOUT;
+	private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+	private long keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+	private int maxRequests = DEFAULT_MAX_REQUESTS;
+	private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+	private SSLSocketFactory sslSocketFactory = null;
+	private HostnameVerifier hostnameVerifier = null;
+	private List<ConnectionSpec> connectionSpecs = null;
+	private ProtocolMode protocolMode = DEFAULT_PROTOCOL_MODE;
+	private KiiConnectionMetrics connectionMetrics = null;
+
+	public KiiHttpClientConfiguration() {
+	}
+	/**
+	 * Copies the settings. The socket factory, the hostname verifier and the metrics are shared with the specified configuration.
+	 *
+	 * @param configuration
+	 */
+	public KiiHttpClientConfiguration(KiiHttpClientConfiguration configuration) {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration is null");
+		}
+		this.connectTimeout = configuration.connectTimeout;
+		this.writeTimeout = configuration.writeTimeout;
+		this.readTimeout = configuration.readTimeout;
+		this.maxIdleConnections = configuration.maxIdleConnections;
+		this.keepAliveDuration = configuration.keepAliveDuration;
+		this.maxRequests = configuration.maxRequests;
+		this.maxRequestsPerHost = configuration.maxRequestsPerHost;
+		this.sslSocketFactory = configuration.sslSocketFactory;
+		this.hostnameVerifier = configuration.hostnameVerifier;
+		this.connectionSpecs = configuration.connectionSpecs == null ? null
+				: Collections.unmodifiableList(new ArrayList<ConnectionSpec>(configuration.connectionSpecs));
+		this.protocolMode = configuration.protocolMode;
+		this.connectionMetrics = configuration.connectionMetrics;
+	}
+
+	public long getConnectTimeout() {
+		return this.connectTimeout;
+	}
+	public KiiHttpClientConfiguration setConnectTimeout(long timeout, TimeUnit unit) {
+		this.connectTimeout = toMillis(timeout, unit);
+		return this;
+	}
+	public long getWriteTimeout() {
+		return this.writeTimeout;
+	}
+	public KiiHttpClientConfiguration setWriteTimeout(long timeout, TimeUnit unit) {
+		this.writeTimeout = toMillis(timeout, unit);
+		return this;
+	}
+	public long getReadTimeout() {
+		return this.readTimeout;
+	}
+	public KiiHttpClientConfiguration setReadTimeout(long timeout, TimeUnit unit) {
+		this.readTimeout = toMillis(timeout, unit);
+		return this;
+	}
+	public int getMaxIdleConnections() {
+		return this.maxIdleConnections;
+	}
+	/**
+	 * @param maxIdleConnections the number of idle connections that are kept in the connection pool.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setMaxIdleConnections(int maxIdleConnections) {
+		if (maxIdleConnections < 0) {
+			throw new IllegalArgumentException("maxIdleConnections is negative");
+		}
+		this.maxIdleConnections = maxIdleConnections;
+		return this;
+	}
+	public long getKeepAliveDuration() {
+		return this.keepAliveDuration;
+	}
+	/**
+	 * @param duration the time to keep an idle connection in the connection pool.
+	 * @param unit
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setKeepAliveDuration(long duration, TimeUnit unit) {
+		this.keepAliveDuration = toMillis(duration, unit);
+		return this;
+	}
+	public int getMaxRequests() {
+		return this.maxRequests;
+	}
+	/**
+	 * @param maxRequests the maximum number of asynchronous requests to execute concurrently.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setMaxRequests(int maxRequests) {
+		if (maxRequests < 1) {
+			throw new IllegalArgumentException("maxRequests must be positive");
+		}
+		this.maxRequests = maxRequests;
+		return this;
+	}
+	public int getMaxRequestsPerHost() {
+		return this.maxRequestsPerHost;
+	}
+	/**
+	 * @param maxRequestsPerHost the maximum number of asynchronous requests for each host to execute concurrently.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setMaxRequestsPerHost(int maxRequestsPerHost) {
+		if (maxRequestsPerHost < 1) {
+			throw new IllegalArgumentException("maxRequestsPerHost must be positive");
+		}
+		this.maxRequestsPerHost = maxRequestsPerHost;
+		return this;
+	}
+	public SSLSocketFactory getSslSocketFactory() {
+		return this.sslSocketFactory;
+	}
+	/**
+	 * @param sslSocketFactory Uses the default factory of the platform if specify null.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setSslSocketFactory(SSLSocketFactory sslSocketFactory) {
+		this.sslSocketFactory = sslSocketFactory;
+		return this;
+	}
+	public HostnameVerifier getHostnameVerifier() {
+		return this.hostnameVerifier;
+	}
+	/**
+	 * @param hostnameVerifier Uses the default verifier of OkHttp if specify null.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setHostnameVerifier(HostnameVerifier hostnameVerifier) {
+		this.hostnameVerifier = hostnameVerifier;
+		return this;
+	}
+	public List<ConnectionSpec> getConnectionSpecs() {
+		return this.connectionSpecs;
+	}
+	/**
+	 * @param connectionSpecs TLS versions and cipher suites. Uses the default specs of OkHttp if specify null.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setConnectionSpecs(List<ConnectionSpec> connectionSpecs) {
+		this.connectionSpecs = connectionSpecs;
+		return this;
+	}
+	public ProtocolMode getProtocolMode() {
+		return this.protocolMode;
+	}
+	/**
+	 * Raise {@link #setMaxRequestsPerHost(int)} as well with {@link ProtocolMode#MULTIPLEXED},
+	 * because a multiplexed connection can carry more concurrent requests than the default.
+	 * 
+	 * @param protocolMode
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setProtocolMode(ProtocolMode protocolMode) {
+		if (protocolMode == null) {
+			throw new IllegalArgumentException("protocolMode is null");
+		}
+		this.protocolMode = protocolMode;
+		return this;
+	}
+	public KiiConnectionMetrics getConnectionMetrics() {
+		return this.connectionMetrics;
+	}
+	/**
+	 * @param connectionMetrics records the requests per connection. The metrics are not recorded if specify null.
+	 * @return
+	 */
+	public KiiHttpClientConfiguration setConnectionMetrics(KiiConnectionMetrics connectionMetrics) {
+		this.connectionMetrics = connectionMetrics;
+		return this;
+	}
+	/**
+	 * The socket factory, the hostname verifier and the metrics are compared by their identity.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof KiiHttpClientConfiguration)) {
+			return false;
+		}
+		KiiHttpClientConfiguration other = (KiiHttpClientConfiguration)obj;
+		return this.connectTimeout == other.connectTimeout
+				&& this.writeTimeout == other.writeTimeout
+				&& this.readTimeout == other.readTimeout
+				&& this.maxIdleConnections == other.maxIdleConnections
+				&& this.keepAliveDuration == other.keepAliveDuration
+				&& this.maxRequests == other.maxRequests
+				&& this.maxRequestsPerHost == other.maxRequestsPerHost
+				&& this.sslSocketFactory == other.sslSocketFactory
+				&& this.hostnameVerifier == other.hostnameVerifier
+				&& Objects.equals(this.connectionSpecs, other.connectionSpecs)
+				&& this.protocolMode == other.protocolMode
+				&& this.connectionMetrics == other.connectionMetrics;
+	}
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.connectTimeout, this.writeTimeout, this.readTimeout, this.maxIdleConnections, this.keepAliveDuration,
+				this.maxRequests, this.maxRequestsPerHost, System.identityHashCode(this.sslSocketFactory), System.identityHashCode(this.hostnameVerifier),
+				this.connectionSpecs, this.protocolMode, System.identityHashCode(this.connectionMetrics));
+	}
+	private static long toMillis(long value, TimeUnit unit) {
+		if (value < 0) {
+			throw new IllegalArgumentException("value is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		return unit.toMillis(value);
+	}
+}
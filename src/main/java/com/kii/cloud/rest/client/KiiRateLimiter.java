@@ -0,0 +1,332 @@
+package com.kii.cloud.rest.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.kii.cloud.rest.client.util.ConcurrentUtils;
+
+/**
+ * Limits the rate and the number of the concurrent requests before they are dispatched.
+ * <p>
+ * Each request takes a token from the token bucket and a slot of the in-flight requests.
+ * The token bucket is refilled at the permitted rate up to the burst size,
+ * and the slot is returned when the response headers are received or the request fails.
+ * The requests that cannot be sent immediately wait in the FIFO queue,
+ * and are rejected with {@link RateLimitExceededException} when the queue is full or the maximum wait time passes.
+ * <p>
+ * The instance can be shared by the {@link KiiRest} instances that access the same app,
+ * so that their total traffic is limited.
+ * This class is thread safe.
+ *
+ * @see KiiRest#setRateLimiter(KiiRateLimiter)
+ * @see KiiRest#setRateLimiter(ApiFamily, KiiRateLimiter)
+ */
+public class KiiRateLimiter {
+
+	public static final double UNLIMITED_RATE = Double.POSITIVE_INFINITY;
+	public static final int UNLIMITED_IN_FLIGHT = Integer.MAX_VALUE;
+	public static final long DEFAULT_MAX_WAIT = TimeUnit.SECONDS.toMillis(30);
+	public static final int DEFAULT_MAX_QUEUED = 10000;
+
+	private static final ScheduledExecutorService SCHEDULER = ConcurrentUtils.newDaemonScheduler("KiiRateLimiter");
+
+	/**
+	 * The group of the APIs that is limited separately, decided by the package of the resource.
+	 */
+	public enum ApiFamily {
+		/** Users, groups, things, buckets and objects. */
+		STORAGE,
+		PUSH,
+		SERVERCODE,
+		ANALYTICS,
+		/** The others like OAuth and the app configuration. */
+		OTHER;
+		/**
+		 * @param resourceClass
+		 * @return the family of the resource class.
+		 */
+		public static ApiFamily of(Class<?> resourceClass) {
+			String name = resourceClass.getName();
+			if (name.startsWith("com.kii.cloud.rest.client.resource.storage.")) {
+				return STORAGE;
+			} else if (name.startsWith("com.kii.cloud.rest.client.resource.push.")) {
+				return PUSH;
+			} else if (name.startsWith("com.kii.cloud.rest.client.resource.servercode.")) {
+				return SERVERCODE;
+			} else if (name.startsWith("com.kii.cloud.rest.client.resource.analytics.")) {
+				return ANALYTICS;
+			}
+			return OTHER;
+		}
+	}
+	/**
+	 * Thrown when the request is not sent because the limit is exceeded.
+	 */
+	public static class RateLimitExceededException extends IOException {
+		private static final long serialVersionUID = 1L;
+		public RateLimitExceededException(String message) {
+			super(message);
+		}
+	}
+
+	private final double permitsPerSecond;
+	private final int burst;
+	private final int maxInFlight;
+	private volatile long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_WAIT);
+	private volatile int maxQueued = DEFAULT_MAX_QUEUED;
+
+	private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<CompletableFuture<Void>>();
+	private double tokens;
+	private long refilledAt = System.nanoTime();
+	private int inFlight = 0;
+	private boolean drainScheduled = false;
+
+	private final AtomicLong acquiredCount = new AtomicLong();
+	private final AtomicLong queuedCount = new AtomicLong();
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	/**
+	 * @param permitsPerSecond the rate that the token bucket is refilled. {@link #UNLIMITED_RATE} disables the rate limit.
+	 * @param burst the capacity of the token bucket. The bucket is full at first.
+	 * @param maxInFlight the maximum number of the concurrent requests. {@link #UNLIMITED_IN_FLIGHT} disables the limit.
+	 */
+	public KiiRateLimiter(double permitsPerSecond, int burst, int maxInFlight) {
+		if (!(permitsPerSecond > 0)) {
+			throw new IllegalArgumentException("permitsPerSecond must be positive");
+		}
+		if (burst < 1) {
+			throw new IllegalArgumentException("burst must be positive");
+		}
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be positive");
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+		this.maxInFlight = maxInFlight;
+		this.tokens = burst;
+	}
+	public double getPermitsPerSecond() {
+		return this.permitsPerSecond;
+	}
+	public int getBurst() {
+		return this.burst;
+	}
+	public int getMaxInFlight() {
+		return this.maxInFlight;
+	}
+	public long getMaxWait() {
+		return TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos);
+	}
+	/**
+	 * @param maxWait the request that waits longer than this in the queue is rejected.
+	 * @param unit
+	 * @return
+	 */
+	public KiiRateLimiter setMaxWait(long maxWait, TimeUnit unit) {
+		if (maxWait < 0) {
+			throw new IllegalArgumentException("maxWait is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.maxWaitNanos = unit.toNanos(maxWait);
+		return this;
+	}
+	public int getMaxQueued() {
+		return this.maxQueued;
+	}
+	/**
+	 * @param maxQueued the request is rejected immediately when this number of the requests are waiting.
+	 * @return
+	 */
+	public KiiRateLimiter setMaxQueued(int maxQueued) {
+		if (maxQueued < 0) {
+			throw new IllegalArgumentException("maxQueued is negative");
+		}
+		this.maxQueued = maxQueued;
+		return this;
+	}
+	/**
+	 * Waits for the permit. {@link #release()} must be called when the request is completed.
+	 *
+	 * @throws RateLimitExceededException if the queue is full or the maximum wait time passes.
+	 * @throws InterruptedIOException if interrupted while waiting.
+	 */
+	public void acquire() throws IOException {
+		CompletableFuture<Void> permit = this.acquireAsync();
+		try {
+			permit.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (!permit.cancel(false) && !permit.isCompletedExceptionally()) {
+				// granted at the same time
+				this.release();
+			}
+			throw new InterruptedIOException("Interrupted while waiting for the rate limit.");
+		} catch (ExecutionException e) {
+			throw (IOException)e.getCause();
+		}
+	}
+	/**
+	 * Requests the permit without blocking. {@link #release()} must be called when the request is completed.
+	 * Cancelling the returned future gives up waiting.
+	 *
+	 * @return the future that is completed when the permit is granted,
+	 *         or completed exceptionally with {@link RateLimitExceededException}.
+	 */
+	public CompletableFuture<Void> acquireAsync() {
+		CompletableFuture<Void> waiter = new CompletableFuture<Void>();
+		synchronized (this) {
+			if (this.waiters.isEmpty() && this.tryTake()) {
+				this.acquiredCount.incrementAndGet();
+				waiter.complete(null);
+				return waiter;
+			}
+			if (this.waiters.size() >= this.maxQueued) {
+				this.rejectedCount.incrementAndGet();
+				waiter.completeExceptionally(new RateLimitExceededException("Too many requests are waiting for the rate limit."));
+				return waiter;
+			}
+			this.waiters.add(waiter);
+			this.queuedCount.incrementAndGet();
+			this.scheduleDrain();
+		}
+		ScheduledFuture<?> timeout = SCHEDULER.schedule(() -> this.expire(waiter), this.maxWaitNanos, TimeUnit.NANOSECONDS);
+		waiter.whenComplete((result, error) -> timeout.cancel(false));
+		return waiter;
+	}
+	/**
+	 * Returns the slot of the in-flight request, and grants the permits to the waiting requests.
+	 */
+	public void release() {
+		synchronized (this) {
+			this.inFlight--;
+		}
+		this.drain();
+	}
+	/**
+	 * @return the number of the granted permits.
+	 */
+	public long getAcquiredCount() {
+		return this.acquiredCount.get();
+	}
+	/**
+	 * @return the number of the requests that had to wait in the queue.
+	 */
+	public long getQueuedCount() {
+		return this.queuedCount.get();
+	}
+	/**
+	 * @return the number of the requests that are rejected.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+	public synchronized int getInFlight() {
+		return this.inFlight;
+	}
+	/**
+	 * @return the number of the requests that are waiting now.
+	 */
+	public synchronized int getQueueLength() {
+		return this.waiters.size();
+	}
+	@Override
+	public String toString() {
+		return String.format("acquired=%d, queued=%d, rejected=%d, inFlight=%d, waiting=%d",
+				this.getAcquiredCount(), this.getQueuedCount(), this.getRejectedCount(), this.getInFlight(), this.getQueueLength());
+	}
+	/**
+	 * Grants the permits to the waiting requests in the order of the arrival.
+	 */
+	private void drain() {
+		List<CompletableFuture<Void>> granted = new ArrayList<CompletableFuture<Void>>();
+		synchronized (this) {
+			while (!this.waiters.isEmpty() && this.tryTake()) {
+				granted.add(this.waiters.poll());
+			}
+			if (!this.waiters.isEmpty()) {
+				this.scheduleDrain();
+			}
+		}
+		for (CompletableFuture<Void> waiter : granted) {
+			// counted before the waiter sees the permit
+			this.acquiredCount.incrementAndGet();
+			if (!waiter.complete(null)) {
+				// cancelled while waiting
+				this.acquiredCount.decrementAndGet();
+				this.refund();
+			}
+		}
+	}
+	private void refund() {
+		synchronized (this) {
+			this.inFlight--;
+			this.tokens = Math.min(this.tokens + 1, this.burst);
+		}
+		this.drain();
+	}
+	private void expire(CompletableFuture<Void> waiter) {
+		boolean removed = false;
+		synchronized (this) {
+			removed = this.waiters.remove(waiter);
+		}
+		if (removed && !waiter.isDone()) {
+			// counted before the waiter sees the rejection
+			this.rejectedCount.incrementAndGet();
+			waiter.completeExceptionally(new RateLimitExceededException("Timed out waiting for the rate limit."));
+		}
+	}
+	/**
+	 * Schedules {@link #drain()} when the next token is available. Must be called with the lock.
+	 * Nothing is scheduled when all slots are in use, because {@link #release()} drains the queue.
+	 */
+	private void scheduleDrain() {
+		if (this.drainScheduled || this.inFlight >= this.maxInFlight) {
+			return;
+		}
+		this.refill();
+		long delay = (long)Math.ceil((1 - this.tokens) * TimeUnit.SECONDS.toNanos(1) / this.permitsPerSecond);
+		this.drainScheduled = true;
+		SCHEDULER.schedule(() -> {
+			synchronized (this) {
+				this.drainScheduled = false;
+			}
+			this.drain();
+		}, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+	}
+	/**
+	 * Must be called with the lock.
+	 */
+	private boolean tryTake() {
+		if (this.inFlight >= this.maxInFlight) {
+			return false;
+		}
+		this.refill();
+		if (this.tokens < 1) {
+			return false;
+		}
+		this.tokens -= 1;
+		this.inFlight++;
+		return true;
+	}
+	private void refill() {
+		long now = System.nanoTime();
+		if (this.permitsPerSecond == UNLIMITED_RATE) {
+			this.tokens = this.burst;
+		} else {
+			this.tokens = Math.min(this.burst, this.tokens + (now - this.refilledAt) * this.permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+		}
+		this.refilledAt = now;
+	}
+}
@@ -0,0 +1,217 @@
+package com.kii.cloud.rest.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.kii.cloud.rest.client.model.KiiCredentialsContainer;
+import com.kii.cloud.rest.client.model.KiiRefreshableCredentialsContainer;
+import com.kii.cloud.rest.client.model.KiiUserCredentials;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.KiiOAuthResource;
+import com.kii.cloud.rest.client.util.StringUtils;
+
+/**
+ * The credentials that refresh the access token with the refresh token.
+ * <p>
+ * The expiration is computed from expires_in of the credentials.
+ * When the access token is used within {@link #getRefreshAhead()} before the expiration,
+ * the refresh is started in the background and the current access token is still returned.
+ * The request that is rejected with 401 waits for the refresh, and is sent again once with the new access token.
+ * The concurrent refreshes are coalesced into a single request,
+ * so the expiration does not cause the burst of the refresh requests from the worker threads.
+ * <p>
+ * This class is thread safe.
+ *
+ * @see KiiRest#setCredentials(KiiCredentialsContainer)
+ */
+public class KiiRefreshingCredentials implements KiiRefreshableCredentialsContainer {
+
+	public static final long DEFAULT_REFRESH_AHEAD = TimeUnit.MINUTES.toMillis(5);
+	/** The proactive refresh is not tried again for this time after it fails. */
+	private static final long REFRESH_FAILURE_BACKOFF = TimeUnit.SECONDS.toMillis(10);
+
+	/**
+	 * Receives the refreshed credentials, for example to persist them.
+	 */
+	public interface RefreshListener {
+		void onRefreshed(KiiCredentialsContainer credentials);
+	}
+
+	private final KiiOAuthResource oauth;
+	private volatile KiiCredentialsContainer credentials;
+	private volatile long expiresAt;
+	private volatile long refreshAhead = DEFAULT_REFRESH_AHEAD;
+	private volatile long refreshFailedAt = 0;
+	private volatile RefreshListener listener;
+	private CompletableFuture<KiiCredentialsContainer> refreshing;
+
+	private final AtomicLong refreshCount = new AtomicLong();
+	private final AtomicLong refreshFailureCount = new AtomicLong();
+
+	/**
+	 * @param rest
+	 * @param credentials the credentials that have the refresh token, which are assumed to be issued now.
+	 */
+	public KiiRefreshingCredentials(KiiRest rest, KiiCredentialsContainer credentials) {
+		this(rest.api(), credentials);
+	}
+	/**
+	 * @param app the app that issued the credentials. The refresh requests are sent with its context.
+	 * @param credentials the credentials that have the refresh token, which are assumed to be issued now.
+	 */
+	public KiiRefreshingCredentials(KiiAppResource app, KiiCredentialsContainer credentials) {
+		if (app == null) {
+			throw new IllegalArgumentException("app is null");
+		}
+		if (credentials == null) {
+			throw new IllegalArgumentException("credentials is null");
+		}
+		if (!credentials.hasCredentials()) {
+			throw new IllegalArgumentException("credentials does not have an access token");
+		}
+		if (StringUtils.isEmpty(credentials.getRefreshToken())) {
+			throw new IllegalArgumentException("credentials does not have a refresh token");
+		}
+		// the refresh request is sent without the access token that may be expired
+		this.oauth = new KiiAppResource(app.getAppID(), app.getAppKey(), app.getEndpoint(), null, app.getContext()).oauth();
+		this.credentials = credentials;
+		this.expiresAt = expiresAt(credentials, System.currentTimeMillis());
+	}
+	@Override
+	public String getID() {
+		return this.credentials.getID();
+	}
+	/**
+	 * Starts the refresh in the background if the access token expires soon.
+	 * This method never blocks.
+	 */
+	@Override
+	public String getAccessToken() {
+		KiiCredentialsContainer credentials = this.credentials;
+		long now = System.currentTimeMillis();
+		if (now >= this.expiresAt - this.refreshAhead && now >= this.refreshFailedAt + REFRESH_FAILURE_BACKOFF) {
+			this.refresh();
+		}
+		return credentials.getAccessToken();
+	}
+	@Override
+	public String getRefreshToken() {
+		return this.credentials.getRefreshToken();
+	}
+	@Override
+	public boolean hasCredentials() {
+		return true;
+	}
+	@Override
+	public boolean isAdmin() {
+		return this.credentials.isAdmin();
+	}
+	/**
+	 * @return the current credentials.
+	 */
+	public KiiCredentialsContainer getCredentials() {
+		return this.credentials;
+	}
+	/**
+	 * @return the time in milliseconds when the current access token expires, or Long.MAX_VALUE if it does not expire.
+	 */
+	public long getExpiresAt() {
+		return this.expiresAt;
+	}
+	public long getRefreshAhead() {
+		return this.refreshAhead;
+	}
+	/**
+	 * @param refreshAhead the access token is refreshed when it is used within this time before the expiration.
+	 * @param unit
+	 * @return this instance
+	 */
+	public KiiRefreshingCredentials setRefreshAhead(long refreshAhead, TimeUnit unit) {
+		if (refreshAhead < 0) {
+			throw new IllegalArgumentException("refreshAhead is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.refreshAhead = unit.toMillis(refreshAhead);
+		return this;
+	}
+	/**
+	 * @param listener null removes the listener.
+	 * @return this instance
+	 */
+	public KiiRefreshingCredentials setRefreshListener(RefreshListener listener) {
+		this.listener = listener;
+		return this;
+	}
+	/**
+	 * @return the number of the successful refreshes.
+	 */
+	public long getRefreshCount() {
+		return this.refreshCount.get();
+	}
+	/**
+	 * @return the number of the failed refreshes.
+	 */
+	public long getRefreshFailureCount() {
+		return this.refreshFailureCount.get();
+	}
+	/**
+	 * Refreshes the access token. If the refresh is in progress, its result is shared.
+	 *
+	 * @return the future that is completed with the refreshed credentials,
+	 *         or completed exceptionally with {@link com.kii.cloud.rest.client.exception.KiiRestException}.
+	 */
+	public synchronized CompletableFuture<KiiCredentialsContainer> refresh() {
+		if (this.refreshing != null) {
+			return this.refreshing;
+		}
+		final CompletableFuture<KiiCredentialsContainer> result = new CompletableFuture<KiiCredentialsContainer>();
+		this.refreshing = result;
+		final KiiCredentialsContainer current = this.credentials;
+		final long issuedAt = System.currentTimeMillis();
+		this.oauth.refreshAccessTokenAsync(current).whenComplete((refreshed, error) -> {
+			synchronized (this) {
+				this.refreshing = null;
+				if (error == null) {
+					if (StringUtils.isEmpty(refreshed.getRefreshToken()) && refreshed instanceof KiiUserCredentials) {
+						KiiUserCredentials.PROPERTY_REFRESH_TOKEN.set(((KiiUserCredentials)refreshed).getJsonObject(), current.getRefreshToken());
+					}
+					this.credentials = refreshed;
+					this.expiresAt = expiresAt(refreshed, issuedAt);
+				} else {
+					this.refreshFailedAt = System.currentTimeMillis();
+				}
+			}
+			if (error != null) {
+				this.refreshFailureCount.incrementAndGet();
+				result.completeExceptionally(error);
+				return;
+			}
+			this.refreshCount.incrementAndGet();
+			RefreshListener listener = this.listener;
+			if (listener != null) {
+				listener.onRefreshed(refreshed);
+			}
+			result.complete(refreshed);
+		});
+		return result;
+	}
+	@Override
+	public CompletableFuture<KiiCredentialsContainer> refreshIfCurrent(String rejectedAccessToken) {
+		synchronized (this) {
+			KiiCredentialsContainer current = this.credentials;
+			if (!current.getAccessToken().equals(rejectedAccessToken)) {
+				return CompletableFuture.completedFuture(current);
+			}
+			return this.refresh();
+		}
+	}
+	private static long expiresAt(KiiCredentialsContainer credentials, long issuedAt) {
+		if (!(credentials instanceof KiiUserCredentials)) {
+			return Long.MAX_VALUE;
+		}
+		return ((KiiUserCredentials)credentials).getExpiresAt(issuedAt);
+	}
+}
@@ -0,0 +1,236 @@
+package com.kii.cloud.rest.client;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache of the JSON responses of the GET requests, keyed by the URL and the credentials.
+ * <p>
+ * The entry that is validated within the TTL is returned without the request.
+ * The older entry is revalidated with If-None-Match, and is returned again when the server responds 304.
+ * The least recently used URL is evicted when the number of the entries exceeds the maximum.
+ * <p>
+ * The entries of the URL, its ancestors and its descendants are invalidated
+ * when the same client sends POST, PUT or DELETE to the URL, except the POST that only reads like the query.
+ * The changes made by other clients, or through the other URL of the same entity
+ * (like the user that is specified by the login name), are detected only by the revalidation.
+ * <p>
+ * This class is thread safe.
+ */
+public class KiiResponseCache {
+
+	/**
+	 * Cached response of the GET request.
+	 */
+	public static class Entry {
+		private final String etag;
+		private final String body;
+		private volatile long validatedAt;
+		private Entry(String etag, String body, long validatedAt) {
+			this.etag = etag;
+			this.body = body;
+			this.validatedAt = validatedAt;
+		}
+		public String getETag() {
+			return this.etag;
+		}
+		/**
+		 * @return the response body. The caller parses it, so the cached entry is never modified.
+		 */
+		public String getBody() {
+			return this.body;
+		}
+	}
+
+	private final int maxEntries;
+	private final long ttlNanos;
+	// URL -> credentials scope -> entry, ordered by the access.
+	private final LinkedHashMap<String, Map<String, Entry>> entries = new LinkedHashMap<String, Map<String, Entry>>(16, 0.75f, true);
+	private int size = 0;
+	// incremented on each invalidation, so the response of the read that overlaps with a write to the related URL is not stored.
+	private long generation = 0;
+	// the invalidated URL -> the generation of its last invalidation.
+	private final TreeMap<String, Long> invalidations = new TreeMap<String, Long>();
+	// the reads that started before this generation are not stored, because their invalidations are forgotten.
+	private long forgottenGeneration = 0;
+
+	/**
+	 * @param maxEntries
+	 * @param ttl the entries are returned without the request during this period after they are validated.
+	 *        0 revalidates the entries on every read.
+	 * @param unit
+	 */
+	public KiiResponseCache(int maxEntries, long ttl, TimeUnit unit) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("maxEntries must be positive");
+		}
+		if (ttl < 0) {
+			throw new IllegalArgumentException("ttl is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.maxEntries = maxEntries;
+		this.ttlNanos = unit.toNanos(ttl);
+	}
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+	/**
+	 * @param url
+	 * @param scope the Authorization header or null for the anonymous request.
+	 * @return null if not cached.
+	 */
+	public synchronized Entry get(String url, String scope) {
+		Map<String, Entry> scopes = this.entries.get(url);
+		if (scopes == null) {
+			return null;
+		}
+		return scopes.get(scopeOf(scope));
+	}
+	/**
+	 * @param entry
+	 * @return true if the entry can be returned without the revalidation.
+	 */
+	public boolean isFresh(Entry entry) {
+		return System.nanoTime() - entry.validatedAt < this.ttlNanos;
+	}
+	/**
+	 * @return the value that is passed to {@link #put(String, String, String, String, long)}.
+	 *         Call this before sending the request.
+	 */
+	public synchronized long getGeneration() {
+		return this.generation;
+	}
+	/**
+	 * Stores the response that has ETag.
+	 * The response is ignored if the URL, its ancestors or its descendants are invalidated after the request was sent.
+	 *
+	 * @param url
+	 * @param scope the Authorization header or null for the anonymous request.
+	 * @param etag
+	 * @param body
+	 * @param generation the value of {@link #getGeneration()} before the request was sent.
+	 */
+	public synchronized void put(String url, String scope, String etag, String body, long generation) {
+		if (url == null) {
+			throw new IllegalArgumentException("url is null");
+		}
+		if (etag == null) {
+			throw new IllegalArgumentException("etag is null");
+		}
+		if (body == null) {
+			throw new IllegalArgumentException("body is null");
+		}
+		if (generation < this.forgottenGeneration || this.isInvalidatedSince(url, generation)) {
+			return;
+		}
+		Map<String, Entry> scopes = this.entries.get(url);
+		if (scopes == null) {
+			scopes = new HashMap<String, Entry>();
+			this.entries.put(url, scopes);
+		}
+		if (scopes.put(scopeOf(scope), new Entry(etag, body, System.nanoTime())) == null) {
+			this.size++;
+		}
+		Iterator<Map<String, Entry>> eldest = this.entries.values().iterator();
+		while (this.size > this.maxEntries && eldest.hasNext()) {
+			this.size -= eldest.next().size();
+			eldest.remove();
+		}
+	}
+	/**
+	 * Marks the entry as validated again, when the server responds 304.
+	 *
+	 * @param entry
+	 */
+	public void revalidated(Entry entry) {
+		entry.validatedAt = System.nanoTime();
+	}
+	/**
+	 * Removes the entries of the URL, its ancestors and its descendants for all credentials.
+	 * For example, the change of https://host/api/apps/APP/users/USER/password invalidates
+	 * https://host/api/apps/APP/users/USER, and the deletion of https://host/api/apps/APP/users/USER
+	 * invalidates https://host/api/apps/APP/users/USER/groups.
+	 *
+	 * @param url
+	 */
+	public synchronized void invalidate(String url) {
+		if (url == null) {
+			return;
+		}
+		this.generation++;
+		this.invalidations.put(url, this.generation);
+		if (this.invalidations.size() > this.maxEntries * 2) {
+			this.forgetInvalidations();
+		}
+		int end = url.length();
+		while (end > 0) {
+			Map<String, Entry> scopes = this.entries.remove(url.substring(0, end));
+			if (scopes != null) {
+				this.size -= scopes.size();
+			}
+			end = url.lastIndexOf('/', end - 1);
+		}
+		Iterator<Map.Entry<String, Map<String, Entry>>> iterator = this.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Map<String, Entry>> entry = iterator.next();
+			if (isDescendant(entry.getKey(), url)) {
+				this.size -= entry.getValue().size();
+				iterator.remove();
+			}
+		}
+	}
+	public synchronized void clear() {
+		this.generation++;
+		this.forgottenGeneration = this.generation;
+		this.invalidations.clear();
+		this.entries.clear();
+		this.size = 0;
+	}
+	public synchronized int size() {
+		return this.size;
+	}
+	/**
+	 * @return true if the URL itself, its ancestor or its descendant is invalidated after the generation.
+	 */
+	private boolean isInvalidatedSince(String url, long generation) {
+		int end = url.length();
+		while (end > 0) {
+			Long invalidated = this.invalidations.get(url.substring(0, end));
+			if (invalidated != null && invalidated > generation) {
+				return true;
+			}
+			end = url.lastIndexOf('/', end - 1);
+		}
+		// the descendants start with "url/", and '0' is the next character of '/'
+		for (long invalidated : this.invalidations.subMap(url + "/", url + "0").values()) {
+			if (invalidated > generation) {
+				return true;
+			}
+		}
+		return false;
+	}
+	/**
+	 * Drops the older half of the invalidations, so they do not grow with the number of the written URLs.
+	 */
+	private void forgetInvalidations() {
+		this.forgottenGeneration = this.generation - this.maxEntries;
+		Iterator<Long> iterator = this.invalidations.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next() <= this.forgottenGeneration) {
+				iterator.remove();
+			}
+		}
+	}
+	private static boolean isDescendant(String url, String ancestor) {
+		return url.length() > ancestor.length() && url.startsWith(ancestor) && url.charAt(ancestor.length()) == '/';
+	}
+	private static String scopeOf(String scope) {
+		return scope == null ? "" : scope;
+	}
+}
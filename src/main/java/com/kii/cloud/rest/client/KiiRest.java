@@ -1,8 +1,12 @@
 package com.kii.cloud.rest.client;
 
+import java.util.concurrent.TimeUnit;
+
+import com.kii.cloud.rest.client.logger.KiiRequestLogger;
 import com.kii.cloud.rest.client.model.KiiCredentialsContainer;
 import com.kii.cloud.rest.client.resource.KiiAppResource;
 import com.kii.cloud.rest.client.resource.servercode.KiiDevlogResource;
+import com.squareup.okhttp.OkHttpClient;
 
 public class KiiRest {
 	
@@ -24,6 +28,7 @@ public class KiiRest {
 	private final String endpoint;
 	private final String devlogEndpoint;
 	private KiiCredentialsContainer credentials;
+	private final KiiRestContext context = new KiiRestContext();
 	
 	public KiiRest(String appID, String appKey, Site site) {
 		this(appID, appKey, site.endpoint, site.devlogEndpoint);
@@ -38,13 +43,164 @@ public class KiiRest {
 		this.devlogEndpoint = devlogEndpoint;
 	}
 	public KiiAppResource api() {
-		return new KiiAppResource(this.appID, this.appKey, this.endpoint, this.credentials);
+		return new KiiAppResource(this.appID, this.appKey, this.endpoint, this.credentials, this.context);
 	}
 	public KiiDevlogResource logs() {
-		return new KiiDevlogResource(this.appID, this.appKey, this.devlogEndpoint, this.credentials);
+		return new KiiDevlogResource(this.appID, this.appKey, this.devlogEndpoint, this.credentials, this.context.getHttpClient());
+	}
+	/**
+	 * Creates the dedicated http client for this instance.
+	 * Without calling this method, the http client is shared with other instances.
+	 * 
+	 * @param configuration
+	 * @return this instance
+	 */
+	public KiiRest setHttpClientConfiguration(KiiHttpClientConfiguration configuration) {
+		return this.setHttpClient(OkHttpClientFactory.newInstance(configuration));
+	}
+	/**
+	 * Uses the http client that is shared by the instances that are configured with the same settings.
+	 * Their requests to the same host are coalesced into the same connections.
+	 * 
+	 * @param configuration
+	 * @return this instance
+	 */
+	public KiiRest setSharedHttpClientConfiguration(KiiHttpClientConfiguration configuration) {
+		return this.setHttpClient(OkHttpClientFactory.getSharedInstance(configuration));
+	}
+	/**
+	 * @param httpClient the http client that is used by all resources of this instance.
+	 * @return this instance
+	 */
+	public KiiRest setHttpClient(OkHttpClient httpClient) {
+		this.context.setHttpClient(httpClient);
+		return this;
+	}
+	public OkHttpClient getHttpClient() {
+		return this.context.getHttpClient();
+	}
+	/**
+	 * Requests are not logged by default.
+	 * 
+	 * @param requestLogger
+	 * @return this instance
+	 * @see com.kii.cloud.rest.client.logger.KiiConsoleRequestLogger
+	 */
+	public KiiRest setRequestLogger(KiiRequestLogger requestLogger) {
+		this.context.setRequestLogger(requestLogger);
+		return this;
+	}
+	public KiiRequestLogger getRequestLogger() {
+		return this.context.getRequestLogger();
+	}
+	/**
+	 * Enables the gzip compression of the JSON request bodies that are larger than or equal to the threshold.
+	 * The compressed responses are always accepted and decompressed while they are read.
+	 * 
+	 * @param threshold the size in bytes.
+	 * @return this instance
+	 */
+	public KiiRest enableRequestCompression(int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("threshold is negative");
+		}
+		this.context.setRequestCompressionThreshold(threshold);
+		return this;
+	}
+	/**
+	 * The request bodies are not compressed by default.
+	 * 
+	 * @return this instance
+	 */
+	public KiiRest disableRequestCompression() {
+		this.context.setRequestCompressionThreshold(KiiRestContext.REQUEST_COMPRESSION_DISABLED);
+		return this;
+	}
+	/**
+	 * Enables the cache of the object, user, group and thing that are read by get().
+	 * The cached entries are revalidated with If-None-Match after the TTL,
+	 * and are invalidated when they are updated or deleted through this instance.
+	 * 
+	 * @param maxEntries
+	 * @param ttl 0 revalidates the entries on every read.
+	 * @param unit
+	 * @return this instance
+	 */
+	public KiiRest enableResponseCache(int maxEntries, long ttl, TimeUnit unit) {
+		this.context.setResponseCache(new KiiResponseCache(maxEntries, ttl, unit));
+		return this;
+	}
+	/**
+	 * The responses are not cached by default.
+	 * 
+	 * @return this instance
+	 */
+	public KiiRest disableResponseCache() {
+		this.context.setResponseCache(null);
+		return this;
+	}
+	/**
+	 * @return null if the response cache is disabled.
+	 */
+	public KiiResponseCache getResponseCache() {
+		return this.context.getResponseCache();
+	}
+	/**
+	 * Retries the transient failures of the idempotent requests, and rejects the requests to the failing host.
+	 * The requests are not retried by default.
+	 * 
+	 * @param retryStrategy null disables the retries.
+	 * @return this instance
+	 */
+	public KiiRest setRetryStrategy(KiiRetryStrategy retryStrategy) {
+		this.context.setRetryStrategy(retryStrategy);
+		return this;
+	}
+	/**
+	 * @return null if the requests are not retried.
+	 */
+	public KiiRetryStrategy getRetryStrategy() {
+		return this.context.getRetryStrategy();
+	}
+	/**
+	 * Limits the requests of all API families that have no rate limiter.
+	 * Share the same rate limiter among the instances that access the same app to limit their total traffic.
+	 * The requests are not limited by default.
+	 * 
+	 * @param rateLimiter null disables the default rate limiter.
+	 * @return this instance
+	 */
+	public KiiRest setRateLimiter(KiiRateLimiter rateLimiter) {
+		this.context.setRateLimiter(rateLimiter);
+		return this;
+	}
+	/**
+	 * Limits the requests of the API family, like {@link KiiRateLimiter.ApiFamily#PUSH}, separately from the others.
+	 * 
+	 * @param family
+	 * @param rateLimiter null removes the rate limiter of the family, so the default rate limiter is used.
+	 * @return this instance
+	 */
+	public KiiRest setRateLimiter(KiiRateLimiter.ApiFamily family, KiiRateLimiter rateLimiter) {
+		this.context.setRateLimiter(family, rateLimiter);
+		return this;
+	}
+	/**
+	 * @param family
+	 * @return null if the requests of the family are not limited.
+	 */
+	public KiiRateLimiter getRateLimiter(KiiRateLimiter.ApiFamily family) {
+		return this.context.getRateLimiter(family);
+	}
+	/**
+	 * @return the context that is shared by all resources created from this instance.
+	 */
+	public KiiRestContext getContext() {
+		return this.context;
 	}
 	/**
 	 * @param credentials Try anonymous access if specify null.
+	 *                    Specify {@link KiiRefreshingCredentials} to refresh the access token automatically.
 	 */
 	public void setCredentials(KiiCredentialsContainer credentials) {
 		if (credentials != null && !credentials.hasCredentials()) {
@@ -0,0 +1,138 @@
+package com.kii.cloud.rest.client;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.kii.cloud.rest.client.logger.KiiConsoleRequestLogger;
+import com.kii.cloud.rest.client.logger.KiiRequestLogger;
+import com.squareup.okhttp.OkHttpClient;
+
+/**
+ * Holds the objects that are shared by all resources created from the same {@link KiiRest} instance.
+ * <p>
+ * The resources refer this context on every request,
+ * so the changes made through {@link KiiRest} are applied to the resources that already exist.
+ */
+public class KiiRestContext {
+	public static final int REQUEST_COMPRESSION_DISABLED = -1;
+
+	private volatile OkHttpClient httpClient = OkHttpClientFactory.getDefaultInstance();
+	private volatile OkHttpClient nonRetryingHttpClient = OkHttpClientFactory.getDefaultNonRetryingInstance();
+	private volatile KiiRequestLogger requestLogger = new KiiConsoleRequestLogger(KiiRequestLogger.Level.OFF);
+	private volatile int requestCompressionThreshold = REQUEST_COMPRESSION_DISABLED;
+	private volatile KiiResponseCache responseCache = null;
+	private volatile KiiRetryStrategy retryStrategy = null;
+	private volatile KiiRateLimiter rateLimiter = null;
+	private volatile Map<KiiRateLimiter.ApiFamily, KiiRateLimiter> familyRateLimiters = Collections.emptyMap();
+
+	public OkHttpClient getHttpClient() {
+		return this.httpClient;
+	}
+	/**
+	 * @return the variant of {@link #getHttpClient()} that does not retry on connection failure.
+	 */
+	public OkHttpClient getNonRetryingHttpClient() {
+		return this.nonRetryingHttpClient;
+	}
+	public KiiRestContext setHttpClient(OkHttpClient httpClient) {
+		if (httpClient == null) {
+			throw new IllegalArgumentException("httpClient is null");
+		}
+		this.httpClient = httpClient;
+		this.nonRetryingHttpClient = OkHttpClientFactory.newNonRetryingInstance(httpClient);
+		return this;
+	}
+	public KiiRequestLogger getRequestLogger() {
+		return this.requestLogger;
+	}
+	public KiiRestContext setRequestLogger(KiiRequestLogger requestLogger) {
+		if (requestLogger == null) {
+			throw new IllegalArgumentException("requestLogger is null");
+		}
+		this.requestLogger = requestLogger;
+		return this;
+	}
+	public int getRequestCompressionThreshold() {
+		return this.requestCompressionThreshold;
+	}
+	/**
+	 * @param threshold the JSON request bodies that are larger than or equal to this size in bytes are compressed by gzip.
+	 *        {@link #REQUEST_COMPRESSION_DISABLED} disables the compression.
+	 * @return
+	 */
+	public KiiRestContext setRequestCompressionThreshold(int threshold) {
+		if (threshold < 0 && threshold != REQUEST_COMPRESSION_DISABLED) {
+			throw new IllegalArgumentException("threshold is negative");
+		}
+		this.requestCompressionThreshold = threshold;
+		return this;
+	}
+	/**
+	 * @return null if the response cache is disabled.
+	 */
+	public KiiResponseCache getResponseCache() {
+		return this.responseCache;
+	}
+	/**
+	 * @param responseCache null disables the response cache.
+	 * @return
+	 */
+	public KiiRestContext setResponseCache(KiiResponseCache responseCache) {
+		this.responseCache = responseCache;
+		return this;
+	}
+	/**
+	 * @return null if the requests are not retried.
+	 */
+	public KiiRetryStrategy getRetryStrategy() {
+		return this.retryStrategy;
+	}
+	/**
+	 * @param retryStrategy null disables the retries and the circuit breakers.
+	 * @return
+	 */
+	public KiiRestContext setRetryStrategy(KiiRetryStrategy retryStrategy) {
+		this.retryStrategy = retryStrategy;
+		return this;
+	}
+	/**
+	 * @param family
+	 * @return the rate limiter of the family, or the default rate limiter if the family has no rate limiter.
+	 *         null if the requests are not limited.
+	 */
+	public KiiRateLimiter getRateLimiter(KiiRateLimiter.ApiFamily family) {
+		KiiRateLimiter rateLimiter = this.familyRateLimiters.get(family);
+		if (rateLimiter != null) {
+			return rateLimiter;
+		}
+		return this.rateLimiter;
+	}
+	/**
+	 * @param rateLimiter the rate limiter of the families that have no rate limiter. null disables it.
+	 * @return
+	 */
+	public KiiRestContext setRateLimiter(KiiRateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+		return this;
+	}
+	/**
+	 * @param family
+	 * @param rateLimiter null removes the rate limiter of the family, so the default one is used.
+	 * @return
+	 */
+	public synchronized KiiRestContext setRateLimiter(KiiRateLimiter.ApiFamily family, KiiRateLimiter rateLimiter) {
+		if (family == null) {
+			throw new IllegalArgumentException("family is null");
+		}
+		Map<KiiRateLimiter.ApiFamily, KiiRateLimiter> rateLimiters = new EnumMap<KiiRateLimiter.ApiFamily, KiiRateLimiter>(KiiRateLimiter.ApiFamily.class);
+		rateLimiters.putAll(this.familyRateLimiters);
+		if (rateLimiter == null) {
+			rateLimiters.remove(family);
+		} else {
+			rateLimiters.put(family, rateLimiter);
+		}
+		this.familyRateLimiters = rateLimiters;
+		return this;
+	}
+}
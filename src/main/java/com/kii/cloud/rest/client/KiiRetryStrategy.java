@@ -0,0 +1,506 @@
+package com.kii.cloud.rest.client;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
+import com.kii.cloud.rest.client.util.ConcurrentUtils;
+import com.squareup.okhttp.Response;
+
+/**
+ * Retries the transient failures of the requests, and stops sending the requests to the host that keeps failing.
+ * <p>
+ * The request is retried when it fails with the connection error or the status like 503,
+ * only if it is idempotent: GET, HEAD, DELETE, or PUT with If-Match.
+ * The delay before the retry is the exponential backoff with the full jitter,
+ * or the value of Retry-After if the server specifies it.
+ * <p>
+ * Each host has a circuit breaker and a retry budget.
+ * The circuit breaker opens after the consecutive failures, and the requests fail immediately
+ * with {@link CircuitBreakerOpenException} until a trial request succeeds after the open duration.
+ * The retry budget is refilled by the ratio of the requests, so the retries never multiply the load during the outage.
+ * <p>
+ * The settings must be configured before this is passed to {@link KiiRest#setRetryStrategy(KiiRetryStrategy)}.
+ * The instance can be shared by the {@link KiiRest} instances to coordinate their retries.
+ * This class is thread safe.
+ */
+public class KiiRetryStrategy {
+
+	public static final int DEFAULT_MAX_RETRIES = 3;
+	public static final long DEFAULT_INITIAL_BACKOFF = 100;
+	public static final long DEFAULT_MAX_BACKOFF = TimeUnit.SECONDS.toMillis(10);
+	public static final long DEFAULT_MAX_RETRY_AFTER = TimeUnit.SECONDS.toMillis(30);
+	public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.1;
+	public static final int DEFAULT_RETRY_BUDGET_CAPACITY = 10;
+	public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+	public static final long DEFAULT_OPEN_DURATION = TimeUnit.SECONDS.toMillis(30);
+
+	private static final ScheduledExecutorService SCHEDULER = ConcurrentUtils.newDaemonScheduler("KiiRetryStrategy");
+
+	/**
+	 * Thrown when the request is not sent because the circuit breaker of the host is open.
+	 */
+	public static class CircuitBreakerOpenException extends IOException {
+		private static final long serialVersionUID = 1L;
+		private final String host;
+		public CircuitBreakerOpenException(String host) {
+			super("Circuit breaker is open for " + host);
+			this.host = host;
+		}
+		public String getHost() {
+			return this.host;
+		}
+	}
+	/**
+	 * Receives the retries and the state changes of the circuit breakers, to monitor the retry storm.
+	 * The methods are called on the thread that executes the request, so they must return quickly.
+	 */
+	public interface RetryListener {
+		/**
+		 * @param request
+		 * @param retries the number of the retries that is already done for the request.
+		 * @param delayMillis
+		 * @param status the status code of the failed response, or 0 if the connection failed.
+		 */
+		public void onRetry(KiiRestRequest request, int retries, long delayMillis, int status);
+		public void onCircuitStateChanged(String host, CircuitBreaker.State from, CircuitBreaker.State to);
+	}
+	/**
+	 * Tracks the failures and the retry budget of a host.
+	 */
+	public static class CircuitBreaker {
+		public enum State {
+			/** The requests are sent. */
+			CLOSED,
+			/** The requests are rejected. */
+			OPEN,
+			/** A trial request is sent, and the others are rejected. */
+			HALF_OPEN
+		}
+		private final KiiRetryStrategy strategy;
+		private final String host;
+		private State state = State.CLOSED;
+		private int consecutiveFailures = 0;
+		private long openedAt = 0;
+		private boolean trialInFlight = false;
+		private double retryBudget;
+
+		private CircuitBreaker(KiiRetryStrategy strategy, String host) {
+			this.strategy = strategy;
+			this.host = host;
+			this.retryBudget = strategy.retryBudgetCapacity;
+		}
+		public String getHost() {
+			return this.host;
+		}
+		public synchronized State getState() {
+			return this.state;
+		}
+		public synchronized double getRetryBudget() {
+			return this.retryBudget;
+		}
+		/**
+		 * @param retry false for the first attempt of the request, that refills the retry budget.
+		 * @return false if the request must not be sent.
+		 */
+		private boolean tryAcquire(boolean retry) {
+			State changedFrom = null;
+			try {
+				synchronized (this) {
+					if (this.state == State.OPEN) {
+						if (System.nanoTime() - this.openedAt < TimeUnit.MILLISECONDS.toNanos(this.strategy.openDuration)) {
+							return false;
+						}
+						changedFrom = this.state;
+						this.state = State.HALF_OPEN;
+					}
+					if (this.state == State.HALF_OPEN) {
+						if (this.trialInFlight) {
+							return false;
+						}
+						this.trialInFlight = true;
+					}
+					if (!retry) {
+						this.retryBudget = Math.min(this.retryBudget + this.strategy.retryBudgetRatio, this.strategy.retryBudgetCapacity);
+					}
+					return true;
+				}
+			} finally {
+				if (changedFrom != null) {
+					this.strategy.notifyStateChanged(this.host, changedFrom, State.HALF_OPEN);
+				}
+			}
+		}
+		private void onSuccess() {
+			State changedFrom = null;
+			synchronized (this) {
+				this.consecutiveFailures = 0;
+				this.trialInFlight = false;
+				if (this.state != State.CLOSED) {
+					changedFrom = this.state;
+					this.state = State.CLOSED;
+				}
+			}
+			if (changedFrom != null) {
+				this.strategy.notifyStateChanged(this.host, changedFrom, State.CLOSED);
+			}
+		}
+		private void onFailure() {
+			State changedFrom = null;
+			synchronized (this) {
+				this.consecutiveFailures++;
+				this.trialInFlight = false;
+				if (this.state == State.HALF_OPEN || (this.state == State.CLOSED && this.consecutiveFailures >= this.strategy.failureThreshold)) {
+					changedFrom = this.state;
+					this.state = State.OPEN;
+					this.openedAt = System.nanoTime();
+				}
+			}
+			if (changedFrom != null) {
+				this.strategy.notifyStateChanged(this.host, changedFrom, State.OPEN);
+			}
+		}
+		/**
+		 * The attempt is cancelled or is not sent, so it neither succeeds nor fails.
+		 * The trial of HALF_OPEN is given to the next request.
+		 */
+		private synchronized void onAbandoned() {
+			this.trialInFlight = false;
+		}
+		private synchronized boolean withdrawRetry() {
+			if (this.retryBudget < 1) {
+				return false;
+			}
+			this.retryBudget -= 1;
+			return true;
+		}
+	}
+
+	private volatile int maxRetries = DEFAULT_MAX_RETRIES;
+	private volatile long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+	private volatile long maxBackoff = DEFAULT_MAX_BACKOFF;
+	private volatile long maxRetryAfter = DEFAULT_MAX_RETRY_AFTER;
+	private volatile double retryBudgetRatio = DEFAULT_RETRY_BUDGET_RATIO;
+	private volatile int retryBudgetCapacity = DEFAULT_RETRY_BUDGET_CAPACITY;
+	private volatile int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+	private volatile long openDuration = DEFAULT_OPEN_DURATION;
+	private volatile Set<Integer> retryableStatuses = new HashSet<Integer>(Arrays.asList(429, 500, 502, 503, 504));
+	private volatile RetryListener listener = null;
+
+	private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<String, CircuitBreaker>();
+	private final AtomicLong attemptCount = new AtomicLong();
+	private final AtomicLong retryCount = new AtomicLong();
+	private final AtomicLong budgetExhaustedCount = new AtomicLong();
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	public int getMaxRetries() {
+		return this.maxRetries;
+	}
+	public KiiRetryStrategy setMaxRetries(int maxRetries) {
+		if (maxRetries < 0) {
+			throw new IllegalArgumentException("maxRetries is negative");
+		}
+		this.maxRetries = maxRetries;
+		return this;
+	}
+	public long getInitialBackoff() {
+		return this.initialBackoff;
+	}
+	public long getMaxBackoff() {
+		return this.maxBackoff;
+	}
+	/**
+	 * The delay before the n-th retry is a random value between 0 and min(maxBackoff, initialBackoff * 2^n).
+	 *
+	 * @param initialBackoff
+	 * @param maxBackoff
+	 * @param unit
+	 * @return
+	 */
+	public KiiRetryStrategy setBackoff(long initialBackoff, long maxBackoff, TimeUnit unit) {
+		if (initialBackoff < 0) {
+			throw new IllegalArgumentException("initialBackoff is negative");
+		}
+		if (maxBackoff < initialBackoff) {
+			throw new IllegalArgumentException("maxBackoff is less than initialBackoff");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.initialBackoff = unit.toMillis(initialBackoff);
+		this.maxBackoff = unit.toMillis(maxBackoff);
+		return this;
+	}
+	public long getMaxRetryAfter() {
+		return this.maxRetryAfter;
+	}
+	/**
+	 * @param maxRetryAfter the request is not retried when the server requests the longer delay by Retry-After.
+	 * @param unit
+	 * @return
+	 */
+	public KiiRetryStrategy setMaxRetryAfter(long maxRetryAfter, TimeUnit unit) {
+		if (maxRetryAfter < 0) {
+			throw new IllegalArgumentException("maxRetryAfter is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.maxRetryAfter = unit.toMillis(maxRetryAfter);
+		return this;
+	}
+	public double getRetryBudgetRatio() {
+		return this.retryBudgetRatio;
+	}
+	public int getRetryBudgetCapacity() {
+		return this.retryBudgetCapacity;
+	}
+	/**
+	 * @param ratio each request to the host adds this number of retries to the budget of the host.
+	 * @param capacity the maximum number of the retries that the budget holds. The budget is full at first.
+	 * @return
+	 */
+	public KiiRetryStrategy setRetryBudget(double ratio, int capacity) {
+		if (ratio < 0) {
+			throw new IllegalArgumentException("ratio is negative");
+		}
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity is negative");
+		}
+		this.retryBudgetRatio = ratio;
+		this.retryBudgetCapacity = capacity;
+		return this;
+	}
+	public int getFailureThreshold() {
+		return this.failureThreshold;
+	}
+	public long getOpenDuration() {
+		return this.openDuration;
+	}
+	/**
+	 * @param failureThreshold the number of the consecutive failures that opens the circuit breaker.
+	 * @param openDuration the period that the requests are rejected before a trial request is sent.
+	 * @param unit
+	 * @return
+	 */
+	public KiiRetryStrategy setCircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+		if (failureThreshold < 1) {
+			throw new IllegalArgumentException("failureThreshold must be positive");
+		}
+		if (openDuration < 0) {
+			throw new IllegalArgumentException("openDuration is negative");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		this.failureThreshold = failureThreshold;
+		this.openDuration = unit.toMillis(openDuration);
+		return this;
+	}
+	/**
+	 * @return the status codes that are retried and counted as the failure of the host.
+	 */
+	public Set<Integer> getRetryableStatuses() {
+		return this.retryableStatuses;
+	}
+	/**
+	 * @param statuses 429, 500, 502, 503 and 504 by default.
+	 * @return
+	 */
+	public KiiRetryStrategy setRetryableStatuses(Integer... statuses) {
+		this.retryableStatuses = new HashSet<Integer>(Arrays.asList(statuses));
+		return this;
+	}
+	public KiiRetryStrategy setRetryListener(RetryListener listener) {
+		this.listener = listener;
+		return this;
+	}
+	/**
+	 * @return the number of the requests that are sent, including the retries.
+	 */
+	public long getAttemptCount() {
+		return this.attemptCount.get();
+	}
+	public long getRetryCount() {
+		return this.retryCount.get();
+	}
+	/**
+	 * @return the number of the retries that are given up because the retry budget of the host is empty.
+	 */
+	public long getBudgetExhaustedCount() {
+		return this.budgetExhaustedCount.get();
+	}
+	/**
+	 * @return the number of the requests that are rejected by the open circuit breaker.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+	/**
+	 * @param host
+	 * @return the circuit breaker of the host, it is created if not exists.
+	 */
+	public CircuitBreaker getCircuitBreaker(String host) {
+		CircuitBreaker circuitBreaker = this.circuitBreakers.get(host);
+		if (circuitBreaker == null) {
+			circuitBreaker = new CircuitBreaker(this, host);
+			CircuitBreaker existing = this.circuitBreakers.putIfAbsent(host, circuitBreaker);
+			if (existing != null) {
+				circuitBreaker = existing;
+			}
+		}
+		return circuitBreaker;
+	}
+	/**
+	 * Called before each attempt of the request.
+	 *
+	 * @param request
+	 * @param retries the number of the retries that is already done for the request.
+	 * @throws CircuitBreakerOpenException
+	 */
+	public void beforeAttempt(KiiRestRequest request, int retries) throws CircuitBreakerOpenException {
+		CircuitBreaker circuitBreaker = this.getCircuitBreaker(hostOf(request));
+		if (!circuitBreaker.tryAcquire(retries > 0)) {
+			this.rejectedCount.incrementAndGet();
+			throw new CircuitBreakerOpenException(circuitBreaker.getHost());
+		}
+		this.attemptCount.incrementAndGet();
+	}
+	/**
+	 * Records the result of the attempt, and decides whether the request is retried.
+	 *
+	 * @param request
+	 * @param retries the number of the retries that is already done for the request.
+	 * @param response null if the connection failed.
+	 * @param failure null if the response is received.
+	 * @return the delay in milliseconds before the retry, or -1 if the request must not be retried.
+	 */
+	public long afterAttempt(KiiRestRequest request, int retries, Response response, IOException failure) {
+		CircuitBreaker circuitBreaker = this.getCircuitBreaker(hostOf(request));
+		boolean failed = response == null || this.retryableStatuses.contains(response.code());
+		if (!failed) {
+			circuitBreaker.onSuccess();
+			return -1;
+		}
+		circuitBreaker.onFailure();
+		if (retries >= this.maxRetries || !isIdempotent(request) || circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+			return -1;
+		}
+		long delay = this.computeBackoff(retries);
+		if (response != null) {
+			long retryAfter = parseRetryAfter(response.header("Retry-After"));
+			if (retryAfter > this.maxRetryAfter) {
+				return -1;
+			}
+			if (retryAfter >= 0) {
+				delay = retryAfter;
+			}
+		}
+		if (!circuitBreaker.withdrawRetry()) {
+			this.budgetExhaustedCount.incrementAndGet();
+			return -1;
+		}
+		this.retryCount.incrementAndGet();
+		RetryListener listener = this.listener;
+		if (listener != null) {
+			listener.onRetry(request, retries, delay, response == null ? 0 : response.code());
+		}
+		return delay;
+	}
+	/**
+	 * Called instead of {@link #afterAttempt(KiiRestRequest, int, Response, IOException)}
+	 * when the attempt that passed {@link #beforeAttempt(KiiRestRequest, int)} is cancelled or is not sent.
+	 *
+	 * @param request
+	 */
+	public void abandonAttempt(KiiRestRequest request) {
+		this.getCircuitBreaker(hostOf(request)).onAbandoned();
+	}
+	/**
+	 * Runs the task on the shared timer thread after the delay.
+	 * This is used to wait for the retry of the asynchronous request without blocking the dispatcher thread.
+	 *
+	 * @param task
+	 * @param delayMillis
+	 */
+	public void schedule(Runnable task, long delayMillis) {
+		SCHEDULER.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+	}
+	@Override
+	public String toString() {
+		return String.format("attempts=%d, retries=%d, budgetExhausted=%d, rejected=%d",
+				this.getAttemptCount(), this.getRetryCount(), this.getBudgetExhaustedCount(), this.getRejectedCount());
+	}
+	private long computeBackoff(int retries) {
+		long ceiling = this.initialBackoff << Math.min(retries, 30);
+		if (ceiling <= 0 || ceiling > this.maxBackoff) {
+			ceiling = this.maxBackoff;
+		}
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+	private void notifyStateChanged(String host, CircuitBreaker.State from, CircuitBreaker.State to) {
+		RetryListener listener = this.listener;
+		if (listener != null) {
+			listener.onCircuitStateChanged(host, from, to);
+		}
+	}
+	/**
+	 * @param request
+	 * @return true if the request can be sent again without the side effect.
+	 */
+	public static boolean isIdempotent(KiiRestRequest request) {
+		switch (request.getMethod()) {
+			case GET:
+			case HEAD:
+			case DELETE:
+				return request.isRepeatable();
+			case PUT:
+				return request.getHeaders() != null && request.getHeaders().containsKey("If-Match") && request.isRepeatable();
+			default:
+				return false;
+		}
+	}
+	/**
+	 * @param request
+	 * @return the host of the URL, or the URL itself if it has no host.
+	 */
+	public static String hostOf(KiiRestRequest request) {
+		String url = request.getUrl();
+		int start = url.indexOf("://");
+		start = start < 0 ? 0 : start + 3;
+		int end = url.indexOf('/', start);
+		return end < 0 ? url.substring(start) : url.substring(start, end);
+	}
+	/**
+	 * @param value the seconds or the HTTP date.
+	 * @return the delay in milliseconds, or -1 if the value is not specified or invalid.
+	 */
+	static long parseRetryAfter(String value) {
+		if (value == null) {
+			return -1;
+		}
+		value = value.trim();
+		try {
+			long seconds = Long.parseLong(value);
+			return seconds < 0 ? -1 : TimeUnit.SECONDS.toMillis(seconds);
+		} catch (NumberFormatException e) {
+		}
+		try {
+			long delay = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis();
+			return Math.max(delay, 0);
+		} catch (DateTimeParseException e) {
+			return -1;
+		}
+	}
+}
@@ -1,15 +1,138 @@
 package com.kii.cloud.rest.client;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.Dispatcher;
 import com.squareup.okhttp.OkHttpClient;
 
 public class OkHttpClientFactory {
+
+	private static final OkHttpClient DEFAULT_INSTANCE = newInstance();
+	private static final OkHttpClient DEFAULT_NON_RETRYING_INSTANCE = newNonRetryingInstance(DEFAULT_INSTANCE);
+	private static final Map<KiiHttpClientConfiguration, OkHttpClient> SHARED_INSTANCES = new HashMap<KiiHttpClientConfiguration, OkHttpClient>();
+
+	/**
+	 * Returns the client that is shared by all {@link KiiRest} instances without {@link KiiHttpClientConfiguration}.
+	 *
+	 * @return
+	 */
+	public static OkHttpClient getDefaultInstance() {
+		return DEFAULT_INSTANCE;
+	}
+	/**
+	 * Returns the variant of {@link #getDefaultInstance()} that does not retry on connection failure.
+	 *
+	 * @return
+	 */
+	public static OkHttpClient getDefaultNonRetryingInstance() {
+		return DEFAULT_NON_RETRYING_INSTANCE;
+	}
 	public static OkHttpClient newInstance() {
 		OkHttpClient client = new OkHttpClient();
 		client.setConnectTimeout(10, TimeUnit.SECONDS);
 		client.setWriteTimeout(10, TimeUnit.SECONDS);
 		client.setReadTimeout(60, TimeUnit.SECONDS);
+		client.setProtocols(KiiHttpClientConfiguration.DEFAULT_PROTOCOL_MODE.getProtocols());
+		return client;
+	}
+	/**
+	 * Returns the client that is shared by all callers with the same settings,
+	 * so that the requests to the same host are coalesced into the same connections.
+	 * The settings are copied, so the changes to the configuration after this call do not affect the returned client.
+	 * <p>
+	 * The shared client is kept until it is released by {@link #evictSharedInstance(KiiHttpClientConfiguration)},
+	 * so keep the set of the configurations bounded, or evict the client that is no longer used.
+	 *
+	 * @param configuration
+	 * @return
+	 */
+	public static OkHttpClient getSharedInstance(KiiHttpClientConfiguration configuration) {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration is null");
+		}
+		KiiHttpClientConfiguration snapshot = new KiiHttpClientConfiguration(configuration);
+		synchronized (SHARED_INSTANCES) {
+			OkHttpClient client = SHARED_INSTANCES.get(snapshot);
+			if (client == null) {
+				client = newInstance(snapshot);
+				SHARED_INSTANCES.put(snapshot, client);
+			}
+			return client;
+		}
+	}
+	/**
+	 * Removes the shared client of the settings and closes its idle connections.
+	 * The instances that still use it keep working, and the dispatcher threads exit when they become idle.
+	 * The next {@link #getSharedInstance(KiiHttpClientConfiguration)} with the same settings creates a new client.
+	 *
+	 * @param configuration
+	 * @return true if the shared client is removed.
+	 */
+	public static boolean evictSharedInstance(KiiHttpClientConfiguration configuration) {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration is null");
+		}
+		OkHttpClient client;
+		synchronized (SHARED_INSTANCES) {
+			client = SHARED_INSTANCES.remove(configuration);
+		}
+		if (client == null) {
+			return false;
+		}
+		client.getConnectionPool().evictAll();
+		return true;
+	}
+	/**
+	 * Creates the client that has its own connection pool and dispatcher.
+	 *
+	 * @param configuration
+	 * @return
+	 */
+	public static OkHttpClient newInstance(KiiHttpClientConfiguration configuration) {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration is null");
+		}
+		OkHttpClient client = new OkHttpClient();
+		client.setConnectTimeout(configuration.getConnectTimeout(), TimeUnit.MILLISECONDS);
+		client.setWriteTimeout(configuration.getWriteTimeout(), TimeUnit.MILLISECONDS);
+		client.setReadTimeout(configuration.getReadTimeout(), TimeUnit.MILLISECONDS);
+		client.setConnectionPool(new ConnectionPool(configuration.getMaxIdleConnections(), configuration.getKeepAliveDuration()));
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(configuration.getMaxRequests());
+		dispatcher.setMaxRequestsPerHost(configuration.getMaxRequestsPerHost());
+		client.setDispatcher(dispatcher);
+		if (configuration.getSslSocketFactory() != null) {
+			client.setSslSocketFactory(configuration.getSslSocketFactory());
+		}
+		if (configuration.getHostnameVerifier() != null) {
+			client.setHostnameVerifier(configuration.getHostnameVerifier());
+		}
+		if (configuration.getConnectionSpecs() != null) {
+			client.setConnectionSpecs(configuration.getConnectionSpecs());
+		}
+		client.setProtocols(configuration.getProtocolMode().getProtocols());
+		if (configuration.getConnectionMetrics() != null) {
+			client.networkInterceptors().add(configuration.getConnectionMetrics());
+		}
 		return client;
 	}
+	/**
+	 * Creates the variant of the specified client that does not retry on connection failure.
+	 * The variant shares the connection pool and the dispatcher with the specified client.
+	 * Create it once per client, not per request.
+	 *
+	 * @param client
+	 * @return
+	 */
+	public static OkHttpClient newNonRetryingInstance(OkHttpClient client) {
+		if (client == null) {
+			throw new IllegalArgumentException("client is null");
+		}
+		OkHttpClient nonRetryingClient = client.clone();
+		nonRetryingClient.setRetryOnConnectionFailure(false);
+		return nonRetryingClient;
+	}
 }
@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiBadRequestException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,9 +10,12 @@ public class KiiBadRequestException extends KiiRestException {
 		super(message, 400, null);
 	}
 	public KiiBadRequestException(JsonObject body) {
-		super(null, 400, body);
+		super((String)null, 400, body);
 	}
 	public KiiBadRequestException(String message, JsonObject body) {
 		super(message, 400, body);
 	}
+	public KiiBadRequestException(KiiRestRequest request, JsonObject body) {
+		super(request, 400, body);
+	}
 }
@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiConflictException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,9 +10,12 @@ public class KiiConflictException extends KiiRestException {
 		super(message, 409, null);
 	}
 	public KiiConflictException(JsonObject body) {
-		super(null, 409, body);
+		super((String)null, 409, body);
 	}
 	public KiiConflictException(String message, JsonObject body) {
 		super(message, 409, body);
 	}
+	public KiiConflictException(KiiRestRequest request, JsonObject body) {
+		super(request, 409, body);
+	}
 }
@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiForbiddenException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,9 +10,12 @@ public class KiiForbiddenException extends KiiRestException {
 		super(message, 403, null);
 	}
 	public KiiForbiddenException(JsonObject body) {
-		super(null, 403, body);
+		super((String)null, 403, body);
 	}
 	public KiiForbiddenException(String message, JsonObject body) {
 		super(message, 403, body);
 	}
+	public KiiForbiddenException(KiiRestRequest request, JsonObject body) {
+		super(request, 403, body);
+	}
 }
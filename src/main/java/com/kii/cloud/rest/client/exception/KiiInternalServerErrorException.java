@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiInternalServerErrorException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,10 +10,13 @@ public class KiiInternalServerErrorException extends KiiRestException {
 		super(message, 500, null);
 	}
 	public KiiInternalServerErrorException(JsonObject body) {
-		super(null, 500, body);
+		super((String)null, 500, body);
 	}
 	public KiiInternalServerErrorException(String message, JsonObject body) {
 		super(message, 500, body);
 	}
+	public KiiInternalServerErrorException(KiiRestRequest request, JsonObject body) {
+		super(request, 500, body);
+	}
 
 }
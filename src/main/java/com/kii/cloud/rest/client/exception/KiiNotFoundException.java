@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiNotFoundException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,9 +10,12 @@ public class KiiNotFoundException extends KiiRestException {
 		super(message, 404, null);
 	}
 	public KiiNotFoundException(JsonObject body) {
-		super(null, 404, body);
+		super((String)null, 404, body);
 	}
 	public KiiNotFoundException(String message, JsonObject body) {
 		super(message, 404, body);
 	}
+	public KiiNotFoundException(KiiRestRequest request, JsonObject body) {
+		super(request, 404, body);
+	}
 }
@@ -1,12 +1,26 @@
 package com.kii.cloud.rest.client.exception;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.util.GsonUtils;
 
+/**
+ * Thrown when a request fails.
+ * <p>
+ * The exceptions that are created with {@link KiiRestRequest} keep the request,
+ * and render it as curl command only when {@link #getMessage()} is called for the first time.
+ * The headers are copied, so the later changes of them, like the refreshed access token, are not reflected to the message.
+ */
 public class KiiRestException extends Exception {
 	private static final long serialVersionUID = 1L;
 	private final int status;
 	private final JsonObject body;
+	private final transient KiiRestRequest request;
+	private final transient Map<String, String> headers;
+	private transient volatile String curl;
 	
 	public KiiRestException(String message) {
 		this(message, null);
@@ -15,11 +29,49 @@ public class KiiRestException extends Exception {
 		super(message, cause);
 		this.status = 0;
 		this.body = null;
+		this.request = null;
+		this.headers = null;
 	}
 	public KiiRestException(String message, int status, JsonObject body) {
 		super(message);
 		this.status = status;
 		this.body = body;
+		this.request = null;
+		this.headers = null;
+	}
+	public KiiRestException(KiiRestRequest request, Exception cause) {
+		super((String)null, cause);
+		this.status = 0;
+		this.body = null;
+		this.request = request;
+		this.headers = copyHeaders(request);
+	}
+	public KiiRestException(KiiRestRequest request, int status, JsonObject body) {
+		super((String)null);
+		this.status = status;
+		this.body = body;
+		this.request = request;
+		this.headers = copyHeaders(request);
+	}
+	/**
+	 * @return the request that caused this exception, or null if this exception is not created with the request.
+	 */
+	public KiiRestRequest getRequest() {
+		return this.request;
+	}
+	@Override
+	public String getMessage() {
+		String message = super.getMessage();
+		if (message == null && this.request != null) {
+			String curl = this.curl;
+			if (curl == null) {
+				KiiRestRequest request = this.request;
+				curl = new KiiRestRequest(request.getUrl(), request.getMethod(), this.headers, request.getContentType(), request.getEntity()).getCurl();
+				this.curl = curl;
+			}
+			return curl;
+		}
+		return message;
 	}
 	public int getStatus() {
 		return status;
@@ -33,6 +85,19 @@ public class KiiRestException extends Exception {
 		}
 		return GsonUtils.getString(this.body, "errorCode");
 	}
+	/**
+	 * The access token in the headers is replaced when the request is sent again.
+	 */
+	private static Map<String, String> copyHeaders(KiiRestRequest request) {
+		if (request == null) {
+			return null;
+		}
+		Map<String, String> headers = new LinkedHashMap<String, String>();
+		if (request.getHeaders() != null) {
+			headers.putAll(request.getHeaders());
+		}
+		return headers;
+	}
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
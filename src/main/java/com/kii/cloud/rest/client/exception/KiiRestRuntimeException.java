@@ -0,0 +1,20 @@
+package com.kii.cloud.rest.client.exception;
+
+/**
+ * Wraps {@link KiiRestException} where a checked exception can not be thrown,
+ * such as {@link java.util.Iterator} and {@link java.util.stream.Stream}.
+ */
+public class KiiRestRuntimeException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+	
+	public KiiRestRuntimeException(KiiRestException cause) {
+		super(cause);
+		if (cause == null) {
+			throw new IllegalArgumentException("cause is null");
+		}
+	}
+	@Override
+	public KiiRestException getCause() {
+		return (KiiRestException)super.getCause();
+	}
+}
@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiServiceUnavailableException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,10 +10,13 @@ public class KiiServiceUnavailableException extends KiiRestException {
 		super(message, 503, null);
 	}
 	public KiiServiceUnavailableException(JsonObject body) {
-		super(null, 503, body);
+		super((String)null, 503, body);
 	}
 	public KiiServiceUnavailableException(String message, JsonObject body) {
 		super(message, 503, body);
 	}
+	public KiiServiceUnavailableException(KiiRestRequest request, JsonObject body) {
+		super(request, 503, body);
+	}
 
 }
@@ -1,6 +1,7 @@
 package com.kii.cloud.rest.client.exception;
 
 import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
 
 public class KiiUnauthorizedException extends KiiRestException {
 	private static final long serialVersionUID = 1L;
@@ -9,10 +10,13 @@ public class KiiUnauthorizedException extends KiiRestException {
 		super(message, 401, null);
 	}
 	public KiiUnauthorizedException(JsonObject body) {
-		super(null, 401, body);
+		super((String)null, 401, body);
 	}
 	public KiiUnauthorizedException(String message, JsonObject body) {
 		super(message, 401, body);
 	}
+	public KiiUnauthorizedException(KiiRestRequest request, JsonObject body) {
+		super(request, 401, body);
+	}
 
 }
@@ -0,0 +1,67 @@
+package com.kii.cloud.rest.client.logger;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
+import com.squareup.okhttp.Response;
+
+/**
+ * Writes the request logs to the standard output or the specified stream.
+ */
+public class KiiConsoleRequestLogger implements KiiRequestLogger {
+	
+	private final Level level;
+	private final PrintStream out;
+	
+	public KiiConsoleRequestLogger(Level level) {
+		this(level, System.out);
+	}
+	public KiiConsoleRequestLogger(Level level, PrintStream out) {
+		if (level == null) {
+			throw new IllegalArgumentException("level is null");
+		}
+		if (out == null) {
+			throw new IllegalArgumentException("out is null");
+		}
+		this.level = level;
+		this.out = out;
+	}
+	@Override
+	public Level getLevel() {
+		return this.level;
+	}
+	@Override
+	public void onResponse(KiiRestRequest request, Response response, String responseBody) {
+		if (this.level == Level.OFF) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder();
+		if (this.level.includes(Level.HEADERS)) {
+			sb.append(request.getCurl());
+		} else {
+			sb.append(request.getMethod().name()).append(" ").append(request.getUrl());
+		}
+		sb.append("  : ").append(response.code());
+		if (this.level.includes(Level.HEADERS)) {
+			for (String name : response.headers().names()) {
+				sb.append(System.lineSeparator()).append("    ").append(name).append(":").append(response.header(name));
+			}
+		}
+		if (this.level.includes(Level.BODY) && responseBody != null) {
+			sb.append(System.lineSeparator()).append(responseBody);
+		}
+		this.out.println(sb.toString());
+	}
+	@Override
+	public void onFailure(KiiRestRequest request, IOException e) {
+		if (this.level == Level.OFF) {
+			return;
+		}
+		if (this.level.includes(Level.HEADERS)) {
+			this.out.println(request.getCurl() + "  : " + e);
+		} else {
+			this.out.println(request.getMethod().name() + " " + request.getUrl() + "  : " + e);
+		}
+	}
+}
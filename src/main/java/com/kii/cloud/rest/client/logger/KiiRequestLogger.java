@@ -0,0 +1,44 @@
+package com.kii.cloud.rest.client.logger;
+
+import java.io.IOException;
+
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
+import com.squareup.okhttp.Response;
+
+/**
+ * Receives the results of the requests that are executed by the resources.
+ * <p>
+ * The resources call this logger only when {@link #getLevel()} is not {@link Level#OFF},
+ * so the logger has to build the log message by itself.
+ *
+ * @see com.kii.cloud.rest.client.KiiRest#setRequestLogger(KiiRequestLogger)
+ */
+public interface KiiRequestLogger {
+	
+	public enum Level {
+		/** Logs nothing. */
+		OFF,
+		/** Logs the method, the URL and the status code. */
+		SUMMARY,
+		/** Logs the request as curl command and the response headers in addition to SUMMARY. */
+		HEADERS,
+		/** Logs the response body in addition to HEADERS. */
+		BODY;
+		public boolean includes(Level level) {
+			return this != OFF && this.compareTo(level) >= 0;
+		}
+	}
+	
+	public Level getLevel();
+	/**
+	 * @param request
+	 * @param response
+	 * @param responseBody the response body if the level is {@link Level#BODY} and the body was read as text, otherwise null.
+	 */
+	public void onResponse(KiiRestRequest request, Response response, String responseBody);
+	/**
+	 * @param request
+	 * @param e
+	 */
+	public void onFailure(KiiRestRequest request, IOException e);
+}
@@ -3,6 +3,7 @@ package com.kii.cloud.rest.client.model;
 import java.math.BigDecimal;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.util.GsonUtils;
 
@@ -19,9 +20,33 @@ public abstract class KiiCustomableJsonModel<T extends KiiCustomableJsonModel<?>
 	public int getInt(String name) {
 		return GsonUtils.getInt(this.json, name);
 	}
+	/**
+	 * @param name
+	 * @param defaultValue
+	 * @return defaultValue if the field does not exist or is null.
+	 */
+	public int getInt(String name, int defaultValue) {
+		JsonElement value = this.json.get(name);
+		if (value == null || value.isJsonNull()) {
+			return defaultValue;
+		}
+		return value.getAsInt();
+	}
 	public long getLong(String name) {
 		return GsonUtils.getLong(this.json, name);
 	}
+	/**
+	 * @param name
+	 * @param defaultValue
+	 * @return defaultValue if the field does not exist or is null.
+	 */
+	public long getLong(String name, long defaultValue) {
+		JsonElement value = this.json.get(name);
+		if (value == null || value.isJsonNull()) {
+			return defaultValue;
+		}
+		return value.getAsLong();
+	}
 	public BigDecimal getBigDecimal(String name) {
 		return GsonUtils.getBigDecimal(this.json, name);
 	}
@@ -3,17 +3,173 @@ package com.kii.cloud.rest.client.model;
 import java.math.BigDecimal;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.model.validation.KiiJsonPropertyValidator;
-import com.kii.cloud.rest.client.util.GsonUtils;
 
+/**
+ * Represents the property of JSON.
+ * <p>
+ * The value is looked up by the name and then by the alias, like objectID and _id.
+ * Use the type specialized subclasses like {@link LongProperty} for the primitive properties
+ * that are read frequently, because they read the value without the type dispatch and the boxing.
+ * The constants of the models are declared as KiiJsonProperty and instantiated as the subclasses,
+ * so the compiled code that refers to them keeps working.
+ *
+ * @param <T> the type of the value.
+ */
 public class KiiJsonProperty<T> {
-	
+
+	/**
+	 * The property of the string value.
+	 */
+	public static class StringProperty extends KiiJsonProperty<String> {
+		public StringProperty(String name, KiiJsonPropertyValidator... validators) {
+			this(name, null, validators);
+		}
+		public StringProperty(String name, String alias, KiiJsonPropertyValidator... validators) {
+			super(String.class, name, alias, validators);
+		}
+		@Override
+		public String get(JsonObject json) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return null;
+			}
+			return value.getAsString();
+		}
+		@Override
+		public void set(JsonObject json, String value) {
+			if (json == null) {
+				return;
+			}
+			this.validate(value);
+			json.addProperty(this.getName(), value);
+		}
+	}
+	/**
+	 * The property of the integer value.
+	 */
+	public static class IntProperty extends KiiJsonProperty<Integer> {
+		public IntProperty(String name, KiiJsonPropertyValidator... validators) {
+			this(name, null, validators);
+		}
+		public IntProperty(String name, String alias, KiiJsonPropertyValidator... validators) {
+			super(Integer.class, name, alias, validators);
+		}
+		@Override
+		public Integer get(JsonObject json) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return null;
+			}
+			return value.getAsInt();
+		}
+		/**
+		 * @param json
+		 * @param defaultValue
+		 * @return defaultValue if the property does not exist or is null.
+		 */
+		public int getInt(JsonObject json, int defaultValue) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return defaultValue;
+			}
+			return value.getAsInt();
+		}
+		@Override
+		public void set(JsonObject json, Integer value) {
+			if (json == null) {
+				return;
+			}
+			this.validate(value);
+			json.addProperty(this.getName(), value);
+		}
+	}
+	/**
+	 * The property of the long value, like the timestamp.
+	 */
+	public static class LongProperty extends KiiJsonProperty<Long> {
+		public LongProperty(String name, KiiJsonPropertyValidator... validators) {
+			this(name, null, validators);
+		}
+		public LongProperty(String name, String alias, KiiJsonPropertyValidator... validators) {
+			super(Long.class, name, alias, validators);
+		}
+		@Override
+		public Long get(JsonObject json) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return null;
+			}
+			return value.getAsLong();
+		}
+		/**
+		 * @param json
+		 * @param defaultValue
+		 * @return defaultValue if the property does not exist or is null.
+		 */
+		public long getLong(JsonObject json, long defaultValue) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return defaultValue;
+			}
+			return value.getAsLong();
+		}
+		@Override
+		public void set(JsonObject json, Long value) {
+			if (json == null) {
+				return;
+			}
+			this.validate(value);
+			json.addProperty(this.getName(), value);
+		}
+	}
+	/**
+	 * The property of the boolean value.
+	 */
+	public static class BooleanProperty extends KiiJsonProperty<Boolean> {
+		public BooleanProperty(String name, KiiJsonPropertyValidator... validators) {
+			this(name, null, validators);
+		}
+		public BooleanProperty(String name, String alias, KiiJsonPropertyValidator... validators) {
+			super(Boolean.class, name, alias, validators);
+		}
+		@Override
+		public Boolean get(JsonObject json) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return null;
+			}
+			return value.getAsBoolean();
+		}
+		/**
+		 * @param json
+		 * @param defaultValue
+		 * @return defaultValue if the property does not exist or is null.
+		 */
+		public boolean getBoolean(JsonObject json, boolean defaultValue) {
+			JsonElement value = this.lookup(json);
+			if (value == null || value.isJsonNull()) {
+				return defaultValue;
+			}
+			return value.getAsBoolean();
+		}
+		@Override
+		public void set(JsonObject json, Boolean value) {
+			if (json == null) {
+				return;
+			}
+			this.validate(value);
+			json.addProperty(this.getName(), value);
+		}
+	}
+
 	private final String name;
 	private final String alias;
 	private final Class<T> propertyType;
 	private final KiiJsonPropertyValidator[] validators;
-	
+
 	public KiiJsonProperty(Class<T> propertyType, String name, KiiJsonPropertyValidator... validators) {
 		this(propertyType, name, null, validators);
 	}
@@ -40,23 +196,24 @@ public class KiiJsonProperty<T> {
 	}
 	@SuppressWarnings("unchecked")
 	public T get(JsonObject json) {
-		if (json == null) {
+		JsonElement value = this.lookup(json);
+		if (value == null || value.isJsonNull()) {
 			return null;
 		}
 		if (this.propertyType == String.class) {
-			return (T)this.getString(json);
+			return (T)value.getAsString();
 		} else if (this.propertyType == Integer.class) {
-			return (T)this.getInt(json);
+			return (T)Integer.valueOf(value.getAsInt());
 		} else if (this.propertyType == Long.class) {
-			return (T)this.getLong(json);
+			return (T)Long.valueOf(value.getAsLong());
 		} else if (this.propertyType == BigDecimal.class) {
-			return (T)this.getBigDecimal(json);
+			return (T)value.getAsBigDecimal();
 		} else if (this.propertyType == JsonObject.class) {
-			return (T)this.getJsonObject(json);
+			return (T)value.getAsJsonObject();
 		} else if (this.propertyType == JsonArray.class) {
-			return (T)this.getJsonArray(json);
+			return (T)value.getAsJsonArray();
 		} else if (this.propertyType == Boolean.class) {
-			return (T)this.getBoolean(json);
+			return (T)Boolean.valueOf(value.getAsBoolean());
 		}
 		return null;
 	}
@@ -64,9 +221,7 @@ public class KiiJsonProperty<T> {
 		if (json == null) {
 			return;
 		}
-		for (KiiJsonPropertyValidator validator : this.validators) {
-			validator.validate(this, value);
-		}
+		this.validate(value);
 		if (this.propertyType == String.class) {
 			json.addProperty(this.getName(), (String)value);
 		} else if (this.propertyType == Integer.class) {
@@ -85,67 +240,26 @@ public class KiiJsonProperty<T> {
 			throw new RuntimeException("Unexpected type of property.");
 		}
 	}
-	private String getString(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getString(json, this.name);
-		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getString(json, this.alias);
-		}
-		return null;
-	}
-	private Boolean getBoolean(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getBoolean(json, this.name);
-		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getBoolean(json, this.alias);
-		}
-		return null;
-	}
-	private Integer getInt(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getInt(json, this.name);
-		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getInt(json, this.alias);
-		}
-		return null;
-	}
-	private Long getLong(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getLong(json, this.name);
-		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getLong(json, this.alias);
-		}
-		return null;
-	}
-	private BigDecimal getBigDecimal(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getBigDecimal(json, this.name);
-		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getBigDecimal(json, this.alias);
-		}
-		return null;
-	}
-	private JsonObject getJsonObject(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getJsonObject(json, this.name);
-		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getJsonObject(json, this.alias);
+	protected void validate(T value) {
+		for (KiiJsonPropertyValidator validator : this.validators) {
+			validator.validate(this, value);
 		}
-		return null;
 	}
-	private JsonArray getJsonArray(JsonObject json) {
-		if (json.has(this.name)) {
-			return GsonUtils.getJsonArray(json, this.name);
+	/**
+	 * Finds the value by the name, and then by the alias, with a single lookup for each of them.
+	 * The value that exists as null is returned as JsonNull and the alias is not looked up.
+	 *
+	 * @param json
+	 * @return null if neither the name nor the alias exists.
+	 */
+	protected JsonElement lookup(JsonObject json) {
+		if (json == null) {
+			return null;
 		}
-		if (this.alias != null && json.has(this.alias)) {
-			return GsonUtils.getJsonArray(json, this.alias);
+		JsonElement value = json.get(this.name);
+		if (value == null && this.alias != null) {
+			value = json.get(this.alias);
 		}
-		return null;
+		return value;
 	}
 }
@@ -0,0 +1,17 @@
+package com.kii.cloud.rest.client.model;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The credentials that can replace the access token rejected by the server.
+ * The request rejected with 401 is sent again once with the new access token.
+ */
+public interface KiiRefreshableCredentialsContainer extends KiiCredentialsContainer {
+	/**
+	 * If the access token has already been replaced, the current credentials are returned without the refresh.
+	 * 
+	 * @param rejectedAccessToken
+	 * @return the future that is completed with the credentials that have the other access token.
+	 */
+	public CompletableFuture<KiiCredentialsContainer> refreshIfCurrent(String rejectedAccessToken);
+}
@@ -5,10 +5,10 @@ import com.kii.cloud.rest.client.util.StringUtils;
 
 public class KiiUserCredentials extends KiiJsonModel implements KiiCredentialsContainer {
 	
-	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty<String>(String.class, "id");
-	public static final KiiJsonProperty<String> PROPERTY_ACCESS_TOKEN = new KiiJsonProperty<String>(String.class, "access_token");
-	public static final KiiJsonProperty<Long> PROPERTY_EXPIRES_IN = new KiiJsonProperty<Long>(Long.class, "expires_in");
-	public static final KiiJsonProperty<String> PROPERTY_REFRESH_TOKEN = new KiiJsonProperty<String>(String.class, "refresh_token");
+	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty.StringProperty("id");
+	public static final KiiJsonProperty<String> PROPERTY_ACCESS_TOKEN = new KiiJsonProperty.StringProperty("access_token");
+	public static final KiiJsonProperty<Long> PROPERTY_EXPIRES_IN = new KiiJsonProperty.LongProperty("expires_in");
+	public static final KiiJsonProperty<String> PROPERTY_REFRESH_TOKEN = new KiiJsonProperty.StringProperty("refresh_token");
 	
 	public KiiUserCredentials(JsonObject json) {
 		super(json);
@@ -36,4 +36,15 @@ public class KiiUserCredentials extends KiiJsonModel implements KiiCredentialsCo
 	public Long getExpiresIn() {
 		return PROPERTY_EXPIRES_IN.get(this.json);
 	}
+	/**
+	 * @param issuedAt the time in milliseconds when the credentials were issued.
+	 * @return the time in milliseconds when the access token expires, or Long.MAX_VALUE if it does not expire.
+	 */
+	public long getExpiresAt(long issuedAt) {
+		Long expiresIn = this.getExpiresIn();
+		if (expiresIn == null || expiresIn < 0 || expiresIn >= (Long.MAX_VALUE - issuedAt) / 1000) {
+			return Long.MAX_VALUE;
+		}
+		return issuedAt + expiresIn * 1000;
+	}
 }
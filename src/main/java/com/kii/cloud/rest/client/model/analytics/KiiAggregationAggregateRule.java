@@ -14,9 +14,9 @@ public class KiiAggregationAggregateRule extends KiiJsonModel {
 		MIN;
 	}
 	
-	public static final KiiJsonProperty<String> PROPERTY_VALUE_OF = new KiiJsonProperty<String>(String.class, "valueOf");
-	public static final KiiJsonProperty<String> PROPERTY_WITH = new KiiJsonProperty<String>(String.class, "with");
-	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty<String>(String.class, "type");
+	public static final KiiJsonProperty<String> PROPERTY_VALUE_OF = new KiiJsonProperty.StringProperty("valueOf");
+	public static final KiiJsonProperty<String> PROPERTY_WITH = new KiiJsonProperty.StringProperty("with");
+	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty.StringProperty("type");
 	
 	public KiiAggregationAggregateRule() {
 	}
@@ -11,11 +11,11 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 public class KiiAggregationRule extends KiiJsonModel {
 	
 	
-	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty<String>(String.class, "_id");
-	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty<String>(String.class, "name");
-	public static final KiiJsonProperty<String> PROPERTY_SOURCE = new KiiJsonProperty<String>(String.class, "source");
-	public static final KiiJsonProperty<Long> PROPERTY_CONVERSION_RULE_ID = new KiiJsonProperty<Long>(Long.class, "conversionRuleID");
-	public static final KiiJsonProperty<String> PROPERTY_EVENT_TYPE = new KiiJsonProperty<String>(String.class, "eventType");
+	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty.StringProperty("_id");
+	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty.StringProperty("name");
+	public static final KiiJsonProperty<String> PROPERTY_SOURCE = new KiiJsonProperty.StringProperty("source");
+	public static final KiiJsonProperty<Long> PROPERTY_CONVERSION_RULE_ID = new KiiJsonProperty.LongProperty("conversionRuleID");
+	public static final KiiJsonProperty<String> PROPERTY_EVENT_TYPE = new KiiJsonProperty.StringProperty("eventType");
 	public static final KiiJsonProperty<JsonObject> PROPERTY_AGGREGATE = new KiiJsonProperty<JsonObject>(JsonObject.class, "aggregate");
 	public static final KiiJsonProperty<JsonArray> PROPERTY_GROUP_BY = new KiiJsonProperty<JsonArray>(JsonArray.class, "groupBy");
 	
@@ -6,9 +6,9 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiConversionMappingRule extends KiiJsonModel {
 	
-	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty<String>(String.class, "name");
-	public static final KiiJsonProperty<String> PROPERTY_SOURCE = new KiiJsonProperty<String>(String.class, "source");
-	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty<String>(String.class, "type");
+	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty.StringProperty("name");
+	public static final KiiJsonProperty<String> PROPERTY_SOURCE = new KiiJsonProperty.StringProperty("source");
+	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty.StringProperty("type");
 	
 	public KiiConversionMappingRule() {
 	}
@@ -20,10 +20,10 @@ public class KiiConversionRule extends KiiJsonModel {
 		OBJECT
 	}
 	
-	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty<String>(String.class, "_id");
-	public static final KiiJsonProperty<String> PROPERTY_SCOPE = new KiiJsonProperty<String>(String.class, "scope");
-	public static final KiiJsonProperty<String> PROPERTY_BUCKET = new KiiJsonProperty<String>(String.class, "bucket");
-	public static final KiiJsonProperty<String> PROPERTY_TARGET = new KiiJsonProperty<String>(String.class, "target");
+	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty.StringProperty("_id");
+	public static final KiiJsonProperty<String> PROPERTY_SCOPE = new KiiJsonProperty.StringProperty("scope");
+	public static final KiiJsonProperty<String> PROPERTY_BUCKET = new KiiJsonProperty.StringProperty("bucket");
+	public static final KiiJsonProperty<String> PROPERTY_TARGET = new KiiJsonProperty.StringProperty("target");
 	public static final KiiJsonProperty<JsonArray> PROPERTY_DERIVED = new KiiJsonProperty<JsonArray>(JsonArray.class, "derived");
 	
 	public KiiConversionRule() {
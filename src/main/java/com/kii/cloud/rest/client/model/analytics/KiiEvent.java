@@ -4,10 +4,10 @@ import com.kii.cloud.rest.client.model.KiiCustomableJsonModel;
 import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiEvent extends KiiCustomableJsonModel<KiiEvent> {
-	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty<String>(String.class, "_type");
-	public static final KiiJsonProperty<String> PROPERTY_DEVICE_ID = new KiiJsonProperty<String>(String.class, "_deviceID");
-	public static final KiiJsonProperty<Long> PROPERTY_TRIGGERED_AT = new KiiJsonProperty<Long>(Long.class, "_triggeredAt");
-	public static final KiiJsonProperty<Long> PROPERTY_UPLOADED_AT = new KiiJsonProperty<Long>(Long.class, "_uploadedAt");
+	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty.StringProperty("_type");
+	public static final KiiJsonProperty<String> PROPERTY_DEVICE_ID = new KiiJsonProperty.StringProperty("_deviceID");
+	public static final KiiJsonProperty<Long> PROPERTY_TRIGGERED_AT = new KiiJsonProperty.LongProperty("_triggeredAt");
+	public static final KiiJsonProperty<Long> PROPERTY_UPLOADED_AT = new KiiJsonProperty.LongProperty("_uploadedAt");
 	
 	public KiiEvent() {
 	}
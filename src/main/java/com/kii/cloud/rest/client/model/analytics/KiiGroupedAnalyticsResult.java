@@ -11,10 +11,10 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 public class KiiGroupedAnalyticsResult extends KiiJsonModel implements KiiAnalyticsResult{
 	
 	public static final KiiJsonProperty<JsonArray> PROPERTY_SNAPSHOTS = new KiiJsonProperty<JsonArray>(JsonArray.class, "snapshots");
-	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty<String>(String.class, "name");
+	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty.StringProperty("name");
 	public static final KiiJsonProperty<JsonArray> PROPERTY_DATA = new KiiJsonProperty<JsonArray>(JsonArray.class, "data");
-	public static final KiiJsonProperty<Long> PROPERTY_POINT_START = new KiiJsonProperty<Long>(Long.class, "pointStart");
-	public static final KiiJsonProperty<Integer> PROPERTY_POINT_INTERVAL = new KiiJsonProperty<Integer>(Integer.class, "pointInterval");
+	public static final KiiJsonProperty<Long> PROPERTY_POINT_START = new KiiJsonProperty.LongProperty("pointStart");
+	public static final KiiJsonProperty<Integer> PROPERTY_POINT_INTERVAL = new KiiJsonProperty.IntProperty("pointInterval");
 	
 	public KiiGroupedAnalyticsResult(JsonObject json) {
 		super(json);
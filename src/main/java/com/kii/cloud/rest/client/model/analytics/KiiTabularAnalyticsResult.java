@@ -11,10 +11,10 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 public class KiiTabularAnalyticsResult extends KiiJsonModel implements KiiAnalyticsResult {
 	
 	public static final KiiJsonProperty<JsonArray> PROPERTY_LABELS = new KiiJsonProperty<JsonArray>(JsonArray.class, "labels");
-	public static final KiiJsonProperty<String> PROPERTY_LABEL = new KiiJsonProperty<String>(String.class, "label");
-	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty<String>(String.class, "type");
+	public static final KiiJsonProperty<String> PROPERTY_LABEL = new KiiJsonProperty.StringProperty("label");
+	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty.StringProperty("type");
 	public static final KiiJsonProperty<JsonArray> PROPERTY_SNAPSHOTS = new KiiJsonProperty<JsonArray>(JsonArray.class, "snapshots");
-	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty<Long>(Long.class, "createdAt");
+	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty.LongProperty("createdAt");
 	public static final KiiJsonProperty<JsonArray> PROPERTY_DATA = new KiiJsonProperty<JsonArray>(JsonArray.class, "data");
 	
 	public KiiTabularAnalyticsResult(JsonObject json) {
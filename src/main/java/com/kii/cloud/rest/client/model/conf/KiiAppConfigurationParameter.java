@@ -11,30 +11,30 @@ public class KiiAppConfigurationParameter extends KiiJsonModel {
 	public static final String PROPERTY_NAME_CONSUMER_KEY = "consumer_key";
 	public static final String PROPERTY_NAME_CONSUMER_SECRET = "consumer_secret";
 	
-	public static final KiiJsonProperty<Boolean> PROPERTY_IS_MASTER_APP = new KiiJsonProperty<Boolean>(Boolean.class, "isMasterApp");
-	public static final KiiJsonProperty<Boolean> PROPERTY_IS_THING_TYPE_CONFIGURATION_REQUIRED = new KiiJsonProperty<Boolean>(Boolean.class, "isThingTypeConfigurationRequired");
-	public static final KiiJsonProperty<Boolean> PROPERTY_PHONE_NUMBER_VERIFICATION_REQUIRED = new KiiJsonProperty<Boolean>(Boolean.class, "phoneNumberVerificationRequired");
-	public static final KiiJsonProperty<Boolean> PROPERTY_EMAIL_ADDRESS_VERIFICATION_REQUIRED = new KiiJsonProperty<Boolean>(Boolean.class, "emailAddressVerificationRequired");
-	public static final KiiJsonProperty<Boolean> PROPERTY_EXPOSE_FULL_USER_DATA_TO_OTHERS = new KiiJsonProperty<Boolean>(Boolean.class, "exposeFullUserDataToOthers");
-	public static final KiiJsonProperty<Boolean> PROPERTY_RESERVED_FIELDS_VALIDATION = new KiiJsonProperty<Boolean>(Boolean.class, "reservedFieldsValidation");
-	public static final KiiJsonProperty<Boolean> PROPERTY_REFRESH_TOKEN_ENABLED = new KiiJsonProperty<Boolean>(Boolean.class, "refreshTokenEnabled");
-	public static final KiiJsonProperty<Boolean> PROPERTY_SEND_REFERRAL_FOR_LONG_APNS = new KiiJsonProperty<Boolean>(Boolean.class, "sendReferralForLongAPNS");
+	public static final KiiJsonProperty<Boolean> PROPERTY_IS_MASTER_APP = new KiiJsonProperty.BooleanProperty("isMasterApp");
+	public static final KiiJsonProperty<Boolean> PROPERTY_IS_THING_TYPE_CONFIGURATION_REQUIRED = new KiiJsonProperty.BooleanProperty("isThingTypeConfigurationRequired");
+	public static final KiiJsonProperty<Boolean> PROPERTY_PHONE_NUMBER_VERIFICATION_REQUIRED = new KiiJsonProperty.BooleanProperty("phoneNumberVerificationRequired");
+	public static final KiiJsonProperty<Boolean> PROPERTY_EMAIL_ADDRESS_VERIFICATION_REQUIRED = new KiiJsonProperty.BooleanProperty("emailAddressVerificationRequired");
+	public static final KiiJsonProperty<Boolean> PROPERTY_EXPOSE_FULL_USER_DATA_TO_OTHERS = new KiiJsonProperty.BooleanProperty("exposeFullUserDataToOthers");
+	public static final KiiJsonProperty<Boolean> PROPERTY_RESERVED_FIELDS_VALIDATION = new KiiJsonProperty.BooleanProperty("reservedFieldsValidation");
+	public static final KiiJsonProperty<Boolean> PROPERTY_REFRESH_TOKEN_ENABLED = new KiiJsonProperty.BooleanProperty("refreshTokenEnabled");
+	public static final KiiJsonProperty<Boolean> PROPERTY_SEND_REFERRAL_FOR_LONG_APNS = new KiiJsonProperty.BooleanProperty("sendReferralForLongAPNS");
 	
-	public static final KiiJsonProperty<String> PROPERTY_GCM_COLLAPSE_KEY_DEFAULT_BEHAVIOR = new KiiJsonProperty<String>(String.class, "gcmCollapseKeyDefaultBehavior");
-	public static final KiiJsonProperty<String> PROPERTY_PASSWORD_RESET_METHOD = new KiiJsonProperty<String>(String.class, "passwordResetMethod");
-	public static final KiiJsonProperty<String> PROPERTY_EMAIL_ADDRESS = new KiiJsonProperty<String>(String.class, "emailAddress");
-	public static final KiiJsonProperty<String> PROPERTY_SMS_FROM = new KiiJsonProperty<String>(String.class, "smsFrom");
-	public static final KiiJsonProperty<String> PROPERTY_VERIFICATION_SMS_TEMPLATE = new KiiJsonProperty<String>(String.class, "verificationSmsTemplate");
-	public static final KiiJsonProperty<String> PROPERTY_PASSWORD_RESET_OK_REDIRECTION_URL = new KiiJsonProperty<String>(String.class, "passwordResetOKRedirectionURL");
-	public static final KiiJsonProperty<String> PROPERTY_PASSWORD_RESET_FAILURE_REDIRECTION_URL = new KiiJsonProperty<String>(String.class, "passwordResetFailureRedirectionURL");
-	public static final KiiJsonProperty<String> PROPERTY_EMAIL_VERIFICATION_OK_REDIRECTION_URL = new KiiJsonProperty<String>(String.class, "emailVerificationOKRedirectionURL");
-	public static final KiiJsonProperty<String> PROPERTY_EMAIL_VERIFICATION_FAILURE_REDIRECTION_URL = new KiiJsonProperty<String>(String.class, "emailVerificationFailureRedirectionURL");
-	public static final KiiJsonProperty<String> PROPERTY_SERVER_CODE_VERSION_ID = new KiiJsonProperty<String>(String.class, "serverCodeVersionID");
-	public static final KiiJsonProperty<String> PROPERTY_OAUTH2_INTERNAL_LOGIN_FORM_URL = new KiiJsonProperty<String>(String.class, "oauth2InternalLoginFormURL");
+	public static final KiiJsonProperty<String> PROPERTY_GCM_COLLAPSE_KEY_DEFAULT_BEHAVIOR = new KiiJsonProperty.StringProperty("gcmCollapseKeyDefaultBehavior");
+	public static final KiiJsonProperty<String> PROPERTY_PASSWORD_RESET_METHOD = new KiiJsonProperty.StringProperty("passwordResetMethod");
+	public static final KiiJsonProperty<String> PROPERTY_EMAIL_ADDRESS = new KiiJsonProperty.StringProperty("emailAddress");
+	public static final KiiJsonProperty<String> PROPERTY_SMS_FROM = new KiiJsonProperty.StringProperty("smsFrom");
+	public static final KiiJsonProperty<String> PROPERTY_VERIFICATION_SMS_TEMPLATE = new KiiJsonProperty.StringProperty("verificationSmsTemplate");
+	public static final KiiJsonProperty<String> PROPERTY_PASSWORD_RESET_OK_REDIRECTION_URL = new KiiJsonProperty.StringProperty("passwordResetOKRedirectionURL");
+	public static final KiiJsonProperty<String> PROPERTY_PASSWORD_RESET_FAILURE_REDIRECTION_URL = new KiiJsonProperty.StringProperty("passwordResetFailureRedirectionURL");
+	public static final KiiJsonProperty<String> PROPERTY_EMAIL_VERIFICATION_OK_REDIRECTION_URL = new KiiJsonProperty.StringProperty("emailVerificationOKRedirectionURL");
+	public static final KiiJsonProperty<String> PROPERTY_EMAIL_VERIFICATION_FAILURE_REDIRECTION_URL = new KiiJsonProperty.StringProperty("emailVerificationFailureRedirectionURL");
+	public static final KiiJsonProperty<String> PROPERTY_SERVER_CODE_VERSION_ID = new KiiJsonProperty.StringProperty("serverCodeVersionID");
+	public static final KiiJsonProperty<String> PROPERTY_OAUTH2_INTERNAL_LOGIN_FORM_URL = new KiiJsonProperty.StringProperty("oauth2InternalLoginFormURL");
 	
-	public static final KiiJsonProperty<Long> PROPERTY_DEFAULT_TOKEN_EXPIRATION_SECONDS = new KiiJsonProperty<Long>(Long.class, "defaultTokenExpirationSeconds");
-	public static final KiiJsonProperty<Long> PROPERTY_MAX_TOKEN_EXPIRATION_SECONDS = new KiiJsonProperty<Long>(Long.class, "maxTokenExpirationSeconds");
-	public static final KiiJsonProperty<Long> PROPERTY_PASSWORD_RESET_TIMEOUT_SECONDS = new KiiJsonProperty<Long>(Long.class, "passwordResetTimeoutSeconds");
+	public static final KiiJsonProperty<Long> PROPERTY_DEFAULT_TOKEN_EXPIRATION_SECONDS = new KiiJsonProperty.LongProperty("defaultTokenExpirationSeconds");
+	public static final KiiJsonProperty<Long> PROPERTY_MAX_TOKEN_EXPIRATION_SECONDS = new KiiJsonProperty.LongProperty("maxTokenExpirationSeconds");
+	public static final KiiJsonProperty<Long> PROPERTY_PASSWORD_RESET_TIMEOUT_SECONDS = new KiiJsonProperty.LongProperty("passwordResetTimeoutSeconds");
 
 
 	public KiiAppConfigurationParameter(JsonObject json) {
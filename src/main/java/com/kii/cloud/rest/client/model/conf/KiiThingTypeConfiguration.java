@@ -6,13 +6,13 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiThingTypeConfiguration extends KiiJsonModel {
 	
-	public static final KiiJsonProperty<String> PROPERTY_THINGTYPE = new KiiJsonProperty<String>(String.class, "thingType");
-	public static final KiiJsonProperty<Boolean> PROPERTY_SIMPLE_FLOW = new KiiJsonProperty<Boolean>(Boolean.class, "simpleFlow");
-	public static final KiiJsonProperty<Boolean> PROPERTY_VERIFICATION_CODE_FLOW_STARTED_BY_USER = new KiiJsonProperty<Boolean>(Boolean.class, "verificationCodeFlowStartedByUser");
-	public static final KiiJsonProperty<Boolean> PROPERTY_VERIFICATION_CODE_FLOW_STARTED_BY_THING = new KiiJsonProperty<Boolean>(Boolean.class, "verificationCodeFlowStartedByThing");
+	public static final KiiJsonProperty<String> PROPERTY_THINGTYPE = new KiiJsonProperty.StringProperty("thingType");
+	public static final KiiJsonProperty<Boolean> PROPERTY_SIMPLE_FLOW = new KiiJsonProperty.BooleanProperty("simpleFlow");
+	public static final KiiJsonProperty<Boolean> PROPERTY_VERIFICATION_CODE_FLOW_STARTED_BY_USER = new KiiJsonProperty.BooleanProperty("verificationCodeFlowStartedByUser");
+	public static final KiiJsonProperty<Boolean> PROPERTY_VERIFICATION_CODE_FLOW_STARTED_BY_THING = new KiiJsonProperty.BooleanProperty("verificationCodeFlowStartedByThing");
 	
-	public static final KiiJsonProperty<Long> PROPERTY_VERIFICATION_CODE_LENGTH = new KiiJsonProperty<Long>(Long.class, "verificationCodeLength");
-	public static final KiiJsonProperty<Long> PROPERTY_VERIFICATION_CODE_TIMEOUT = new KiiJsonProperty<Long>(Long.class, "verificationCodeTimeout");
+	public static final KiiJsonProperty<Long> PROPERTY_VERIFICATION_CODE_LENGTH = new KiiJsonProperty.LongProperty("verificationCodeLength");
+	public static final KiiJsonProperty<Long> PROPERTY_VERIFICATION_CODE_TIMEOUT = new KiiJsonProperty.LongProperty("verificationCodeTimeout");
 	
 	public KiiThingTypeConfiguration() {
 	}
@@ -6,14 +6,14 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiMqttEndpoint extends KiiJsonModel {
 	
-	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_ID = new KiiJsonProperty<String>(String.class, "installationID");
-	public static final KiiJsonProperty<String> PROPERTY_USERNAME = new KiiJsonProperty<String>(String.class, "username");
-	public static final KiiJsonProperty<String> PROPERTY_PASSWORD = new KiiJsonProperty<String>(String.class, "password");
-	public static final KiiJsonProperty<String> PROPERTY_MQTT_TOPIC = new KiiJsonProperty<String>(String.class, "mqttTopic");
-	public static final KiiJsonProperty<String> PROPERTY_HOST = new KiiJsonProperty<String>(String.class, "host");
-	public static final KiiJsonProperty<Integer> PROPERTY_PORT_TCP = new KiiJsonProperty<Integer>(Integer.class, "portTCP");
-	public static final KiiJsonProperty<Integer> PROPERTY_PORT_SSL = new KiiJsonProperty<Integer>(Integer.class, "portSSL");
-	public static final KiiJsonProperty<Integer> PROPERTY_X_MQTT_TTL = new KiiJsonProperty<Integer>(Integer.class, "X-MQTT-TTL");
+	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_ID = new KiiJsonProperty.StringProperty("installationID");
+	public static final KiiJsonProperty<String> PROPERTY_USERNAME = new KiiJsonProperty.StringProperty("username");
+	public static final KiiJsonProperty<String> PROPERTY_PASSWORD = new KiiJsonProperty.StringProperty("password");
+	public static final KiiJsonProperty<String> PROPERTY_MQTT_TOPIC = new KiiJsonProperty.StringProperty("mqttTopic");
+	public static final KiiJsonProperty<String> PROPERTY_HOST = new KiiJsonProperty.StringProperty("host");
+	public static final KiiJsonProperty<Integer> PROPERTY_PORT_TCP = new KiiJsonProperty.IntProperty("portTCP");
+	public static final KiiJsonProperty<Integer> PROPERTY_PORT_SSL = new KiiJsonProperty.IntProperty("portSSL");
+	public static final KiiJsonProperty<Integer> PROPERTY_X_MQTT_TTL = new KiiJsonProperty.IntProperty("X-MQTT-TTL");
 	
 	public KiiMqttEndpoint() {
 	}
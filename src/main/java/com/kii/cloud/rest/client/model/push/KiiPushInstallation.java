@@ -12,12 +12,12 @@ public class KiiPushInstallation extends KiiJsonModel {
 		MQTT
 	}
 	
-	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_ID = new KiiJsonProperty<String>(String.class, "installationID");
-	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_REGISTRATION_ID = new KiiJsonProperty<String>(String.class, "installationRegistrationID");
-	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_TYPE = new KiiJsonProperty<String>(String.class, "installationType");
-	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty<String>(String.class, "userID");
-	public static final KiiJsonProperty<String> PROPERTY_THING_ID = new KiiJsonProperty<String>(String.class, "thingID");
-	public static final KiiJsonProperty<Boolean> PROPERTY_DEVELOPMENT = new KiiJsonProperty<Boolean>(Boolean.class, "development");
+	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_ID = new KiiJsonProperty.StringProperty("installationID");
+	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_REGISTRATION_ID = new KiiJsonProperty.StringProperty("installationRegistrationID");
+	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_TYPE = new KiiJsonProperty.StringProperty("installationType");
+	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty.StringProperty("userID");
+	public static final KiiJsonProperty<String> PROPERTY_THING_ID = new KiiJsonProperty.StringProperty("thingID");
+	public static final KiiJsonProperty<Boolean> PROPERTY_DEVELOPMENT = new KiiJsonProperty.BooleanProperty("development");
 	
 	
 	public KiiPushInstallation() {
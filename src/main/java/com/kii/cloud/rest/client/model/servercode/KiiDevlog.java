@@ -143,49 +143,49 @@ public class KiiDevlog extends KiiJsonModel implements Comparable<KiiDevlog> {
 	}
 	
 	public static final SimpleDateFormat LOG_DATE_FORMATTER = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty<String>(String.class, "_id");
-	public static final KiiJsonProperty<String> PROPERTY_KEY = new KiiJsonProperty<String>(String.class, "key");
-	public static final KiiJsonProperty<String> PROPERTY_TIME = new KiiJsonProperty<String>(String.class, "time");
-	public static final KiiJsonProperty<String> PROPERTY_LEVEL = new KiiJsonProperty<String>(String.class, "level");
-	public static final KiiJsonProperty<String> PROPERTY_APP_ID = new KiiJsonProperty<String>(String.class, "appID");
-	public static final KiiJsonProperty<String> PROPERTY_DESCRIPTION = new KiiJsonProperty<String>(String.class, "description");
-	public static final KiiJsonProperty<String> PROPERTY_BUCKET_TYPE = new KiiJsonProperty<String>(String.class, "bucketType");
-	public static final KiiJsonProperty<String> PROPERTY_BUCKET_ID = new KiiJsonProperty<String>(String.class, "bucketID");
-	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty<String>(String.class, "userID");
-	public static final KiiJsonProperty<String> PROPERTY_OBJECT_ID = new KiiJsonProperty<String>(String.class, "objectID");
-	public static final KiiJsonProperty<String> PROPERTY_SUBJECT_USER_ID = new KiiJsonProperty<String>(String.class, "");
-	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty<String>(String.class, "type");
-	public static final KiiJsonProperty<String> PROPERTY_THIRD_PARTY_ACCOUNT_TYPE = new KiiJsonProperty<String>(String.class, "thirdPartyAccountType");
-	public static final KiiJsonProperty<String> PROPERTY_GROUP_NAME = new KiiJsonProperty<String>(String.class, "groupName");
-	public static final KiiJsonProperty<String> PROPERTY_GROUP_ID = new KiiJsonProperty<String>(String.class, "groupID");
-	public static final KiiJsonProperty<String> PROPERTY_THIRD_PARTY_ID = new KiiJsonProperty<String>(String.class, "thirdPartyID");
-	public static final KiiJsonProperty<String> PROPERTY_EMAIL_ADDRESS = new KiiJsonProperty<String>(String.class, "emailAddress");
-	public static final KiiJsonProperty<String> PROPERTY_PHONE_NUMBER = new KiiJsonProperty<String>(String.class, "phoneNumber");
-	public static final KiiJsonProperty<String> PROPERTY_LOGIN_NAME = new KiiJsonProperty<String>(String.class, "loginName");
-	public static final KiiJsonProperty<String> PROPERTY_TOPIC_ID = new KiiJsonProperty<String>(String.class, "topicID");
-	public static final KiiJsonProperty<String> PROPERTY_SUBJECT = new KiiJsonProperty<String>(String.class, "subject");
-	public static final KiiJsonProperty<String> PROPERTY_DATA_TYPE = new KiiJsonProperty<String>(String.class, "dataType");
-	public static final KiiJsonProperty<String> PROPERTY_VERSION_ID = new KiiJsonProperty<String>(String.class, "versionID");
-	public static final KiiJsonProperty<String> PROPERTY_ENTRY_NAME = new KiiJsonProperty<String>(String.class, "entry-name");
-	public static final KiiJsonProperty<String> PROPERTY_ENDPOINT = new KiiJsonProperty<String>(String.class, "endpoint");
-	public static final KiiJsonProperty<String> PROPERTY_AUTH_HEADER = new KiiJsonProperty<String>(String.class, "authHeader");
-	public static final KiiJsonProperty<String> PROPERTY_RESPONSE_TYPE = new KiiJsonProperty<String>(String.class, "responseType");
-	public static final KiiJsonProperty<String> PROPERTY_RESPONSE_STEP = new KiiJsonProperty<String>(String.class, "responseStep");
-	public static final KiiJsonProperty<String> PROPERTY_TRASHED = new KiiJsonProperty<String>(String.class, "trashed");
-	public static final KiiJsonProperty<String> PROPERTY_QUERY = new KiiJsonProperty<String>(String.class, "query");
-	public static final KiiJsonProperty<String> PROPERTY_RESULTS_COUNT = new KiiJsonProperty<String>(String.class, "resultsCount");
-	public static final KiiJsonProperty<String> PROPERTY_BODY_DATA_TYPE = new KiiJsonProperty<String>(String.class, "bodyDataType");
-	public static final KiiJsonProperty<String> PROPERTY_UPLOAD_ID = new KiiJsonProperty<String>(String.class, "uploadID");
-	public static final KiiJsonProperty<String> PROPERTY_CLIENT_HASH = new KiiJsonProperty<String>(String.class, "clientHash");
-	public static final KiiJsonProperty<String> PROPERTY_FROM = new KiiJsonProperty<String>(String.class, "from");
-	public static final KiiJsonProperty<String> PROPERTY_TO = new KiiJsonProperty<String>(String.class, "to");
-	public static final KiiJsonProperty<String> PROPERTY_TOTAL = new KiiJsonProperty<String>(String.class, "total");
-	public static final KiiJsonProperty<String> PROPERTY_VERB = new KiiJsonProperty<String>(String.class, "verb");
-	public static final KiiJsonProperty<String> PROPERTY_DELETED_COUNT = new KiiJsonProperty<String>(String.class, "deletedCount");
-	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_TYPE = new KiiJsonProperty<String>(String.class, "installationType");
-	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_ID = new KiiJsonProperty<String>(String.class, "installationID");
-	public static final KiiJsonProperty<String> PROPERTY_DEVELOPMENT = new KiiJsonProperty<String>(String.class, "development");
-	public static final KiiJsonProperty<String> PROPERTY_FILTER_ID = new KiiJsonProperty<String>(String.class, "filterID");
+	public static final KiiJsonProperty<String> PROPERTY_ID = new KiiJsonProperty.StringProperty("_id");
+	public static final KiiJsonProperty<String> PROPERTY_KEY = new KiiJsonProperty.StringProperty("key");
+	public static final KiiJsonProperty<String> PROPERTY_TIME = new KiiJsonProperty.StringProperty("time");
+	public static final KiiJsonProperty<String> PROPERTY_LEVEL = new KiiJsonProperty.StringProperty("level");
+	public static final KiiJsonProperty<String> PROPERTY_APP_ID = new KiiJsonProperty.StringProperty("appID");
+	public static final KiiJsonProperty<String> PROPERTY_DESCRIPTION = new KiiJsonProperty.StringProperty("description");
+	public static final KiiJsonProperty<String> PROPERTY_BUCKET_TYPE = new KiiJsonProperty.StringProperty("bucketType");
+	public static final KiiJsonProperty<String> PROPERTY_BUCKET_ID = new KiiJsonProperty.StringProperty("bucketID");
+	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty.StringProperty("userID");
+	public static final KiiJsonProperty<String> PROPERTY_OBJECT_ID = new KiiJsonProperty.StringProperty("objectID");
+	public static final KiiJsonProperty<String> PROPERTY_SUBJECT_USER_ID = new KiiJsonProperty.StringProperty("");
+	public static final KiiJsonProperty<String> PROPERTY_TYPE = new KiiJsonProperty.StringProperty("type");
+	public static final KiiJsonProperty<String> PROPERTY_THIRD_PARTY_ACCOUNT_TYPE = new KiiJsonProperty.StringProperty("thirdPartyAccountType");
+	public static final KiiJsonProperty<String> PROPERTY_GROUP_NAME = new KiiJsonProperty.StringProperty("groupName");
+	public static final KiiJsonProperty<String> PROPERTY_GROUP_ID = new KiiJsonProperty.StringProperty("groupID");
+	public static final KiiJsonProperty<String> PROPERTY_THIRD_PARTY_ID = new KiiJsonProperty.StringProperty("thirdPartyID");
+	public static final KiiJsonProperty<String> PROPERTY_EMAIL_ADDRESS = new KiiJsonProperty.StringProperty("emailAddress");
+	public static final KiiJsonProperty<String> PROPERTY_PHONE_NUMBER = new KiiJsonProperty.StringProperty("phoneNumber");
+	public static final KiiJsonProperty<String> PROPERTY_LOGIN_NAME = new KiiJsonProperty.StringProperty("loginName");
+	public static final KiiJsonProperty<String> PROPERTY_TOPIC_ID = new KiiJsonProperty.StringProperty("topicID");
+	public static final KiiJsonProperty<String> PROPERTY_SUBJECT = new KiiJsonProperty.StringProperty("subject");
+	public static final KiiJsonProperty<String> PROPERTY_DATA_TYPE = new KiiJsonProperty.StringProperty("dataType");
+	public static final KiiJsonProperty<String> PROPERTY_VERSION_ID = new KiiJsonProperty.StringProperty("versionID");
+	public static final KiiJsonProperty<String> PROPERTY_ENTRY_NAME = new KiiJsonProperty.StringProperty("entry-name");
+	public static final KiiJsonProperty<String> PROPERTY_ENDPOINT = new KiiJsonProperty.StringProperty("endpoint");
+	public static final KiiJsonProperty<String> PROPERTY_AUTH_HEADER = new KiiJsonProperty.StringProperty("authHeader");
+	public static final KiiJsonProperty<String> PROPERTY_RESPONSE_TYPE = new KiiJsonProperty.StringProperty("responseType");
+	public static final KiiJsonProperty<String> PROPERTY_RESPONSE_STEP = new KiiJsonProperty.StringProperty("responseStep");
+	public static final KiiJsonProperty<String> PROPERTY_TRASHED = new KiiJsonProperty.StringProperty("trashed");
+	public static final KiiJsonProperty<String> PROPERTY_QUERY = new KiiJsonProperty.StringProperty("query");
+	public static final KiiJsonProperty<String> PROPERTY_RESULTS_COUNT = new KiiJsonProperty.StringProperty("resultsCount");
+	public static final KiiJsonProperty<String> PROPERTY_BODY_DATA_TYPE = new KiiJsonProperty.StringProperty("bodyDataType");
+	public static final KiiJsonProperty<String> PROPERTY_UPLOAD_ID = new KiiJsonProperty.StringProperty("uploadID");
+	public static final KiiJsonProperty<String> PROPERTY_CLIENT_HASH = new KiiJsonProperty.StringProperty("clientHash");
+	public static final KiiJsonProperty<String> PROPERTY_FROM = new KiiJsonProperty.StringProperty("from");
+	public static final KiiJsonProperty<String> PROPERTY_TO = new KiiJsonProperty.StringProperty("to");
+	public static final KiiJsonProperty<String> PROPERTY_TOTAL = new KiiJsonProperty.StringProperty("total");
+	public static final KiiJsonProperty<String> PROPERTY_VERB = new KiiJsonProperty.StringProperty("verb");
+	public static final KiiJsonProperty<String> PROPERTY_DELETED_COUNT = new KiiJsonProperty.StringProperty("deletedCount");
+	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_TYPE = new KiiJsonProperty.StringProperty("installationType");
+	public static final KiiJsonProperty<String> PROPERTY_INSTALLATION_ID = new KiiJsonProperty.StringProperty("installationID");
+	public static final KiiJsonProperty<String> PROPERTY_DEVELOPMENT = new KiiJsonProperty.StringProperty("development");
+	public static final KiiJsonProperty<String> PROPERTY_FILTER_ID = new KiiJsonProperty.StringProperty("filterID");
 	
 	public KiiDevlog(JsonObject json) {
 		super(json);
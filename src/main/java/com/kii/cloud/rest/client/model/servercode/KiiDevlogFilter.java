@@ -10,11 +10,11 @@ import com.kii.cloud.rest.client.model.servercode.KiiDevlog.LogLevel;
 public class KiiDevlogFilter extends KiiJsonModel {
 	
 	public static final SimpleDateFormat FILTER_DATE_FORMATTER = new SimpleDateFormat("yyyy-MM-dd:HH:mm:ss");
-	public static final KiiJsonProperty<Integer> PROPERTY_LIMIT = new KiiJsonProperty<Integer>(Integer.class, "limit");
-	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty<String>(String.class, "userID");
-	public static final KiiJsonProperty<String> PROPERTY_LEVEL = new KiiJsonProperty<String>(String.class, "level");
-	public static final KiiJsonProperty<String> PROPERTY_DATE_FROM = new KiiJsonProperty<String>(String.class, "dateFrom");
-	public static final KiiJsonProperty<String> PROPERTY_DATE_TO = new KiiJsonProperty<String>(String.class, "dateTo");
+	public static final KiiJsonProperty<Integer> PROPERTY_LIMIT = new KiiJsonProperty.IntProperty("limit");
+	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty.StringProperty("userID");
+	public static final KiiJsonProperty<String> PROPERTY_LEVEL = new KiiJsonProperty.StringProperty("level");
+	public static final KiiJsonProperty<String> PROPERTY_DATE_FROM = new KiiJsonProperty.StringProperty("dateFrom");
+	public static final KiiJsonProperty<String> PROPERTY_DATE_TO = new KiiJsonProperty.StringProperty("dateTo");
 	
 	public KiiDevlogFilter limit(int limit) {
 		PROPERTY_LIMIT.set(this.json, limit);
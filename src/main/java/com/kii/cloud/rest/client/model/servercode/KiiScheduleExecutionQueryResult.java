@@ -10,7 +10,7 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiScheduleExecutionQueryResult extends KiiJsonModel {
 	public static final KiiJsonProperty<JsonArray> PROPERTY_RESULTS = new KiiJsonProperty<JsonArray>(JsonArray.class, "results");
-	public static final KiiJsonProperty<String> PROPERTY_NEXT_PAGINATION_KEY = new KiiJsonProperty<String>(String.class, "nextPaginationKey");
+	public static final KiiJsonProperty<String> PROPERTY_NEXT_PAGINATION_KEY = new KiiJsonProperty.StringProperty("nextPaginationKey");
 	
 	private final KiiScheduleExecutionQuery query;
 	
@@ -12,12 +12,12 @@ public class KiiScheduleExecutionResult extends KiiJsonModel {
 		RUNNING
 	}
 	
-	public static final KiiJsonProperty<String> PROPERTY_SCHEDULE_EXECUTION_ID = new KiiJsonProperty<String>(String.class, "scheduleExecutionID");
-	public static final KiiJsonProperty<String> PROPERTY_JOB_NAME = new KiiJsonProperty<String>(String.class, "name");
-	public static final KiiJsonProperty<String> PROPERTY_STATUS = new KiiJsonProperty<String>(String.class, "status");
-	public static final KiiJsonProperty<Long> PROPERTY_STARTED_AT = new KiiJsonProperty<Long>(Long.class, "startedAt");
-	public static final KiiJsonProperty<Long> PROPERTY_FINISHED_AT = new KiiJsonProperty<Long>(Long.class, "finishedAt");
-	public static final KiiJsonProperty<String> PROPERTY_RESULT = new KiiJsonProperty<String>(String.class, "result");
+	public static final KiiJsonProperty<String> PROPERTY_SCHEDULE_EXECUTION_ID = new KiiJsonProperty.StringProperty("scheduleExecutionID");
+	public static final KiiJsonProperty<String> PROPERTY_JOB_NAME = new KiiJsonProperty.StringProperty("name");
+	public static final KiiJsonProperty<String> PROPERTY_STATUS = new KiiJsonProperty.StringProperty("status");
+	public static final KiiJsonProperty<Long> PROPERTY_STARTED_AT = new KiiJsonProperty.LongProperty("startedAt");
+	public static final KiiJsonProperty<Long> PROPERTY_FINISHED_AT = new KiiJsonProperty.LongProperty("finishedAt");
+	public static final KiiJsonProperty<String> PROPERTY_RESULT = new KiiJsonProperty.StringProperty("result");
 	
 	public KiiScheduleExecutionResult(JsonObject json) {
 		super(json);
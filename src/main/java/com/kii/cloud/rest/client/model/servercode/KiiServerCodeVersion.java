@@ -6,10 +6,10 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiServerCodeVersion extends KiiJsonModel {
 	
-	public static final KiiJsonProperty<String> PROPERTY_VERSION_ID = new KiiJsonProperty<String>(String.class, "versionID");
-	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty<Long>(Long.class, "createdAt");
-	public static final KiiJsonProperty<Long> PROPERTY_MODIFIED_AT = new KiiJsonProperty<Long>(Long.class, "modifiedAt");
-	public static final KiiJsonProperty<Boolean> PROPERTY_CURRENT = new KiiJsonProperty<Boolean>(Boolean.class, "current");
+	public static final KiiJsonProperty<String> PROPERTY_VERSION_ID = new KiiJsonProperty.StringProperty("versionID");
+	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty.LongProperty("createdAt");
+	public static final KiiJsonProperty<Long> PROPERTY_MODIFIED_AT = new KiiJsonProperty.LongProperty("modifiedAt");
+	public static final KiiJsonProperty<Boolean> PROPERTY_CURRENT = new KiiJsonProperty.BooleanProperty("current");
 	
 	public KiiServerCodeVersion(JsonObject json) {
 		super(json);
@@ -5,8 +5,8 @@ import com.kii.cloud.rest.client.model.KiiJsonModel;
 import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiBucket extends KiiJsonModel {
-	public static final KiiJsonProperty<String> PROPERTY_BUCKET_TYPE = new KiiJsonProperty<String>(String.class, "bucketType");
-	public static final KiiJsonProperty<Long> PROPERTY_SIZE = new KiiJsonProperty<Long>(Long.class, "size");
+	public static final KiiJsonProperty<String> PROPERTY_BUCKET_TYPE = new KiiJsonProperty.StringProperty("bucketType");
+	public static final KiiJsonProperty<Long> PROPERTY_SIZE = new KiiJsonProperty.LongProperty("size");
 	
 	public KiiBucket() {
 	}
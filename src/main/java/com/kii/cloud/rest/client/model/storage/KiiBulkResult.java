@@ -0,0 +1,99 @@
+package com.kii.cloud.rest.client.model.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.kii.cloud.rest.client.exception.KiiRestException;
+
+/**
+ * Represents the result of the bulk operation, like KiiObjectsResource#saveAll(java.util.Collection).
+ * <p>
+ * The items are recorded in the order of the completion, not in the order of the input.
+ * This class is thread safe.
+ *
+ * @param <T> the type of the item. KiiObject for the save and the update, the object ID for the delete.
+ */
+public class KiiBulkResult<T> {
+
+	/**
+	 * Represents the item that is failed.
+	 */
+	public static class Failure<T> {
+		private final T item;
+		private final KiiRestException exception;
+		public Failure(T item, KiiRestException exception) {
+			this.item = item;
+			this.exception = exception;
+		}
+		public T getItem() {
+			return this.item;
+		}
+		public KiiRestException getException() {
+			return this.exception;
+		}
+	}
+
+	private final List<T> succeeded = new ArrayList<T>();
+	private final List<Failure<T>> failed = new ArrayList<Failure<T>>();
+	private final long startedAt = System.nanoTime();
+	private volatile long elapsedNanos = -1;
+
+	public synchronized void addSuccess(T item) {
+		this.succeeded.add(item);
+	}
+	public synchronized void addFailure(T item, KiiRestException exception) {
+		this.failed.add(new Failure<T>(item, exception));
+	}
+	/**
+	 * Stops the clock of the elapsed time. This is called when all items are processed.
+	 */
+	public void complete() {
+		this.elapsedNanos = System.nanoTime() - this.startedAt;
+	}
+	public synchronized List<T> getSucceeded() {
+		return Collections.unmodifiableList(new ArrayList<T>(this.succeeded));
+	}
+	public synchronized List<Failure<T>> getFailed() {
+		return Collections.unmodifiableList(new ArrayList<Failure<T>>(this.failed));
+	}
+	public synchronized int getSucceededCount() {
+		return this.succeeded.size();
+	}
+	public synchronized int getFailedCount() {
+		return this.failed.size();
+	}
+	public synchronized int getProcessedCount() {
+		return this.succeeded.size() + this.failed.size();
+	}
+	public synchronized boolean isAllSucceeded() {
+		return this.failed.isEmpty();
+	}
+	/**
+	 * @param unit
+	 * @return the time from the start to the completion, or to now if the operation is not completed.
+	 */
+	public long getElapsedTime(TimeUnit unit) {
+		long elapsed = this.elapsedNanos;
+		if (elapsed < 0) {
+			elapsed = System.nanoTime() - this.startedAt;
+		}
+		return unit.convert(elapsed, TimeUnit.NANOSECONDS);
+	}
+	/**
+	 * @return the number of the processed items per second, including the failed items.
+	 */
+	public double getThroughput() {
+		long elapsed = this.getElapsedTime(TimeUnit.NANOSECONDS);
+		if (elapsed <= 0) {
+			return 0;
+		}
+		return this.getProcessedCount() * (double)TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+	@Override
+	public String toString() {
+		return String.format("succeeded=%d, failed=%d, elapsed=%dms, throughput=%.1f/s",
+				this.getSucceededCount(), this.getFailedCount(), this.getElapsedTime(TimeUnit.MILLISECONDS), this.getThroughput());
+	}
+}
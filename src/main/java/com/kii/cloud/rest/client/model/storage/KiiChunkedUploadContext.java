@@ -1,27 +1,98 @@
 package com.kii.cloud.rest.client.model.storage;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.squareup.okhttp.MediaType;
 
+/**
+ * Holds the state of a chunked upload.
+ * The uploaded size can be updated from the several threads that upload the chunks concurrently.
+ * <p>
+ * The uploaded ranges are recorded, so the chunks that are uploaded in any order are counted once
+ * and the missing ranges can be uploaded later.
+ */
 public class KiiChunkedUploadContext {
 	private final MediaType contentType;
 	private final String uploadID;
 	private final long dataSize;
-	private long uploadedSize;
+	private final AtomicLong uploadedSize;
+	/** The start offsets to the end offsets of the uploaded ranges, that are merged when they are adjacent. */
+	private final NavigableMap<Long, Long> uploadedRanges = new TreeMap<Long, Long>();
 	public KiiChunkedUploadContext(String contentType, String uploadID, long dataSize) {
 		this.contentType = MediaType.parse(contentType);
 		this.uploadID = uploadID;
 		this.dataSize = dataSize;
-		this.uploadedSize = 0;
+		this.uploadedSize = new AtomicLong(0);
+	}
+	/**
+	 * Records the range after the uploaded size, for the chunks that are uploaded sequentially.
+	 * 
+	 * @param size
+	 * @return
+	 */
+	public synchronized KiiChunkedUploadContext increaseUploadedSize(long size) {
+		Map.Entry<Long, Long> first = this.uploadedRanges.firstEntry();
+		long offset = first == null || first.getKey() != 0 ? 0 : first.getValue();
+		return this.acknowledge(offset, size);
 	}
-	public KiiChunkedUploadContext increaseUploadedSize(long size) {
-		this.uploadedSize += size;
+	/**
+	 * Records the range that the server acknowledged. The bytes that are already recorded are not counted again.
+	 * 
+	 * @param offset
+	 * @param length
+	 * @return
+	 */
+	public synchronized KiiChunkedUploadContext acknowledge(long offset, long length) {
+		if (offset < 0 || length < 0) {
+			throw new IllegalArgumentException("offset or length is negative");
+		}
+		long from = offset;
+		long to = offset + length;
+		long covered = 0;
+		Map.Entry<Long, Long> floor = this.uploadedRanges.floorEntry(from);
+		if (floor != null && floor.getValue() >= from) {
+			covered += Math.min(floor.getValue(), to) - from;
+			from = floor.getKey();
+			to = Math.max(to, floor.getValue());
+			this.uploadedRanges.remove(floor.getKey());
+		}
+		Map.Entry<Long, Long> next = this.uploadedRanges.ceilingEntry(from);
+		while (next != null && next.getKey() <= to) {
+			covered += Math.max(Math.min(next.getValue(), offset + length) - next.getKey(), 0);
+			to = Math.max(to, next.getValue());
+			this.uploadedRanges.remove(next.getKey());
+			next = this.uploadedRanges.ceilingEntry(from);
+		}
+		this.uploadedRanges.put(from, to);
+		this.uploadedSize.addAndGet(length - covered);
 		return this;
 	}
+	/**
+	 * @return the start offsets to the lengths of the ranges that are not uploaded yet, in the ascending order.
+	 */
+	public synchronized Map<Long, Long> getMissingRanges() {
+		Map<Long, Long> missing = new LinkedHashMap<Long, Long>();
+		long offset = 0;
+		for (Map.Entry<Long, Long> range : this.uploadedRanges.entrySet()) {
+			if (range.getKey() > offset) {
+				missing.put(offset, range.getKey() - offset);
+			}
+			offset = Math.max(offset, range.getValue());
+		}
+		if (offset < this.dataSize) {
+			missing.put(offset, this.dataSize - offset);
+		}
+		return missing;
+	}
 	public boolean isCompleted() {
-		return this.dataSize == uploadedSize;
+		return this.dataSize == this.uploadedSize.get();
 	}
 	public long getRestSize() {
-		return this.dataSize - this.uploadedSize;
+		return this.dataSize - this.uploadedSize.get();
 	}
 	public MediaType getContentType() {
 		return contentType;
@@ -32,7 +103,10 @@ public class KiiChunkedUploadContext {
 	public long getDataSize() {
 		return this.dataSize;
 	}
+	/**
+	 * @return the total size of the uploaded ranges, which is not necessarily the offset of the next chunk.
+	 */
 	public long getUploadedSize() {
-		return this.uploadedSize;
+		return this.uploadedSize.get();
 	}
 }
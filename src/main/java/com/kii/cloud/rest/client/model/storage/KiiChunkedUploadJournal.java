@@ -0,0 +1,192 @@
+package com.kii.cloud.rest.client.model.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persists the progress of a chunked upload into a local file,
+ * so the upload can be resumed after the process is restarted.
+ * <p>
+ * The first line of the journal holds the upload ID, the content type, the data size and the chunk size.
+ * A line is appended and flushed to the storage device each time a chunk is acknowledged by the server.
+ * The incomplete last line that is left by a crash is ignored when the journal is opened.
+ * <p>
+ * This class is thread safe.
+ */
+public class KiiChunkedUploadJournal {
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final String SEPARATOR = "\t";
+
+	private final File file;
+	private final KiiChunkedUploadContext context;
+	private final long chunkSize;
+	private final Map<Long, Long> acknowledgedChunks;
+	private FileChannel channel;
+
+	private KiiChunkedUploadJournal(File file, KiiChunkedUploadContext context, long chunkSize, Map<Long, Long> acknowledgedChunks, FileChannel channel) {
+		this.file = file;
+		this.context = context;
+		this.chunkSize = chunkSize;
+		this.acknowledgedChunks = acknowledgedChunks;
+		this.channel = channel;
+	}
+	/**
+	 * Creates the new journal. The existing file is overwritten.
+	 *
+	 * @param file
+	 * @param context
+	 * @param chunkSize
+	 * @return
+	 * @throws IOException
+	 */
+	public static KiiChunkedUploadJournal create(File file, KiiChunkedUploadContext context, long chunkSize) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file is null");
+		}
+		if (context == null) {
+			throw new IllegalArgumentException("context is null");
+		}
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive");
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		KiiChunkedUploadJournal journal = new KiiChunkedUploadJournal(file, context, chunkSize, new HashMap<Long, Long>(), channel);
+		journal.append(context.getUploadID() + SEPARATOR + context.getContentType() + SEPARATOR + context.getDataSize() + SEPARATOR + chunkSize);
+		return journal;
+	}
+	/**
+	 * Opens the existing journal to resume the upload.
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException if the file is not a journal.
+	 */
+	public static KiiChunkedUploadJournal open(File file) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file is null");
+		}
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		int lineStart = 0;
+		int lineEnd = indexOf(bytes, lineStart);
+		if (lineEnd < 0) {
+			throw new IOException("Invalid journal:" + file.getAbsolutePath());
+		}
+		String[] fields = new String(bytes, lineStart, lineEnd - lineStart, UTF8).split(SEPARATOR);
+		if (fields.length != 4) {
+			throw new IOException("Invalid journal:" + file.getAbsolutePath());
+		}
+		KiiChunkedUploadContext context = null;
+		long chunkSize = 0;
+		try {
+			context = new KiiChunkedUploadContext(fields[1], fields[0], Long.parseLong(fields[2]));
+			chunkSize = Long.parseLong(fields[3]);
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid journal:" + file.getAbsolutePath(), e);
+		}
+		if (chunkSize < 1) {
+			throw new IOException("Invalid journal:" + file.getAbsolutePath());
+		}
+		Map<Long, Long> acknowledgedChunks = new HashMap<Long, Long>();
+		lineStart = lineEnd + 1;
+		// Only the lines that are terminated by the line feed are complete.
+		while ((lineEnd = indexOf(bytes, lineStart)) >= 0) {
+			String[] chunk = new String(bytes, lineStart, lineEnd - lineStart, UTF8).split(SEPARATOR);
+			if (chunk.length != 2) {
+				break;
+			}
+			long offset = 0;
+			long length = 0;
+			try {
+				offset = Long.parseLong(chunk[0]);
+				length = Long.parseLong(chunk[1]);
+			} catch (NumberFormatException e) {
+				break;
+			}
+			if (offset % chunkSize != 0 || length != Math.min(chunkSize, context.getDataSize() - offset)) {
+				break;
+			}
+			if (!acknowledgedChunks.containsKey(offset)) {
+				acknowledgedChunks.put(offset, length);
+				context.acknowledge(offset, length);
+			}
+			lineStart = lineEnd + 1;
+		}
+		long validLength = lineStart;
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+		// Drops the incomplete line that is written by the crashed process.
+		channel.truncate(validLength);
+		channel.position(validLength);
+		return new KiiChunkedUploadJournal(file, context, chunkSize, acknowledgedChunks, channel);
+	}
+	private static int indexOf(byte[] bytes, int from) {
+		for (int i = from; i < bytes.length; i++) {
+			if (bytes[i] == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+	public File getFile() {
+		return this.file;
+	}
+	/**
+	 * @return the context that the uploaded size is restored from the journal.
+	 */
+	public KiiChunkedUploadContext getContext() {
+		return this.context;
+	}
+	public long getChunkSize() {
+		return this.chunkSize;
+	}
+	public synchronized boolean isAcknowledged(long offset) {
+		return this.acknowledgedChunks.containsKey(offset);
+	}
+	/**
+	 * Records the chunk that the server acknowledged.
+	 *
+	 * @param offset
+	 * @param length
+	 * @throws IOException
+	 */
+	public synchronized void acknowledge(long offset, long length) throws IOException {
+		if (this.acknowledgedChunks.containsKey(offset)) {
+			return;
+		}
+		this.append(offset + SEPARATOR + length);
+		this.acknowledgedChunks.put(offset, length);
+	}
+	public synchronized void close() throws IOException {
+		if (this.channel != null) {
+			this.channel.close();
+			this.channel = null;
+		}
+	}
+	/**
+	 * Closes and deletes the journal. This is called when the upload is committed.
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void delete() throws IOException {
+		this.close();
+		if (this.file.exists() && !this.file.delete()) {
+			throw new IOException("Failed to delete the journal:" + this.file.getAbsolutePath());
+		}
+	}
+	private void append(String line) throws IOException {
+		if (this.channel == null) {
+			throw new IOException("The journal is already closed.");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(UTF8));
+		while (buffer.hasRemaining()) {
+			this.channel.write(buffer);
+		}
+		this.channel.force(false);
+	}
+}
@@ -6,12 +6,12 @@ import com.kii.cloud.rest.client.model.KiiJsonModel;
 import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiGroup extends KiiJsonModel {
-	public static final KiiJsonProperty<String> PROPERTY_GROUP_ID = new KiiJsonProperty<String>(String.class, "groupID");
-	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty<String>(String.class, "name");
-	public static final KiiJsonProperty<String> PROPERTY_OWNER = new KiiJsonProperty<String>(String.class, "owner");
+	public static final KiiJsonProperty<String> PROPERTY_GROUP_ID = new KiiJsonProperty.StringProperty("groupID");
+	public static final KiiJsonProperty<String> PROPERTY_NAME = new KiiJsonProperty.StringProperty("name");
+	public static final KiiJsonProperty<String> PROPERTY_OWNER = new KiiJsonProperty.StringProperty("owner");
 	public static final KiiJsonProperty<JsonArray> PROPERTY_NOT_FOUND_USERS = new KiiJsonProperty<JsonArray>(JsonArray.class, "notFoundUsers");
-	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty<Long>(Long.class, "createdAt");
-	public static final KiiJsonProperty<Long> PROPERTY_MODIFIED_AT = new KiiJsonProperty<Long>(Long.class, "modifiedAt");
+	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty.LongProperty("createdAt");
+	public static final KiiJsonProperty<Long> PROPERTY_MODIFIED_AT = new KiiJsonProperty.LongProperty("modifiedAt");
 
 	public KiiGroup() {
 	}
@@ -12,7 +12,7 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiGroupMembers extends KiiJsonModel {
 	public static final KiiJsonProperty<JsonArray> PROPERTY_MEMBERS = new KiiJsonProperty<JsonArray>(JsonArray.class, "members");
-	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty<String>(String.class, "userID");
+	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty.StringProperty("userID");
 	
 	public KiiGroupMembers() {
 	}
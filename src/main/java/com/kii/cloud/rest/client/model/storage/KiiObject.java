@@ -5,12 +5,15 @@ import com.kii.cloud.rest.client.model.KiiCustomableJsonModel;
 import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiObject extends KiiCustomableJsonModel<KiiObject> {
-	public static final KiiJsonProperty<String> PROPERTY_OBJECT_ID = new KiiJsonProperty<String>(String.class, "objectID", "_id");
-	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty<Long>(Long.class, "createdAt", "_created");
-	public static final KiiJsonProperty<Long> PROPERTY_MODIFIED_AT = new KiiJsonProperty<Long>(Long.class, "modifiedAt", "_modified");
-	public static final KiiJsonProperty<String> PROPERTY_DATA_TYPE = new KiiJsonProperty<String>(String.class, "dataType", "_dataType");
-	public static final KiiJsonProperty<String> PROPERTY_OWNER = new KiiJsonProperty<String>(String.class, "_owner");
-	public static final KiiJsonProperty<String> PROPERTY_VERSION = new KiiJsonProperty<String>(String.class, "_version");
+	public static final KiiJsonProperty<String> PROPERTY_OBJECT_ID = new KiiJsonProperty.StringProperty("objectID", "_id");
+	public static final KiiJsonProperty<Long> PROPERTY_CREATED_AT = new KiiJsonProperty.LongProperty("createdAt", "_created");
+	public static final KiiJsonProperty<Long> PROPERTY_MODIFIED_AT = new KiiJsonProperty.LongProperty("modifiedAt", "_modified");
+	// The constants keep their declared types for the binary compatibility, so the primitive getters are reached by these.
+	private static final KiiJsonProperty.LongProperty CREATED_AT = (KiiJsonProperty.LongProperty)PROPERTY_CREATED_AT;
+	private static final KiiJsonProperty.LongProperty MODIFIED_AT = (KiiJsonProperty.LongProperty)PROPERTY_MODIFIED_AT;
+	public static final KiiJsonProperty<String> PROPERTY_DATA_TYPE = new KiiJsonProperty.StringProperty("dataType", "_dataType");
+	public static final KiiJsonProperty<String> PROPERTY_OWNER = new KiiJsonProperty.StringProperty("_owner");
+	public static final KiiJsonProperty<String> PROPERTY_VERSION = new KiiJsonProperty.StringProperty("_version");
 	
 	public KiiObject() {
 	}
@@ -27,6 +30,14 @@ public class KiiObject extends KiiCustomableJsonModel<KiiObject> {
 	public Long getCreatedAt() {
 		return PROPERTY_CREATED_AT.get(this.json);
 	}
+	/**
+	 * Same as {@link #getCreatedAt()}, but returns the primitive value without the boxing.
+	 * @param defaultValue
+	 * @return defaultValue if the object does not have the timestamp.
+	 */
+	public long getCreatedAt(long defaultValue) {
+		return CREATED_AT.getLong(this.json, defaultValue);
+	}
 	public KiiObject setCreatedAt(Long createdAt) {
 		PROPERTY_CREATED_AT.set(this.json, createdAt);
 		return this;
@@ -34,6 +45,14 @@ public class KiiObject extends KiiCustomableJsonModel<KiiObject> {
 	public Long getModifiedAt() {
 		return PROPERTY_MODIFIED_AT.get(this.json);
 	}
+	/**
+	 * Same as {@link #getModifiedAt()}, but returns the primitive value without the boxing.
+	 * @param defaultValue
+	 * @return defaultValue if the object does not have the timestamp.
+	 */
+	public long getModifiedAt(long defaultValue) {
+		return MODIFIED_AT.getLong(this.json, defaultValue);
+	}
 	public KiiObject setModifiedAt(Long modifiedAt) {
 		PROPERTY_MODIFIED_AT.set(this.json, modifiedAt);
 		return this;
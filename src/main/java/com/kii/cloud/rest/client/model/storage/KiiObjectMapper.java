@@ -0,0 +1,219 @@
+package com.kii.cloud.rest.client.model.storage;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Binds the fields of the bucket object to the user defined class without the Gson tree and the reflection.
+ * <p>
+ * Each field is bound with the getter and the setter of its type, and is read from {@link JsonReader}
+ * and written to {@link JsonWriter} as the primitive value. For example:
+ * <pre>
+ * KiiObjectMapper&lt;Score&gt; mapper = new KiiObjectMapper&lt;Score&gt;(Score::new)
+ *     .bindString("_id", Score::getID, Score::setID)
+ *     .bindString("name", Score::getName, Score::setName)
+ *     .bindInt("score", Score::getScore, Score::setScore);
+ * </pre>
+ * The fields that are not bound are skipped while reading. The field whose value is null in JSON is not set.
+ * The string field whose value is null in the instance is not written.
+ * <p>
+ * The subclass can override {@link #read(JsonReader)} and {@link #write(JsonWriter, Object)}
+ * to decode and encode the fields by hand.
+ * The instance is thread safe after all fields are bound.
+ *
+ * @param <T> the type of the bound class.
+ */
+public class KiiObjectMapper<T> {
+
+	/**
+	 * The setter of the boolean field, that is called without boxing the value.
+	 *
+	 * @param <T> the type of the bound class.
+	 */
+	public interface ObjBooleanConsumer<T> {
+		void accept(T instance, boolean value);
+	}
+
+	private interface FieldBinding<T> {
+		void read(JsonReader reader, T instance) throws IOException;
+		void write(JsonWriter writer, T instance) throws IOException;
+	}
+
+	private final Supplier<T> factory;
+	private final List<String> names = new ArrayList<String>();
+	private final List<FieldBinding<T>> orderedBindings = new ArrayList<FieldBinding<T>>();
+	private final Map<String, FieldBinding<T>> bindings = new HashMap<String, FieldBinding<T>>();
+
+	/**
+	 * @param factory creates the empty instance for each object.
+	 */
+	public KiiObjectMapper(Supplier<T> factory) {
+		if (factory == null) {
+			throw new IllegalArgumentException("factory is null");
+		}
+		this.factory = factory;
+	}
+	public KiiObjectMapper<T> bindString(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+		return this.bind(name, new FieldBinding<T>() {
+			@Override
+			public void read(JsonReader reader, T instance) throws IOException {
+				setter.accept(instance, reader.nextString());
+			}
+			@Override
+			public void write(JsonWriter writer, T instance) throws IOException {
+				String value = getter.apply(instance);
+				if (value != null) {
+					writer.name(name).value(value);
+				}
+			}
+		});
+	}
+	public KiiObjectMapper<T> bindInt(String name, ToIntFunction<T> getter, ObjIntConsumer<T> setter) {
+		return this.bind(name, new FieldBinding<T>() {
+			@Override
+			public void read(JsonReader reader, T instance) throws IOException {
+				setter.accept(instance, reader.nextInt());
+			}
+			@Override
+			public void write(JsonWriter writer, T instance) throws IOException {
+				writer.name(name).value(getter.applyAsInt(instance));
+			}
+		});
+	}
+	public KiiObjectMapper<T> bindLong(String name, ToLongFunction<T> getter, ObjLongConsumer<T> setter) {
+		return this.bind(name, new FieldBinding<T>() {
+			@Override
+			public void read(JsonReader reader, T instance) throws IOException {
+				setter.accept(instance, reader.nextLong());
+			}
+			@Override
+			public void write(JsonWriter writer, T instance) throws IOException {
+				writer.name(name).value(getter.applyAsLong(instance));
+			}
+		});
+	}
+	public KiiObjectMapper<T> bindDouble(String name, ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+		return this.bind(name, new FieldBinding<T>() {
+			@Override
+			public void read(JsonReader reader, T instance) throws IOException {
+				setter.accept(instance, reader.nextDouble());
+			}
+			@Override
+			public void write(JsonWriter writer, T instance) throws IOException {
+				writer.name(name).value(getter.applyAsDouble(instance));
+			}
+		});
+	}
+	public KiiObjectMapper<T> bindBoolean(String name, Predicate<T> getter, ObjBooleanConsumer<T> setter) {
+		return this.bind(name, new FieldBinding<T>() {
+			@Override
+			public void read(JsonReader reader, T instance) throws IOException {
+				setter.accept(instance, reader.nextBoolean());
+			}
+			@Override
+			public void write(JsonWriter writer, T instance) throws IOException {
+				writer.name(name).value(getter.test(instance));
+			}
+		});
+	}
+	private KiiObjectMapper<T> bind(String name, FieldBinding<T> binding) {
+		if (name == null) {
+			throw new IllegalArgumentException("name is null");
+		}
+		if (this.bindings.put(name, binding) != null) {
+			throw new IllegalArgumentException(name + " is already bound");
+		}
+		this.names.add(name);
+		this.orderedBindings.add(binding);
+		return this;
+	}
+	/**
+	 * @return the names of the bound fields. They can be passed to {@link KiiQuery#select(String...)}.
+	 */
+	public String[] getFieldNames() {
+		return this.names.toArray(new String[this.names.size()]);
+	}
+	/**
+	 * Reads the object from the current position of the reader.
+	 *
+	 * @param reader
+	 * @return
+	 * @throws IOException
+	 */
+	public T read(JsonReader reader) throws IOException {
+		T instance = this.factory.get();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			FieldBinding<T> binding = this.bindings.get(reader.nextName());
+			if (binding == null || reader.peek() == JsonToken.NULL) {
+				reader.skipValue();
+			} else {
+				binding.read(reader, instance);
+			}
+		}
+		reader.endObject();
+		return instance;
+	}
+	/**
+	 * Writes the bound fields of the instance as the JSON object.
+	 *
+	 * @param writer
+	 * @param instance
+	 * @throws IOException
+	 */
+	public void write(JsonWriter writer, T instance) throws IOException {
+		writer.beginObject();
+		for (FieldBinding<T> binding : this.orderedBindings) {
+			binding.write(writer, instance);
+		}
+		writer.endObject();
+	}
+	/**
+	 * @param json
+	 * @return
+	 * @throws JsonParseException if the json does not match the bound fields.
+	 */
+	public T fromJson(String json) {
+		if (json == null) {
+			throw new IllegalArgumentException("json is null");
+		}
+		try {
+			return this.read(new JsonReader(new StringReader(json)));
+		} catch (IOException | IllegalStateException | NumberFormatException e) {
+			throw new JsonParseException(e);
+		}
+	}
+	public String toJson(T instance) {
+		if (instance == null) {
+			throw new IllegalArgumentException("instance is null");
+		}
+		StringWriter json = new StringWriter();
+		try {
+			this.write(new JsonWriter(json), instance);
+		} catch (IOException e) {
+			// StringWriter never throws IOException
+			throw new IllegalStateException(e);
+		}
+		return json.toString();
+	}
+}
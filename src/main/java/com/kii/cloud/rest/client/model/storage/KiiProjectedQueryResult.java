@@ -0,0 +1,44 @@
+package com.kii.cloud.rest.client.model.storage;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.kii.cloud.rest.client.util.StringUtils;
+
+/**
+ * Represents the page of the query that is converted by the mapper.
+ *
+ * @param <T> the type that the mapper returns.
+ */
+public class KiiProjectedQueryResult<T> {
+	
+	private final KiiQuery query;
+	private final List<T> results;
+	private final String nextPaginationKey;
+	
+	public KiiProjectedQueryResult(KiiQuery query, List<T> results, String nextPaginationKey) {
+		this.query = query;
+		this.results = Collections.unmodifiableList(results);
+		this.nextPaginationKey = nextPaginationKey;
+	}
+	public List<T> getResults() {
+		return this.results;
+	}
+	public boolean hasNext() {
+		return !StringUtils.isEmpty(this.nextPaginationKey);
+	}
+	/**
+	 * @return null if there are no more results.
+	 */
+	public String getNextPaginationKey() {
+		return this.nextPaginationKey;
+	}
+	public KiiQuery getNextQuery() {
+		if (!hasNext()) {
+			return null;
+		}
+		KiiQuery query = this.query.clone();
+		query.setNextPaginationKey(this.nextPaginationKey);
+		return query;
+	}
+}
@@ -1,5 +1,10 @@
 package com.kii.cloud.rest.client.model.storage;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.util.GsonUtils;
 import com.kii.cloud.rest.client.util.StringUtils;
@@ -9,6 +14,7 @@ public class KiiQuery {
 	private String nextPaginationKey;
 	private int limit;
 	private JsonObject json;
+	private Set<String> projection;
 	
 	public KiiQuery() {
 		this(null);
@@ -40,6 +46,28 @@ public class KiiQuery {
 		this.limit = limit;
 		return this;
 	}
+	/**
+	 * Selects the top level fields that are decoded by the query with the mapper.
+	 * The other fields are skipped while reading the response.
+	 * The query request of Kii Cloud has no field selection, so the whole objects are still transferred.
+	 * 
+	 * @param fields like "_id".
+	 * @return
+	 * @see com.kii.cloud.rest.client.resource.storage.KiiBucketResource#query(KiiQuery, java.util.function.Function)
+	 */
+	public KiiQuery select(String... fields) {
+		if (fields == null || fields.length == 0) {
+			throw new IllegalArgumentException("fields is null or empty");
+		}
+		this.projection = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(fields)));
+		return this;
+	}
+	/**
+	 * @return null if all fields are selected.
+	 */
+	public Set<String> getProjection() {
+		return this.projection;
+	}
 	public JsonObject toJson() {
 		JsonObject query = new JsonObject();
 		query.add("bucketQuery", this.json);
@@ -56,6 +84,7 @@ public class KiiQuery {
 		clone.nextPaginationKey = this.nextPaginationKey;
 		clone.limit = this.limit;
 		clone.json = GsonUtils.clone(this.json);
+		clone.projection = this.projection;
 		return clone;
 	}
 }
@@ -288,6 +288,16 @@ public class KiiQueryClause {
 		clause.json.addProperty("upperIncluded", true);
 		return clause;
 	}
+	public static KiiQueryClause range(String key, long lowerLimit, boolean lowerIncluded, long upperLimit, boolean upperIncluded) {
+		KiiQueryClause clause = new KiiQueryClause();
+		clause.json.addProperty("type", "range");
+		clause.json.addProperty("field", key);
+		clause.json.addProperty("lowerLimit", lowerLimit);
+		clause.json.addProperty("lowerIncluded", lowerIncluded);
+		clause.json.addProperty("upperLimit", upperLimit);
+		clause.json.addProperty("upperIncluded", upperIncluded);
+		return clause;
+	}
 	public static KiiQueryClause prefix(String key, String value) {
 		KiiQueryClause clause = new KiiQueryClause();
 		clause.json.addProperty("type", "prefix");
@@ -10,8 +10,8 @@ import com.kii.cloud.rest.client.model.KiiJsonProperty;
 
 public class KiiQueryResult extends KiiJsonModel {
 	public static final KiiJsonProperty<JsonArray> PROPERTY_RESULTS = new KiiJsonProperty<JsonArray>(JsonArray.class, "results");
-	public static final KiiJsonProperty<String> PROPERTY_NEXT_PAGINATION_KEY = new KiiJsonProperty<String>(String.class, "nextPaginationKey");
-	public static final KiiJsonProperty<String> PROPERTY_QUERY_DESCRIPTION = new KiiJsonProperty<String>(String.class, "queryDescription");
+	public static final KiiJsonProperty<String> PROPERTY_NEXT_PAGINATION_KEY = new KiiJsonProperty.StringProperty("nextPaginationKey");
+	public static final KiiJsonProperty<String> PROPERTY_QUERY_DESCRIPTION = new KiiJsonProperty.StringProperty("queryDescription");
 	
 	private final KiiQuery query;
 	
@@ -22,6 +22,12 @@ public class KiiQueryResult extends KiiJsonModel {
 	public boolean hasNext() {
 		return PROPERTY_NEXT_PAGINATION_KEY.has(this.json);
 	}
+	/**
+	 * @return null if there are no more results.
+	 */
+	public String getNextPaginationKey() {
+		return PROPERTY_NEXT_PAGINATION_KEY.get(this.json);
+	}
 	public List<KiiObject> getResults() {
 		List<KiiObject> results = new ArrayList<KiiObject>();
 		JsonArray objects = PROPERTY_RESULTS.get(this.json);
@@ -16,28 +16,28 @@ public class KiiThing extends KiiCustomableJsonModel<KiiThing> implements KiiCre
 	public static final Pattern THING_PASSWORD_PATTERN = Pattern.compile("^\\p{Print}{1,200}$");
 	public static final Pattern THING_GENERIC_FIELD_PATTERN = Pattern.compile("[a-zA-Z0-9-_\\. ]{0,100}");
 
-	public static final KiiJsonProperty<String> PROPERTY_ACCESS_TOKEN = new KiiJsonProperty<String>(String.class, "_accessToken");
-	public static final KiiJsonProperty<String> PROPERTY_REFRESH_TOKEN = new KiiJsonProperty<String>(String.class, "_refreshToken");
-	public static final KiiJsonProperty<String> PROPERTY_THING_ID = new KiiJsonProperty<String>(String.class, "_thingID");
-	public static final KiiJsonProperty<String> PROPERTY_VENDOR_THING_ID = new KiiJsonProperty<String>(String.class, "_vendorThingID", new RegularExpressionValidator(VENDOR_THING_ID_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_PASSWORD = new KiiJsonProperty<String>(String.class, "_password", new RegularExpressionValidator(THING_PASSWORD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_THING_TYPE = new KiiJsonProperty<String>(String.class, "_thingType", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_VENDOR = new KiiJsonProperty<String>(String.class, "_vendor", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_FIRMWARE_VERSION = new KiiJsonProperty<String>(String.class, "_firmwareVersion", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_PRODUCT_NAME = new KiiJsonProperty<String>(String.class, "_productName", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_LOT = new KiiJsonProperty<String>(String.class, "_lot", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_1 = new KiiJsonProperty<String>(String.class, "_stringField1", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_2 = new KiiJsonProperty<String>(String.class, "_stringField2", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_3 = new KiiJsonProperty<String>(String.class, "_stringField3", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_4 = new KiiJsonProperty<String>(String.class, "_stringField4", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_5 = new KiiJsonProperty<String>(String.class, "_stringField5", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
-	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_1 = new KiiJsonProperty<Long>(Long.class, "_numberField1");
-	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_2 = new KiiJsonProperty<Long>(Long.class, "_numberField2");
-	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_3 = new KiiJsonProperty<Long>(Long.class, "_numberField3");
-	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_4 = new KiiJsonProperty<Long>(Long.class, "_numberField4");
-	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_5 = new KiiJsonProperty<Long>(Long.class, "_numberField5");
-	public static final KiiJsonProperty<Long> PROPERTY_CREATED = new KiiJsonProperty<Long>(Long.class, "_created");
-	public static final KiiJsonProperty<Boolean> PROPERTY_DISABLED = new KiiJsonProperty<Boolean>(Boolean.class, "_disabled");
+	public static final KiiJsonProperty<String> PROPERTY_ACCESS_TOKEN = new KiiJsonProperty.StringProperty("_accessToken");
+	public static final KiiJsonProperty<String> PROPERTY_REFRESH_TOKEN = new KiiJsonProperty.StringProperty("_refreshToken");
+	public static final KiiJsonProperty<String> PROPERTY_THING_ID = new KiiJsonProperty.StringProperty("_thingID");
+	public static final KiiJsonProperty<String> PROPERTY_VENDOR_THING_ID = new KiiJsonProperty.StringProperty("_vendorThingID", new RegularExpressionValidator(VENDOR_THING_ID_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_PASSWORD = new KiiJsonProperty.StringProperty("_password", new RegularExpressionValidator(THING_PASSWORD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_THING_TYPE = new KiiJsonProperty.StringProperty("_thingType", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_VENDOR = new KiiJsonProperty.StringProperty("_vendor", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_FIRMWARE_VERSION = new KiiJsonProperty.StringProperty("_firmwareVersion", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_PRODUCT_NAME = new KiiJsonProperty.StringProperty("_productName", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_LOT = new KiiJsonProperty.StringProperty("_lot", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_1 = new KiiJsonProperty.StringProperty("_stringField1", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_2 = new KiiJsonProperty.StringProperty("_stringField2", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_3 = new KiiJsonProperty.StringProperty("_stringField3", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_4 = new KiiJsonProperty.StringProperty("_stringField4", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_STRING_FIELD_5 = new KiiJsonProperty.StringProperty("_stringField5", new RegularExpressionValidator(THING_GENERIC_FIELD_PATTERN));
+	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_1 = new KiiJsonProperty.LongProperty("_numberField1");
+	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_2 = new KiiJsonProperty.LongProperty("_numberField2");
+	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_3 = new KiiJsonProperty.LongProperty("_numberField3");
+	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_4 = new KiiJsonProperty.LongProperty("_numberField4");
+	public static final KiiJsonProperty<Long> PROPERTY_NUMBER_FIELD_5 = new KiiJsonProperty.LongProperty("_numberField5");
+	public static final KiiJsonProperty<Long> PROPERTY_CREATED = new KiiJsonProperty.LongProperty("_created");
+	public static final KiiJsonProperty<Boolean> PROPERTY_DISABLED = new KiiJsonProperty.BooleanProperty("_disabled");
 
 	protected final JsonObject credentials = new JsonObject();
 	
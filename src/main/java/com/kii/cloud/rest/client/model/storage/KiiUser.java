@@ -27,20 +27,20 @@ public abstract class KiiUser extends KiiCustomableJsonModel<KiiUser> implements
 			")+"
 	);
 	
-	public static final KiiJsonProperty<String> PROPERTY_ACCESS_TOKEN = new KiiJsonProperty<String>(String.class, "_accessToken", "accessToken");
-	public static final KiiJsonProperty<String> PROPERTY_REFRESH_TOKEN = new KiiJsonProperty<String>(String.class, "_refreshToken", "refresh_token");
-	public static final KiiJsonProperty<Long> PROPERTY_EXPIRES_IN = new KiiJsonProperty<Long>(Long.class, "expires_in");
-	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty<String>(String.class, "userID", "id");
-	public static final KiiJsonProperty<String> PROPERTY_INTERNAL_USER_ID = new KiiJsonProperty<String>(String.class, "internalUserID");
-	public static final KiiJsonProperty<String> PROPERTY_USERNAME = new KiiJsonProperty<String>(String.class, "loginName", new RegularExpressionValidator(USERNAME_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_DISPLAY_NAME = new KiiJsonProperty<String>(String.class, "displayName", new RangeLengthValidator(1, 50));
-	public static final KiiJsonProperty<String> PROPERTY_COUNTRY = new KiiJsonProperty<String>(String.class, "country", new RegularExpressionValidator(COUNTRY_PATTERN));
-	public static final KiiJsonProperty<String> PROPERTY_EMAIL_ADDRESS = new KiiJsonProperty<String>(String.class, "emailAddress", new RegularExpressionValidator(EMAIL_ADDRESS_PATTERN));
-	public static final KiiJsonProperty<Boolean> PROPERTY_EMAIL_ADDRESS_VERIFIED = new KiiJsonProperty<Boolean>(Boolean.class, "emailAddressVerified");
-	public static final KiiJsonProperty<String> PROPERTY_PHONE_NUMBER = new KiiJsonProperty<String>(String.class, "phoneNumber", new RegularExpressionValidator(GLOBAL_PHONE_PATTERN, LOCAL_PHONE_PATTERN));
-	public static final KiiJsonProperty<Boolean> PROPERTY_PHONE_NUMBER_VERIFIED = new KiiJsonProperty<Boolean>(Boolean.class, "phoneNumberVerified");
-	public static final KiiJsonProperty<Boolean> PROPERTY_HAS_PASSWORD = new KiiJsonProperty<Boolean>(Boolean.class, "_hasPassword");
-	public static final KiiJsonProperty<Boolean> PROPERTY_DISABLED = new KiiJsonProperty<Boolean>(Boolean.class, "_disabled");
+	public static final KiiJsonProperty<String> PROPERTY_ACCESS_TOKEN = new KiiJsonProperty.StringProperty("_accessToken", "accessToken");
+	public static final KiiJsonProperty<String> PROPERTY_REFRESH_TOKEN = new KiiJsonProperty.StringProperty("_refreshToken", "refresh_token");
+	public static final KiiJsonProperty<Long> PROPERTY_EXPIRES_IN = new KiiJsonProperty.LongProperty("expires_in");
+	public static final KiiJsonProperty<String> PROPERTY_USER_ID = new KiiJsonProperty.StringProperty("userID", "id");
+	public static final KiiJsonProperty<String> PROPERTY_INTERNAL_USER_ID = new KiiJsonProperty.StringProperty("internalUserID");
+	public static final KiiJsonProperty<String> PROPERTY_USERNAME = new KiiJsonProperty.StringProperty("loginName", new RegularExpressionValidator(USERNAME_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_DISPLAY_NAME = new KiiJsonProperty.StringProperty("displayName", new RangeLengthValidator(1, 50));
+	public static final KiiJsonProperty<String> PROPERTY_COUNTRY = new KiiJsonProperty.StringProperty("country", new RegularExpressionValidator(COUNTRY_PATTERN));
+	public static final KiiJsonProperty<String> PROPERTY_EMAIL_ADDRESS = new KiiJsonProperty.StringProperty("emailAddress", new RegularExpressionValidator(EMAIL_ADDRESS_PATTERN));
+	public static final KiiJsonProperty<Boolean> PROPERTY_EMAIL_ADDRESS_VERIFIED = new KiiJsonProperty.BooleanProperty("emailAddressVerified");
+	public static final KiiJsonProperty<String> PROPERTY_PHONE_NUMBER = new KiiJsonProperty.StringProperty("phoneNumber", new RegularExpressionValidator(GLOBAL_PHONE_PATTERN, LOCAL_PHONE_PATTERN));
+	public static final KiiJsonProperty<Boolean> PROPERTY_PHONE_NUMBER_VERIFIED = new KiiJsonProperty.BooleanProperty("phoneNumberVerified");
+	public static final KiiJsonProperty<Boolean> PROPERTY_HAS_PASSWORD = new KiiJsonProperty.BooleanProperty("_hasPassword");
+	public static final KiiJsonProperty<Boolean> PROPERTY_DISABLED = new KiiJsonProperty.BooleanProperty("_disabled");
 	
 	public static final String ME = "me";
 	
@@ -1,7 +1,10 @@
 package com.kii.cloud.rest.client.resource;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
+import com.kii.cloud.rest.client.KiiRestContext;
 import com.kii.cloud.rest.client.model.KiiCredentialsContainer;
 import com.kii.cloud.rest.client.model.push.KiiPushInstallation.InstallationType;
 import com.kii.cloud.rest.client.model.storage.KiiGroup;
@@ -32,6 +35,7 @@ import com.kii.cloud.rest.client.resource.storage.KiiThingResource;
 import com.kii.cloud.rest.client.resource.storage.KiiThingsResource;
 import com.kii.cloud.rest.client.resource.storage.KiiUserResource;
 import com.kii.cloud.rest.client.resource.storage.KiiUsersResource;
+import com.squareup.okhttp.OkHttpClient;
 
 /**
  * Represents the application resource like following URI:
@@ -48,12 +52,38 @@ public class KiiAppResource extends KiiRestResource {
 	private final String appKey;
 	private final String endpoint;
 	private final KiiCredentialsContainer credentials;
+	private final KiiRestContext context;
+	private final Map<String, String> appHeaders;
 	
 	public KiiAppResource(String appID, String appKey, String endpoint, KiiCredentialsContainer credentials) {
+		this(appID, appKey, endpoint, credentials, new KiiRestContext());
+	}
+	/**
+	 * The non-retrying variant of the http client is built for each instance.
+	 * Use {@link #KiiAppResource(String, String, String, KiiCredentialsContainer, KiiRestContext)} to share it between the resources.
+	 *
+	 * @param appID
+	 * @param appKey
+	 * @param endpoint
+	 * @param credentials
+	 * @param httpClient
+	 */
+	public KiiAppResource(String appID, String appKey, String endpoint, KiiCredentialsContainer credentials, OkHttpClient httpClient) {
+		this(appID, appKey, endpoint, credentials, new KiiRestContext().setHttpClient(httpClient));
+	}
+	public KiiAppResource(String appID, String appKey, String endpoint, KiiCredentialsContainer credentials, KiiRestContext context) {
+		if (context == null) {
+			throw new IllegalArgumentException("context is null");
+		}
 		this.appID = appID;
 		this.appKey = appKey;
 		this.endpoint = endpoint;
 		this.credentials = credentials;
+		this.context = context;
+		Map<String, String> appHeaders = new HashMap<String, String>();
+		appHeaders.put("X-Kii-AppID", appID);
+		appHeaders.put("X-Kii-AppKey", appKey);
+		this.appHeaders = Collections.unmodifiableMap(appHeaders);
 	}
 	
 	public String getAppID() {
@@ -68,6 +98,18 @@ public class KiiAppResource extends KiiRestResource {
 	public KiiCredentialsContainer getCredentials() {
 		return this.credentials;
 	}
+	@Override
+	public KiiRestContext getContext() {
+		return this.context;
+	}
+	@Override
+	public OkHttpClient getHttpClient() {
+		return this.context.getHttpClient();
+	}
+	@Override
+	public OkHttpClient getNonRetryingHttpClient() {
+		return this.context.getNonRetryingHttpClient();
+	}
 
 	public KiiOAuthResource oauth() {
 		return new KiiOAuthResource(this);
@@ -172,8 +214,7 @@ public class KiiAppResource extends KiiRestResource {
 	}
 	@Override
 	protected void setAppHeader(Map<String, String> headers) {
-		headers.put("X-Kii-AppID", this.appID);
-		headers.put("X-Kii-AppKey", this.appKey);
+		headers.putAll(this.appHeaders);
 	}
 	@Override
 	protected void setAuthorizationHeader(Map<String, String> headers) {
@@ -1,7 +1,7 @@
 package com.kii.cloud.rest.client.resource;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.annotation.AnonymousAPI;
@@ -10,7 +10,6 @@ import com.kii.cloud.rest.client.model.KiiAdminCredentials;
 import com.kii.cloud.rest.client.model.KiiCredentialsContainer;
 import com.kii.cloud.rest.client.model.KiiUserCredentials;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
-import com.squareup.okhttp.Response;
 
 /**
  * Represents the oauth resource like following URI:
@@ -48,22 +47,30 @@ public class KiiOAuthResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public KiiUserCredentials getAccessToken(String identifier, String password, Long expiresAt) throws KiiRestException {
-		Map<String, String> headers = this.newAppHeaders();
-		JsonObject requestBody = new JsonObject();
-		requestBody.addProperty("grant_type", "password");
-		requestBody.addProperty("username", identifier);
-		requestBody.addProperty("password", password);
-		if (expiresAt != null) {
-			requestBody.addProperty("expiresAt", expiresAt);
-		}
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, requestBody);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return new KiiUserCredentials(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newAccessTokenRequest(identifier, password, expiresAt);
+		return this.execute(request, this.newAccessTokenHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #getAccessToken(String, String)}.
+	 * @param identifier
+	 * @param password
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiUserCredentials> getAccessTokenAsync(String identifier, String password) {
+		return this.getAccessTokenAsync(identifier, password, null);
+	}
+	/**
+	 * Asynchronous version of {@link #getAccessToken(String, String, Long)}.
+	 * @param identifier
+	 * @param password
+	 * @param expiresAt
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiUserCredentials> getAccessTokenAsync(String identifier, String password, Long expiresAt) {
+		KiiRestRequest request = this.newAccessTokenRequest(identifier, password, expiresAt);
+		return this.executeAsync(request, this.newAccessTokenHandler(request));
 	}
 	/**
 	 * @param clientID
@@ -86,22 +93,30 @@ public class KiiOAuthResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public KiiAdminCredentials getAdminAccessToken(String clientID, String clientSecret, Long expiresAt) throws KiiRestException {
-		Map<String, String> headers = this.newAppHeaders();
-		JsonObject requestBody = new JsonObject();
-		requestBody.addProperty("grant_type", "client_credentials");
-		requestBody.addProperty("client_id", clientID);
-		requestBody.addProperty("client_secret", clientSecret);
-		if (expiresAt != null) {
-			requestBody.addProperty("expiresAt", expiresAt);
-		}
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, requestBody);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return new KiiAdminCredentials(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newAdminAccessTokenRequest(clientID, clientSecret, expiresAt);
+		return this.execute(request, this.newAdminAccessTokenHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #getAdminAccessToken(String, String)}.
+	 * @param clientID
+	 * @param clientSecret
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiAdminCredentials> getAdminAccessTokenAsync(String clientID, String clientSecret) {
+		return this.getAdminAccessTokenAsync(clientID, clientSecret, null);
+	}
+	/**
+	 * Asynchronous version of {@link #getAdminAccessToken(String, String, Long)}.
+	 * @param clientID
+	 * @param clientSecret
+	 * @param expiresAt
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiAdminCredentials> getAdminAccessTokenAsync(String clientID, String clientSecret, Long expiresAt) {
+		KiiRestRequest request = this.newAdminAccessTokenRequest(clientID, clientSecret, expiresAt);
+		return this.executeAsync(request, this.newAdminAccessTokenHandler(request));
 	}
 	/**
 	 * @param credentials
@@ -122,6 +137,68 @@ public class KiiOAuthResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public KiiCredentialsContainer refreshAccessToken(KiiCredentialsContainer credentials, Long expiresAt) throws KiiRestException {
+		KiiRestRequest request = this.newRefreshAccessTokenRequest(credentials, expiresAt);
+		return this.execute(request, this.newRefreshAccessTokenHandler(request, credentials));
+	}
+	/**
+	 * Asynchronous version of {@link #refreshAccessToken(KiiCredentialsContainer)}.
+	 * @param credentials
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiCredentialsContainer> refreshAccessTokenAsync(KiiCredentialsContainer credentials) {
+		return this.refreshAccessTokenAsync(credentials, null);
+	}
+	/**
+	 * Asynchronous version of {@link #refreshAccessToken(KiiCredentialsContainer, Long)}.
+	 * @param credentials
+	 * @param expiresAt
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiCredentialsContainer> refreshAccessTokenAsync(KiiCredentialsContainer credentials, Long expiresAt) {
+		KiiRestRequest request = this.newRefreshAccessTokenRequest(credentials, expiresAt);
+		return this.executeAsync(request, this.newRefreshAccessTokenHandler(request, credentials));
+	}
+	private KiiRestRequest newAccessTokenRequest(String identifier, String password, Long expiresAt) {
+		Map<String, String> headers = this.newAppHeaders();
+		JsonObject requestBody = new JsonObject();
+		requestBody.addProperty("grant_type", "password");
+		requestBody.addProperty("username", identifier);
+		requestBody.addProperty("password", password);
+		if (expiresAt != null) {
+			requestBody.addProperty("expiresAt", expiresAt);
+		}
+		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, requestBody);
+		request.setMutating(false);
+		return request;
+	}
+	private ResponseHandler<KiiUserCredentials> newAccessTokenHandler(KiiRestRequest request) {
+		return response -> {
+			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
+			return new KiiUserCredentials(responseBody);
+		};
+	}
+	private KiiRestRequest newAdminAccessTokenRequest(String clientID, String clientSecret, Long expiresAt) {
+		Map<String, String> headers = this.newAppHeaders();
+		JsonObject requestBody = new JsonObject();
+		requestBody.addProperty("grant_type", "client_credentials");
+		requestBody.addProperty("client_id", clientID);
+		requestBody.addProperty("client_secret", clientSecret);
+		if (expiresAt != null) {
+			requestBody.addProperty("expiresAt", expiresAt);
+		}
+		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, requestBody);
+		request.setMutating(false);
+		return request;
+	}
+	private ResponseHandler<KiiAdminCredentials> newAdminAccessTokenHandler(KiiRestRequest request) {
+		return response -> {
+			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
+			return new KiiAdminCredentials(responseBody);
+		};
+	}
+	private KiiRestRequest newRefreshAccessTokenRequest(KiiCredentialsContainer credentials, Long expiresAt) {
 		Map<String, String> headers = this.newAppHeaders();
 		JsonObject requestBody = new JsonObject();
 		requestBody.addProperty("grant_type", "refresh_token");
@@ -130,17 +207,18 @@ public class KiiOAuthResource extends KiiRestSubResource {
 			requestBody.addProperty("expires_at", expiresAt);
 		}
 		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, requestBody);
-		try {
-			Response response = this.execute(request);
+		request.setMutating(false);
+		return request;
+	}
+	private ResponseHandler<KiiCredentialsContainer> newRefreshAccessTokenHandler(KiiRestRequest request, KiiCredentialsContainer credentials) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			if (credentials.isAdmin()) {
 				return new KiiAdminCredentials(responseBody);
 			} else {
 				return new KiiUserCredentials(responseBody);
 			}
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
 	@Override
 	public String getPath() {
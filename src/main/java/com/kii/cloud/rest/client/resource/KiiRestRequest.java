@@ -1,7 +1,13 @@
 package com.kii.cloud.rest.client.resource;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Map;
 
+import com.google.gson.JsonElement;
 import com.squareup.okhttp.MediaType;
 
 public class KiiRestRequest {
@@ -12,11 +18,38 @@ public class KiiRestRequest {
 		PUT,
 		DELETE
 	}
+	/**
+	 * Whether the http client may silently retry the request when the connection fails.
+	 */
+	public enum RetryPolicy {
+		RETRY_ON_CONNECTION_FAILURE,
+		NO_RETRY;
+		/**
+		 * POST and PUT are not retried by default because they may not be idempotent.
+		 * 
+		 * @param method
+		 * @return
+		 */
+		public static RetryPolicy defaultOf(Method method) {
+			switch (method) {
+				case POST:
+				case PUT:
+					return NO_RETRY;
+				default:
+					return RETRY_ON_CONNECTION_FAILURE;
+			}
+		}
+	}
 	private final String url;
 	private final Method method;
 	private final Map<String, String> headers;
 	private final MediaType contentType;
 	private final Object entity;
+	private final long entityPosition;
+	private RetryPolicy retryPolicy;
+	private boolean mutating;
+	private boolean repeatable;
+	private boolean authorizationRefreshed = false;
 	
 	public KiiRestRequest(String url, Method method, Map<String, String> headers) {
 		this(url, method, headers, null, null);
@@ -27,6 +60,9 @@ public class KiiRestRequest {
 		this.headers = headers;
 		this.contentType = contentType;
 		this.entity = entity;
+		this.entityPosition = positionOf(entity);
+		this.retryPolicy = RetryPolicy.defaultOf(method);
+		this.mutating = method != Method.GET && method != Method.HEAD;
 	}
 	public String getUrl() {
 		return url;
@@ -43,6 +79,86 @@ public class KiiRestRequest {
 	public Object getEntity() {
 		return entity;
 	}
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+	/**
+	 * @param retryPolicy overrides the default policy of the method.
+	 * @return this request
+	 */
+	public KiiRestRequest setRetryPolicy(RetryPolicy retryPolicy) {
+		if (retryPolicy == null) {
+			throw new IllegalArgumentException("retryPolicy is null");
+		}
+		this.retryPolicy = retryPolicy;
+		return this;
+	}
+	/**
+	 * @return true if the request may change the resources, so the cached responses of the related URLs are invalidated.
+	 */
+	public boolean isMutating() {
+		return this.mutating;
+	}
+	/**
+	 * @param mutating false for the POST that only reads, like the query.
+	 * @return this request
+	 */
+	public KiiRestRequest setMutating(boolean mutating) {
+		this.mutating = mutating;
+		return this;
+	}
+	/**
+	 * The streams are consumed by the first attempt, so they cannot be sent again.
+	 * {@link ByteBuffer} is sent from its position without moving it,
+	 * and {@link FileChannel} is sent from the position at the creation of this request on each attempt.
+	 * 
+	 * @return true if the request can be sent more than once.
+	 */
+	public boolean isRepeatable() {
+		return this.repeatable || this.entity == null || this.entity instanceof String || this.entity instanceof byte[] || this.entity instanceof File
+				|| this.entity instanceof Path || this.entity instanceof JsonElement || this.entity instanceof ByteBuffer
+				|| this.entity instanceof FileChannel && this.entityPosition >= 0;
+	}
+	/**
+	 * @param repeatable true if the {@link com.squareup.okhttp.RequestBody} entity writes the same content on each call.
+	 * @return this request
+	 */
+	public KiiRestRequest setRepeatable(boolean repeatable) {
+		this.repeatable = repeatable;
+		return this;
+	}
+	/**
+	 * @return the position of the {@link FileChannel} entity at the creation of this request,
+	 *         or -1 if the entity is not a channel or its position is not available.
+	 */
+	long getEntityPosition() {
+		return this.entityPosition;
+	}
+	/**
+	 * @return true if the access token has been replaced after the request was rejected.
+	 */
+	boolean isAuthorizationRefreshed() {
+		return this.authorizationRefreshed;
+	}
+	/**
+	 * Replaces the access token to send the request again.
+	 * 
+	 * @param accessToken
+	 */
+	void refreshAuthorization(String accessToken) {
+		this.headers.put("Authorization", "Bearer " + accessToken);
+		this.authorizationRefreshed = true;
+	}
+	private static long positionOf(Object entity) {
+		if (!(entity instanceof FileChannel)) {
+			return -1;
+		}
+		try {
+			return ((FileChannel)entity).position();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
 	public String getCurl() {
 		StringBuilder curl = new StringBuilder();
 		curl.append("curl -v -X " + this.method.name());
@@ -1,18 +1,39 @@
 package com.kii.cloud.rest.client.resource;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+import okio.Buffer;
 import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Source;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.kii.cloud.rest.client.OkHttpClientFactory;
+import com.google.gson.stream.JsonReader;
+import com.kii.cloud.rest.client.KiiRateLimiter;
+import com.kii.cloud.rest.client.KiiResponseCache;
+import com.kii.cloud.rest.client.KiiRestContext;
+import com.kii.cloud.rest.client.KiiRetryStrategy;
 import com.kii.cloud.rest.client.exception.KiiBadRequestException;
 import com.kii.cloud.rest.client.exception.KiiConflictException;
 import com.kii.cloud.rest.client.exception.KiiForbiddenException;
@@ -21,9 +42,14 @@ import com.kii.cloud.rest.client.exception.KiiNotFoundException;
 import com.kii.cloud.rest.client.exception.KiiRestException;
 import com.kii.cloud.rest.client.exception.KiiServiceUnavailableException;
 import com.kii.cloud.rest.client.exception.KiiUnauthorizedException;
-import com.kii.cloud.rest.client.util.IOUtils;
+import com.kii.cloud.rest.client.logger.KiiRequestLogger;
+import com.kii.cloud.rest.client.model.KiiCredentialsContainer;
+import com.kii.cloud.rest.client.model.KiiRefreshableCredentialsContainer;
 import com.kii.cloud.rest.client.util.Path;
+import com.kii.cloud.rest.client.util.SizedInputStream;
 import com.kii.cloud.rest.client.util.StringUtils;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Callback;
 import com.squareup.okhttp.Headers;
 import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.OkHttpClient;
@@ -31,6 +57,7 @@ import com.squareup.okhttp.Request;
 import com.squareup.okhttp.Request.Builder;
 import com.squareup.okhttp.RequestBody;
 import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 
 /**
  * This class is base class for all resource classes.
@@ -40,18 +67,76 @@ public abstract class KiiRestResource {
 	
 	public static final MediaType MEDIA_TYPE_APPLICATION_JSON = MediaType.parse("application/json");
 	public static final MediaType MEDIA_TYPE_TEXT_PLAIN = MediaType.parse("text/plain");
+	/**
+	 * The request body smaller than this size is compressed into the memory and sent with Content-Length.
+	 * The larger one is compressed while it is sent, with the chunked transfer encoding.
+	 */
+	private static final long MAX_BUFFERED_COMPRESSION_SIZE = 64 * 1024;
 	
-	protected static final OkHttpClient client = OkHttpClientFactory.newInstance();
+	/**
+	 * Converts the http response to the result of the resource method.
+	 * The synchronous and asynchronous versions of the resource method share the same handler.
+	 */
+	protected interface ResponseHandler<T> {
+		T handle(Response response) throws KiiRestException, IOException;
+	}
+	
+	private volatile KiiAppResource rootResource;
+	private volatile String baseUrl;
+	private volatile KiiRateLimiter.ApiFamily apiFamily;
 	
 	protected abstract KiiRestResource getParent();
 	public abstract String getPath();
 	
 	protected KiiAppResource getRootResource() {
-		KiiRestResource parent = this;
-		while (parent.getParent() != null) {
-			parent = parent.getParent();
+		KiiAppResource root = this.rootResource;
+		if (root == null) {
+			KiiRestResource parent = this;
+			while (parent.getParent() != null) {
+				parent = parent.getParent();
+			}
+			root = (KiiAppResource)parent;
+			this.rootResource = root;
 		}
-		return (KiiAppResource)parent;
+		return root;
+	}
+	/**
+	 * @return the context of the {@link com.kii.cloud.rest.client.KiiRest} instance that created this resource.
+	 */
+	protected KiiRestContext getContext() {
+		return this.getRootResource().getContext();
+	}
+	/**
+	 * @return the http client that is configured for the {@link com.kii.cloud.rest.client.KiiRest} instance.
+	 */
+	protected OkHttpClient getHttpClient() {
+		return this.getContext().getHttpClient();
+	}
+	/**
+	 * @return the variant of {@link #getHttpClient()} that does not retry on connection failure.
+	 */
+	protected OkHttpClient getNonRetryingHttpClient() {
+		return this.getContext().getNonRetryingHttpClient();
+	}
+	protected KiiRequestLogger getRequestLogger() {
+		return this.getContext().getRequestLogger();
+	}
+	/**
+	 * @return the family of this resource, that selects the rate limiter.
+	 */
+	protected KiiRateLimiter.ApiFamily getApiFamily() {
+		KiiRateLimiter.ApiFamily family = this.apiFamily;
+		if (family == null) {
+			family = KiiRateLimiter.ApiFamily.of(this.getClass());
+			this.apiFamily = family;
+		}
+		return family;
+	}
+	/**
+	 * @return null if the requests of this resource are not limited.
+	 */
+	protected KiiRateLimiter getRateLimiter() {
+		return this.getContext().getRateLimiter(this.getApiFamily());
 	}
 	public String getUrl() {
 		return this.getUrl(null);
@@ -63,14 +148,22 @@ public abstract class KiiRestResource {
 		return this.buildUrl(String.format(pathFormat, args));
 	}
 	private String buildUrl(String path) {
-		String url = buildUrl("", this);
-		return Path.combine(url, path);
+		return Path.combine(this.getBaseUrl(), path);
 	}
-	private String buildUrl(String path, KiiRestResource resource) {
-		if (resource.getParent() != null) {
-			path = buildUrl(path, resource.getParent());
+	/**
+	 * The URL of this resource is built once and reused,
+	 * because the path of the resource and its parents never change.
+	 * 
+	 * @return
+	 */
+	private String getBaseUrl() {
+		String url = this.baseUrl;
+		if (url == null) {
+			KiiRestResource parent = this.getParent();
+			url = Path.combine(parent == null ? "" : parent.getBaseUrl(), this.getPath());
+			this.baseUrl = url;
 		}
-		return Path.combine(path, resource.getPath());
+		return url;
 	}
 	/**
 	 * Create http headers that is set X-Kii-AppID and X-Kii-AppKey.
@@ -94,20 +187,452 @@ public abstract class KiiRestResource {
 		return headers;
 	}
 	protected void setAppHeader(Map<String, String> headers) {
-		if (getParent() != null) {
-			getParent().setAppHeader(headers);
-		}
+		this.getRootResource().setAppHeader(headers);
 	}
 	protected void setAuthorizationHeader(Map<String, String> headers) {
-		if (getParent() != null) {
-			getParent().setAuthorizationHeader(headers);
-		}
+		this.getRootResource().setAuthorizationHeader(headers);
 	}
 	protected Response execute(KiiRestRequest restRequest) throws IOException {
+		try {
+			Response response = this.executeWithRetry(restRequest);
+			KiiRefreshableCredentialsContainer credentials = this.getRefreshableCredentials(restRequest, response);
+			if (credentials == null) {
+				return response;
+			}
+			KiiCredentialsContainer refreshed = null;
+			try {
+				refreshed = credentials.refreshIfCurrent(getAccessToken(restRequest)).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.discardAttempt(restRequest, response, null);
+				throw new InterruptedIOException("Interrupted while refreshing the access token.");
+			} catch (ExecutionException e) {
+				// the original response is returned
+				return response;
+			}
+			this.discardAttempt(restRequest, response, null);
+			restRequest.refreshAuthorization(refreshed.getAccessToken());
+			return this.executeWithRetry(restRequest);
+		} catch (IOException e) {
+			this.logFailure(restRequest, e);
+			throw e;
+		} finally {
+			this.invalidateResponseCache(restRequest);
+		}
+	}
+	private Response executeWithRetry(KiiRestRequest restRequest) throws IOException {
+		KiiRetryStrategy retryStrategy = this.getContext().getRetryStrategy();
+		if (retryStrategy == null) {
+			return this.executeAttempt(restRequest);
+		}
+		return this.executeWithRetry(restRequest, retryStrategy);
+	}
+	/**
+	 * Executes the request until it succeeds or the retry strategy gives up.
+	 * The responses and the failures of the attempts that are retried are logged and discarded.
+	 * 
+	 * @param restRequest
+	 * @param retryStrategy
+	 * @return the response of the last attempt.
+	 * @throws IOException
+	 */
+	private Response executeWithRetry(KiiRestRequest restRequest, KiiRetryStrategy retryStrategy) throws IOException {
+		for (int retries = 0; ; retries++) {
+			Response response = null;
+			IOException failure = null;
+			KiiRateLimiter rateLimiter = this.getRateLimiter();
+			// the failures before the request is sent are not the failures of the attempt
+			if (rateLimiter != null) {
+				rateLimiter.acquire();
+			}
+			try {
+				retryStrategy.beforeAttempt(restRequest, retries);
+				try {
+					response = this.newCall(restRequest).execute();
+				} catch (IOException e) {
+					// including the timeouts
+					failure = e;
+				} catch (RuntimeException e) {
+					retryStrategy.abandonAttempt(restRequest);
+					throw e;
+				}
+			} finally {
+				if (rateLimiter != null) {
+					rateLimiter.release();
+				}
+			}
+			long delay = retryStrategy.afterAttempt(restRequest, retries, response, failure);
+			if (delay < 0) {
+				if (failure != null) {
+					throw failure;
+				}
+				return response;
+			}
+			this.discardAttempt(restRequest, response, failure);
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the retry.");
+			}
+		}
+	}
+	/**
+	 * Sends the request once without the retry, after the permit of the rate limiter is granted.
+	 * 
+	 * @param restRequest
+	 * @return
+	 * @throws IOException
+	 */
+	private Response executeAttempt(KiiRestRequest restRequest) throws IOException {
+		KiiRateLimiter rateLimiter = this.getRateLimiter();
+		if (rateLimiter != null) {
+			rateLimiter.acquire();
+		}
+		try {
+			return this.newCall(restRequest).execute();
+		} finally {
+			if (rateLimiter != null) {
+				rateLimiter.release();
+			}
+		}
+	}
+	private void discardAttempt(KiiRestRequest restRequest, Response response, IOException failure) {
+		if (response == null) {
+			this.logFailure(restRequest, failure);
+			return;
+		}
+		this.logResponse(restRequest, response, null);
+		try {
+			response.body().close();
+		} catch (IOException ignore) {
+		}
+	}
+	/**
+	 * Executes the request synchronously, and converts the response by the specified handler.
+	 * The synchronous resource methods share the handler with their asynchronous versions.
+	 * 
+	 * @param restRequest
+	 * @param handler
+	 * @return the result of the handler.
+	 * @throws KiiRestException
+	 */
+	protected <T> T execute(KiiRestRequest restRequest, ResponseHandler<T> handler) throws KiiRestException {
+		try {
+			Response response = this.execute(restRequest);
+			return handler.handle(response);
+		} catch (IOException e) {
+			throw new KiiRestException(restRequest, e);
+		}
+	}
+	/**
+	 * Executes the request asynchronously on the dispatcher threads of the http client.
+	 * The response is converted by the specified handler on the dispatcher thread.
+	 * Cancelling the returned future cancels the underlying http call.
+	 * 
+	 * @param restRequest
+	 * @param handler
+	 * @return the future that is completed with the result of the handler,
+	 *         or completed exceptionally with {@link KiiRestException}.
+	 */
+	protected <T> CompletableFuture<T> executeAsync(final KiiRestRequest restRequest, final ResponseHandler<T> handler) {
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		final AtomicReference<Call> current = new AtomicReference<Call>();
+		future.whenComplete((result, error) -> {
+			Call call = current.get();
+			if (future.isCancelled() && call != null) {
+				call.cancel();
+			}
+		});
+		this.enqueue(restRequest, handler, this.getContext().getRetryStrategy(), future, current, 0);
+		return future;
+	}
+	/**
+	 * Waits for the permit of the rate limiter without blocking, and then enqueues the attempt.
+	 */
+	private <T> void enqueue(final KiiRestRequest restRequest, final ResponseHandler<T> handler, final KiiRetryStrategy retryStrategy,
+			final CompletableFuture<T> future, final AtomicReference<Call> current, final int retries) {
+		final KiiRateLimiter rateLimiter = this.getRateLimiter();
+		if (rateLimiter == null) {
+			this.enqueueAttempt(restRequest, handler, retryStrategy, null, future, current, retries);
+			return;
+		}
+		CompletableFuture<Void> permit = rateLimiter.acquireAsync();
+		permit.whenComplete((result, error) -> {
+			if (error != null) {
+				if (future.isDone()) {
+					// cancelled while waiting
+					return;
+				}
+				IOException e = error instanceof IOException ? (IOException)error : new IOException(error);
+				invalidateResponseCache(restRequest);
+				logFailure(restRequest, e);
+				future.completeExceptionally(new KiiRestException(restRequest, e));
+				return;
+			}
+			this.enqueueAttempt(restRequest, handler, retryStrategy, rateLimiter, future, current, retries);
+		});
+		future.whenComplete((result, error) -> {
+			if (future.isCancelled()) {
+				permit.cancel(false);
+			}
+		});
+	}
+	/**
+	 * Sends the request once. The next attempt is enqueued by the timer of the retry strategy,
+	 * so the dispatcher threads are not blocked during the delay.
+	 * 
+	 * @param rateLimiter the rate limiter whose permit is granted for this attempt, or null.
+	 */
+	private <T> void enqueueAttempt(final KiiRestRequest restRequest, final ResponseHandler<T> handler, final KiiRetryStrategy retryStrategy,
+			final KiiRateLimiter rateLimiter, final CompletableFuture<T> future, final AtomicReference<Call> current, final int retries) {
+		if (future.isDone()) {
+			if (rateLimiter != null) {
+				rateLimiter.release();
+			}
+			return;
+		}
+		if (retryStrategy != null) {
+			try {
+				retryStrategy.beforeAttempt(restRequest, retries);
+			} catch (IOException e) {
+				if (rateLimiter != null) {
+					rateLimiter.release();
+				}
+				this.invalidateResponseCache(restRequest);
+				this.logFailure(restRequest, e);
+				future.completeExceptionally(new KiiRestException(restRequest, e));
+				return;
+			}
+		}
+		final Callback callback = new Callback() {
+			@Override
+			public void onFailure(Request request, IOException e) {
+				if (rateLimiter != null) {
+					rateLimiter.release();
+				}
+				invalidateResponseCache(restRequest);
+				if (retryStrategy == null) {
+					logFailure(restRequest, e);
+					future.completeExceptionally(new KiiRestException(restRequest, e));
+					return;
+				}
+				if (future.isCancelled()) {
+					retryStrategy.abandonAttempt(restRequest);
+					return;
+				}
+				long delay = retryStrategy.afterAttempt(restRequest, retries, null, e);
+				if (delay < 0) {
+					logFailure(restRequest, e);
+					future.completeExceptionally(new KiiRestException(restRequest, e));
+					return;
+				}
+				discardAttempt(restRequest, null, e);
+				retryStrategy.schedule(() -> enqueue(restRequest, handler, retryStrategy, future, current, retries + 1), delay);
+			}
+			@Override
+			public void onResponse(Response response) {
+				if (rateLimiter != null) {
+					rateLimiter.release();
+				}
+				invalidateResponseCache(restRequest);
+				if (retryStrategy == null) {
+					handleResponseOrReplay(restRequest, handler, retryStrategy, response, future, current);
+					return;
+				}
+				long delay = retryStrategy.afterAttempt(restRequest, retries, response, null);
+				if (delay < 0) {
+					handleResponseOrReplay(restRequest, handler, retryStrategy, response, future, current);
+					return;
+				}
+				discardAttempt(restRequest, response, null);
+				retryStrategy.schedule(() -> enqueue(restRequest, handler, retryStrategy, future, current, retries + 1), delay);
+			}
+		};
+		final Call call;
+		try {
+			call = this.newCall(restRequest);
+			current.set(call);
+			call.enqueue(callback);
+		} catch (RuntimeException e) {
+			// the callback is not called
+			this.abandonAttempt(restRequest, retryStrategy, rateLimiter);
+			this.invalidateResponseCache(restRequest);
+			future.completeExceptionally(e);
+			return;
+		}
+		if (future.isCancelled()) {
+			call.cancel();
+		}
+	}
+	/**
+	 * Releases the permit and the trial of the circuit breaker that are taken for the attempt that is not sent.
+	 */
+	private void abandonAttempt(KiiRestRequest restRequest, KiiRetryStrategy retryStrategy, KiiRateLimiter rateLimiter) {
+		if (rateLimiter != null) {
+			rateLimiter.release();
+		}
+		if (retryStrategy != null) {
+			retryStrategy.abandonAttempt(restRequest);
+		}
+	}
+	/**
+	 * Sends the request again with the refreshed access token if it is rejected with 401,
+	 * otherwise completes the future with the response.
+	 */
+	private <T> void handleResponseOrReplay(final KiiRestRequest restRequest, final ResponseHandler<T> handler, final KiiRetryStrategy retryStrategy,
+			final Response response, final CompletableFuture<T> future, final AtomicReference<Call> current) {
+		KiiRefreshableCredentialsContainer credentials = this.getRefreshableCredentials(restRequest, response);
+		if (credentials == null) {
+			this.handleResponse(restRequest, handler, response, future);
+			return;
+		}
+		credentials.refreshIfCurrent(getAccessToken(restRequest)).whenComplete((refreshed, error) -> {
+			if (error != null || future.isDone()) {
+				handleResponse(restRequest, handler, response, future);
+				return;
+			}
+			discardAttempt(restRequest, response, null);
+			restRequest.refreshAuthorization(refreshed.getAccessToken());
+			enqueue(restRequest, handler, retryStrategy, future, current, 0);
+		});
+	}
+	/**
+	 * The request that is rejected because the access token is expired is sent again once,
+	 * if the credentials can be refreshed and the request is repeatable.
+	 * 
+	 * @param restRequest
+	 * @param response
+	 * @return null if the request must not be sent again.
+	 */
+	private KiiRefreshableCredentialsContainer getRefreshableCredentials(KiiRestRequest restRequest, Response response) {
+		if (response.code() != 401 || restRequest.isAuthorizationRefreshed() || !restRequest.isRepeatable()) {
+			return null;
+		}
+		KiiCredentialsContainer credentials = this.getRootResource().getCredentials();
+		if (!(credentials instanceof KiiRefreshableCredentialsContainer) || getAccessToken(restRequest) == null) {
+			return null;
+		}
+		return (KiiRefreshableCredentialsContainer)credentials;
+	}
+	private static String getAccessToken(KiiRestRequest restRequest) {
+		String authorization = restRequest.getHeaders() == null ? null : restRequest.getHeaders().get("Authorization");
+		if (authorization == null || !authorization.startsWith("Bearer ")) {
+			return null;
+		}
+		return authorization.substring("Bearer ".length());
+	}
+	private <T> void handleResponse(KiiRestRequest restRequest, ResponseHandler<T> handler, Response response, CompletableFuture<T> future) {
+		if (future.isCancelled()) {
+			// the result of the cancelled request must not be applied, like the acknowledgement of the uploaded chunk
+			try {
+				response.body().close();
+			} catch (IOException ignore) {
+			}
+			return;
+		}
+		try {
+			future.complete(handler.handle(response));
+		} catch (KiiRestException e) {
+			future.completeExceptionally(e);
+		} catch (IOException e) {
+			future.completeExceptionally(new KiiRestException(restRequest, e));
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+	}
+	/**
+	 * Executes the GET request through the response cache of the context.
+	 * The cached response is returned without the request while it is fresh,
+	 * otherwise it is revalidated with If-None-Match.
+	 * The response is executed as usual when the cache is disabled.
+	 * 
+	 * @param request
+	 * @return null if the response body is empty.
+	 * @throws KiiRestException
+	 */
+	protected JsonObject executeCachedGet(KiiRestRequest request) throws KiiRestException {
+		KiiResponseCache cache = this.getContext().getResponseCache();
+		if (cache == null) {
+			try {
+				Response response = this.execute(request);
+				return this.parseResponseAsJsonObject(request, response);
+			} catch (IOException e) {
+				throw new KiiRestException(request, e);
+			}
+		}
+		String scope = request.getHeaders().get("Authorization");
+		KiiResponseCache.Entry entry = cache.get(request.getUrl(), scope);
+		if (entry != null) {
+			if (cache.isFresh(entry)) {
+				return (JsonObject)new JsonParser().parse(entry.getBody());
+			}
+			request.getHeaders().put("If-None-Match", entry.getETag());
+		}
+		long generation = cache.getGeneration();
+		try {
+			Response response = this.execute(request);
+			return this.parseCacheableResponse(cache, entry, scope, generation, request, response);
+		} catch (IOException e) {
+			throw new KiiRestException(request, e);
+		}
+	}
+	/**
+	 * Asynchronous version of {@link #executeCachedGet(KiiRestRequest)}.
+	 * The converter is applied in the future, so cancelling the returned future cancels the underlying http call.
+	 * 
+	 * @param request
+	 * @param converter converts the response body to the result.
+	 * @return
+	 */
+	protected <T> CompletableFuture<T> executeCachedGetAsync(KiiRestRequest request, Function<JsonObject, T> converter) {
+		KiiResponseCache cache = this.getContext().getResponseCache();
+		if (cache == null) {
+			return this.executeAsync(request, response -> converter.apply(this.parseResponseAsJsonObject(request, response)));
+		}
+		String scope = request.getHeaders().get("Authorization");
+		KiiResponseCache.Entry entry = cache.get(request.getUrl(), scope);
+		if (entry != null) {
+			if (cache.isFresh(entry)) {
+				return CompletableFuture.completedFuture(converter.apply((JsonObject)new JsonParser().parse(entry.getBody())));
+			}
+			request.getHeaders().put("If-None-Match", entry.getETag());
+		}
+		long generation = cache.getGeneration();
+		return this.executeAsync(request, response -> converter.apply(this.parseCacheableResponse(cache, entry, scope, generation, request, response)));
+	}
+	private JsonObject parseCacheableResponse(KiiResponseCache cache, KiiResponseCache.Entry entry, String scope, long generation, KiiRestRequest request, Response response) throws KiiRestException {
+		if (entry != null && response.code() == 304) {
+			this.parseResponseAsSuccess(request, response);
+			cache.revalidated(entry);
+			return (JsonObject)new JsonParser().parse(entry.getBody());
+		}
+		String body = this.parseResponseAsString(request, response);
+		if (body == null) {
+			return null;
+		}
+		String etag = response.header("ETag");
+		if (etag != null) {
+			cache.put(request.getUrl(), scope, etag, body, generation);
+		}
+		return (JsonObject)new JsonParser().parse(body);
+	}
+	/**
+	 * Called when the attempt of the request is completed, so the read that overlaps with the write is not cached.
+	 */
+	private void invalidateResponseCache(KiiRestRequest restRequest) {
+		if (!restRequest.isMutating()) {
+			return;
+		}
+		KiiResponseCache cache = this.getContext().getResponseCache();
+		if (cache != null) {
+			cache.invalidate(restRequest.getUrl());
+		}
+	}
+	private Call newCall(KiiRestRequest restRequest) {
 		Builder builder = new Request.Builder();
 		builder.url(restRequest.getUrl());
 		builder.headers(Headers.of(restRequest.getHeaders()));
-		OkHttpClient httpClient = client;
 		switch (restRequest.getMethod()) {
 			case HEAD:
 				builder.head();
@@ -116,26 +641,120 @@ public abstract class KiiRestResource {
 				builder.get();
 				break;
 			case POST:
-				builder.post(this.createRequestBody(restRequest.getContentType(), restRequest.getEntity()));
-				httpClient = httpClient.clone();
-				httpClient.setRetryOnConnectionFailure(false);
+				builder.post(this.createRequestBody(restRequest, builder));
 				break;
 			case PUT:
-				builder.put(this.createRequestBody(restRequest.getContentType(), restRequest.getEntity()));
-				httpClient = httpClient.clone();
-				httpClient.setRetryOnConnectionFailure(false);
+				builder.put(this.createRequestBody(restRequest, builder));
 				break;
 			case DELETE:
 				builder.delete();
 				break;
 		}
 		Request request = builder.build();
-		return httpClient.newCall(request).execute();
+		OkHttpClient httpClient = null;
+		switch (restRequest.getRetryPolicy()) {
+			case RETRY_ON_CONNECTION_FAILURE:
+				httpClient = this.getHttpClient();
+				break;
+			case NO_RETRY:
+				httpClient = this.getNonRetryingHttpClient();
+				break;
+		}
+		return httpClient.newCall(request);
+	}
+	/**
+	 * Creates the request body, and compresses it when the entity is JSON or text and
+	 * its size reaches {@link KiiRestContext#getRequestCompressionThreshold()}.
+	 * The binary entities like the object bodies are never compressed.
+	 * The large body is compressed while it is written to the connection, so its compressed copy is not held in the memory.
+	 * <p>
+	 * OkHttp requests the gzip response and decompresses it while reading,
+	 * so the responses are not handled here.
+	 * 
+	 * @param restRequest
+	 * @param builder Content-Encoding is set if the body is compressed.
+	 * @return
+	 */
+	protected RequestBody createRequestBody(KiiRestRequest restRequest, Request.Builder builder) {
+		Object entity = restRequest.getEntity();
+		if (entity instanceof FileChannel && restRequest.getEntityPosition() >= 0) {
+			// the retry is sent from the original position, not from where the previous attempt stopped
+			return createRequestBody(restRequest.getContentType(), (FileChannel)entity, restRequest.getEntityPosition());
+		}
+		RequestBody body = this.createRequestBody(restRequest.getContentType(), entity);
+		int threshold = this.getContext().getRequestCompressionThreshold();
+		if (threshold == KiiRestContext.REQUEST_COMPRESSION_DISABLED) {
+			return body;
+		}
+		if (!(entity instanceof JsonObject || entity instanceof JsonArray || entity instanceof String)) {
+			return body;
+		}
+		long contentLength;
+		try {
+			contentLength = body.contentLength();
+		} catch (IOException e) {
+			// never happens because the length of the text is known.
+			throw new RuntimeException(e);
+		}
+		if (contentLength < threshold) {
+			return body;
+		}
+		builder.header("Content-Encoding", "gzip");
+		if (contentLength >= MAX_BUFFERED_COMPRESSION_SIZE) {
+			return createGzipRequestBody(body);
+		}
+		try {
+			Buffer compressed = new Buffer();
+			BufferedSink gzip = Okio.buffer(new GzipSink(compressed));
+			body.writeTo(gzip);
+			gzip.close();
+			return RequestBody.create(body.contentType(), compressed.readByteArray());
+		} catch (IOException e) {
+			// never happens because the body is written into the memory.
+			throw new RuntimeException(e);
+		}
+	}
+	/**
+	 * @param body
+	 * @return the body that is compressed while it is written. The length is unknown until it is written.
+	 */
+	private static RequestBody createGzipRequestBody(final RequestBody body) {
+		return new RequestBody() {
+			@Override
+			public long contentLength() throws IOException {
+				return -1;
+			}
+			@Override
+			public MediaType contentType() {
+				return body.contentType();
+			}
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				BufferedSink gzip = Okio.buffer(new GzipSink(sink));
+				body.writeTo(gzip);
+				gzip.close();
+			}
+		};
 	}
+	/**
+	 * Converts the entity of the request to the request body.
+	 * <p>
+	 * {@link Path}, {@link FileChannel}, {@link ByteBuffer} and {@link SizedInputStream} are sent
+	 * with the exact Content-Length, and are transferred by Okio without the intermediate buffer.
+	 * The other {@link InputStream} is sent with the chunked transfer encoding
+	 * unless the length is known from the stream.
+	 * 
+	 * @param contentType
+	 * @param entity
+	 * @return
+	 */
 	protected RequestBody createRequestBody(final MediaType contentType, final Object entity) {
 		if (entity == null) {
 			return RequestBody.create(contentType, "");
 		}
+		if (entity instanceof RequestBody) {
+			return (RequestBody)entity;
+		}
 		if (entity instanceof String) {
 			return RequestBody.create(contentType, (String)entity);
 		}
@@ -151,80 +770,252 @@ public abstract class KiiRestResource {
 		if (entity instanceof JsonArray) {
 			return RequestBody.create(contentType, ((JsonArray)entity).toString());
 		}
+		if (entity instanceof java.nio.file.Path) {
+			return createRequestBody(contentType, (java.nio.file.Path)entity);
+		}
+		if (entity instanceof FileChannel) {
+			return createRequestBody(contentType, (FileChannel)entity);
+		}
+		if (entity instanceof ByteBuffer) {
+			return createRequestBody(contentType, (ByteBuffer)entity);
+		}
 		if (entity instanceof InputStream) {
-			return new RequestBody() {
-				@Override
-				public long contentLength() throws IOException {
-					return ((InputStream)entity).available();
+			return createRequestBody(contentType, (InputStream)entity);
+		}
+		throw new RuntimeException("Unexpected entity type.");
+	}
+	private static RequestBody createRequestBody(final MediaType contentType, final java.nio.file.Path path) {
+		return new RequestBody() {
+			@Override
+			public long contentLength() throws IOException {
+				return Files.size(path);
+			}
+			@Override
+			public MediaType contentType() {
+				return contentType;
+			}
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				Source source = Okio.source(path);
+				try {
+					sink.writeAll(source);
+				} finally {
+					source.close();
 				}
-				@Override
-				public MediaType contentType() {
-					return contentType;
+			}
+		};
+	}
+	private static RequestBody createRequestBody(final MediaType contentType, final FileChannel channel) {
+		try {
+			return createRequestBody(contentType, channel, channel.position());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("channel is not readable", e);
+		}
+	}
+	private static RequestBody createRequestBody(final MediaType contentType, final FileChannel channel, final long position) {
+		final long length;
+		try {
+			length = channel.size() - position;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("channel is not readable", e);
+		}
+		return new RequestBody() {
+			@Override
+			public long contentLength() throws IOException {
+				return length;
+			}
+			@Override
+			public MediaType contentType() {
+				return contentType;
+			}
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				// Rewinds the channel, so the body can be sent again when the request is retried.
+				// The source is not closed because it closes the channel of the caller.
+				channel.position(position);
+				sink.write(Okio.source(Channels.newInputStream(channel)), length);
+			}
+		};
+	}
+	private static RequestBody createRequestBody(final MediaType contentType, final ByteBuffer buffer) {
+		// The buffer is duplicated on each write, so the body can be sent again when the request is retried.
+		return new RequestBody() {
+			@Override
+			public long contentLength() throws IOException {
+				return buffer.remaining();
+			}
+			@Override
+			public MediaType contentType() {
+				return contentType;
+			}
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				if (buffer.hasArray()) {
+					sink.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+					return;
 				}
-				@Override
-				public void writeTo(BufferedSink sink) throws IOException {
-					OutputStream os = sink.outputStream();
-					IOUtils.copy((InputStream)entity, os);
+				WritableByteChannel channel = Channels.newChannel(sink.outputStream());
+				ByteBuffer source = buffer.duplicate();
+				while (source.hasRemaining()) {
+					channel.write(source);
+				}
+			}
+		};
+	}
+	private static RequestBody createRequestBody(final MediaType contentType, final InputStream stream) {
+		final long length = lengthOf(stream);
+		return new RequestBody() {
+			@Override
+			public long contentLength() throws IOException {
+				return length;
+			}
+			@Override
+			public MediaType contentType() {
+				return contentType;
+			}
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				Source source = Okio.source(stream);
+				if (length < 0) {
+					sink.writeAll(source);
+				} else {
+					sink.write(source, length);
 				}
-			};
+			}
+		};
+	}
+	/**
+	 * @return -1 if the length of the stream is unknown.
+	 */
+	private static long lengthOf(InputStream stream) {
+		if (stream instanceof SizedInputStream) {
+			return ((SizedInputStream)stream).getSize();
 		}
-		throw new RuntimeException("Unexpected entity type.");
+		if (stream instanceof ByteArrayInputStream) {
+			return ((ByteArrayInputStream)stream).available();
+		}
+		if (stream instanceof FileInputStream) {
+			try {
+				FileChannel channel = ((FileInputStream)stream).getChannel();
+				return channel.size() - channel.position();
+			} catch (IOException e) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+	/**
+	 * @param request
+	 * @return the handler that only checks the status of the response, for the resource methods that return nothing.
+	 */
+	protected ResponseHandler<Void> newEmptyResponseHandler(KiiRestRequest request) {
+		return response -> {
+			this.parseResponse(request, response);
+			return null;
+		};
+	}
+	/**
+	 * @param request
+	 * @return the handler that converts the response by {@link #parseResponseAsSuccess(KiiRestRequest, Response)}.
+	 */
+	protected ResponseHandler<Boolean> newSuccessResponseHandler(KiiRestRequest request) {
+		return response -> this.parseResponseAsSuccess(request, response);
 	}
 	protected void parseResponse(KiiRestRequest request, Response response) throws KiiRestException {
 		try {
 			String body = response.body().string();
 			this.checkHttpStatus(request, response, body);
-			System.out.println(request.getCurl() + "  : " + response.code());
-			logHeader(response);
-			System.out.println(body);
+			this.logResponse(request, response, body);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected String parseResponseAsString(KiiRestRequest request, Response response) throws KiiRestException {
 		try {
 			String body = response.body().string();
 			this.checkHttpStatus(request, response, body);
-			System.out.println(request.getCurl() + "  : " + response.code());
-			logHeader(response);
-			System.out.println(body);
+			this.logResponse(request, response, body);
 			if (StringUtils.isEmpty(body)) {
 				return null;
 			}
 			return body;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected JsonObject parseResponseAsJsonObject(KiiRestRequest request, Response response) throws KiiRestException {
 		try {
-			String body = response.body().string();
-			this.checkHttpStatus(request, response, body);
-			System.out.println(request.getCurl() + "  : " + response.code());
-			logHeader(response);
-			System.out.println(body);
-			if (StringUtils.isEmpty(body)) {
+			JsonElement json = this.readJson(request, response);
+			if (json == null) {
 				return null;
 			}
-			return (JsonObject)new JsonParser().parse(body);
+			return (JsonObject)json;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected JsonArray parseResponseAsJsonArray(KiiRestRequest request, Response response) throws KiiRestException {
 		try {
+			JsonElement json = this.readJson(request, response);
+			if (json == null) {
+				return null;
+			}
+			return (JsonArray)json;
+		} catch (IOException e) {
+			throw new KiiRestException(request, e);
+		}
+	}
+	/**
+	 * Decodes the successful response body with {@link JsonReader} directly from the connection,
+	 * without copying the whole body into a String.
+	 * The body is read as String only when it is failed or it is logged by the request logger.
+	 * 
+	 * @param request
+	 * @param response
+	 * @return null if the response body is empty.
+	 * @throws KiiRestException
+	 * @throws IOException
+	 */
+	private JsonElement readJson(KiiRestRequest request, Response response) throws KiiRestException, IOException {
+		if (!response.isSuccessful() || this.getRequestLogger().getLevel().includes(KiiRequestLogger.Level.BODY)) {
 			String body = response.body().string();
 			this.checkHttpStatus(request, response, body);
-			System.out.println(request.getCurl() + "  : " + response.code());
-			logHeader(response);
-			System.out.println(body);
+			this.logResponse(request, response, body);
 			if (StringUtils.isEmpty(body)) {
 				return null;
 			}
-			return (JsonArray)new JsonParser().parse(body);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			return new JsonParser().parse(body);
+		}
+		this.logResponse(request, response, null);
+		ResponseBody body = response.body();
+		try {
+			JsonReader reader = new JsonReader(body.charStream());
+			JsonElement json = new JsonParser().parse(reader);
+			if (json.isJsonNull()) {
+				return null;
+			}
+			return json;
+		} catch (JsonIOException e) {
+			throw new IOException(e);
+		} finally {
+			body.close();
+		}
+	}
+	/**
+	 * Checks the status of the response without reading the body.
+	 * This is used by the existence checks that treat 404 as false, so no exception is created for it.
+	 * 
+	 * @param request
+	 * @param response
+	 * @return true if the status code is 2xx.
+	 */
+	protected boolean parseResponseAsSuccess(KiiRestRequest request, Response response) {
+		this.logResponse(request, response, null);
+		try {
+			response.body().close();
+		} catch (IOException ignore) {
 		}
+		return response.isSuccessful();
 	}
 	protected InputStream parseResponseAsInputStream(KiiRestRequest request, Response response) throws KiiRestException {
 		try {
@@ -232,11 +1023,10 @@ public abstract class KiiRestResource {
 				String body = response.body().string();
 				this.checkHttpStatus(request, response, body);
 			}
-			System.out.println(request.getCurl() + "  : " + response.code());
-			logHeader(response);
+			this.logResponse(request, response, null);
 			return response.body().byteStream();
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected void checkHttpStatus(KiiRestRequest request, Response response, String responseBody) throws KiiRestException {
@@ -246,32 +1036,48 @@ public abstract class KiiRestResource {
 				errorDetail = (JsonObject)new JsonParser().parse(responseBody);
 			} catch (Exception ignore) {
 			}
-			System.out.println(request.getCurl() + "  : " + response.code());
-			logHeader(response);
-			System.out.println(responseBody);
+			this.logResponse(request, response, responseBody);
 			switch (response.code()) {
 				case 400:
-					throw new KiiBadRequestException(request.getCurl(), errorDetail);
+					throw new KiiBadRequestException(request, errorDetail);
 				case 401:
-					throw new KiiUnauthorizedException(request.getCurl(), errorDetail);
+					throw new KiiUnauthorizedException(request, errorDetail);
 				case 403:
-					throw new KiiForbiddenException(request.getCurl(), errorDetail);
+					throw new KiiForbiddenException(request, errorDetail);
 				case 404:
-					throw new KiiNotFoundException(request.getCurl(), errorDetail);
+					throw new KiiNotFoundException(request, errorDetail);
 				case 409:
-					throw new KiiConflictException(request.getCurl(), errorDetail);
+					throw new KiiConflictException(request, errorDetail);
 				case 500:
-					throw new KiiInternalServerErrorException(request.getCurl(), errorDetail);
+					throw new KiiInternalServerErrorException(request, errorDetail);
 				case 503:
-					throw new KiiServiceUnavailableException(request.getCurl(), errorDetail);
+					throw new KiiServiceUnavailableException(request, errorDetail);
 				default:
-					throw new KiiRestException(request.getCurl(), response.code(), errorDetail);
+					throw new KiiRestException(request, response.code(), errorDetail);
 			}
 		}
 	}
-	protected void logHeader(Response response) {
-		for (String name : response.headers().names()) {
-			System.out.println("    " + name + ":" + response.header(name));
+	/**
+	 * Passes the response to the request logger.
+	 * Nothing is built for the log when the logger is {@link KiiRequestLogger.Level#OFF}.
+	 * 
+	 * @param request
+	 * @param response
+	 * @param responseBody null if the body is not read.
+	 */
+	protected void logResponse(KiiRestRequest request, Response response, String responseBody) {
+		KiiRequestLogger logger = this.getRequestLogger();
+		KiiRequestLogger.Level level = logger.getLevel();
+		if (level == KiiRequestLogger.Level.OFF) {
+			return;
+		}
+		logger.onResponse(request, response, level.includes(KiiRequestLogger.Level.BODY) ? responseBody : null);
+	}
+	protected void logFailure(KiiRestRequest request, IOException e) {
+		KiiRequestLogger logger = this.getRequestLogger();
+		if (logger.getLevel() == KiiRequestLogger.Level.OFF) {
+			return;
 		}
+		logger.onFailure(request, e);
 	}
 }
@@ -40,7 +40,7 @@ public class KiiAggregationRuleResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiAggregationRule(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@AdminAPI
@@ -51,7 +51,7 @@ public class KiiAggregationRuleResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	
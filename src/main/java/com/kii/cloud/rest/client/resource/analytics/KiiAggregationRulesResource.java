@@ -45,7 +45,7 @@ public class KiiAggregationRulesResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return KiiAggregationRule.PROPERTY_ID.get(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@AdminAPI
@@ -61,7 +61,7 @@ public class KiiAggregationRulesResource extends KiiRestSubResource {
 			}
 			return result;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	
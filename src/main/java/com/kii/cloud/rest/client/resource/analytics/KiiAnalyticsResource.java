@@ -1,7 +1,7 @@
 package com.kii.cloud.rest.client.resource.analytics;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.annotation.AnonymousAPI;
@@ -16,7 +16,6 @@ import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
 import com.kii.cloud.rest.client.util.StringUtils;
-import com.squareup.okhttp.Response;
 
 /**
  * Represents the analytics resource like following URI:
@@ -40,22 +39,35 @@ public class KiiAnalyticsResource extends KiiRestSubResource {
 	}
 	@AnonymousAPI
 	public KiiAnalyticsResult getResult(KiiAnalyticsQuery query) throws KiiRestException {
+		KiiRestRequest request = this.newResultRequest(query);
+		return this.execute(request, this.newResultHandler(query, request));
+	}
+	/**
+	 * Asynchronous version of {@link #getResult(KiiAnalyticsQuery)}.
+	 * @param query
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiAnalyticsResult> getResultAsync(KiiAnalyticsQuery query) {
+		KiiRestRequest request = this.newResultRequest(query);
+		return this.executeAsync(request, this.newResultHandler(query, request));
+	}
+	private KiiRestRequest newResultRequest(KiiAnalyticsQuery query) {
 		if (query == null) {
 			throw new IllegalArgumentException("query is null");
 		}
 		Map<String, String> headers = this.newAppHeaders();
 		headers.put("Accept", query.getResultType().getContentType());
-		KiiRestRequest request = new KiiRestRequest(getUrl("/data"), Method.GET, headers);
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl("/data"), Method.GET, headers);
+	}
+	private ResponseHandler<KiiAnalyticsResult> newResultHandler(KiiAnalyticsQuery query, KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			if (query.getResultType() == ResultType.GroupedResult) {
 				return new KiiGroupedAnalyticsResult(responseBody);
 			}
 			return new KiiTabularAnalyticsResult(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
 	@Override
 	public String getPath() {
@@ -49,7 +49,7 @@ public class KiiConversionRulesResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return KiiConversionRule.PROPERTY_ID.get(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -69,7 +69,7 @@ public class KiiConversionRulesResource extends KiiRestSubResource {
 			}
 			return result;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	
@@ -0,0 +1,344 @@
+package com.kii.cloud.rest.client.resource.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.model.analytics.KiiEvent;
+
+/**
+ * Collects the events from many threads and uploads them in batches.
+ * <p>
+ * The events are queued into the bounded lock-free queue,
+ * and uploaded when the batch size is reached or the flush interval has passed.
+ * When the queue is full, the event is handled by {@link OverflowPolicy}.
+ * The upload that failed with 503 or the connection failure is retried with the exponential backoff.
+ * <p>
+ * Call {@link #close()} to upload the remaining events and stop the background threads.
+ * Use {@link KiiEventsResource#batcher()} to create the instance with the default settings.
+ */
+public class KiiEventBatcher {
+
+	public static final int DEFAULT_BATCH_SIZE = 500;
+	public static final long DEFAULT_FLUSH_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+	public static final int DEFAULT_CAPACITY = 100000;
+	public static final int DEFAULT_PARALLELISM = 4;
+	public static final int DEFAULT_MAX_RETRIES = 5;
+	public static final long DEFAULT_INITIAL_BACKOFF = 200;
+	public static final long MAX_BACKOFF = TimeUnit.SECONDS.toMillis(10);
+
+	/**
+	 * Determines how {@link KiiEventBatcher#add(KiiEvent)} behaves when the queue is full.
+	 */
+	public enum OverflowPolicy {
+		/** Blocks the caller until the queue has room. */
+		BLOCK,
+		/** Discards the event that is being added. */
+		DROP_NEWEST,
+		/** Discards the oldest event in the queue to make room. */
+		DROP_OLDEST
+	}
+	/**
+	 * Receives the events that could not be uploaded after all retries.
+	 */
+	public interface FailureListener {
+		public void onFailure(List<KiiEvent> events, KiiRestException e);
+	}
+
+	private final KiiEventsResource resource;
+	private final int batchSize;
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final int maxRetries;
+	private final long initialBackoff;
+	private final Queue<KiiEvent> queue = new ConcurrentLinkedQueue<KiiEvent>();
+	private final Semaphore permits;
+	private final AtomicInteger queued = new AtomicInteger(0);
+	private final AtomicInteger inFlight = new AtomicInteger(0);
+	// the number of the batches that are triggered by add() and are not taken from the queue yet.
+	private final AtomicInteger triggeredBatches = new AtomicInteger(0);
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+	// add() holds the read lock, so close() does not run while the event is being queued.
+	private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+	private final AtomicLong uploadedCount = new AtomicLong(0);
+	private final AtomicLong droppedCount = new AtomicLong(0);
+	private final AtomicLong failedCount = new AtomicLong(0);
+	private final ScheduledExecutorService executor;
+	private final Object idle = new Object();
+	private volatile FailureListener failureListener = null;
+
+	/**
+	 * @param resource
+	 * @param batchSize the maximum number of the events in a request.
+	 * @param flushInterval the queued events are uploaded at least at this interval.
+	 * @param unit
+	 * @param capacity the maximum number of the queued events.
+	 * @param overflowPolicy
+	 * @param parallelism the number of the requests that are executed concurrently.
+	 */
+	public KiiEventBatcher(KiiEventsResource resource, int batchSize, long flushInterval, TimeUnit unit, int capacity, OverflowPolicy overflowPolicy, int parallelism) {
+		this(resource, batchSize, flushInterval, unit, capacity, overflowPolicy, parallelism, DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_BACKOFF);
+	}
+	/**
+	 * @param resource
+	 * @param batchSize the maximum number of the events in a request.
+	 * @param flushInterval the queued events are uploaded at least at this interval.
+	 * @param unit
+	 * @param capacity the maximum number of the queued events.
+	 * @param overflowPolicy
+	 * @param parallelism the number of the requests that are executed concurrently.
+	 * @param maxRetries
+	 * @param initialBackoff the wait time in milliseconds before the first retry. It is doubled on each retry.
+	 */
+	public KiiEventBatcher(KiiEventsResource resource, int batchSize, long flushInterval, TimeUnit unit, int capacity, OverflowPolicy overflowPolicy, int parallelism, int maxRetries, long initialBackoff) {
+		if (resource == null) {
+			throw new IllegalArgumentException("resource is null");
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be positive");
+		}
+		if (flushInterval < 1) {
+			throw new IllegalArgumentException("flushInterval must be positive");
+		}
+		if (unit == null) {
+			throw new IllegalArgumentException("unit is null");
+		}
+		if (capacity < batchSize) {
+			throw new IllegalArgumentException("capacity must be larger than or equal to batchSize");
+		}
+		if (overflowPolicy == null) {
+			throw new IllegalArgumentException("overflowPolicy is null");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		if (maxRetries < 0) {
+			throw new IllegalArgumentException("maxRetries is negative");
+		}
+		if (initialBackoff < 0) {
+			throw new IllegalArgumentException("initialBackoff is negative");
+		}
+		this.resource = resource;
+		this.batchSize = batchSize;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.maxRetries = maxRetries;
+		this.initialBackoff = initialBackoff;
+		this.permits = new Semaphore(capacity);
+		this.executor = Executors.newScheduledThreadPool(parallelism, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger(0);
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "KiiEventBatcher-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.executor.scheduleWithFixedDelay(() -> this.uploadQueuedEvents(), flushInterval, flushInterval, unit);
+	}
+	public KiiEventBatcher setFailureListener(FailureListener failureListener) {
+		this.failureListener = failureListener;
+		return this;
+	}
+	/**
+	 * Queues the event to upload later.
+	 *
+	 * @param event
+	 * @return false if the event is dropped, or the caller is interrupted while waiting for the room.
+	 * @throws IllegalStateException if this batcher is already closed.
+	 */
+	public boolean add(KiiEvent event) {
+		if (event == null) {
+			throw new IllegalArgumentException("event is null");
+		}
+		this.lifecycle.readLock().lock();
+		try {
+			if (this.closed.get()) {
+				throw new IllegalStateException("batcher is already closed");
+			}
+			if (!this.acquirePermit()) {
+				return false;
+			}
+			this.queue.offer(event);
+			int queued = this.queued.incrementAndGet();
+			// the queue can be longer than the batch size while the uploads are behind
+			if (queued >= this.batchSize * (this.triggeredBatches.get() + 1)) {
+				this.triggeredBatches.incrementAndGet();
+				this.executor.execute(() -> this.uploadBatch(true));
+			}
+			return true;
+		} finally {
+			this.lifecycle.readLock().unlock();
+		}
+	}
+	/**
+	 * @return false if the event must be dropped.
+	 */
+	private boolean acquirePermit() {
+		if (this.permits.tryAcquire()) {
+			return true;
+		}
+		try {
+			switch (this.overflowPolicy) {
+				case BLOCK:
+					this.permits.acquire();
+					return true;
+				case DROP_NEWEST:
+					this.droppedCount.incrementAndGet();
+					return false;
+				case DROP_OLDEST:
+					// the queue can be empty for a moment while the other threads are adding or the batch is being taken
+					while (!this.permits.tryAcquire(1, TimeUnit.MILLISECONDS)) {
+						if (this.queue.poll() != null) {
+							// takes over the permit of the dropped event
+							this.queued.decrementAndGet();
+							this.droppedCount.incrementAndGet();
+							return true;
+						}
+					}
+					return true;
+				default:
+					return false;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	/**
+	 * Uploads all events that are queued before this call, and waits until the uploads finish.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void flush() throws InterruptedException {
+		this.uploadQueuedEvents();
+		synchronized (this.idle) {
+			while (this.inFlight.get() > 0) {
+				this.idle.wait();
+			}
+		}
+	}
+	/**
+	 * Stops accepting the events, uploads the remaining events and stops the background threads.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void close() throws InterruptedException {
+		this.lifecycle.writeLock().lock();
+		try {
+			if (!this.closed.compareAndSet(false, true)) {
+				return;
+			}
+		} finally {
+			this.lifecycle.writeLock().unlock();
+		}
+		try {
+			this.flush();
+		} finally {
+			this.executor.shutdown();
+			this.executor.awaitTermination(MAX_BACKOFF * (this.maxRetries + 1), TimeUnit.MILLISECONDS);
+		}
+	}
+	public boolean isClosed() {
+		return this.closed.get();
+	}
+	public int getQueuedCount() {
+		return this.queued.get();
+	}
+	public int getCapacity() {
+		return this.capacity;
+	}
+	public long getUploadedCount() {
+		return this.uploadedCount.get();
+	}
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+	/**
+	 * @return the number of the events that could not be uploaded after all retries.
+	 */
+	public long getFailedCount() {
+		return this.failedCount.get();
+	}
+	private void uploadQueuedEvents() {
+		while (this.uploadBatch(false)) {
+		}
+	}
+	/**
+	 * @param triggered true if the batch is triggered by add().
+	 * @return false if there are no queued events.
+	 */
+	private boolean uploadBatch(boolean triggered) {
+		this.inFlight.incrementAndGet();
+		try {
+			List<KiiEvent> batch = new ArrayList<KiiEvent>(Math.min(this.batchSize, Math.max(this.queued.get(), 1)));
+			KiiEvent event = null;
+			while (batch.size() < this.batchSize && (event = this.queue.poll()) != null) {
+				batch.add(event);
+			}
+			if (triggered) {
+				this.triggeredBatches.decrementAndGet();
+			}
+			if (batch.isEmpty()) {
+				return false;
+			}
+			this.queued.addAndGet(-batch.size());
+			this.permits.release(batch.size());
+			this.upload(batch);
+			return true;
+		} finally {
+			if (this.inFlight.decrementAndGet() == 0) {
+				synchronized (this.idle) {
+					this.idle.notifyAll();
+				}
+			}
+		}
+	}
+	private void upload(List<KiiEvent> batch) {
+		long backoff = this.initialBackoff;
+		for (int retry = 0; ; retry++) {
+			try {
+				this.resource.upload(batch);
+				this.uploadedCount.addAndGet(batch.size());
+				return;
+			} catch (KiiRestException e) {
+				if (retry >= this.maxRetries || !isRetryable(e)) {
+					this.failedCount.addAndGet(batch.size());
+					FailureListener listener = this.failureListener;
+					if (listener != null) {
+						listener.onFailure(batch, e);
+					}
+					return;
+				}
+			}
+			try {
+				Thread.sleep(backoff);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.failedCount.addAndGet(batch.size());
+				FailureListener listener = this.failureListener;
+				if (listener != null) {
+					listener.onFailure(batch, new KiiRestException("Interrupted while waiting for the retry.", e));
+				}
+				return;
+			}
+			backoff = Math.min(backoff * 2, MAX_BACKOFF);
+		}
+	}
+	private static boolean isRetryable(KiiRestException e) {
+		// status is 0 when the request failed by the connection failure.
+		return e.getStatus() == 503 || e.getStatus() == 0;
+	}
+}
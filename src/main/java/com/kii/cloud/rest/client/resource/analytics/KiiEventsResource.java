@@ -1,8 +1,9 @@
 package com.kii.cloud.rest.client.resource.analytics;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.google.gson.JsonArray;
 import com.kii.cloud.rest.client.annotation.AnonymousAPI;
@@ -13,7 +14,6 @@ import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
 import com.squareup.okhttp.MediaType;
-import com.squareup.okhttp.Response;
 
 /**
  * Represents the event resource for analytics like following URI:
@@ -38,17 +38,8 @@ public class KiiEventsResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public void upload(KiiEvent event) throws KiiRestException {
-		if (event == null) {
-			throw new IllegalArgumentException("event is null");
-		}
-		Map<String, String> headers = this.newAppHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_EVENT_RECORD, event.getJsonObject());
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newUploadRequest(event);
+		this.execute(request, this.newEmptyResponseHandler(request));
 	}
 	/**
 	 * @param events
@@ -57,6 +48,54 @@ public class KiiEventsResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public void upload(List<KiiEvent> events) throws KiiRestException {
+		KiiRestRequest request = this.newUploadRequest(events);
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #upload(KiiEvent)}.
+	 * @param event
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<Void> uploadAsync(KiiEvent event) {
+		KiiRestRequest request = this.newUploadRequest(event);
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #upload(List)}.
+	 * @param events
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<Void> uploadAsync(List<KiiEvent> events) {
+		KiiRestRequest request = this.newUploadRequest(events);
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Creates the batcher that uploads the events in background with the default settings.
+	 * The batcher must be closed after use.
+	 * @return
+	 */
+	@AnonymousAPI
+	public KiiEventBatcher batcher() {
+		return new KiiEventBatcher(this,
+				KiiEventBatcher.DEFAULT_BATCH_SIZE,
+				KiiEventBatcher.DEFAULT_FLUSH_INTERVAL,
+				TimeUnit.MILLISECONDS,
+				KiiEventBatcher.DEFAULT_CAPACITY,
+				KiiEventBatcher.OverflowPolicy.BLOCK,
+				KiiEventBatcher.DEFAULT_PARALLELISM);
+	}
+	private KiiRestRequest newUploadRequest(KiiEvent event) {
+		if (event == null) {
+			throw new IllegalArgumentException("event is null");
+		}
+		Map<String, String> headers = this.newAppHeaders();
+		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_EVENT_RECORD, event.getJsonObject());
+		request.setMutating(false);
+		return request;
+	}
+	private KiiRestRequest newUploadRequest(List<KiiEvent> events) {
 		if (events == null) {
 			throw new IllegalArgumentException("events is null");
 		}
@@ -66,12 +105,8 @@ public class KiiEventsResource extends KiiRestSubResource {
 			requestBody.add(event.getJsonObject());
 		}
 		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_EVENT_RECORD, requestBody);
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		request.setMutating(false);
+		return request;
 	}
 	@Override
 	public String getPath() {
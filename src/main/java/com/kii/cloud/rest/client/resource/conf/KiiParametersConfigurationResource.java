@@ -33,7 +33,7 @@ public class KiiParametersConfigurationResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiAppConfigurationParameter(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@AdminAPI
@@ -60,7 +60,7 @@ public class KiiParametersConfigurationResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
@@ -39,7 +39,7 @@ public class KiiThingTypeConfigurationResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiThingTypeConfiguration(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@AdminAPI
@@ -53,7 +53,7 @@ public class KiiThingTypeConfigurationResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@AdminAPI
@@ -64,7 +64,7 @@ public class KiiThingTypeConfigurationResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	
@@ -41,7 +41,7 @@ public class KiiThingTypesConfigurationResource extends KiiRestSubResource {
 			}
 			return result;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 }
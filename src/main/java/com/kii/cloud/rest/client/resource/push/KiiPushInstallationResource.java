@@ -62,7 +62,7 @@ public class KiiPushInstallationResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiPushInstallation(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -76,7 +76,7 @@ public class KiiPushInstallationResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -92,7 +92,7 @@ public class KiiPushInstallationResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiMqttEndpoint(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
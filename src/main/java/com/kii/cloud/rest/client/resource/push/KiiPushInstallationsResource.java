@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -42,18 +43,17 @@ public class KiiPushInstallationsResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/thing/thing-rest/push-notification/preparation/
 	 */
 	public KiiPushInstallation register(KiiPushInstallation installation) throws KiiRestException {
-		if (installation == null) {
-			throw new IllegalArgumentException("installation is null");
-		}
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_INSTALLATION_CREATION_REQUEST, installation.getJsonObject());
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return new KiiPushInstallation(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newRegisterRequest(installation);
+		return this.execute(request, this.newRegisterHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #register(KiiPushInstallation)}.
+	 * @param installation
+	 * @return
+	 */
+	public CompletableFuture<KiiPushInstallation> registerAsync(KiiPushInstallation installation) {
+		KiiRestRequest request = this.newRegisterRequest(installation);
+		return this.executeAsync(request, this.newRegisterHandler(request));
 	}
 	/**
 	 * @return
@@ -73,7 +73,7 @@ public class KiiPushInstallationsResource extends KiiRestSubResource {
 			}
 			return installations;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -108,7 +108,7 @@ public class KiiPushInstallationsResource extends KiiRestSubResource {
 			}
 			return installations;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -143,9 +143,22 @@ public class KiiPushInstallationsResource extends KiiRestSubResource {
 			}
 			return installations;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
+	private KiiRestRequest newRegisterRequest(KiiPushInstallation installation) {
+		if (installation == null) {
+			throw new IllegalArgumentException("installation is null");
+		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_INSTALLATION_CREATION_REQUEST, installation.getJsonObject());
+	}
+	private ResponseHandler<KiiPushInstallation> newRegisterHandler(KiiRestRequest request) {
+		return response -> {
+			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
+			return new KiiPushInstallation(responseBody);
+		};
+	}
 	@Override
 	public String getPath() {
 		return BASE_PATH;
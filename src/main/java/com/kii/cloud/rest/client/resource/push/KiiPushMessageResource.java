@@ -49,7 +49,7 @@ public class KiiPushMessageResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return GsonUtils.getString(responseBody, "pushMessageID");
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
@@ -2,6 +2,7 @@ package com.kii.cloud.rest.client.resource.push;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.exception.KiiRestException;
@@ -50,7 +51,7 @@ public class KiiTopicResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -59,14 +60,16 @@ public class KiiTopicResource extends KiiRestSubResource {
 	 * @throws KiiRestException
 	 */
 	public boolean exists() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.HEAD, headers);
-		try {
-			Response response = this.execute(request);
-			return response.isSuccessful();
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newExistsRequest();
+		return this.execute(request, this.newSuccessResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #exists()}.
+	 * @return
+	 */
+	public CompletableFuture<Boolean> existsAsync() {
+		KiiRestRequest request = this.newExistsRequest();
+		return this.executeAsync(request, this.newSuccessResponseHandler(request));
 	}
 	/**
 	 * @throws KiiRestException
@@ -79,7 +82,7 @@ public class KiiTopicResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -133,7 +136,7 @@ public class KiiTopicResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -187,7 +190,7 @@ public class KiiTopicResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -243,9 +246,9 @@ public class KiiTopicResource extends KiiRestSubResource {
 		KiiRestRequest request = new KiiRestRequest(getUrl("/push/subscriptions/%s/%s", subscriberType, id), Method.GET, headers);
 		try {
 			Response response = this.execute(request);
-			return response.isSuccessful();
+			return this.parseResponseAsSuccess(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -267,22 +270,49 @@ public class KiiTopicResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-push-notification/push-to-user/sending-messages/
 	 */
 	public String send(JsonObject message) throws KiiRestException {
+		KiiRestRequest request = this.newSendRequest(message);
+		return this.execute(request, this.newSendHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #send(KiiPushMessage)}.
+	 * @param message
+	 * @return pushMessageID
+	 */
+	public CompletableFuture<String> sendAsync(KiiPushMessage message) {
 		if (message == null) {
 			throw new IllegalArgumentException("message is null");
 		}
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl("/push/messages"), Method.POST, headers, MEDIA_SEND_PUSH_MESSAGE_REQUEST, message);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return GsonUtils.getString(responseBody, "pushMessageID");
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		return this.sendAsync(message.toJson());
+	}
+	/**
+	 * Asynchronous version of {@link #send(JsonObject)}.
+	 * @param message
+	 * @return pushMessageID
+	 */
+	public CompletableFuture<String> sendAsync(JsonObject message) {
+		KiiRestRequest request = this.newSendRequest(message);
+		return this.executeAsync(request, this.newSendHandler(request));
 	}
 	public KiiTopicAclResource acl() {
 		return new KiiTopicAclResource(this);
 	}
+	private KiiRestRequest newExistsRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.HEAD, headers);
+	}
+	private KiiRestRequest newSendRequest(JsonObject message) {
+		if (message == null) {
+			throw new IllegalArgumentException("message is null");
+		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl("/push/messages"), Method.POST, headers, MEDIA_SEND_PUSH_MESSAGE_REQUEST, message);
+	}
+	private ResponseHandler<String> newSendHandler(KiiRestRequest request) {
+		return response -> {
+			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
+			return GsonUtils.getString(responseBody, "pushMessageID");
+		};
+	}
 	@Override
 	public String getPath() {
 		return "/" + this.name;
@@ -51,7 +51,7 @@ public class KiiTopicsResource extends KiiRestSubResource {
 			}
 			return result;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
@@ -48,14 +48,21 @@ public class KiiDevlogResource {
 	private final String appKey;
 	private final String endpoint;
 	private final KiiCredentialsContainer credentials;
-	private static final OkHttpClient client = OkHttpClientFactory.newInstance();
+	private final OkHttpClient client;
 	private WebSocketCall call;
 	
 	public KiiDevlogResource(String appID, String appKey, String endpoint, KiiCredentialsContainer credentials) {
+		this(appID, appKey, endpoint, credentials, OkHttpClientFactory.getDefaultInstance());
+	}
+	public KiiDevlogResource(String appID, String appKey, String endpoint, KiiCredentialsContainer credentials, OkHttpClient client) {
+		if (client == null) {
+			throw new IllegalArgumentException("client is null");
+		}
 		this.appID = appID;
 		this.appKey = appKey;
 		this.endpoint = endpoint;
 		this.credentials = credentials;
+		this.client = client;
 	}
 	@Override
 	protected void finalize() throws Throwable {
@@ -105,7 +112,7 @@ public class KiiDevlogResource {
 			.url(this.endpoint)
 			.get()
 			.build();
-		this.call = WebSocketCall.create(client, request);
+		this.call = WebSocketCall.create(this.client, request);
 		this.call.enqueue(new WebSocketListener() {
 			@Override
 			public void onOpen(WebSocket webSocket, Request request, Response response) throws IOException {
@@ -192,7 +199,7 @@ public class KiiDevlogResource {
 			.url(this.endpoint)
 			.get()
 			.build();
-		this.call = WebSocketCall.create(client, request);
+		this.call = WebSocketCall.create(this.client, request);
 		this.call.enqueue(new WebSocketListener() {
 			@Override
 			public void onOpen(WebSocket webSocket, Request request, Response response) throws IOException {
@@ -42,7 +42,7 @@ public class KiiServerCodeHookExecutionsResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiScheduleExecutionResult(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@AdminAPI
@@ -52,12 +52,13 @@ public class KiiServerCodeHookExecutionsResource extends KiiRestSubResource {
 		}
 		Map<String, String> headers = this.newAuthorizedHeaders();
 		KiiRestRequest request = new KiiRestRequest(getUrl("/query"), Method.POST, headers, MEDIA_TYPE_SCHEDULE_EXECUTION_QUERY_REQUEST, query.toJson());
+		request.setMutating(false);
 		try {
 			Response response = this.execute(request);
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiScheduleExecutionQueryResult(query, responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
@@ -2,6 +2,7 @@ package com.kii.cloud.rest.client.resource.servercode;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.annotation.AdminAPI;
@@ -48,7 +49,7 @@ public class KiiServerCodeResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			return this.parseResponseAsString(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -62,7 +63,7 @@ public class KiiServerCodeResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -80,6 +81,29 @@ public class KiiServerCodeResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public JsonObject execute(String endpoint, JsonObject args) throws KiiRestException {
+		KiiRestRequest request = this.newExecuteRequest(endpoint, args);
+		return this.execute(request, this.newExecuteHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #execute(String)}.
+	 * @param endpoint
+	 * @return
+	 */
+	public CompletableFuture<JsonObject> executeAsync(String endpoint) {
+		return this.executeAsync(endpoint, null);
+	}
+	/**
+	 * Asynchronous version of {@link #execute(String, JsonObject)}.
+	 * @param endpoint
+	 * @param args
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<JsonObject> executeAsync(String endpoint, JsonObject args) {
+		KiiRestRequest request = this.newExecuteRequest(endpoint, args);
+		return this.executeAsync(request, this.newExecuteHandler(request));
+	}
+	private KiiRestRequest newExecuteRequest(String endpoint, JsonObject args) {
 		if (endpoint == null) {
 			throw new IllegalArgumentException("endpoint is null");
 		}
@@ -87,18 +111,17 @@ public class KiiServerCodeResource extends KiiRestSubResource {
 		if (args == null) {
 			args = new JsonObject();
 		}
-		KiiRestRequest request = new KiiRestRequest(getUrl("/" + endpoint), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, args);
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl("/" + endpoint), Method.POST, headers, MEDIA_TYPE_APPLICATION_JSON, args);
+	}
+	private ResponseHandler<JsonObject> newExecuteHandler(KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			String stepCount = response.header("X-Step-count");
 			if (!StringUtils.isEmpty(stepCount)) {
 				responseBody.addProperty("x_step_count", stepCount);
 			}
 			return responseBody;
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
 	@Override
 	public String getPath() {
@@ -50,7 +50,7 @@ public abstract class KiiAclResource extends KiiRestSubResource {
 			}
 			return results;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected List<Subject> list(Action action) throws KiiRestException {
@@ -69,7 +69,7 @@ public abstract class KiiAclResource extends KiiRestSubResource {
 			Collections.sort(subjects);
 			return subjects;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected Subject get(Action action, Subject subject) throws KiiRestException {
@@ -86,7 +86,7 @@ public abstract class KiiAclResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return Subject.fromJson(responseBody);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected void grant(Action action, Subject subject) throws KiiRestException {
@@ -102,7 +102,7 @@ public abstract class KiiAclResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected void revok(Action action, Subject subject) throws KiiRestException {
@@ -118,7 +118,7 @@ public abstract class KiiAclResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
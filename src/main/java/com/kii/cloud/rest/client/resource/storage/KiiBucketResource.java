@@ -1,14 +1,28 @@
 package com.kii.cloud.rest.client.resource.storage;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.logger.KiiRequestLogger;
 import com.kii.cloud.rest.client.model.storage.KiiBucket;
 import com.kii.cloud.rest.client.model.storage.KiiCountingQuery;
 import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiObjectMapper;
+import com.kii.cloud.rest.client.model.storage.KiiProjectedQueryResult;
 import com.kii.cloud.rest.client.model.storage.KiiQuery;
+import com.kii.cloud.rest.client.model.storage.KiiQueryClause;
 import com.kii.cloud.rest.client.model.storage.KiiQueryResult;
 import com.kii.cloud.rest.client.model.storage.KiiThing;
 import com.kii.cloud.rest.client.model.storage.KiiUser;
@@ -20,6 +34,7 @@ import com.kii.cloud.rest.client.util.GsonUtils;
 import com.kii.cloud.rest.client.util.StringUtils;
 import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 
 /**
  * Represents the bucket resource like following URI:
@@ -37,7 +52,16 @@ public class KiiBucketResource extends KiiRestSubResource {
 	public static final MediaType MEDIA_TYPE_QUERY_REQUEST = MediaType.parse("application/vnd.kii.QueryRequest+json");
 	
 	public static final String BASE_PATH = "/buckets";
+	/** The field of the creation time that the query can sort and filter by. */
+	private static final String FIELD_CREATED = "_created";
 	
+	/**
+	 * Reads each object of the query result from the response stream.
+	 */
+	private interface ResultReader<T> {
+		T read(JsonReader reader) throws IOException;
+	}
+
 	protected final String name;
 	
 	public KiiBucketResource(KiiAppResource parent, String name) {
@@ -96,7 +120,7 @@ public class KiiBucketResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -105,15 +129,26 @@ public class KiiBucketResource extends KiiRestSubResource {
 	 * @throws KiiRestException
 	 */
 	public KiiBucket get() throws KiiRestException {
+		KiiRestRequest request = this.newGetRequest();
+		return this.execute(request, this.newGetHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #get()}.
+	 * @return
+	 */
+	public CompletableFuture<KiiBucket> getAsync() {
+		KiiRestRequest request = this.newGetRequest();
+		return this.executeAsync(request, this.newGetHandler(request));
+	}
+	private KiiRestRequest newGetRequest() {
 		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl(), Method.GET, headers);
+	}
+	private ResponseHandler<KiiBucket> newGetHandler(KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiBucket(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
 	/**
 	 * @return
@@ -130,19 +165,40 @@ public class KiiBucketResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/querying/
 	 */
 	public int count(KiiQuery query) throws KiiRestException {
+		KiiRestRequest request = this.newCountRequest(query);
+		return this.execute(request, this.newCountHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #count()}.
+	 * @return
+	 */
+	public CompletableFuture<Integer> countAsync() {
+		return this.countAsync(new KiiQuery());
+	}
+	/**
+	 * Asynchronous version of {@link #count(KiiQuery)}.
+	 * @param query
+	 * @return
+	 */
+	public CompletableFuture<Integer> countAsync(KiiQuery query) {
+		KiiRestRequest request = this.newCountRequest(query);
+		return this.executeAsync(request, this.newCountHandler(request));
+	}
+	private KiiRestRequest newCountRequest(KiiQuery query) {
 		if (query == null) {
 			throw new IllegalArgumentException("query is null");
 		}
 		Map<String, String> headers = this.newAuthorizedHeaders();
 		KiiCountingQuery countingQuery = new KiiCountingQuery(query);
 		KiiRestRequest request = new KiiRestRequest(getUrl("/query"), Method.POST, headers, MEDIA_TYPE_QUERY_REQUEST, countingQuery.toJson());
-		try {
-			Response response = this.execute(request);
+		request.setMutating(false);
+		return request;
+	}
+	private ResponseHandler<Integer> newCountHandler(KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return GsonUtils.getInt(responseBody.getAsJsonObject("aggregations"), "count_field") ;
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+			return GsonUtils.getInt(responseBody.getAsJsonObject("aggregations"), "count_field");
+		};
 	}
 	/**
 	 * @param query
@@ -151,32 +207,257 @@ public class KiiBucketResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/querying/
 	 */
 	public KiiQueryResult query(KiiQuery query) throws KiiRestException {
+		KiiRestRequest request = this.newQueryRequest(query);
+		return this.execute(request, this.newQueryHandler(query, request));
+	}
+	/**
+	 * Asynchronous version of {@link #query(KiiQuery)}.
+	 * @param query
+	 * @return
+	 */
+	public CompletableFuture<KiiQueryResult> queryAsync(KiiQuery query) {
+		KiiRestRequest request = this.newQueryRequest(query);
+		return this.executeAsync(request, this.newQueryHandler(query, request));
+	}
+	private KiiRestRequest newQueryRequest(KiiQuery query) {
 		if (query == null) {
 			throw new IllegalArgumentException("query is null");
 		}
 		Map<String, String> headers = this.newAuthorizedHeaders();
 		KiiRestRequest request = new KiiRestRequest(getUrl("/query"), Method.POST, headers, MEDIA_TYPE_QUERY_REQUEST, query.toJson());
-		try {
-			Response response = this.execute(request);
+		request.setMutating(false);
+		return request;
+	}
+	private ResponseHandler<KiiQueryResult> newQueryHandler(KiiQuery query, KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiQueryResult(query, responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+		};
+	}
+	/**
+	 * Queries the objects and converts each of them by the mapper.
+	 * <p>
+	 * The response is decoded while it is read, and the object that is passed to the mapper has only the fields
+	 * selected by {@link KiiQuery#select(String...)}. The other fields are skipped without building the Gson tree.
+	 * 
+	 * @param query
+	 * @param mapper converts the projected object to the result, like KiiObject::getObjectID.
+	 * @return
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/querying/
+	 */
+	public <T> KiiProjectedQueryResult<T> query(KiiQuery query, Function<KiiObject, T> mapper) throws KiiRestException {
+		KiiRestRequest request = this.newQueryRequest(query);
+		return this.execute(request, this.newProjectedQueryHandler(query, newProjectedReader(query, mapper), request));
+	}
+	/**
+	 * Asynchronous version of {@link #query(KiiQuery, Function)}.
+	 * @param query
+	 * @param mapper
+	 * @return
+	 */
+	public <T> CompletableFuture<KiiProjectedQueryResult<T>> queryAsync(KiiQuery query, Function<KiiObject, T> mapper) {
+		KiiRestRequest request = this.newQueryRequest(query);
+		return this.executeAsync(request, this.newProjectedQueryHandler(query, newProjectedReader(query, mapper), request));
+	}
+	/**
+	 * Queries the objects and binds each of them to the instance of the mapped class.
+	 * <p>
+	 * The fields are read from the response stream directly into the instance, without building KiiObject.
+	 * 
+	 * @param query
+	 * @param mapper
+	 * @return
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/querying/
+	 */
+	public <T> KiiProjectedQueryResult<T> query(KiiQuery query, KiiObjectMapper<T> mapper) throws KiiRestException {
+		KiiRestRequest request = this.newQueryRequest(query);
+		return this.execute(request, this.newProjectedQueryHandler(query, newMappedReader(mapper), request));
+	}
+	/**
+	 * Asynchronous version of {@link #query(KiiQuery, KiiObjectMapper)}.
+	 * @param query
+	 * @param mapper
+	 * @return
+	 */
+	public <T> CompletableFuture<KiiProjectedQueryResult<T>> queryAsync(KiiQuery query, KiiObjectMapper<T> mapper) {
+		KiiRestRequest request = this.newQueryRequest(query);
+		return this.executeAsync(request, this.newProjectedQueryHandler(query, newMappedReader(mapper), request));
+	}
+	private static <T> ResultReader<T> newProjectedReader(KiiQuery query, Function<KiiObject, T> mapper) {
+		if (query == null) {
+			throw new IllegalArgumentException("query is null");
+		}
+		if (mapper == null) {
+			throw new IllegalArgumentException("mapper is null");
+		}
+		Set<String> projection = query.getProjection();
+		JsonParser parser = new JsonParser();
+		return reader -> mapper.apply(new KiiObject(readProjectedObject(reader, parser, projection)));
+	}
+	private static <T> ResultReader<T> newMappedReader(KiiObjectMapper<T> mapper) {
+		if (mapper == null) {
+			throw new IllegalArgumentException("mapper is null");
+		}
+		return mapper::read;
+	}
+	private <T> ResponseHandler<KiiProjectedQueryResult<T>> newProjectedQueryHandler(KiiQuery query, ResultReader<T> resultReader, KiiRestRequest request) {
+		return response -> this.parseResponseAsProjectedResult(query, resultReader, request, response);
+	}
+	private <T> KiiProjectedQueryResult<T> parseResponseAsProjectedResult(KiiQuery query, ResultReader<T> resultReader, KiiRestRequest request, Response response) throws KiiRestException, IOException {
+		if (!response.isSuccessful()) {
+			// throws the exception for the status
+			this.parseResponse(request, response);
+		}
+		ResponseBody body = response.body();
+		try {
+			JsonReader reader = null;
+			if (this.getRequestLogger().getLevel().includes(KiiRequestLogger.Level.BODY)) {
+				String responseBody = body.string();
+				this.logResponse(request, response, responseBody);
+				reader = new JsonReader(new StringReader(responseBody));
+			} else {
+				this.logResponse(request, response, null);
+				reader = new JsonReader(body.charStream());
+			}
+			List<T> results = new ArrayList<T>();
+			String nextPaginationKey = null;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if (name.equals(KiiQueryResult.PROPERTY_RESULTS.getName())) {
+					reader.beginArray();
+					while (reader.hasNext()) {
+						results.add(resultReader.read(reader));
+					}
+					reader.endArray();
+				} else if (name.equals(KiiQueryResult.PROPERTY_NEXT_PAGINATION_KEY.getName()) && reader.peek() == JsonToken.STRING) {
+					nextPaginationKey = reader.nextString();
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return new KiiProjectedQueryResult<T>(query, results, nextPaginationKey);
+		} catch (IllegalStateException | NumberFormatException | JsonParseException e) {
+			throw new IOException("Unexpected query response.", e);
+		} finally {
+			body.close();
+		}
+	}
+	private static JsonObject readProjectedObject(JsonReader reader, JsonParser parser, Set<String> projection) throws IOException {
+		JsonObject object = new JsonObject();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (projection == null || projection.contains(name)) {
+				object.add(name, parser.parse(reader));
+			} else {
+				reader.skipValue();
+			}
 		}
+		reader.endObject();
+		return object;
+	}
+	/**
+	 * Iterates all objects that match the query.
+	 * The pages are fetched on demand while iterating, and the next page is prefetched in the background.
+	 * The iterator must be closed if it is abandoned before the last page.
+	 * 
+	 * @param query
+	 * @return
+	 * @see #query(KiiQuery)
+	 */
+	public KiiQueryIterator queryAll(KiiQuery query) {
+		return this.queryAll(query, true);
+	}
+	/**
+	 * Iterates all objects that match the query.
+	 * 
+	 * @param query
+	 * @param prefetch if true, the next page is requested in the background while the current page is consumed.
+	 * @return the iterator that must be closed if it is abandoned before the last page.
+	 * @see #query(KiiQuery)
+	 */
+	public KiiQueryIterator queryAll(KiiQuery query, boolean prefetch) {
+		if (query == null) {
+			throw new IllegalArgumentException("query is null");
+		}
+		return new KiiQueryIterator(this, query, prefetch);
+	}
+	/**
+	 * Scans the objects with the concurrent queries that cover the disjoint ranges of the split field.
+	 * 
+	 * @param clause null matches all objects.
+	 * @param splitField the numeric field like "_created".
+	 * @param lowerLimit the lower limit of the split field, the objects below this are scanned by the first partition.
+	 * @param upperLimit the upper limit of the split field, the objects above this are scanned by the last partition.
+	 * @param partitions the number of the queries that are executed concurrently.
+	 * @param ordered if true, the objects are returned in ascending order of the split field.
+	 * @return
+	 * @see KiiParallelScan
+	 */
+	public KiiParallelScan scanParallel(KiiQueryClause clause, String splitField, long lowerLimit, long upperLimit, int partitions, boolean ordered) {
+		if (StringUtils.isEmpty(splitField)) {
+			throw new IllegalArgumentException("splitField is null or empty");
+		}
+		if (partitions < 1) {
+			throw new IllegalArgumentException("partitions must be positive");
+		}
+		if (upperLimit < lowerLimit) {
+			throw new IllegalArgumentException("upperLimit is less than lowerLimit");
+		}
+		// the width is compared as unsigned, because it overflows the signed long for the wide range
+		if (Long.compareUnsigned(upperLimit - lowerLimit, partitions) < 0) {
+			throw new IllegalArgumentException("the range is narrower than the partitions");
+		}
+		return new KiiParallelScan(this, clause, splitField, lowerLimit, upperLimit, partitions, ordered);
+	}
+	/**
+	 * Scans the objects with the concurrent queries that cover the disjoint ranges of the creation time.
+	 * <p>
+	 * The range starts at the creation time of the oldest matched object, that is queried before the scan,
+	 * so the partitions share the objects evenly if they are created at a steady pace.
+	 * The objects that are created after this method is called are not scanned.
+	 * 
+	 * @param clause null matches all objects.
+	 * @param partitions the number of the queries that are executed concurrently.
+	 * @param ordered if true, the objects are returned in ascending order of the creation time.
+	 * @return
+	 * @throws KiiRestException if the oldest object can not be queried.
+	 * @see #scanParallel(KiiQueryClause, String, long, long, int, boolean)
+	 */
+	public KiiParallelScan scanParallelByCreated(KiiQueryClause clause, int partitions, boolean ordered) throws KiiRestException {
+		if (partitions < 1) {
+			throw new IllegalArgumentException("partitions must be positive");
+		}
+		long upperLimit = System.currentTimeMillis() + 1;
+		List<KiiObject> oldest = this.query(new KiiQuery(clause).sortByAsc(FIELD_CREATED).setLimit(1)).getResults();
+		long lowerLimit = oldest.isEmpty() ? upperLimit : oldest.get(0).getCreatedAt(upperLimit);
+		// the range must be at least as wide as the partitions
+		lowerLimit = Math.min(lowerLimit, upperLimit - partitions);
+		return this.scanParallel(clause, FIELD_CREATED, lowerLimit, upperLimit, partitions, ordered);
 	}
 	/**
 	 * @throws KiiRestException
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/buckets/deleting/
 	 */
 	public void delete() throws KiiRestException {
+		KiiRestRequest request = this.newDeleteRequest();
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #delete()}.
+	 * @return
+	 */
+	public CompletableFuture<Void> deleteAsync() {
+		KiiRestRequest request = this.newDeleteRequest();
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
+	}
+	private KiiRestRequest newDeleteRequest() {
 		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.DELETE, headers);
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		return new KiiRestRequest(getUrl(), Method.DELETE, headers);
 	}
 	
 	/**
@@ -230,7 +511,7 @@ public class KiiBucketResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -284,7 +565,7 @@ public class KiiBucketResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -340,9 +621,9 @@ public class KiiBucketResource extends KiiRestSubResource {
 		KiiRestRequest request = new KiiRestRequest(getUrl("/filters/all/push/subscriptions/%s/%s", subscriberType, id), Method.GET, headers);
 		try {
 			Response response = this.execute(request);
-			return response.isSuccessful();
+			return this.parseResponseAsSuccess(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	protected String getBucketType() {
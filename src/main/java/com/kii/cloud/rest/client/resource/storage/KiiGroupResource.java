@@ -2,6 +2,7 @@ package com.kii.cloud.rest.client.resource.storage;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.exception.KiiRestException;
@@ -52,15 +53,15 @@ public class KiiGroupResource extends KiiRestSubResource {
 	 * @throws KiiRestException
 	 */
 	public KiiGroup get() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return new KiiGroup(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		JsonObject responseBody = this.executeCachedGet(this.newGetRequest());
+		return new KiiGroup(responseBody);
+	}
+	/**
+	 * Asynchronous version of {@link #get()}.
+	 * @return
+	 */
+	public CompletableFuture<KiiGroup> getAsync() {
+		return this.executeCachedGetAsync(this.newGetRequest(), responseBody -> new KiiGroup(responseBody));
 	}
 	/**
 	 * @param user
@@ -89,7 +90,7 @@ public class KiiGroupResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -107,7 +108,7 @@ public class KiiGroupResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -115,14 +116,16 @@ public class KiiGroupResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-groups/deleting-a-group/
 	 */
 	public void delete() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.DELETE, headers);
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newDeleteRequest();
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #delete()}.
+	 * @return
+	 */
+	public CompletableFuture<Void> deleteAsync() {
+		KiiRestRequest request = this.newDeleteRequest();
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
 	}
 	public KiiBucketResource buckets(String name) {
 		return new KiiBucketResource(this, name);
@@ -136,6 +139,14 @@ public class KiiGroupResource extends KiiRestSubResource {
 	public KiiTopicResource topics(String name) {
 		return new KiiTopicResource(this.topics(), name);
 	}
+	private KiiRestRequest newGetRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.GET, headers);
+	}
+	private KiiRestRequest newDeleteRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.DELETE, headers);
+	}
 	@Override
 	public String getPath() {
 		return "/" + groupID;
@@ -72,7 +72,7 @@ public class KiiGroupsResource extends KiiRestSubResource {
 			}
 			return notFoundusers;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -109,7 +109,7 @@ public class KiiGroupsResource extends KiiRestSubResource {
 			}
 			return groups;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -145,7 +145,7 @@ public class KiiGroupsResource extends KiiRestSubResource {
 			}
 			return groups;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
@@ -1,11 +1,24 @@
 package com.kii.cloud.rest.client.resource.storage;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.annotation.AdminAPI;
@@ -13,12 +26,14 @@ import com.kii.cloud.rest.client.exception.KiiRestException;
 import com.kii.cloud.rest.client.model.HttpContentRange;
 import com.kii.cloud.rest.client.model.storage.KiiChunkedDownloadContext;
 import com.kii.cloud.rest.client.model.storage.KiiChunkedUploadContext;
+import com.kii.cloud.rest.client.model.storage.KiiChunkedUploadJournal;
 import com.kii.cloud.rest.client.model.storage.KiiGroup;
 import com.kii.cloud.rest.client.model.storage.KiiThing;
 import com.kii.cloud.rest.client.model.storage.KiiUser;
 import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
+import com.kii.cloud.rest.client.resource.KiiRestRequest.RetryPolicy;
 import com.kii.cloud.rest.client.util.GsonUtils;
 import com.kii.cloud.rest.client.util.IOUtils;
 import com.squareup.okhttp.MediaType;
@@ -43,6 +58,8 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 	public static final MediaType MEDIA_TYPE_START_OBJECT_BODY_UPLOAD_REQUEST = MediaType.parse("application/vnd.kii.StartObjectBodyUploadRequest+json");
 	public static final MediaType MEDIA_TYPE_OBJECT_BODY_MOVE_REQUEST = MediaType.parse("application/vnd.kii.ObjectBodyMoveRequest+json");
 	
+	public static final int DEFAULT_CHUNK_RETRY_COUNT = 3;
+	
 	public KiiObjectBodyResource(KiiObjectResource parent) {
 		super(parent);
 	}
@@ -172,7 +189,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -186,9 +203,9 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.HEAD, headers);
 		try {
 			Response response = this.execute(request);
-			return response.isSuccessful();
+			return this.parseResponseAsSuccess(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -211,7 +228,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 				throw new KiiRestException("", e);
 			}
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -248,7 +265,208 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 				throw new KiiRestException("", e);
 			}
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
+		}
+	}
+	/**
+	 * Downloads the object body into the file by the parallel range requests.
+	 * 
+	 * @param file
+	 * @param chunkSize the size of each range.
+	 * @param parallelism the number of the range requests that are executed concurrently.
+	 * @return the size of the object body.
+	 * @throws KiiRestException
+	 * @throws IOException
+	 * @see #downloadParallel(FileChannel, long, int)
+	 */
+	public long downloadParallel(File file, long chunkSize, int parallelism) throws KiiRestException, IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file is null");
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			return this.downloadParallel(channel, chunkSize, parallelism);
+		} finally {
+			channel.close();
+		}
+	}
+	/**
+	 * Downloads the object body into the channel by the parallel range requests.
+	 * <p>
+	 * The first range is downloaded synchronously to get the size and the ETag of the body.
+	 * The rest ranges are requested with If-Match, so all ranges are taken from the same body,
+	 * and each range is written directly at its offset in the channel.
+	 * The body is downloaded with a single request if the server ignores the Range header.
+	 * 
+	 * @param channel
+	 * @param chunkSize the size of each range.
+	 * @param parallelism the number of the range requests that are executed concurrently.
+	 *        The requests are also limited by the dispatcher of the http client.
+	 * @return the size of the object body.
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/downloading/
+	 */
+	public long downloadParallel(final FileChannel channel, final long chunkSize, int parallelism) throws KiiRestException {
+		if (channel == null) {
+			throw new IllegalArgumentException("channel is null");
+		}
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		headers.put("Range", "bytes=0-" + (chunkSize - 1));
+		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
+		final String eTag;
+		final HttpContentRange firstRange;
+		try {
+			Response response = this.execute(request);
+			InputStream responseBody = this.parseResponseAsInputStream(request, response);
+			try {
+				if (response.code() != 206) {
+					return IOUtils.copy(responseBody, channel, 0);
+				}
+				eTag = response.header("ETag");
+				firstRange = HttpContentRange.fromHeader(response.header("Content-Range"));
+				this.writeRange(request, responseBody, channel, firstRange.getFrom(), firstRange.getTo());
+			} finally {
+				responseBody.close();
+			}
+		} catch (IOException e) {
+			throw new KiiRestException(request, e);
+		}
+		final long total = firstRange.getTotal();
+		final ParallelDownload download = new ParallelDownload(firstRange.getTo() + 1, total);
+		List<CompletableFuture<Void>> lanes = new ArrayList<CompletableFuture<Void>>();
+		for (int i = 0; i < parallelism; i++) {
+			lanes.add(this.downloadNextRange(channel, eTag, chunkSize, download));
+		}
+		try {
+			CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[lanes.size()])).get();
+			return total;
+		} catch (ExecutionException e) {
+			// the other lanes are stopped, but may be still writing
+			download.cancel();
+			download.awaitWriters();
+			if (e.getCause() instanceof KiiRestException) {
+				throw (KiiRestException)e.getCause();
+			}
+			throw new KiiRestException("Failed to download the object body.", e);
+		} catch (InterruptedException e) {
+			// the caller may close the channel after this method returns, so the lanes must not write anymore
+			download.cancel();
+			download.awaitWriters();
+			Thread.currentThread().interrupt();
+			throw new KiiRestException("Interrupted while downloading the object body.", e);
+		}
+	}
+	/**
+	 * The state of the lanes of {@link KiiObjectBodyResource#downloadParallel(FileChannel, long, int)}.
+	 */
+	private static class ParallelDownload {
+		private final AtomicLong nextOffset;
+		private final long total;
+		private final Set<CompletableFuture<Void>> requests = ConcurrentHashMap.newKeySet();
+		private boolean cancelled = false;
+		private int writers = 0;
+		private ParallelDownload(long nextOffset, long total) {
+			this.nextOffset = new AtomicLong(nextOffset);
+			this.total = total;
+		}
+		/**
+		 * @return false if the download is cancelled and the range must not be written.
+		 */
+		private synchronized boolean beginWrite() {
+			if (this.cancelled) {
+				return false;
+			}
+			this.writers++;
+			return true;
+		}
+		private synchronized void endWrite() {
+			this.writers--;
+			this.notifyAll();
+		}
+		/**
+		 * Stops taking the next ranges and cancels the requests in flight.
+		 */
+		private void cancel() {
+			synchronized (this) {
+				this.cancelled = true;
+			}
+			this.nextOffset.set(this.total);
+			for (CompletableFuture<Void> request : this.requests) {
+				request.cancel(true);
+			}
+		}
+		/**
+		 * Waits until the ranges that are being written are finished, without being interrupted.
+		 */
+		private synchronized void awaitWriters() {
+			boolean interrupted = false;
+			while (this.writers > 0) {
+				try {
+					this.wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	/**
+	 * Downloads the ranges one by one until all ranges are taken by this or the other lanes.
+	 */
+	private CompletableFuture<Void> downloadNextRange(final FileChannel channel, final String eTag, final long chunkSize, final ParallelDownload download) {
+		final long total = download.total;
+		final long from = download.nextOffset.getAndAdd(chunkSize);
+		if (from >= total) {
+			return CompletableFuture.completedFuture(null);
+		}
+		final long to = Math.min(from + chunkSize, total) - 1;
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		if (eTag != null) {
+			headers.put("If-Match", eTag);
+		}
+		headers.put("Range", "bytes=" + from + "-" + to);
+		final KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
+		CompletableFuture<Void> range = this.executeAsync(request, response -> {
+			InputStream responseBody = this.parseResponseAsInputStream(request, response);
+			try {
+				if (response.code() != 206) {
+					throw new KiiRestException(request, response.code(), null);
+				}
+				if (!download.beginWrite()) {
+					throw new KiiRestException("The download is cancelled.");
+				}
+				try {
+					this.writeRange(request, responseBody, channel, from, to);
+				} finally {
+					download.endWrite();
+				}
+				return null;
+			} finally {
+				responseBody.close();
+			}
+		});
+		download.requests.add(range);
+		range.whenComplete((result, error) -> {
+			download.requests.remove(range);
+			if (error != null) {
+				// stops the other lanes
+				download.nextOffset.set(total);
+			}
+		});
+		return range.thenCompose(v -> this.downloadNextRange(channel, eTag, chunkSize, download));
+	}
+	private void writeRange(KiiRestRequest request, InputStream responseBody, FileChannel channel, long from, long to) throws IOException {
+		long written = IOUtils.copy(responseBody, channel, from);
+		if (written != to - from + 1) {
+			throw new IOException("Unexpected size of the range. expected=" + (to - from + 1) + " actual=" + written);
 		}
 	}
 	/**
@@ -261,11 +479,27 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 		if (file == null) {
 			throw new IllegalArgumentException("file is null");
 		}
-		InputStream stream = new FileInputStream(file);
+		this.upload(contentType, file.toPath());
+	}
+	/**
+	 * The file is sent with the exact Content-Length without being copied into the heap.
+	 * 
+	 * @param contentType
+	 * @param path
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/uploading/
+	 */
+	public void upload(String contentType, Path path) throws KiiRestException {
+		if (path == null) {
+			throw new IllegalArgumentException("path is null");
+		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.PUT, headers, MediaType.parse(contentType), path);
 		try {
-			this.upload(contentType, stream);
-		} finally {
-			stream.close();
+			Response response = this.execute(request);
+			this.parseResponse(request, response);
+		} catch (IOException e) {
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -284,7 +518,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -302,7 +536,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return new KiiChunkedUploadContext(contentType, GsonUtils.getString(responseBody, "uploadID"), dataSize);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -320,14 +554,357 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 				"-" + (context.getUploadedSize() + chunk.length - 1) +
 				"/" + context.getDataSize());
 		KiiRestRequest request = new KiiRestRequest(getUrl("/uploads/%s/data", context.getUploadID()), Method.PUT, headers, context.getContentType(), chunk);
+		// Uploading the same range again is idempotent and the chunk can be sent again.
+		request.setRetryPolicy(RetryPolicy.RETRY_ON_CONNECTION_FAILURE);
 		try {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 			context.increaseUploadedSize(chunk.length);
 			return context;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
+		}
+	}
+	/**
+	 * Uploads the chunk at the specified offset.
+	 * Unlike {@link #uploadByChunk(KiiChunkedUploadContext, byte[])}, the chunks can be uploaded in any order.
+	 * 
+	 * @param context
+	 * @param offset the position of the chunk in the whole data.
+	 * @param chunk the bytes between the position and the limit are uploaded.
+	 * @return
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/uploading/
+	 */
+	public KiiChunkedUploadContext uploadByChunk(KiiChunkedUploadContext context, long offset, ByteBuffer chunk) throws KiiRestException {
+		KiiRestRequest request = this.newUploadRangeRequest(context, offset, chunk);
+		return this.execute(request, this.newUploadRangeHandler(request, context, offset, chunk.remaining()));
+	}
+	/**
+	 * Asynchronous version of {@link #uploadByChunk(KiiChunkedUploadContext, long, ByteBuffer)}.
+	 * 
+	 * @param context
+	 * @param offset
+	 * @param chunk
+	 * @return
+	 */
+	public CompletableFuture<KiiChunkedUploadContext> uploadByChunkAsync(KiiChunkedUploadContext context, long offset, ByteBuffer chunk) {
+		KiiRestRequest request = this.newUploadRangeRequest(context, offset, chunk);
+		return this.executeAsync(request, this.newUploadRangeHandler(request, context, offset, chunk.remaining()));
+	}
+	private KiiRestRequest newUploadRangeRequest(KiiChunkedUploadContext context, long offset, ByteBuffer chunk) {
+		if (context == null) {
+			throw new IllegalArgumentException("context is null");
+		}
+		if (chunk == null) {
+			throw new IllegalArgumentException("chunk is null");
+		}
+		int length = chunk.remaining();
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		headers.put("Content-Range", "bytes=" + offset + "-" + (offset + length - 1) + "/" + context.getDataSize());
+		KiiRestRequest request = new KiiRestRequest(getUrl("/uploads/%s/data", context.getUploadID()), Method.PUT, headers, context.getContentType(), chunk);
+		// Uploading the same range again is idempotent and the chunk can be sent again.
+		request.setRetryPolicy(RetryPolicy.RETRY_ON_CONNECTION_FAILURE);
+		return request;
+	}
+	private ResponseHandler<KiiChunkedUploadContext> newUploadRangeHandler(KiiRestRequest request, KiiChunkedUploadContext context, long offset, int length) {
+		return response -> {
+			this.parseResponse(request, response);
+			context.acknowledge(offset, length);
+			return context;
+		};
+	}
+	/**
+	 * Uploads the file by the parallel chunked upload and commits it.
+	 * The upload is cancelled if any chunk can not be uploaded.
+	 * 
+	 * @param file
+	 * @param contentType
+	 * @param chunkSize
+	 * @param parallelism the number of the chunks that are uploaded concurrently.
+	 * @throws KiiRestException
+	 * @throws IOException
+	 * @see #uploadParallel(KiiChunkedUploadContext, FileChannel, long, int, int)
+	 */
+	public void uploadParallel(File file, String contentType, long chunkSize, int parallelism) throws KiiRestException, IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file is null");
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			KiiChunkedUploadContext context = this.beginChunkedUpload(contentType, channel.size());
+			try {
+				this.uploadParallel(context, channel, chunkSize, parallelism, DEFAULT_CHUNK_RETRY_COUNT);
+			} catch (KiiRestException e) {
+				try {
+					this.cancelChunkedUpload(context);
+				} catch (KiiRestException ignore) {
+				}
+				throw e;
+			}
+			this.commitChunkedUpload(context);
+		} finally {
+			channel.close();
+		}
+	}
+	/**
+	 * Uploads the rest of the data from the channel by the parallel chunked upload.
+	 * <p>
+	 * Each chunk is memory-mapped from the channel, so the chunks are not copied into the heap.
+	 * The chunk that failed with the connection failure or the server error is uploaded again up to maxRetries times.
+	 * This method does not commit the upload.
+	 * 
+	 * @param context
+	 * @param channel
+	 * @param chunkSize
+	 * @param parallelism the number of the chunks that are uploaded concurrently.
+	 *        The requests are also limited by the dispatcher of the http client.
+	 * @param maxRetries
+	 * @return
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/uploading/
+	 */
+	public KiiChunkedUploadContext uploadParallel(KiiChunkedUploadContext context, FileChannel channel, long chunkSize, int parallelism, int maxRetries) throws KiiRestException {
+		if (context == null) {
+			throw new IllegalArgumentException("context is null");
+		}
+		if (channel == null) {
+			throw new IllegalArgumentException("channel is null");
+		}
+		if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("chunkSize is out of range");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		if (maxRetries < 0) {
+			throw new IllegalArgumentException("maxRetries is negative");
+		}
+		// the chunks that are uploaded in parallel before are not a contiguous prefix
+		ParallelUpload chunks = new ParallelUpload();
+		for (Map.Entry<Long, Long> range : context.getMissingRanges().entrySet()) {
+			long end = range.getKey() + range.getValue();
+			for (long offset = range.getKey(); offset < end; offset += chunkSize) {
+				chunks.add(new long[] {offset, Math.min(chunkSize, end - offset)});
+			}
+		}
+		return this.uploadChunks(context, channel, parallelism, maxRetries, chunks, null);
+	}
+	/**
+	 * Uploads the chunks that are not acknowledged in the journal yet by the parallel chunked upload.
+	 * Each acknowledged chunk is recorded into the journal.
+	 * This method does not commit the upload.
+	 * 
+	 * @param journal
+	 * @param channel the same data as the upload was started with.
+	 * @param parallelism the number of the chunks that are uploaded concurrently.
+	 * @param maxRetries
+	 * @return
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/uploading/
+	 */
+	public KiiChunkedUploadContext resumeUpload(KiiChunkedUploadJournal journal, FileChannel channel, int parallelism, int maxRetries) throws KiiRestException {
+		if (journal == null) {
+			throw new IllegalArgumentException("journal is null");
+		}
+		if (channel == null) {
+			throw new IllegalArgumentException("channel is null");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		if (maxRetries < 0) {
+			throw new IllegalArgumentException("maxRetries is negative");
+		}
+		KiiChunkedUploadContext context = journal.getContext();
+		long chunkSize = journal.getChunkSize();
+		ParallelUpload chunks = new ParallelUpload();
+		for (long offset = 0; offset < context.getDataSize(); offset += chunkSize) {
+			if (!journal.isAcknowledged(offset)) {
+				chunks.add(new long[] {offset, Math.min(chunkSize, context.getDataSize() - offset)});
+			}
+		}
+		return this.uploadChunks(context, channel, parallelism, maxRetries, chunks, journal);
+	}
+	/**
+	 * Uploads the file by the parallel chunked upload and commits it.
+	 * <p>
+	 * The progress is recorded into the journal file.
+	 * If the journal file exists, the upload that is recorded in it is resumed
+	 * and only the chunks that are not acknowledged are sent.
+	 * The journal file is deleted when the upload is committed, and is kept when the upload fails.
+	 * Delete the journal file to start over, for example when the upload has expired on the server.
+	 * 
+	 * @param file
+	 * @param contentType
+	 * @param chunkSize ignored when the upload is resumed.
+	 * @param parallelism the number of the chunks that are uploaded concurrently.
+	 * @param journalFile
+	 * @throws KiiRestException
+	 * @throws IOException
+	 * @see #resumeUpload(KiiChunkedUploadJournal, FileChannel, int, int)
+	 */
+	public void uploadResumable(File file, String contentType, long chunkSize, int parallelism, File journalFile) throws KiiRestException, IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file is null");
+		}
+		if (journalFile == null) {
+			throw new IllegalArgumentException("journalFile is null");
+		}
+		if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("chunkSize is out of range");
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			KiiChunkedUploadJournal journal = null;
+			if (journalFile.exists() && journalFile.length() > 0) {
+				journal = KiiChunkedUploadJournal.open(journalFile);
+				if (journal.getContext().getDataSize() != channel.size()) {
+					journal.close();
+					throw new IOException("The size of the file is different from the journal:" + journalFile.getAbsolutePath());
+				}
+			} else {
+				KiiChunkedUploadContext context = this.beginChunkedUpload(contentType, channel.size());
+				journal = KiiChunkedUploadJournal.create(journalFile, context, chunkSize);
+			}
+			try {
+				this.resumeUpload(journal, channel, parallelism, DEFAULT_CHUNK_RETRY_COUNT);
+				this.commitChunkedUpload(journal.getContext());
+				journal.delete();
+			} finally {
+				journal.close();
+			}
+		} finally {
+			channel.close();
+		}
+	}
+	private KiiChunkedUploadContext uploadChunks(KiiChunkedUploadContext context, FileChannel channel, int parallelism, int maxRetries, ParallelUpload chunks, KiiChunkedUploadJournal journal) throws KiiRestException {
+		List<CompletableFuture<Void>> lanes = new ArrayList<CompletableFuture<Void>>();
+		for (int i = 0; i < parallelism; i++) {
+			lanes.add(this.uploadNextChunk(context, channel, maxRetries, chunks, journal));
+		}
+		CompletableFuture<Void> all = CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[lanes.size()]));
+		try {
+			all.get();
+			return context;
+		} catch (ExecutionException e) {
+			// all lanes are finished here. The failed lane has cancelled the requests of the others,
+			// so their cancellations are not reported instead of its failure.
+			Throwable cause = chunks.failure != null ? chunks.failure : e.getCause();
+			if (cause instanceof KiiRestException) {
+				throw (KiiRestException)cause;
+			}
+			throw new KiiRestException("Failed to upload the object body.", e);
+		} catch (InterruptedException e) {
+			// the caller may cancel the upload or close the channel and the journal after this method returns
+			chunks.cancel(null);
+			all.handle((result, error) -> null).join();
+			Thread.currentThread().interrupt();
+			throw new KiiRestException("Interrupted while uploading the object body.", e);
+		}
+	}
+	/**
+	 * The chunks that are not taken by the lanes of the parallel upload yet, and the requests in flight.
+	 */
+	private static class ParallelUpload {
+		private final Queue<long[]> chunks = new ConcurrentLinkedQueue<long[]>();
+		private final Set<CompletableFuture<?>> requests = ConcurrentHashMap.newKeySet();
+		private volatile boolean cancelled = false;
+		private volatile Throwable failure;
+		private void add(long[] chunk) {
+			this.chunks.add(chunk);
+		}
+		private long[] poll() {
+			return this.chunks.poll();
+		}
+		/**
+		 * Cancels the request if the upload is already cancelled, otherwise keeps it until it is completed.
+		 */
+		private void track(CompletableFuture<?> request) {
+			this.requests.add(request);
+			request.whenComplete((result, error) -> this.requests.remove(request));
+			if (this.cancelled) {
+				request.cancel(true);
+			}
+		}
+		/**
+		 * Stops taking the next chunks and cancels the requests in flight.
+		 * The lanes are completed exceptionally after their current requests are cancelled.
+		 *
+		 * @param failure the failure of the lane that stops the others, or null if interrupted.
+		 */
+		private synchronized void cancel(Throwable failure) {
+			if (this.cancelled) {
+				return;
+			}
+			this.failure = failure;
+			this.cancelled = true;
+			this.chunks.clear();
+			for (CompletableFuture<?> request : this.requests) {
+				request.cancel(true);
+			}
+		}
+	}
+	/**
+	 * Uploads the chunks one by one until all chunks are taken by this or the other lanes.
+	 * The chunk is recorded into the journal after it is uploaded, so the failure of the journal is not retried as the upload.
+	 */
+	private CompletableFuture<Void> uploadNextChunk(final KiiChunkedUploadContext context, final FileChannel channel, final int maxRetries, final ParallelUpload chunks, final KiiChunkedUploadJournal journal) {
+		final long[] next = chunks.poll();
+		if (next == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		final long from = next[0];
+		final long length = next[1];
+		CompletableFuture<Void> chunk = this.uploadChunk(context, channel, from, length, maxRetries, chunks);
+		if (journal != null) {
+			chunk = chunk.thenApply(v -> {
+				try {
+					journal.acknowledge(from, length);
+				} catch (IOException e) {
+					throw new CompletionException(new KiiRestException("Failed to write the journal.", e));
+				}
+				return v;
+			});
+		}
+		chunk.whenComplete((result, error) -> {
+			if (error != null) {
+				// stops the other lanes
+				chunks.cancel(error instanceof CompletionException ? error.getCause() : error);
+			}
+		});
+		return chunk.thenCompose(v -> this.uploadNextChunk(context, channel, maxRetries, chunks, journal));
+	}
+	private CompletableFuture<Void> uploadChunk(final KiiChunkedUploadContext context, final FileChannel channel, final long from, final long length, final int retries, final ParallelUpload chunks) {
+		CompletableFuture<KiiChunkedUploadContext> upload = null;
+		try {
+			ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+			upload = this.uploadByChunkAsync(context, from, chunk);
+			chunks.track(upload);
+		} catch (IOException e) {
+			upload = new CompletableFuture<KiiChunkedUploadContext>();
+			upload.completeExceptionally(new KiiRestException("Failed to read the chunk.", e));
+		}
+		return upload.handle((result, error) -> error).thenCompose(error -> {
+			if (error == null) {
+				return CompletableFuture.<Void>completedFuture(null);
+			}
+			Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+			if (retries > 0 && isRetryable(cause) && !chunks.cancelled) {
+				return this.uploadChunk(context, channel, from, length, retries - 1, chunks);
+			}
+			CompletableFuture<Void> failure = new CompletableFuture<Void>();
+			failure.completeExceptionally(cause);
+			return failure;
+		});
+	}
+	private static boolean isRetryable(Throwable error) {
+		if (!(error instanceof KiiRestException)) {
+			return false;
 		}
+		int status = ((KiiRestException)error).getStatus();
+		// status is 0 when the request failed by the connection failure.
+		return status == 0 || status >= 500;
 	}
 	/**
 	 * @param context
@@ -344,7 +921,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -362,7 +939,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -391,7 +968,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return GsonUtils.getString(responseBody, "url");
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -405,7 +982,7 @@ public class KiiObjectBodyResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 }
@@ -1,7 +1,7 @@
 package com.kii.cloud.rest.client.resource.storage;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.exception.KiiRestException;
@@ -10,7 +10,6 @@ import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
 import com.kii.cloud.rest.client.util.StringUtils;
-import com.squareup.okhttp.Response;
 
 /**
  * Represents the object resource like following URI:
@@ -45,14 +44,16 @@ public class KiiObjectResource extends KiiRestSubResource {
 	 * @throws KiiRestException
 	 */
 	public boolean exists() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.HEAD, headers);
-		try {
-			Response response = this.execute(request);
-			return response.isSuccessful();
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newExistsRequest();
+		return this.execute(request, this.newSuccessResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #exists()}.
+	 * @return
+	 */
+	public CompletableFuture<Boolean> existsAsync() {
+		KiiRestRequest request = this.newExistsRequest();
+		return this.executeAsync(request, this.newSuccessResponseHandler(request));
 	}
 	/**
 	 * @return
@@ -60,29 +61,31 @@ public class KiiObjectResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/retrieving/
 	 */
 	public KiiObject get() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return new KiiObject(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		JsonObject responseBody = this.executeCachedGet(this.newGetRequest());
+		return new KiiObject(responseBody);
+	}
+	/**
+	 * Asynchronous version of {@link #get()}.
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> getAsync() {
+		return this.executeCachedGetAsync(this.newGetRequest(), responseBody -> new KiiObject(responseBody));
 	}
 	/**
 	 * @throws KiiRestException
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/deleting/
 	 */
 	public void delete() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.DELETE, headers);
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newDeleteRequest();
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #delete()}.
+	 * @return
+	 */
+	public CompletableFuture<Void> deleteAsync() {
+		KiiRestRequest request = this.newDeleteRequest();
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
 	}
 	/**
 	 * @param object
@@ -90,21 +93,17 @@ public class KiiObjectResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/updating/
 	 */
 	public void update(KiiObject object) throws KiiRestException {
-		if (object == null) {
-			throw new IllegalArgumentException("object is null");
-		}
-		// TODO:ContentType?
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.PUT, headers, null, object.getJsonObject());
-		try {
-			Response response = this.execute(request);
-			String version = response.header("ETag");
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			Long modifiedAt = KiiObject.PROPERTY_MODIFIED_AT.get(responseBody);
-			object.setModifiedAt(modifiedAt).setVersion(version);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newUpdateRequest(object, false);
+		this.execute(request, this.newUpdateHandler(request, object));
+	}
+	/**
+	 * Asynchronous version of {@link #update(KiiObject)}.
+	 * @param object
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> updateAsync(KiiObject object) {
+		KiiRestRequest request = this.newUpdateRequest(object, false);
+		return this.executeAsync(request, this.newUpdateHandler(request, object));
 	}
 	/**
 	 * @param object
@@ -112,21 +111,17 @@ public class KiiObjectResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/updating/
 	 */
 	public void updateWithOptimisticLock(KiiObject object) throws KiiRestException {
-		if (object == null) {
-			throw new IllegalArgumentException("object is null");
-		}
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		headers.put("If-Match", object.getVersion());
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.PUT, headers, null, object.getJsonObject());
-		try {
-			Response response = this.execute(request);
-			String version = response.header("ETag");
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			Long modifiedAt = KiiObject.PROPERTY_MODIFIED_AT.get(responseBody);
-			object.setModifiedAt(modifiedAt).setVersion(version);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newUpdateRequest(object, true);
+		this.execute(request, this.newUpdateHandler(request, object));
+	}
+	/**
+	 * Asynchronous version of {@link #updateWithOptimisticLock(KiiObject)}.
+	 * @param object
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> updateWithOptimisticLockAsync(KiiObject object) {
+		KiiRestRequest request = this.newUpdateRequest(object, true);
+		return this.executeAsync(request, this.newUpdateHandler(request, object));
 	}
 	/**
 	 * @param object
@@ -134,19 +129,17 @@ public class KiiObjectResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/updating/
 	 */
 	public void partialUpdate(KiiObject object) throws KiiRestException {
-		if (object == null) {
-			throw new IllegalArgumentException("object is null");
-		}
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		headers.put("X-HTTP-Method-Override", "PATCH");
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, null, object.getJsonObject());
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			object.setJsonObject(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newPartialUpdateRequest(object, false);
+		this.execute(request, this.newPartialUpdateHandler(request, object));
+	}
+	/**
+	 * Asynchronous version of {@link #partialUpdate(KiiObject)}.
+	 * @param object
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> partialUpdateAsync(KiiObject object) {
+		KiiRestRequest request = this.newPartialUpdateRequest(object, false);
+		return this.executeAsync(request, this.newPartialUpdateHandler(request, object));
 	}
 	/**
 	 * @param object
@@ -154,20 +147,66 @@ public class KiiObjectResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/updating/
 	 */
 	public void partialUpdateWithOptimisticLock(KiiObject object) throws KiiRestException {
+		KiiRestRequest request = this.newPartialUpdateRequest(object, true);
+		this.execute(request, this.newPartialUpdateHandler(request, object));
+	}
+	/**
+	 * Asynchronous version of {@link #partialUpdateWithOptimisticLock(KiiObject)}.
+	 * @param object
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> partialUpdateWithOptimisticLockAsync(KiiObject object) {
+		KiiRestRequest request = this.newPartialUpdateRequest(object, true);
+		return this.executeAsync(request, this.newPartialUpdateHandler(request, object));
+	}
+	private KiiRestRequest newExistsRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.HEAD, headers);
+	}
+	private KiiRestRequest newGetRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.GET, headers);
+	}
+	private KiiRestRequest newDeleteRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.DELETE, headers);
+	}
+	private KiiRestRequest newUpdateRequest(KiiObject object, boolean optimisticLock) {
+		if (object == null) {
+			throw new IllegalArgumentException("object is null");
+		}
+		// TODO:ContentType?
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		if (optimisticLock) {
+			headers.put("If-Match", object.getVersion());
+		}
+		return new KiiRestRequest(getUrl(), Method.PUT, headers, null, object.getJsonObject());
+	}
+	private ResponseHandler<KiiObject> newUpdateHandler(KiiRestRequest request, KiiObject object) {
+		return response -> {
+			String version = response.header("ETag");
+			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
+			Long modifiedAt = KiiObject.PROPERTY_MODIFIED_AT.get(responseBody);
+			return object.setModifiedAt(modifiedAt).setVersion(version);
+		};
+	}
+	private KiiRestRequest newPartialUpdateRequest(KiiObject object, boolean optimisticLock) {
 		if (object == null) {
 			throw new IllegalArgumentException("object is null");
 		}
 		Map<String, String> headers = this.newAuthorizedHeaders();
 		headers.put("X-HTTP-Method-Override", "PATCH");
-		headers.put("If-Match", object.getVersion());
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, null, object.getJsonObject());
-		try {
-			Response response = this.execute(request);
+		if (optimisticLock) {
+			headers.put("If-Match", object.getVersion());
+		}
+		return new KiiRestRequest(getUrl(), Method.POST, headers, null, object.getJsonObject());
+	}
+	private ResponseHandler<KiiObject> newPartialUpdateHandler(KiiRestRequest request, KiiObject object) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			object.setJsonObject(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+			return object;
+		};
 	}
 	@Override
 	public String getPath() {
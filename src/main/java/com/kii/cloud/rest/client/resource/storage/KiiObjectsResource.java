@@ -1,16 +1,30 @@
 package com.kii.cloud.rest.client.resource.storage;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.kii.cloud.rest.client.KiiHttpClientConfiguration;
 import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.model.storage.KiiBulkResult;
 import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiObjectMapper;
 import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
 import com.squareup.okhttp.MediaType;
-import com.squareup.okhttp.Response;
+import com.squareup.okhttp.RequestBody;
+
+import okio.BufferedSink;
 
 /**
  * Represents the objects resource like following URI:
@@ -24,6 +38,12 @@ import com.squareup.okhttp.Response;
  */
 public class KiiObjectsResource extends KiiRestSubResource {
 	public static final String BASE_PATH = "/objects";
+	/**
+	 * Same as the default number of the concurrent requests per host of the http client.
+	 * Increase {@link KiiHttpClientConfiguration#setMaxRequestsPerHost(int)} to use the larger parallelism.
+	 */
+	public static final int DEFAULT_BULK_PARALLELISM = KiiHttpClientConfiguration.DEFAULT_MAX_REQUESTS_PER_HOST;
+	private static final Charset UTF8 = Charset.forName("UTF-8");
 	public KiiObjectsResource(KiiBucketResource parent) {
 		super(parent);
 	}
@@ -38,6 +58,53 @@ public class KiiObjectsResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/creating/
 	 */
 	public KiiObject save(String contentType, KiiObject object) throws KiiRestException {
+		KiiRestRequest request = this.newSaveRequest(contentType, object);
+		return this.execute(request, this.newSaveHandler(request, object));
+	}
+	/**
+	 * Asynchronous version of {@link #save(KiiObject)}.
+	 * @param object
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> saveAsync(KiiObject object) {
+		return this.saveAsync("application/json", object);
+	}
+	/**
+	 * Asynchronous version of {@link #save(String, KiiObject)}.
+	 * @param contentType
+	 * @param object
+	 * @return
+	 */
+	public CompletableFuture<KiiObject> saveAsync(String contentType, KiiObject object) {
+		KiiRestRequest request = this.newSaveRequest(contentType, object);
+		return this.executeAsync(request, this.newSaveHandler(request, object));
+	}
+	/**
+	 * Saves the instance of the mapped class as the new object.
+	 * The request body is written into the connection by {@link KiiObjectMapper#write(JsonWriter, Object)}
+	 * without building the Gson tree nor the JSON string.
+	 * 
+	 * @param mapper
+	 * @param instance
+	 * @return the object that has only the object ID and the version.
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-data/object-storages/creating/
+	 */
+	public <T> KiiObject save(KiiObjectMapper<T> mapper, T instance) throws KiiRestException {
+		KiiRestRequest request = this.newSaveRequest(mapper, instance);
+		return this.execute(request, this.newSaveHandler(request, new KiiObject()));
+	}
+	/**
+	 * Asynchronous version of {@link #save(KiiObjectMapper, Object)}.
+	 * @param mapper
+	 * @param instance
+	 * @return
+	 */
+	public <T> CompletableFuture<KiiObject> saveAsync(KiiObjectMapper<T> mapper, T instance) {
+		KiiRestRequest request = this.newSaveRequest(mapper, instance);
+		return this.executeAsync(request, this.newSaveHandler(request, new KiiObject()));
+	}
+	private KiiRestRequest newSaveRequest(String contentType, KiiObject object) {
 		if (contentType == null) {
 			contentType = "application/json";
 		}
@@ -45,16 +112,169 @@ public class KiiObjectsResource extends KiiRestSubResource {
 			throw new IllegalArgumentException("object is null");
 		}
 		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MediaType.parse(contentType), object.getJsonObject());
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MediaType.parse(contentType), object.getJsonObject());
+	}
+	private <T> KiiRestRequest newSaveRequest(KiiObjectMapper<T> mapper, T instance) {
+		if (mapper == null) {
+			throw new IllegalArgumentException("mapper is null");
+		}
+		if (instance == null) {
+			throw new IllegalArgumentException("instance is null");
+		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		final MediaType contentType = MediaType.parse("application/json");
+		RequestBody body = new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return contentType;
+			}
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				Writer writer = new OutputStreamWriter(sink.outputStream(), UTF8);
+				mapper.write(new JsonWriter(writer), instance);
+				// the sink is closed by the http client
+				writer.flush();
+			}
+		};
+		// the body is written from the instance on each attempt
+		return new KiiRestRequest(getUrl(), Method.POST, headers, contentType, body).setRepeatable(true);
+	}
+	/**
+	 * @param request
+	 * @param object the object that the object ID and the version are set to.
+	 * @return
+	 */
+	private ResponseHandler<KiiObject> newSaveHandler(KiiRestRequest request, KiiObject object) {
+		return response -> {
 			String version = response.header("ETag");
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			String objectID = KiiObject.PROPERTY_OBJECT_ID.get(responseBody);
 			return object.setObjectID(objectID).setVersion(version);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+		};
+	}
+	/**
+	 * Saves the objects with {@link #DEFAULT_BULK_PARALLELISM} concurrent requests.
+	 * 
+	 * @param objects
+	 * @return
+	 * @throws KiiRestException if interrupted. The failure of each object is recorded in the result.
+	 */
+	public KiiBulkResult<KiiObject> saveAll(Collection<KiiObject> objects) throws KiiRestException {
+		return this.saveAll(objects, DEFAULT_BULK_PARALLELISM);
+	}
+	/**
+	 * Saves the objects concurrently. The object ID and the version are set to the saved objects.
+	 * 
+	 * @param objects
+	 * @param parallelism the number of the requests that are executed concurrently.
+	 * @return
+	 * @throws KiiRestException if interrupted. The failure of each object is recorded in the result.
+	 */
+	public KiiBulkResult<KiiObject> saveAll(Collection<KiiObject> objects, int parallelism) throws KiiRestException {
+		if (objects == null) {
+			throw new IllegalArgumentException("objects is null");
+		}
+		return this.executeAll(objects, parallelism, object -> this.saveAsync(object));
+	}
+	/**
+	 * Partially updates the objects with {@link #DEFAULT_BULK_PARALLELISM} concurrent requests.
+	 * 
+	 * @param objects the objects that have the object ID and the fields to update.
+	 * @return
+	 * @throws KiiRestException if interrupted. The failure of each object is recorded in the result.
+	 */
+	public KiiBulkResult<KiiObject> partialUpdateAll(Collection<KiiObject> objects) throws KiiRestException {
+		return this.partialUpdateAll(objects, DEFAULT_BULK_PARALLELISM);
+	}
+	/**
+	 * Partially updates the objects concurrently. The objects are replaced by the updated fields.
+	 * 
+	 * @param objects the objects that have the object ID and the fields to update.
+	 * @param parallelism the number of the requests that are executed concurrently.
+	 * @return
+	 * @throws KiiRestException if interrupted. The failure of each object is recorded in the result.
+	 * @see KiiObjectResource#partialUpdate(KiiObject)
+	 */
+	public KiiBulkResult<KiiObject> partialUpdateAll(Collection<KiiObject> objects, int parallelism) throws KiiRestException {
+		if (objects == null) {
+			throw new IllegalArgumentException("objects is null");
 		}
+		return this.executeAll(objects, parallelism, object -> this.getParentBucket().objects(object).partialUpdateAsync(object));
+	}
+	/**
+	 * Deletes the objects with {@link #DEFAULT_BULK_PARALLELISM} concurrent requests.
+	 * 
+	 * @param objectIDs
+	 * @return
+	 * @throws KiiRestException if interrupted. The failure of each object is recorded in the result.
+	 */
+	public KiiBulkResult<String> deleteAll(Collection<String> objectIDs) throws KiiRestException {
+		return this.deleteAll(objectIDs, DEFAULT_BULK_PARALLELISM);
+	}
+	/**
+	 * Deletes the objects concurrently.
+	 * 
+	 * @param objectIDs
+	 * @param parallelism the number of the requests that are executed concurrently.
+	 * @return
+	 * @throws KiiRestException if interrupted. The failure of each object is recorded in the result.
+	 * @see KiiObjectResource#delete()
+	 */
+	public KiiBulkResult<String> deleteAll(Collection<String> objectIDs, int parallelism) throws KiiRestException {
+		if (objectIDs == null) {
+			throw new IllegalArgumentException("objectIDs is null");
+		}
+		return this.executeAll(objectIDs, parallelism, objectID -> this.getParentBucket().objects(objectID).deleteAsync());
+	}
+	/**
+	 * Starts the operation for each item while the number of the running operations is less than the parallelism,
+	 * and waits until all operations are completed.
+	 * Only the running operations are held, so the memory does not grow with the number of the items.
+	 */
+	private <T> KiiBulkResult<T> executeAll(Collection<T> items, int parallelism, Function<T, CompletableFuture<?>> operation) throws KiiRestException {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		final KiiBulkResult<T> result = new KiiBulkResult<T>();
+		final Semaphore window = new Semaphore(parallelism);
+		try {
+			for (final T item : items) {
+				window.acquire();
+				CompletableFuture<?> future = null;
+				try {
+					future = operation.apply(item);
+				} catch (RuntimeException e) {
+					// the invalid item like the object without ID
+					result.addFailure(item, new KiiRestException(e.getMessage(), e));
+					window.release();
+					continue;
+				}
+				future.whenComplete((value, error) -> {
+					if (error == null) {
+						result.addSuccess(item);
+					} else {
+						Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+						if (cause instanceof KiiRestException) {
+							result.addFailure(item, (KiiRestException)cause);
+						} else {
+							result.addFailure(item, new KiiRestException(cause.getMessage(), cause instanceof Exception ? (Exception)cause : new RuntimeException(cause)));
+						}
+					}
+					window.release();
+				});
+			}
+			// waits for the running operations
+			window.acquire(parallelism);
+			window.release(parallelism);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new KiiRestException("Interrupted while executing the bulk operation.", e);
+		}
+		result.complete();
+		return result;
+	}
+	private KiiBucketResource getParentBucket() {
+		return (KiiBucketResource)this.parent;
 	}
 	@Override
 	public String getPath() {
@@ -0,0 +1,260 @@
+package com.kii.cloud.rest.client.resource.storage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.exception.KiiRestRuntimeException;
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiQuery;
+import com.kii.cloud.rest.client.model.storage.KiiQueryClause;
+import com.kii.cloud.rest.client.model.storage.KiiQueryResult;
+import com.kii.cloud.rest.client.util.StringUtils;
+
+/**
+ * Scans the bucket with the concurrent queries, each of them covers the disjoint range of the split field.
+ * <p>
+ * The range between the lower and the upper limit is divided into the partitions of the same width.
+ * The first partition has no lower limit and the last partition has no upper limit,
+ * so all objects that have the split field are scanned. The objects without the split field are not scanned.
+ * <p>
+ * Each partition follows its own pagination chain asynchronously, and buffers a few pages ahead of the consumer.
+ * When the order is preserved, the objects are sorted by the split field in ascending order
+ * and the partitions are returned from the lowest one. Otherwise the pages are returned as soon as they arrive.
+ * <p>
+ * Close the scan that is not consumed to the end, so the running queries are cancelled.
+ * <p>
+ * This class is not thread safe.
+ * {@link KiiRestException} is thrown as {@link KiiRestRuntimeException}.
+ * Use {@link KiiBucketResource#scanParallel(KiiQueryClause, String, long, long, int, boolean)} to create the instance.
+ */
+public class KiiParallelScan implements Iterator<KiiObject>, AutoCloseable {
+
+	/** The number of the pages that each partition fetches ahead of the consumer. */
+	public static final int MAX_BUFFERED_PAGES = 2;
+
+	private final KiiBucketResource bucket;
+	private final boolean ordered;
+	private final List<Partition> partitions = new ArrayList<Partition>();
+	private final Object lock = new Object();
+	private Iterator<KiiObject> page = Collections.<KiiObject>emptyIterator();
+	private int current = 0;
+	private KiiRestException error = null;
+	private boolean closed = false;
+
+	private class Partition {
+		private final KiiQuery query;
+		private final Deque<List<KiiObject>> pages = new ArrayDeque<List<KiiObject>>();
+		private CompletableFuture<KiiQueryResult> inFlight = null;
+		private boolean finished = false;
+		private Partition(KiiQuery query) {
+			this.query = query;
+		}
+		private boolean isDrained() {
+			return this.finished && this.inFlight == null && this.pages.isEmpty();
+		}
+	}
+
+	KiiParallelScan(KiiBucketResource bucket, KiiQueryClause clause, String splitField, long lowerLimit, long upperLimit, int partitions, boolean ordered) {
+		this.bucket = bucket;
+		this.ordered = ordered;
+		// the width of Long.MIN_VALUE to Long.MAX_VALUE overflows the signed long, but not the unsigned one.
+		// the boundaries are between the limits, so adding the unsigned offsets to the lower limit does not overflow.
+		long width = Long.divideUnsigned(upperLimit - lowerLimit, partitions);
+		for (int i = 0; i < partitions; i++) {
+			long from = lowerLimit + width * i;
+			long to = (i == partitions - 1) ? upperLimit : from + width;
+			KiiQueryClause range = null;
+			if (partitions == 1) {
+				range = null;
+			} else if (i == 0) {
+				range = KiiQueryClause.lt(splitField, to);
+			} else if (i == partitions - 1) {
+				range = KiiQueryClause.gte(splitField, from);
+			} else {
+				range = KiiQueryClause.range(splitField, from, true, to, false);
+			}
+			KiiQueryClause partitionClause = null;
+			if (clause == null) {
+				partitionClause = range;
+			} else if (range == null) {
+				partitionClause = clause;
+			} else {
+				partitionClause = KiiQueryClause.and(clause, range);
+			}
+			KiiQuery query = new KiiQuery(partitionClause);
+			if (ordered) {
+				query.sortByAsc(splitField);
+			}
+			this.partitions.add(new Partition(query));
+		}
+		synchronized (this.lock) {
+			for (Partition partition : this.partitions) {
+				this.fetchNextPage(partition);
+			}
+		}
+	}
+	@Override
+	public boolean hasNext() {
+		while (!this.page.hasNext()) {
+			List<KiiObject> next = this.takeNextPage();
+			if (next == null) {
+				return false;
+			}
+			this.page = next.iterator();
+		}
+		return true;
+	}
+	@Override
+	public KiiObject next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.page.next();
+	}
+	/**
+	 * Cancels all running queries.
+	 */
+	@Override
+	public void close() {
+		synchronized (this.lock) {
+			this.closed = true;
+			for (Partition partition : this.partitions) {
+				partition.finished = true;
+				partition.pages.clear();
+				CompletableFuture<KiiQueryResult> inFlight = partition.inFlight;
+				if (inFlight != null) {
+					// cleared before cancelling, so the callback ignores the cancellation
+					partition.inFlight = null;
+					inFlight.cancel(true);
+				}
+			}
+			this.lock.notifyAll();
+		}
+		this.page = Collections.<KiiObject>emptyIterator();
+	}
+	/**
+	 * @return the sequential stream that is backed by this scan. Closing the stream closes this scan.
+	 */
+	public Stream<KiiObject> stream() {
+		int characteristics = Spliterator.NONNULL | (this.ordered ? Spliterator.ORDERED : 0);
+		Spliterator<KiiObject> spliterator = Spliterators.spliteratorUnknownSize(this, characteristics);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+	/**
+	 * Waits for the next page.
+	 *
+	 * @return null if all partitions are drained.
+	 */
+	private List<KiiObject> takeNextPage() {
+		synchronized (this.lock) {
+			while (true) {
+				if (this.error != null) {
+					KiiRestException e = this.error;
+					this.close();
+					throw new KiiRestRuntimeException(e);
+				}
+				if (this.closed) {
+					return null;
+				}
+				List<KiiObject> next = this.ordered ? this.pollOrdered() : this.pollAny();
+				if (next != null) {
+					return next;
+				}
+				if (this.current >= this.partitions.size()) {
+					return null;
+				}
+				try {
+					this.lock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					this.close();
+					throw new KiiRestRuntimeException(new KiiRestException("Interrupted while scanning the bucket.", e));
+				}
+			}
+		}
+	}
+	private List<KiiObject> pollOrdered() {
+		while (this.current < this.partitions.size()) {
+			Partition partition = this.partitions.get(this.current);
+			List<KiiObject> next = this.poll(partition);
+			if (next != null) {
+				return next;
+			}
+			if (!partition.isDrained()) {
+				return null;
+			}
+			this.current++;
+		}
+		return null;
+	}
+	private List<KiiObject> pollAny() {
+		boolean drained = true;
+		for (Partition partition : this.partitions) {
+			List<KiiObject> next = this.poll(partition);
+			if (next != null) {
+				return next;
+			}
+			drained &= partition.isDrained();
+		}
+		if (drained) {
+			this.current = this.partitions.size();
+		}
+		return null;
+	}
+	private List<KiiObject> poll(Partition partition) {
+		List<KiiObject> next = partition.pages.poll();
+		if (next != null) {
+			this.fetchNextPage(partition);
+		}
+		return next;
+	}
+	/**
+	 * Requests the next page of the partition if its buffer has room. Must be called with the lock.
+	 */
+	private void fetchNextPage(final Partition partition) {
+		if (this.closed || partition.finished || partition.inFlight != null || partition.pages.size() >= MAX_BUFFERED_PAGES) {
+			return;
+		}
+		final CompletableFuture<KiiQueryResult> future = this.bucket.queryAsync(partition.query);
+		partition.inFlight = future;
+		future.whenComplete((result, error) -> {
+			synchronized (this.lock) {
+				if (partition.inFlight != future) {
+					// closed
+					return;
+				}
+				partition.inFlight = null;
+				if (error != null) {
+					Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+					if (cause instanceof KiiRestException) {
+						this.error = (KiiRestException)cause;
+					} else {
+						this.error = new KiiRestException("Failed to scan the bucket.", cause instanceof Exception ? (Exception)cause : new RuntimeException(cause));
+					}
+				} else {
+					String nextPaginationKey = result.getNextPaginationKey();
+					partition.finished = StringUtils.isEmpty(nextPaginationKey);
+					partition.query.setNextPaginationKey(nextPaginationKey);
+					List<KiiObject> objects = result.getResults();
+					if (!objects.isEmpty()) {
+						partition.pages.add(objects);
+					}
+					this.fetchNextPage(partition);
+				}
+				this.lock.notifyAll();
+			}
+		});
+	}
+}
@@ -0,0 +1,118 @@
+package com.kii.cloud.rest.client.resource.storage;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.exception.KiiRestRuntimeException;
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiQuery;
+import com.kii.cloud.rest.client.model.storage.KiiQueryResult;
+import com.kii.cloud.rest.client.util.StringUtils;
+
+/**
+ * Iterates all objects that match the query, fetching the pages on demand.
+ * <p>
+ * When prefetch is enabled, the next page is requested asynchronously as soon as the current page arrives,
+ * so the network round trip overlaps with the consumption of the current page.
+ * Only one page (and the prefetched one) is held in memory at a time.
+ * <p>
+ * The prefetching request is left in flight if the iteration is abandoned before the last page,
+ * so close the iterator or its stream that is not consumed to the end, preferably with try-with-resources.
+ * Closing is not needed after {@link #hasNext()} returns false.
+ * <p>
+ * This class is not thread safe.
+ * {@link KiiRestException} is thrown as {@link KiiRestRuntimeException}.
+ * Use {@link KiiBucketResource#queryAll(KiiQuery)} to create the instance.
+ */
+public class KiiQueryIterator implements Iterator<KiiObject>, AutoCloseable {
+
+	private final KiiBucketResource bucket;
+	private final KiiQuery query;
+	private final boolean prefetch;
+	private Iterator<KiiObject> page = Collections.<KiiObject>emptyIterator();
+	private boolean hasNextPage = true;
+	private CompletableFuture<KiiQueryResult> nextPage = null;
+
+	KiiQueryIterator(KiiBucketResource bucket, KiiQuery query, boolean prefetch) {
+		this.bucket = bucket;
+		// The query is copied only once, only the pagination key is changed for each page.
+		this.query = query.clone();
+		this.prefetch = prefetch;
+	}
+	@Override
+	public boolean hasNext() {
+		while (!this.page.hasNext() && this.hasNextPage) {
+			this.fetchNextPage();
+		}
+		return this.page.hasNext();
+	}
+	@Override
+	public KiiObject next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.page.next();
+	}
+	/**
+	 * Cancels the prefetching request if exists. The iterator has no more elements after closed.
+	 */
+	@Override
+	public void close() {
+		this.hasNextPage = false;
+		this.page = Collections.<KiiObject>emptyIterator();
+		if (this.nextPage != null) {
+			this.nextPage.cancel(true);
+			this.nextPage = null;
+		}
+	}
+	/**
+	 * @return the sequential stream that is backed by this iterator.
+	 *         Closing the stream closes this iterator, so the stream that is not consumed to the end must be closed.
+	 */
+	public Stream<KiiObject> stream() {
+		Spliterator<KiiObject> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+	private void fetchNextPage() {
+		KiiQueryResult result = null;
+		try {
+			if (this.nextPage != null) {
+				result = this.nextPage.get();
+				this.nextPage = null;
+			} else {
+				result = this.bucket.query(this.query);
+			}
+		} catch (KiiRestException e) {
+			this.hasNextPage = false;
+			throw new KiiRestRuntimeException(e);
+		} catch (ExecutionException e) {
+			this.hasNextPage = false;
+			this.nextPage = null;
+			if (e.getCause() instanceof KiiRestException) {
+				throw new KiiRestRuntimeException((KiiRestException)e.getCause());
+			}
+			throw new KiiRestRuntimeException(new KiiRestException("Failed to fetch the next page.", e));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.close();
+			throw new KiiRestRuntimeException(new KiiRestException("Interrupted while fetching the next page.", e));
+		}
+		String nextPaginationKey = result.getNextPaginationKey();
+		this.hasNextPage = !StringUtils.isEmpty(nextPaginationKey);
+		if (this.hasNextPage) {
+			this.query.setNextPaginationKey(nextPaginationKey);
+			if (this.prefetch) {
+				this.nextPage = this.bucket.queryAsync(this.query);
+			}
+		}
+		this.page = result.getResults().iterator();
+	}
+}
@@ -46,7 +46,7 @@ public class KiiThingOwnerResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -66,7 +66,7 @@ public class KiiThingOwnerResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return GsonUtils.getString(responseBody, "code");
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -86,7 +86,7 @@ public class KiiThingOwnerResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -103,9 +103,9 @@ public class KiiThingOwnerResource extends KiiRestSubResource {
 		KiiRestRequest request = new KiiRestRequest(getUrl(owner.toString()), Method.HEAD, headers);
 		try {
 			Response response = this.execute(request);
-			return response.isSuccessful();
+			return this.parseResponseAsSuccess(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -130,7 +130,7 @@ public class KiiThingOwnerResource extends KiiRestSubResource {
 			}
 			return owners;
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -148,7 +148,7 @@ public class KiiThingOwnerResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	@Override
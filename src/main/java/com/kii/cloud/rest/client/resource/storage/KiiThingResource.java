@@ -2,6 +2,7 @@ package com.kii.cloud.rest.client.resource.storage;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.exception.KiiRestException;
@@ -65,14 +66,16 @@ public class KiiThingResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/thing/thing-rest/management/
 	 */
 	public boolean exists() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.HEAD, headers);
-		try {
-			Response response = this.execute(request);
-			return response.isSuccessful();
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newExistsRequest();
+		return this.execute(request, this.newSuccessResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #exists()}.
+	 * @return
+	 */
+	public CompletableFuture<Boolean> existsAsync() {
+		KiiRestRequest request = this.newExistsRequest();
+		return this.executeAsync(request, this.newSuccessResponseHandler(request));
 	}
 	/**
 	 * @return
@@ -80,15 +83,15 @@ public class KiiThingResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/thing/thing-rest/management/
 	 */
 	public KiiThing get() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			return new KiiThing(responseBody);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		JsonObject responseBody = this.executeCachedGet(this.newGetRequest());
+		return new KiiThing(responseBody);
+	}
+	/**
+	 * Asynchronous version of {@link #get()}.
+	 * @return
+	 */
+	public CompletableFuture<KiiThing> getAsync() {
+		return this.executeCachedGetAsync(this.newGetRequest(), responseBody -> new KiiThing(responseBody));
 	}
 	/**
 	 * @param thing
@@ -96,18 +99,17 @@ public class KiiThingResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/thing/thing-rest/management/
 	 */
 	public void update(KiiThing thing) throws KiiRestException {
-		if (thing == null) {
-			throw new IllegalArgumentException("thing is null");
-		}
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		headers.put("X-HTTP-Method-Override", "PATCH");
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_THING_UPDATE_REQUEST, thing.getJsonObject());
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newUpdateRequest(thing);
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #update(KiiThing)}.
+	 * @param thing
+	 * @return
+	 */
+	public CompletableFuture<Void> updateAsync(KiiThing thing) {
+		KiiRestRequest request = this.newUpdateRequest(thing);
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
 	}
 	/**
 	 * @return
@@ -122,7 +124,7 @@ public class KiiThingResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return GsonUtils.getBoolean(responseBody, "disabled");
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -148,7 +150,7 @@ public class KiiThingResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -156,16 +158,38 @@ public class KiiThingResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/thing/thing-rest/management/
 	 */
 	public void delete() throws KiiRestException {
+		KiiRestRequest request = this.newDeleteRequest();
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #delete()}.
+	 * @return
+	 */
+	public CompletableFuture<Void> deleteAsync() {
+		KiiRestRequest request = this.newDeleteRequest();
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
+	}
+	
+	private KiiRestRequest newExistsRequest() {
 		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.DELETE, headers);
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+		return new KiiRestRequest(getUrl(), Method.HEAD, headers);
+	}
+	private KiiRestRequest newGetRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.GET, headers);
+	}
+	private KiiRestRequest newUpdateRequest(KiiThing thing) {
+		if (thing == null) {
+			throw new IllegalArgumentException("thing is null");
 		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		headers.put("X-HTTP-Method-Override", "PATCH");
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_THING_UPDATE_REQUEST, thing.getJsonObject());
+	}
+	private KiiRestRequest newDeleteRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.DELETE, headers);
 	}
-	
 	@Override
 	public String getPath() {
 		if (this.thingID != null) {
@@ -1,7 +1,7 @@
 package com.kii.cloud.rest.client.resource.storage;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.annotation.AnonymousAPI;
@@ -12,7 +12,6 @@ import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
 import com.squareup.okhttp.MediaType;
-import com.squareup.okhttp.Response;
 
 /**
  * Represents the things resource like following URI:
@@ -37,15 +36,29 @@ public class KiiThingsResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public KiiThing register(KiiThing thing) throws KiiRestException {
+		KiiRestRequest request = this.newRegisterRequest(thing);
+		return this.execute(request, this.newRegisterHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #register(KiiThing)}.
+	 * @param thing
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiThing> registerAsync(KiiThing thing) {
+		KiiRestRequest request = this.newRegisterRequest(thing);
+		return this.executeAsync(request, this.newRegisterHandler(request));
+	}
+	private KiiRestRequest newRegisterRequest(KiiThing thing) {
 		if (thing == null) {
 			throw new IllegalArgumentException("thing is null");
 		}
 		Map<String, String> headers = this.newAppHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_REGISTRATION_REQUEST, thing.getJsonObject());
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_REGISTRATION_REQUEST, thing.getJsonObject());
+	}
+	private ResponseHandler<KiiThing> newRegisterHandler(KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			
 			String accessToken = KiiThing.PROPERTY_ACCESS_TOKEN.get(responseBody);
 			String refreshToken = KiiThing.PROPERTY_REFRESH_TOKEN.get(responseBody);
 			responseBody.remove(KiiThing.PROPERTY_ACCESS_TOKEN.getName());
@@ -54,9 +67,7 @@ public class KiiThingsResource extends KiiRestSubResource {
 			registeredThing.setAccessToken(accessToken);
 			registeredThing.setRefreshToken(refreshToken);
 			return registeredThing;
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
 	@Override
 	public String getPath() {
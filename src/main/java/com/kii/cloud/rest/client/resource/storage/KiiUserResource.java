@@ -2,6 +2,7 @@ package com.kii.cloud.rest.client.resource.storage;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.kii.cloud.rest.client.annotation.AdminAPI;
@@ -57,19 +58,15 @@ public class KiiUserResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-users/retrieving-other-user-s-data/
 	 */
 	public KiiUser get() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.GET, headers);
-		try {
-			Response response = this.execute(request);
-			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
-			if (KiiUser.PROPERTY_HAS_PASSWORD.get(responseBody)) {
-				return new KiiNormalUser(responseBody);
-			} else {
-				return new KiiPseudoUser(responseBody);
-			}
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		JsonObject responseBody = this.executeCachedGet(this.newGetRequest());
+		return toUser(responseBody);
+	}
+	/**
+	 * Asynchronous version of {@link #get()}.
+	 * @return
+	 */
+	public CompletableFuture<KiiUser> getAsync() {
+		return this.executeCachedGetAsync(this.newGetRequest(), KiiUserResource::toUser);
 	}
 	/**
 	 * @param user
@@ -77,17 +74,17 @@ public class KiiUserResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-users/user-attributes/
 	 */
 	public void update(KiiUser user) throws KiiRestException {
-		if (user == null) {
-			throw new IllegalArgumentException("user is null");
-		}
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_USER_UPDATE_REQUEST, user.toJsonString());
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newUpdateRequest(user);
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #update(KiiUser)}.
+	 * @param user
+	 * @return
+	 */
+	public CompletableFuture<Void> updateAsync(KiiUser user) {
+		KiiRestRequest request = this.newUpdateRequest(user);
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
 	}
 	/**
 	 * @param user
@@ -125,7 +122,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -133,14 +130,16 @@ public class KiiUserResource extends KiiRestSubResource {
 	 * @see http://documentation.kii.com/en/guides/rest/managing-users/deleting-users/
 	 */
 	public void delete() throws KiiRestException {
-		Map<String, String> headers = this.newAuthorizedHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.DELETE, headers);
-		try {
-			Response response = this.execute(request);
-			this.parseResponse(request, response);
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		KiiRestRequest request = this.newDeleteRequest();
+		this.execute(request, this.newEmptyResponseHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #delete()}.
+	 * @return
+	 */
+	public CompletableFuture<Void> deleteAsync() {
+		KiiRestRequest request = this.newDeleteRequest();
+		return this.executeAsync(request, this.newEmptyResponseHandler(request));
 	}
 	/**
 	 * @param oldPassword
@@ -164,7 +163,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -185,7 +184,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -212,7 +211,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return GsonUtils.getString(responseBody, "verificationCode");
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -230,7 +229,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			return GsonUtils.getString(responseBody, "verificationCode");
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -252,7 +251,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	/**
@@ -278,7 +277,7 @@ public class KiiUserResource extends KiiRestSubResource {
 			Response response = this.execute(request);
 			this.parseResponse(request, response);
 		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
+			throw new KiiRestException(request, e);
 		}
 	}
 	public KiiBucketResource buckets(String name) {
@@ -293,6 +292,28 @@ public class KiiUserResource extends KiiRestSubResource {
 	public KiiTopicResource topics(String name) {
 		return new KiiTopicResource(this.topics(), name);
 	}
+	private KiiRestRequest newGetRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.GET, headers);
+	}
+	private static KiiUser toUser(JsonObject responseBody) {
+		if (KiiUser.PROPERTY_HAS_PASSWORD.get(responseBody)) {
+			return new KiiNormalUser(responseBody);
+		} else {
+			return new KiiPseudoUser(responseBody);
+		}
+	}
+	private KiiRestRequest newUpdateRequest(KiiUser user) {
+		if (user == null) {
+			throw new IllegalArgumentException("user is null");
+		}
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_USER_UPDATE_REQUEST, user.toJsonString());
+	}
+	private KiiRestRequest newDeleteRequest() {
+		Map<String, String> headers = this.newAuthorizedHeaders();
+		return new KiiRestRequest(getUrl(), Method.DELETE, headers);
+	}
 	@Override
 	public String getPath() {
 		return "/" + KiiUser.getAccountType(this.identifier) + this.identifier;
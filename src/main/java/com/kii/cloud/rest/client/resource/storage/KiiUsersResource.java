@@ -1,7 +1,7 @@
 package com.kii.cloud.rest.client.resource.storage;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -15,7 +15,6 @@ import com.kii.cloud.rest.client.resource.KiiRestRequest;
 import com.kii.cloud.rest.client.resource.KiiRestSubResource;
 import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
 import com.squareup.okhttp.MediaType;
-import com.squareup.okhttp.Response;
 
 /**
  * Represents the users resource like following URI:
@@ -41,6 +40,42 @@ public class KiiUsersResource extends KiiRestSubResource {
 	 */
 	@AnonymousAPI
 	public KiiNormalUser register(KiiNormalUser user, String password) throws KiiRestException {
+		KiiRestRequest request = this.newRegisterRequest(user, password);
+		return this.execute(request, this.newRegisterNormalUserHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #register(KiiNormalUser, String)}.
+	 * @param user
+	 * @param password
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiNormalUser> registerAsync(KiiNormalUser user, String password) {
+		KiiRestRequest request = this.newRegisterRequest(user, password);
+		return this.executeAsync(request, this.newRegisterNormalUserHandler(request));
+	}
+	/**
+	 * @param user
+	 * @return
+	 * @throws KiiRestException
+	 * @see http://documentation.kii.com/en/guides/rest/managing-users/pseudo-users/
+	 */
+	@AnonymousAPI
+	public KiiPseudoUser register(KiiPseudoUser user) throws KiiRestException {
+		KiiRestRequest request = this.newRegisterRequest(user);
+		return this.execute(request, this.newRegisterPseudoUserHandler(request));
+	}
+	/**
+	 * Asynchronous version of {@link #register(KiiPseudoUser)}.
+	 * @param user
+	 * @return
+	 */
+	@AnonymousAPI
+	public CompletableFuture<KiiPseudoUser> registerAsync(KiiPseudoUser user) {
+		KiiRestRequest request = this.newRegisterRequest(user);
+		return this.executeAsync(request, this.newRegisterPseudoUserHandler(request));
+	}
+	private KiiRestRequest newRegisterRequest(KiiNormalUser user, String password) {
 		if (user == null) {
 			throw new IllegalArgumentException("user is null");
 		}
@@ -50,10 +85,10 @@ public class KiiUsersResource extends KiiRestSubResource {
 		Map<String, String> headers = this.newAppHeaders();
 		JsonObject requestBody = (JsonObject)new JsonParser().parse(user.toJsonString());
 		requestBody.addProperty("password", password);
-		
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_REGISTRATION_REQUEST, requestBody);
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_REGISTRATION_REQUEST, requestBody);
+	}
+	private ResponseHandler<KiiNormalUser> newRegisterNormalUserHandler(KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			String accessToken = KiiUser.PROPERTY_ACCESS_TOKEN.get(responseBody);
 			String refreshToken = KiiUser.PROPERTY_REFRESH_TOKEN.get(responseBody);
@@ -63,34 +98,24 @@ public class KiiUsersResource extends KiiRestSubResource {
 			registeredUser.setAccessToken(accessToken);
 			registeredUser.setRefreshToken(refreshToken);
 			return registeredUser;
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
-	/**
-	 * @param user
-	 * @return
-	 * @throws KiiRestException
-	 * @see http://documentation.kii.com/en/guides/rest/managing-users/pseudo-users/
-	 */
-	@AnonymousAPI
-	public KiiPseudoUser register(KiiPseudoUser user) throws KiiRestException {
+	private KiiRestRequest newRegisterRequest(KiiPseudoUser user) {
 		if (user == null) {
 			throw new IllegalArgumentException("user is null");
 		}
 		Map<String, String> headers = this.newAppHeaders();
-		KiiRestRequest request = new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_REGISTRATION_REQUEST, user.toJsonString());
-		try {
-			Response response = this.execute(request);
+		return new KiiRestRequest(getUrl(), Method.POST, headers, MEDIA_TYPE_REGISTRATION_REQUEST, user.toJsonString());
+	}
+	private ResponseHandler<KiiPseudoUser> newRegisterPseudoUserHandler(KiiRestRequest request) {
+		return response -> {
 			JsonObject responseBody = this.parseResponseAsJsonObject(request, response);
 			String accessToken = KiiUser.PROPERTY_ACCESS_TOKEN.get(responseBody);
 			responseBody.remove(KiiUser.PROPERTY_ACCESS_TOKEN.getName());
 			KiiPseudoUser registeredUser = new KiiPseudoUser(responseBody);
 			registeredUser.setAccessToken(accessToken);
 			return registeredUser;
-		} catch (IOException e) {
-			throw new KiiRestException(request.getCurl(), e);
-		}
+		};
 	}
 	@Override
 	public String getPath() {
@@ -0,0 +1,24 @@
+package com.kii.cloud.rest.client.util;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+public class ConcurrentUtils {
+	/**
+	 * Creates the scheduler that runs the tasks on a single daemon thread,
+	 * so the pending tasks do not prevent the JVM from exiting.
+	 * The cancelled tasks are removed from the queue immediately.
+	 * 
+	 * @param name the name of the thread.
+	 * @return
+	 */
+	public static ScheduledExecutorService newDaemonScheduler(final String name) {
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+}
@@ -7,6 +7,8 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 
 public class IOUtils {
@@ -26,6 +28,29 @@ public class IOUtils {
 		}
 		return count;
 	}
+	/**
+	 * Writes the stream into the channel from the specified position.
+	 * This uses positional writes, so several threads can write to the different regions of the same channel.
+	 * 
+	 * @param input
+	 * @param output
+	 * @param position
+	 * @return the number of the written bytes.
+	 * @throws IOException
+	 */
+	public static long copy(final InputStream input, final FileChannel output, final long position) throws IOException {
+		byte[] buffer = new byte[1024 * 64];
+		long count = 0;
+		int n = 0;
+		while (-1 != (n = input.read(buffer))) {
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, n);
+			while (byteBuffer.hasRemaining()) {
+				output.write(byteBuffer, position + count + (n - byteBuffer.remaining()));
+			}
+			count += n;
+		}
+		return count;
+	}
 	public static long copy(Reader input, Writer output) throws IOException {
 		char[] buffer = new char[1024 * 4];
 		long count = 0;
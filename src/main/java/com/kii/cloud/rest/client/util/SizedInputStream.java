@@ -0,0 +1,26 @@
+package com.kii.cloud.rest.client.util;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+/**
+ * The stream that knows the number of the bytes to be read.
+ * The request that has this stream as the entity is sent with the exact Content-Length.
+ */
+public class SizedInputStream extends FilterInputStream {
+	private final long size;
+	
+	public SizedInputStream(InputStream in, long size) {
+		super(in);
+		if (in == null) {
+			throw new IllegalArgumentException("in is null");
+		}
+		if (size < 0) {
+			throw new IllegalArgumentException("size is negative");
+		}
+		this.size = size;
+	}
+	public long getSize() {
+		return this.size;
+	}
+}
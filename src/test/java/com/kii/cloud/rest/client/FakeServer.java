@@ -0,0 +1,88 @@
+package com.kii.cloud.rest.client;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.KiiRestResource;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+/**
+ * Answers the requests of the http client by the interceptor, so the tests run without the network.
+ * <p>
+ * The requests are recorded and answered by {@link #handle(Request)}, that returns the queued responses in order.
+ * Override it to answer by the request.
+ */
+public class FakeServer {
+	public static final String ENDPOINT = "https://api.kii.com/api";
+
+	private final OkHttpClient client = new OkHttpClient();
+	private final List<Request> requests = new CopyOnWriteArrayList<Request>();
+	private final Queue<Response> responses = new ConcurrentLinkedQueue<Response>();
+
+	public FakeServer() {
+		this.client.interceptors().add(chain -> {
+			Request request = chain.request();
+			this.requests.add(request);
+			return this.handle(request).newBuilder().request(request).build();
+		});
+	}
+	/**
+	 * @param request
+	 * @return the response whose request is replaced with the specified one.
+	 * @throws IOException
+	 */
+	protected Response handle(Request request) throws IOException {
+		return this.responses.remove();
+	}
+	public OkHttpClient getClient() {
+		return this.client;
+	}
+	/**
+	 * @return the live list of the received requests.
+	 */
+	public List<Request> getRequests() {
+		return this.requests;
+	}
+	/**
+	 * @param response answers the request after the responses that are already queued.
+	 * @return this instance
+	 */
+	public FakeServer enqueue(Response response) {
+		this.responses.add(response);
+		return this;
+	}
+	/**
+	 * @return the number of the responses that are not returned yet.
+	 */
+	public int getQueuedCount() {
+		return this.responses.size();
+	}
+	public KiiRestContext newContext() {
+		return new KiiRestContext().setHttpClient(this.client);
+	}
+	public KiiAppResource newApp() {
+		return this.newApp(this.newContext());
+	}
+	public KiiAppResource newApp(KiiRestContext context) {
+		return new KiiAppResource("APP_ID", "APP_KEY", ENDPOINT, null, context);
+	}
+	public static Response newResponse(int code, String body) {
+		return newResponse(new Request.Builder().url(ENDPOINT).build(), code, body);
+	}
+	public static Response newResponse(Request request, int code, String body) {
+		return new Response.Builder()
+				.request(request)
+				.protocol(Protocol.HTTP_1_1)
+				.code(code)
+				.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, body))
+				.build();
+	}
+}
@@ -0,0 +1,187 @@
+package com.kii.cloud.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import okio.Buffer;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiAdminCredentialsManagerTest {
+	private static final String BODY = "{\"_id\":\"OBJECT_ID\",\"_version\":\"1\"}";
+
+	@Test
+	public void cacheTest() throws Exception {
+		AdminTokenServer server = new AdminTokenServer(3600);
+		KiiAdminCredentialsManager manager = server.newManager();
+		try {
+			// pre-warm
+			manager.register("CLIENT_A", "SECRET_A").get(5, TimeUnit.SECONDS);
+			manager.register("CLIENT_B", "SECRET_B").get(5, TimeUnit.SECONDS);
+			assertEquals(2, server.issuedCount.get());
+
+			// the requests use the cached tokens
+			for (int i = 0; i < 5; i++) {
+				assertEquals("OBJECT_ID", manager.api("CLIENT_A").buckets("bucket").objects("OBJECT_ID").get().getObjectID());
+			}
+			assertEquals(2, server.issuedCount.get());
+			assertEquals("CLIENT_A-1", manager.getCredentials("CLIENT_A").getAccessToken());
+			assertEquals("CLIENT_B-1", manager.getCredentials("CLIENT_B").getAccessToken());
+			assertTrue(manager.getCredentials("CLIENT_A").isAdmin());
+
+			// the revoked token is issued again and the request is sent again
+			server.revoked.put("CLIENT_A-1", true);
+			assertEquals("OBJECT_ID", manager.api("CLIENT_A").buckets("bucket").objects("OBJECT_ID").get().getObjectID());
+			assertEquals(3, server.issuedCount.get());
+			assertEquals("CLIENT_A-2", manager.getCredentials("CLIENT_A").getAccessToken());
+			assertEquals(3, manager.getIssuedCount());
+
+			try {
+				manager.getCredentials("UNKNOWN");
+				fail("IllegalArgumentException must be thrown");
+			} catch (IllegalArgumentException e) {
+			}
+		} finally {
+			manager.clear();
+		}
+	}
+	@Test
+	public void backgroundRefreshTest() throws Exception {
+		// the token expires in 1 second
+		AdminTokenServer server = new AdminTokenServer(1);
+		KiiAdminCredentialsManager manager = server.newManager().setRefreshAhead(0, TimeUnit.SECONDS);
+		try {
+			manager.register("CLIENT_A", "SECRET_A");
+			// the first request waits for the issuance in progress
+			KiiAppResource app = manager.api("CLIENT_A");
+			assertEquals("CLIENT_A-1", manager.getCredentials("CLIENT_A").getAccessToken());
+			for (int i = 0; i < 100 && server.issuedCount.get() < 2; i++) {
+				Thread.sleep(50);
+			}
+			// issued again in the background, and the existing resource uses the new token
+			assertTrue(server.issuedCount.get() >= 2);
+			assertEquals("OBJECT_ID", app.buckets("bucket").objects("OBJECT_ID").get().getObjectID());
+			assertTrue(app.getCredentials().getAccessToken().startsWith("CLIENT_A-"));
+		} finally {
+			manager.clear();
+		}
+		int issued = server.issuedCount.get();
+		Thread.sleep(1500);
+		// not refreshed after unregistered
+		assertTrue(server.issuedCount.get() <= issued + 1);
+	}
+	@Test
+	public void retryBackoffTest() throws Exception {
+		AdminTokenServer server = new AdminTokenServer(3600);
+		server.tokenStatus = 503;
+		KiiAdminCredentialsManager manager = server.newManager().setRetryDelay(50, 200, TimeUnit.MILLISECONDS);
+		try {
+			try {
+				manager.register("CLIENT_A", "SECRET_A").get(5, TimeUnit.SECONDS);
+				fail("ExecutionException must be thrown");
+			} catch (ExecutionException e) {
+				assertEquals(503, ((KiiRestException)e.getCause()).getStatus());
+			}
+			// tried again in the background with the growing delay
+			for (int i = 0; i < 100 && manager.getFailureCount() < 3; i++) {
+				Thread.sleep(50);
+			}
+			assertTrue(server.attemptCount.get() >= 3);
+			assertTrue(manager.getFailureCount() >= 3);
+			
+			// issued by the next background retry after the server recovers
+			server.tokenStatus = 200;
+			for (int i = 0; i < 100 && manager.getIssuedCount() == 0; i++) {
+				Thread.sleep(50);
+			}
+			assertEquals(1, manager.getIssuedCount());
+			assertEquals("CLIENT_A-1", manager.getCredentials("CLIENT_A").getAccessToken());
+			assertNull(manager.getCredentials("CLIENT_A").getLastFailure());
+		} finally {
+			manager.clear();
+		}
+	}
+	@Test
+	public void clientErrorTest() throws Exception {
+		AdminTokenServer server = new AdminTokenServer(3600);
+		server.tokenStatus = 400;
+		KiiAdminCredentialsManager manager = server.newManager().setRetryDelay(10, 10, TimeUnit.MILLISECONDS);
+		try {
+			try {
+				manager.register("CLIENT_A", "SECRET_A").get(5, TimeUnit.SECONDS);
+				fail("ExecutionException must be thrown");
+			} catch (ExecutionException e) {
+				assertEquals(400, ((KiiRestException)e.getCause()).getStatus());
+			}
+			// not tried again in the background
+			Thread.sleep(200);
+			assertEquals(1, server.attemptCount.get());
+			
+			// the next request issues it on demand and gets the failure
+			try {
+				manager.api("CLIENT_A");
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+				assertEquals(400, e.getStatus());
+			}
+			assertEquals(2, server.attemptCount.get());
+			assertEquals(2, manager.getFailureCount());
+		} finally {
+			manager.clear();
+		}
+	}
+
+	private static class AdminTokenServer extends FakeServer {
+		private final long expiresIn;
+		private final AtomicInteger issuedCount = new AtomicInteger();
+		private final AtomicInteger attemptCount = new AtomicInteger();
+		private volatile int tokenStatus = 200;
+		private final Map<String, AtomicInteger> clientCounts = new ConcurrentHashMap<String, AtomicInteger>();
+		private final Map<String, Boolean> revoked = new ConcurrentHashMap<String, Boolean>();
+		private AdminTokenServer(long expiresIn) {
+			this.expiresIn = expiresIn;
+		}
+		@Override
+		protected Response handle(Request request) throws IOException {
+			if (request.urlString().endsWith("/oauth2/token")) {
+				this.attemptCount.incrementAndGet();
+				if (this.tokenStatus != 200) {
+					return newResponse(request, this.tokenStatus, "{\"errorCode\":\"ERROR\"}");
+				}
+				Buffer buffer = new Buffer();
+				request.body().writeTo(buffer);
+				JsonObject body = (JsonObject)new JsonParser().parse(buffer.readUtf8());
+				String clientID = body.get("client_id").getAsString();
+				int count = this.clientCounts.computeIfAbsent(clientID, id -> new AtomicInteger()).incrementAndGet();
+				this.issuedCount.incrementAndGet();
+				return newResponse(request, 200, "{\"id\":\"" + clientID + "\",\"access_token\":\"" + clientID + "-" + count + "\",\"expires_in\":" + this.expiresIn + "}");
+			}
+			String authorization = request.header("Authorization");
+			if (authorization == null || this.revoked.containsKey(authorization.substring("Bearer ".length()))) {
+				return newResponse(request, 401, "{\"errorCode\":\"WRONG_TOKEN\"}");
+			}
+			return newResponse(request, 200, BODY);
+		}
+		private KiiAdminCredentialsManager newManager() {
+			return new KiiAdminCredentialsManager(this.newApp());
+		}
+	}
+}
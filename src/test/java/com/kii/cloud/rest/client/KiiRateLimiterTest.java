@@ -0,0 +1,146 @@
+package com.kii.cloud.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.push.KiiPushMessageResource;
+import com.kii.cloud.rest.client.resource.storage.KiiObjectResource;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiRateLimiterTest {
+	private static final String BODY = "{\"_id\":\"OBJECT_ID\",\"_version\":\"1\"}";
+
+	@Test
+	public void tokenBucketTest() throws Exception {
+		// 2 requests immediately, and then 20 requests per second
+		KiiRateLimiter limiter = new KiiRateLimiter(20, 2, KiiRateLimiter.UNLIMITED_IN_FLIGHT);
+		long start = System.nanoTime();
+		for (int i = 0; i < 6; i++) {
+			limiter.acquire();
+			limiter.release();
+		}
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue("elapsed=" + elapsed, elapsed >= 150);
+		assertEquals(6, limiter.getAcquiredCount());
+		assertEquals(4, limiter.getQueuedCount());
+		assertEquals(0, limiter.getInFlight());
+	}
+	@Test
+	public void maxInFlightTest() throws Exception {
+		KiiRateLimiter limiter = new KiiRateLimiter(KiiRateLimiter.UNLIMITED_RATE, 1, 2);
+		limiter.acquire();
+		limiter.acquire();
+		CompletableFuture<Void> third = limiter.acquireAsync();
+		assertEquals(false, third.isDone());
+		assertEquals(1, limiter.getQueueLength());
+		limiter.release();
+		third.get(1, TimeUnit.SECONDS);
+		assertEquals(2, limiter.getInFlight());
+
+		// the cancelled waiter returns its permit
+		CompletableFuture<Void> cancelled = limiter.acquireAsync();
+		CompletableFuture<Void> fourth = limiter.acquireAsync();
+		cancelled.cancel(false);
+		limiter.release();
+		fourth.get(1, TimeUnit.SECONDS);
+		assertEquals(2, limiter.getInFlight());
+		limiter.release();
+		limiter.release();
+		assertEquals(0, limiter.getInFlight());
+	}
+	@Test
+	public void rejectionTest() throws Exception {
+		KiiRateLimiter limiter = new KiiRateLimiter(KiiRateLimiter.UNLIMITED_RATE, 1, 1)
+			.setMaxQueued(1)
+			.setMaxWait(50, TimeUnit.MILLISECONDS);
+		limiter.acquire();
+		CompletableFuture<Void> waiting = limiter.acquireAsync();
+		// the queue is full
+		try {
+			limiter.acquireAsync().get();
+			fail("ExecutionException must be thrown");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof KiiRateLimiter.RateLimitExceededException);
+		}
+		// the maximum wait time passes
+		try {
+			waiting.get(1, TimeUnit.SECONDS);
+			fail("ExecutionException must be thrown");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof KiiRateLimiter.RateLimitExceededException);
+		}
+		assertEquals(2, limiter.getRejectedCount());
+		assertEquals(0, limiter.getQueueLength());
+		limiter.release();
+	}
+	@Test
+	public void resourceTest() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final AtomicInteger concurrent = new AtomicInteger();
+		final AtomicInteger maxConcurrent = new AtomicInteger();
+		FakeServer server = new FakeServer() {
+			@Override
+			protected Response handle(Request request) {
+				int current = concurrent.incrementAndGet();
+				maxConcurrent.accumulateAndGet(current, Math::max);
+				try {
+					blocked.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ignore) {
+				}
+				concurrent.decrementAndGet();
+				return newResponse(request, 200, BODY);
+			}
+		};
+		KiiRateLimiter storage = new KiiRateLimiter(KiiRateLimiter.UNLIMITED_RATE, 1, 2);
+		KiiRateLimiter other = new KiiRateLimiter(100, 1, 1);
+		KiiRestContext context = server.newContext()
+				.setRateLimiter(other)
+				.setRateLimiter(KiiRateLimiter.ApiFamily.STORAGE, storage);
+		KiiAppResource app = server.newApp(context);
+		KiiObjectResource resource = app.buckets("bucket").objects("OBJECT_ID");
+
+		assertEquals(KiiRateLimiter.ApiFamily.STORAGE, KiiRateLimiter.ApiFamily.of(KiiObjectResource.class));
+		assertEquals(KiiRateLimiter.ApiFamily.PUSH, KiiRateLimiter.ApiFamily.of(KiiPushMessageResource.class));
+		assertEquals(KiiRateLimiter.ApiFamily.OTHER, KiiRateLimiter.ApiFamily.of(KiiAppResource.class));
+		assertEquals(other, context.getRateLimiter(KiiRateLimiter.ApiFamily.PUSH));
+
+		List<CompletableFuture<KiiObject>> futures = new ArrayList<CompletableFuture<KiiObject>>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(resource.getAsync());
+		}
+		Thread.sleep(100);
+		// only 2 requests are dispatched, and the others are waiting without blocking the threads
+		assertEquals(2, storage.getInFlight());
+		assertEquals(3, storage.getQueueLength());
+		blocked.countDown();
+		for (CompletableFuture<KiiObject> future : futures) {
+			assertEquals("OBJECT_ID", future.get(5, TimeUnit.SECONDS).getObjectID());
+		}
+		assertEquals(5, server.getRequests().size());
+		assertTrue(maxConcurrent.get() <= 2);
+		assertEquals(5, storage.getAcquiredCount());
+		assertEquals(0, storage.getInFlight());
+		assertEquals(0, other.getAcquiredCount());
+
+		// the synchronous request takes the permit as well
+		resource.get();
+		assertEquals(6, storage.getAcquiredCount());
+		assertEquals(0, storage.getInFlight());
+	}
+}
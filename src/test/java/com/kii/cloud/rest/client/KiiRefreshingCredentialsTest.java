@@ -0,0 +1,125 @@
+package com.kii.cloud.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.exception.KiiUnauthorizedException;
+import com.kii.cloud.rest.client.model.KiiUserCredentials;
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.storage.KiiObjectResource;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiRefreshingCredentialsTest {
+	private static final String BODY = "{\"_id\":\"OBJECT_ID\",\"_version\":\"1\"}";
+
+	@Test
+	public void replayTest() throws Exception {
+		TokenServer server = new TokenServer();
+		KiiRestContext context = server.newContext();
+		KiiAppResource anonymous = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context);
+		KiiRefreshingCredentials credentials = new KiiRefreshingCredentials(anonymous, newCredentials("TOKEN-0", "REFRESH", null));
+		assertEquals(Long.MAX_VALUE, credentials.getExpiresAt());
+		KiiAppResource app = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", credentials, context);
+		KiiObjectResource resource = app.buckets("bucket").objects("OBJECT_ID");
+
+		// the server revokes the access token
+		server.validToken = "TOKEN-1";
+		List<CompletableFuture<KiiObject>> futures = new ArrayList<CompletableFuture<KiiObject>>();
+		for (int i = 0; i < 10; i++) {
+			futures.add(resource.getAsync());
+		}
+		for (CompletableFuture<KiiObject> future : futures) {
+			assertEquals("OBJECT_ID", future.get(5, TimeUnit.SECONDS).getObjectID());
+		}
+		// the concurrent refreshes are coalesced
+		assertEquals(1, server.refreshCount.get());
+		assertEquals(1, credentials.getRefreshCount());
+		assertEquals("TOKEN-1", credentials.getAccessToken());
+		assertEquals("REFRESH", credentials.getRefreshToken());
+
+		server.validToken = "TOKEN-2";
+		assertEquals("OBJECT_ID", resource.get().getObjectID());
+		assertEquals(2, server.refreshCount.get());
+
+		// the request is sent again only once
+		server.validToken = "NEVER";
+		try {
+			resource.get();
+			fail("KiiUnauthorizedException must be thrown");
+		} catch (KiiUnauthorizedException e) {
+		}
+		assertEquals(3, server.refreshCount.get());
+	}
+	@Test
+	public void proactiveRefreshTest() throws Exception {
+		TokenServer server = new TokenServer();
+		KiiRestContext context = server.newContext();
+		KiiAppResource anonymous = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context);
+		final List<String> refreshed = new ArrayList<String>();
+		KiiRefreshingCredentials credentials = new KiiRefreshingCredentials(anonymous, newCredentials("TOKEN-0", "REFRESH", 60L))
+			.setRefreshAhead(10, TimeUnit.SECONDS)
+			.setRefreshListener(c -> refreshed.add(c.getAccessToken()));
+		assertTrue(credentials.getExpiresAt() > System.currentTimeMillis() + 50000);
+		assertEquals("TOKEN-0", credentials.getAccessToken());
+		assertEquals(0, server.refreshCount.get());
+
+		// the access token expires soon
+		credentials.setRefreshAhead(2, TimeUnit.MINUTES);
+		assertEquals("TOKEN-0", credentials.getAccessToken());
+		for (int i = 0; i < 100 && credentials.getRefreshCount() == 0; i++) {
+			Thread.sleep(50);
+		}
+		assertEquals(1, server.refreshCount.get());
+		assertEquals("TOKEN-1", credentials.getAccessToken());
+		assertEquals("[TOKEN-1]", refreshed.toString());
+
+		try {
+			new KiiRefreshingCredentials(anonymous, newCredentials("TOKEN-0", null, null));
+			fail("IllegalArgumentException must be thrown");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	private static KiiUserCredentials newCredentials(String accessToken, String refreshToken, Long expiresIn) {
+		JsonObject json = new JsonObject();
+		json.addProperty("id", "USER_ID");
+		json.addProperty("access_token", accessToken);
+		json.addProperty("refresh_token", refreshToken);
+		json.addProperty("expires_in", expiresIn);
+		return new KiiUserCredentials(json);
+	}
+	private static class TokenServer extends FakeServer {
+		private final AtomicInteger refreshCount = new AtomicInteger();
+		private volatile String validToken = "TOKEN-0";
+		@Override
+		protected Response handle(Request request) {
+			if (request.urlString().endsWith("/oauth2/token")) {
+				int count = this.refreshCount.incrementAndGet();
+				try {
+					// keeps the refresh in flight while the other requests are rejected
+					Thread.sleep(50);
+				} catch (InterruptedException ignore) {
+				}
+				return newResponse(request, 200, "{\"id\":\"USER_ID\",\"access_token\":\"TOKEN-" + count + "\",\"expires_in\":3600}");
+			}
+			if (!("Bearer " + this.validToken).equals(request.header("Authorization"))) {
+				return newResponse(request, 401, "{\"errorCode\":\"WRONG_TOKEN\"}");
+			}
+			return newResponse(request, 200, BODY);
+		}
+	}
+}
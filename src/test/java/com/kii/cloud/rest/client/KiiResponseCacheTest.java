@@ -0,0 +1,102 @@
+package com.kii.cloud.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiResponseCacheTest {
+	private static final String OBJECTS = "https://api.kii.com/api/apps/APP_ID/buckets/b/objects";
+	
+	@Test
+	public void scopeTest() throws Exception {
+		KiiResponseCache cache = new KiiResponseCache(10, 1, TimeUnit.HOURS);
+		cache.put(OBJECTS + "/1", "Bearer A", "1", "{}", cache.getGeneration());
+		assertNotNull(cache.get(OBJECTS + "/1", "Bearer A"));
+		assertNull(cache.get(OBJECTS + "/1", "Bearer B"));
+		assertNull(cache.get(OBJECTS + "/1", null));
+		assertTrue(cache.isFresh(cache.get(OBJECTS + "/1", "Bearer A")));
+		
+		cache = new KiiResponseCache(10, 0, TimeUnit.HOURS);
+		cache.put(OBJECTS + "/1", null, "1", "{}", cache.getGeneration());
+		assertFalse(cache.isFresh(cache.get(OBJECTS + "/1", null)));
+	}
+	@Test
+	public void evictionTest() throws Exception {
+		KiiResponseCache cache = new KiiResponseCache(3, 1, TimeUnit.HOURS);
+		cache.put(OBJECTS + "/1", null, "1", "{}", cache.getGeneration());
+		cache.put(OBJECTS + "/2", null, "1", "{}", cache.getGeneration());
+		cache.put(OBJECTS + "/3", null, "1", "{}", cache.getGeneration());
+		// 1 is used recently, so 2 is evicted
+		cache.get(OBJECTS + "/1", null);
+		cache.put(OBJECTS + "/4", null, "1", "{}", cache.getGeneration());
+		assertEquals(3, cache.size());
+		assertNotNull(cache.get(OBJECTS + "/1", null));
+		assertNull(cache.get(OBJECTS + "/2", null));
+		assertNotNull(cache.get(OBJECTS + "/3", null));
+		assertNotNull(cache.get(OBJECTS + "/4", null));
+	}
+	@Test
+	public void invalidateTest() throws Exception {
+		KiiResponseCache cache = new KiiResponseCache(10, 1, TimeUnit.HOURS);
+		cache.put(OBJECTS + "/1", "Bearer A", "1", "{}", cache.getGeneration());
+		cache.put(OBJECTS + "/1", "Bearer B", "1", "{}", cache.getGeneration());
+		cache.put(OBJECTS + "/10", "Bearer A", "1", "{}", cache.getGeneration());
+		assertEquals(3, cache.size());
+		
+		cache.invalidate(OBJECTS + "/1/body");
+		assertEquals(1, cache.size());
+		assertNull(cache.get(OBJECTS + "/1", "Bearer A"));
+		assertNull(cache.get(OBJECTS + "/1", "Bearer B"));
+		assertNotNull(cache.get(OBJECTS + "/10", "Bearer A"));
+		
+		// the descendants are invalidated too
+		cache.put(OBJECTS + "/1/body", null, "1", "{}", cache.getGeneration());
+		cache.invalidate(OBJECTS);
+		assertEquals(0, cache.size());
+	}
+	@Test
+	public void overlappedWriteTest() throws Exception {
+		KiiResponseCache cache = new KiiResponseCache(10, 1, TimeUnit.HOURS);
+		long generation = cache.getGeneration();
+		cache.invalidate(OBJECTS + "/1");
+		cache.put(OBJECTS + "/1", null, "1", "{}", generation);
+		assertNull(cache.get(OBJECTS + "/1", null));
+		
+		// the write to the unrelated URL does not drop the response
+		generation = cache.getGeneration();
+		cache.invalidate(OBJECTS + "/2");
+		cache.put(OBJECTS + "/1", null, "1", "{}", generation);
+		assertNotNull(cache.get(OBJECTS + "/1", null));
+		
+		// the write to the ancestor or the descendant drops the response
+		generation = cache.getGeneration();
+		cache.invalidate(OBJECTS);
+		cache.put(OBJECTS + "/3", null, "1", "{}", generation);
+		assertNull(cache.get(OBJECTS + "/3", null));
+		generation = cache.getGeneration();
+		cache.invalidate(OBJECTS + "/4/body");
+		cache.put(OBJECTS + "/4", null, "1", "{}", generation);
+		assertNull(cache.get(OBJECTS + "/4", null));
+	}
+	@Test
+	public void forgottenInvalidationTest() throws Exception {
+		KiiResponseCache cache = new KiiResponseCache(2, 1, TimeUnit.HOURS);
+		long generation = cache.getGeneration();
+		for (int i = 0; i < 10; i++) {
+			cache.invalidate(OBJECTS + "/other" + i);
+		}
+		// the invalidations that may be related are forgotten, so the old read is not stored
+		cache.put(OBJECTS + "/1", null, "1", "{}", generation);
+		assertNull(cache.get(OBJECTS + "/1", null));
+		cache.put(OBJECTS + "/1", null, "1", "{}", cache.getGeneration());
+		assertNotNull(cache.get(OBJECTS + "/1", null));
+	}
+}
@@ -0,0 +1,329 @@
+package com.kii.cloud.rest.client;
+
+import static com.kii.cloud.rest.client.FakeServer.newResponse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.exception.KiiServiceUnavailableException;
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
+import com.kii.cloud.rest.client.resource.storage.KiiObjectResource;
+import com.squareup.okhttp.OkHttpClient;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiRetryStrategyTest {
+	private static final String BODY = "{\"_id\":\"OBJECT_ID\",\"_version\":\"1\"}";
+
+	@Test
+	public void retryTest() throws Exception {
+		FakeServer server = new FakeServer();
+		List<Integer> retried = Collections.synchronizedList(new ArrayList<Integer>());
+		KiiRetryStrategy strategy = new KiiRetryStrategy()
+			.setBackoff(1, 10, TimeUnit.MILLISECONDS)
+			.setCircuitBreaker(100, 1, TimeUnit.HOURS)
+			.setRetryListener(new KiiRetryStrategy.RetryListener() {
+				@Override
+				public void onRetry(KiiRestRequest request, int retries, long delayMillis, int status) {
+					retried.add(status);
+				}
+				@Override
+				public void onCircuitStateChanged(String host, KiiRetryStrategy.CircuitBreaker.State from, KiiRetryStrategy.CircuitBreaker.State to) {
+				}
+			});
+		KiiObjectResource resource = newApp(server, strategy).buckets("bucket").objects("OBJECT_ID");
+
+		// GET is retried
+		server.enqueue(newResponse(503, "{}"));
+		server.enqueue(newResponse(500, "{}"));
+		server.enqueue(newResponse(200, BODY));
+		assertEquals("OBJECT_ID", resource.get().getObjectID());
+		assertEquals(3, server.getRequests().size());
+		assertEquals(2, strategy.getRetryCount());
+		assertEquals(3, strategy.getAttemptCount());
+		assertEquals(2, retried.size());
+
+		// the asynchronous request is retried as well
+		server.enqueue(newResponse(503, "{}"));
+		server.enqueue(newResponse(200, BODY));
+		assertEquals("OBJECT_ID", resource.getAsync().get().getObjectID());
+		assertEquals(5, server.getRequests().size());
+
+		// gives up after maxRetries
+		strategy.setMaxRetries(1);
+		server.enqueue(newResponse(503, "{}"));
+		server.enqueue(newResponse(503, "{}"));
+		try {
+			resource.get();
+			fail("KiiServiceUnavailableException must be thrown");
+		} catch (KiiServiceUnavailableException e) {
+		}
+		assertEquals(7, server.getRequests().size());
+
+		// POST is never retried
+		server.enqueue(newResponse(503, "{}"));
+		try {
+			newApp(server, strategy).buckets("bucket").objects().save(new KiiObject());
+			fail("KiiServiceUnavailableException must be thrown");
+		} catch (KiiServiceUnavailableException e) {
+		}
+		assertEquals(8, server.getRequests().size());
+
+		// PUT is retried only with If-Match
+		server.enqueue(newResponse(503, "{}"));
+		try {
+			resource.update(new KiiObject().setObjectID("OBJECT_ID"));
+			fail("KiiServiceUnavailableException must be thrown");
+		} catch (KiiServiceUnavailableException e) {
+		}
+		assertEquals(9, server.getRequests().size());
+		server.enqueue(newResponse(503, "{}"));
+		server.enqueue(newResponse(200, "{\"modifiedAt\":1}"));
+		resource.updateWithOptimisticLock(new KiiObject().setObjectID("OBJECT_ID").setVersion("1"));
+		assertEquals(11, server.getRequests().size());
+	}
+	@Test
+	public void retryAfterTest() throws Exception {
+		FakeServer server = new FakeServer();
+		KiiRetryStrategy strategy = new KiiRetryStrategy()
+			.setBackoff(1, 1, TimeUnit.MILLISECONDS)
+			.setMaxRetryAfter(1, TimeUnit.SECONDS);
+		KiiObjectResource resource = newApp(server, strategy).buckets("bucket").objects("OBJECT_ID");
+
+		server.enqueue(newResponse(503, "{}").newBuilder().header("Retry-After", "0").build());
+		server.enqueue(newResponse(200, BODY));
+		resource.get();
+		assertEquals(2, server.getRequests().size());
+
+		// the server requests the longer delay than the limit
+		server.enqueue(newResponse(503, "{}").newBuilder().header("Retry-After", "120").build());
+		try {
+			resource.get();
+			fail("KiiServiceUnavailableException must be thrown");
+		} catch (KiiServiceUnavailableException e) {
+		}
+		assertEquals(3, server.getRequests().size());
+
+		assertEquals(120000, KiiRetryStrategy.parseRetryAfter("120"));
+		assertEquals(0, KiiRetryStrategy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+		assertEquals(-1, KiiRetryStrategy.parseRetryAfter("soon"));
+	}
+	@Test
+	public void budgetTest() throws Exception {
+		FakeServer server = new FakeServer();
+		KiiRetryStrategy strategy = new KiiRetryStrategy()
+			.setBackoff(0, 0, TimeUnit.MILLISECONDS)
+			.setRetryBudget(0, 2)
+			.setCircuitBreaker(100, 1, TimeUnit.HOURS);
+		KiiObjectResource resource = newApp(server, strategy).buckets("bucket").objects("OBJECT_ID");
+		for (int i = 0; i < 10; i++) {
+			server.enqueue(newResponse(503, "{}"));
+		}
+		for (int i = 0; i < 3; i++) {
+			try {
+				resource.get();
+				fail("KiiServiceUnavailableException must be thrown");
+			} catch (KiiServiceUnavailableException e) {
+			}
+		}
+		// 2 retries from the budget, and no retry after that
+		assertEquals(5, server.getRequests().size());
+		assertEquals(2, strategy.getRetryCount());
+		assertTrue(strategy.getBudgetExhaustedCount() > 0);
+	}
+	@Test
+	public void circuitBreakerTest() throws Exception {
+		FakeServer server = new FakeServer();
+		List<String> transitions = Collections.synchronizedList(new ArrayList<String>());
+		KiiRetryStrategy strategy = new KiiRetryStrategy()
+			.setMaxRetries(0)
+			.setCircuitBreaker(2, 50, TimeUnit.MILLISECONDS)
+			.setRetryListener(new KiiRetryStrategy.RetryListener() {
+				@Override
+				public void onRetry(KiiRestRequest request, int retries, long delayMillis, int status) {
+				}
+				@Override
+				public void onCircuitStateChanged(String host, KiiRetryStrategy.CircuitBreaker.State from, KiiRetryStrategy.CircuitBreaker.State to) {
+					transitions.add(host + ":" + to);
+				}
+			});
+		KiiObjectResource resource = newApp(server, strategy).buckets("bucket").objects("OBJECT_ID");
+		server.enqueue(newResponse(503, "{}"));
+		server.enqueue(newResponse(503, "{}"));
+		for (int i = 0; i < 3; i++) {
+			try {
+				resource.get();
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+			}
+		}
+		// the third request is rejected without sending
+		assertEquals(2, server.getRequests().size());
+		assertEquals(1, strategy.getRejectedCount());
+		assertEquals(KiiRetryStrategy.CircuitBreaker.State.OPEN, strategy.getCircuitBreaker("api.kii.com").getState());
+		try {
+			resource.getAsync().get();
+			fail("ExecutionException must be thrown");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause().getCause() instanceof KiiRetryStrategy.CircuitBreakerOpenException);
+		}
+
+		// the trial request closes the circuit breaker
+		Thread.sleep(100);
+		server.enqueue(newResponse(200, BODY));
+		resource.get();
+		assertEquals(KiiRetryStrategy.CircuitBreaker.State.CLOSED, strategy.getCircuitBreaker("api.kii.com").getState());
+		assertEquals("[api.kii.com:OPEN, api.kii.com:HALF_OPEN, api.kii.com:CLOSED]", transitions.toString());
+	}
+
+	@Test
+	public void timeoutTest() throws Exception {
+		try (StalledServer server = new StalledServer()) {
+			OkHttpClient client = new OkHttpClient();
+			client.setReadTimeout(100, TimeUnit.MILLISECONDS);
+			KiiRetryStrategy strategy = new KiiRetryStrategy()
+				.setBackoff(1, 1, TimeUnit.MILLISECONDS)
+				.setCircuitBreaker(100, 1, TimeUnit.HOURS);
+			KiiRestContext context = new KiiRestContext().setHttpClient(client).setRetryStrategy(strategy);
+			KiiObjectResource resource = new KiiAppResource("APP_ID", "APP_KEY", server.getEndpoint(), null, context).buckets("bucket").objects("OBJECT_ID");
+
+			// the timeout is retried
+			server.actions.add(false);
+			server.actions.add(true);
+			assertEquals("OBJECT_ID", resource.get().getObjectID());
+			assertEquals(1, strategy.getRetryCount());
+
+			// the timeout of the trial request opens the circuit breaker again
+			strategy.setMaxRetries(0).setCircuitBreaker(1, 50, TimeUnit.MILLISECONDS);
+			KiiRetryStrategy.CircuitBreaker breaker = strategy.getCircuitBreaker("localhost:" + server.serverSocket.getLocalPort());
+			server.actions.add(false);
+			try {
+				resource.get();
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+			}
+			assertEquals(KiiRetryStrategy.CircuitBreaker.State.OPEN, breaker.getState());
+			Thread.sleep(100);
+			server.actions.add(false);
+			try {
+				resource.get();
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+			}
+			assertEquals(KiiRetryStrategy.CircuitBreaker.State.OPEN, breaker.getState());
+			Thread.sleep(100);
+			server.actions.add(true);
+			resource.get();
+			assertEquals(KiiRetryStrategy.CircuitBreaker.State.CLOSED, breaker.getState());
+		}
+	}
+
+	@Test
+	public void cancelTest() throws Exception {
+		try (StalledServer server = new StalledServer()) {
+			OkHttpClient client = new OkHttpClient();
+			client.setReadTimeout(100, TimeUnit.MILLISECONDS);
+			KiiRetryStrategy strategy = new KiiRetryStrategy()
+				.setMaxRetries(0)
+				.setCircuitBreaker(1, 50, TimeUnit.MILLISECONDS);
+			KiiRestContext context = new KiiRestContext().setHttpClient(client).setRetryStrategy(strategy);
+			KiiObjectResource resource = new KiiAppResource("APP_ID", "APP_KEY", server.getEndpoint(), null, context).buckets("bucket").objects("OBJECT_ID");
+			KiiRetryStrategy.CircuitBreaker breaker = strategy.getCircuitBreaker("localhost:" + server.serverSocket.getLocalPort());
+
+			server.actions.add(false);
+			try {
+				resource.get();
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+			}
+			assertEquals(KiiRetryStrategy.CircuitBreaker.State.OPEN, breaker.getState());
+			Thread.sleep(100);
+
+			// the cancelled trial request gives the trial to the next request
+			server.actions.add(false);
+			CompletableFuture<KiiObject> future = resource.getAsync();
+			Thread.sleep(20);
+			assertEquals(KiiRetryStrategy.CircuitBreaker.State.HALF_OPEN, breaker.getState());
+			future.cancel(true);
+			Thread.sleep(50);
+			server.actions.add(true);
+			assertEquals("OBJECT_ID", resource.get().getObjectID());
+			assertEquals(KiiRetryStrategy.CircuitBreaker.State.CLOSED, breaker.getState());
+		}
+	}
+	/**
+	 * Responds on the connection if the next action is true, otherwise never responds.
+	 */
+	private static class StalledServer implements AutoCloseable {
+		private final ServerSocket serverSocket = new ServerSocket(0);
+		private final Queue<Boolean> actions = new ConcurrentLinkedQueue<Boolean>();
+		private final List<Socket> sockets = new CopyOnWriteArrayList<Socket>();
+		private StalledServer() throws IOException {
+			Thread thread = new Thread(() -> {
+				try {
+					while (true) {
+						Socket socket = this.serverSocket.accept();
+						this.sockets.add(socket);
+						new Thread(() -> this.serve(socket)).start();
+					}
+				} catch (IOException ignore) {
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+		private String getEndpoint() {
+			return "http://localhost:" + this.serverSocket.getLocalPort() + "/api";
+		}
+		private void serve(Socket socket) {
+			try {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				String line;
+				while ((line = reader.readLine()) != null && !line.isEmpty()) {
+					// skips the request line and the headers
+				}
+				Boolean respond = this.actions.poll();
+				if (respond == null || !respond) {
+					return;
+				}
+				byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+				String headers = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nConnection: close\r\nContent-Length: " + body.length + "\r\n\r\n";
+				socket.getOutputStream().write(headers.getBytes(StandardCharsets.UTF_8));
+				socket.getOutputStream().write(body);
+				socket.close();
+			} catch (IOException ignore) {
+			}
+		}
+		@Override
+		public void close() throws IOException {
+			this.serverSocket.close();
+			for (Socket socket : this.sockets) {
+				socket.close();
+			}
+		}
+	}
+	private static KiiAppResource newApp(FakeServer server, KiiRetryStrategy strategy) {
+		return server.newApp(server.newContext().setRetryStrategy(strategy));
+	}
+}
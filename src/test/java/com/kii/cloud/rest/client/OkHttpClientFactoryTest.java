@@ -0,0 +1,169 @@
+package com.kii.cloud.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class OkHttpClientFactoryTest {
+	@Test
+	public void configurationTest() throws Exception {
+		KiiHttpClientConfiguration configuration = new KiiHttpClientConfiguration()
+			.setConnectTimeout(3, TimeUnit.SECONDS)
+			.setWriteTimeout(4, TimeUnit.SECONDS)
+			.setReadTimeout(5, TimeUnit.SECONDS)
+			.setMaxIdleConnections(50)
+			.setKeepAliveDuration(1, TimeUnit.MINUTES)
+			.setMaxRequests(500)
+			.setMaxRequestsPerHost(100);
+		OkHttpClient client = OkHttpClientFactory.newInstance(configuration);
+		assertEquals(3000, client.getConnectTimeout());
+		assertEquals(4000, client.getWriteTimeout());
+		assertEquals(5000, client.getReadTimeout());
+		assertEquals(500, client.getDispatcher().getMaxRequests());
+		assertEquals(100, client.getDispatcher().getMaxRequestsPerHost());
+	}
+	@Test
+	public void isolationTest() throws Exception {
+		KiiRest rest1 = new KiiRest("APP_ID", "APP_KEY", KiiRest.Site.US);
+		KiiRest rest2 = new KiiRest("APP_ID", "APP_KEY", KiiRest.Site.US);
+		assertSame(rest1.getHttpClient(), rest2.getHttpClient());
+		assertSame(rest1.getHttpClient(), rest1.api().getHttpClient());
+
+		rest2.setHttpClientConfiguration(new KiiHttpClientConfiguration());
+		assertNotSame(rest1.getHttpClient(), rest2.getHttpClient());
+		assertNotSame(rest1.getHttpClient().getConnectionPool(), rest2.getHttpClient().getConnectionPool());
+		assertNotSame(rest1.getHttpClient().getDispatcher(), rest2.getHttpClient().getDispatcher());
+		assertSame(rest2.getHttpClient(), rest2.api().getHttpClient());
+	}
+	@Test
+	public void nonRetryingInstanceTest() throws Exception {
+		OkHttpClient client = OkHttpClientFactory.newInstance(new KiiHttpClientConfiguration());
+		OkHttpClient nonRetryingClient = OkHttpClientFactory.newNonRetryingInstance(client);
+		assertTrue(client.getRetryOnConnectionFailure());
+		assertFalse(nonRetryingClient.getRetryOnConnectionFailure());
+		assertSame(client.getConnectionPool(), nonRetryingClient.getConnectionPool());
+		assertSame(client.getDispatcher(), nonRetryingClient.getDispatcher());
+	}
+	@Test
+	public void protocolTest() throws Exception {
+		assertEquals(Arrays.asList(Protocol.HTTP_2, Protocol.SPDY_3, Protocol.HTTP_1_1), OkHttpClientFactory.newInstance().getProtocols());
+		OkHttpClient client = OkHttpClientFactory.newInstance(new KiiHttpClientConfiguration()
+			.setProtocolMode(KiiHttpClientConfiguration.ProtocolMode.HTTP_1_1));
+		assertEquals(Arrays.asList(Protocol.HTTP_1_1), client.getProtocols());
+	}
+	@Test
+	public void sharedInstanceTest() throws Exception {
+		KiiConnectionMetrics metrics = new KiiConnectionMetrics();
+		KiiHttpClientConfiguration configuration = new KiiHttpClientConfiguration().setConnectionMetrics(metrics);
+		KiiRest rest1 = new KiiRest("APP_ID", "APP_KEY", KiiRest.Site.US).setSharedHttpClientConfiguration(configuration);
+		KiiRest rest2 = new KiiRest("APP_ID", "APP_KEY", KiiRest.Site.US).setSharedHttpClientConfiguration(configuration);
+		assertSame(rest1.getHttpClient(), rest2.getHttpClient());
+		assertNotSame(rest1.getHttpClient(), OkHttpClientFactory.getSharedInstance(new KiiHttpClientConfiguration()));
+		assertTrue(rest1.getHttpClient().networkInterceptors().contains(metrics));
+		// shared by the settings, not by the identity of the mutable configuration
+		assertSame(rest1.getHttpClient(), OkHttpClientFactory.getSharedInstance(new KiiHttpClientConfiguration(configuration)));
+		configuration.setMaxRequestsPerHost(20);
+		OkHttpClient changed = OkHttpClientFactory.getSharedInstance(configuration);
+		assertNotSame(rest1.getHttpClient(), changed);
+		assertEquals(KiiHttpClientConfiguration.DEFAULT_MAX_REQUESTS_PER_HOST, rest1.getHttpClient().getDispatcher().getMaxRequestsPerHost());
+		assertEquals(20, changed.getDispatcher().getMaxRequestsPerHost());
+		configuration.setMaxRequestsPerHost(KiiHttpClientConfiguration.DEFAULT_MAX_REQUESTS_PER_HOST);
+		assertSame(rest1.getHttpClient(), OkHttpClientFactory.getSharedInstance(configuration));
+		KiiHttpClientConfiguration changedConfiguration = new KiiHttpClientConfiguration(configuration).setMaxRequestsPerHost(20);
+		assertTrue(OkHttpClientFactory.evictSharedInstance(changedConfiguration));
+		assertFalse(OkHttpClientFactory.evictSharedInstance(changedConfiguration));
+		assertNotSame(changed, OkHttpClientFactory.getSharedInstance(changedConfiguration));
+		OkHttpClientFactory.evictSharedInstance(changedConfiguration);
+
+		// the requests from the different app resources are sent on the same connection
+		try (KeepAliveServer server = new KeepAliveServer()) {
+			KiiAppResource app1 = new KiiAppResource("APP_ID", "APP_KEY", server.getEndpoint(), null, rest1.getContext());
+			KiiAppResource app2 = new KiiAppResource("APP_ID", "APP_KEY", server.getEndpoint(), null, rest2.getContext());
+			for (int i = 0; i < 5; i++) {
+				assertEquals("OBJECT_ID", app1.buckets("bucket").objects("OBJECT_ID").get().getObjectID());
+				assertEquals("OBJECT_ID", app2.buckets("bucket").objects("OBJECT_ID").get().getObjectID());
+			}
+			assertEquals(1, server.getAcceptedCount());
+		}
+		assertEquals(1, metrics.getConnectionCount());
+		// the plain text connection falls back to HTTP/1.1
+		assertEquals(1, metrics.getConnectionCount(Protocol.HTTP_1_1));
+		assertEquals(10, metrics.getRequestCount());
+		assertEquals(10.0, metrics.getStreamsPerConnection(), 0.001);
+		assertEquals(1, metrics.getMaxConcurrentStreams());
+	}
+
+	/**
+	 * Responds to the requests on the kept alive connections.
+	 */
+	private static class KeepAliveServer implements AutoCloseable {
+		private static final String BODY = "{\"_id\":\"OBJECT_ID\",\"_version\":\"1\"}";
+		private final ServerSocket serverSocket = new ServerSocket(0);
+		private volatile int acceptedCount = 0;
+		private KeepAliveServer() throws IOException {
+			Thread thread = new Thread(() -> {
+				try {
+					while (true) {
+						Socket socket = this.serverSocket.accept();
+						this.acceptedCount++;
+						new Thread(() -> this.serve(socket)).start();
+					}
+				} catch (IOException ignore) {
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+		private String getEndpoint() {
+			return "http://localhost:" + this.serverSocket.getLocalPort() + "/api";
+		}
+		private int getAcceptedCount() {
+			return this.acceptedCount;
+		}
+		private void serve(Socket socket) {
+			try (Socket s = socket) {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+				OutputStream out = s.getOutputStream();
+				while (true) {
+					String line = reader.readLine();
+					if (line == null) {
+						return;
+					}
+					while (!(line = reader.readLine()).isEmpty()) {
+						// skips the headers
+					}
+					byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+					String headers = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + body.length + "\r\n\r\n";
+					out.write(headers.getBytes(StandardCharsets.UTF_8));
+					out.write(body);
+					out.flush();
+				}
+			} catch (IOException ignore) {
+			}
+		}
+		@Override
+		public void close() throws IOException {
+			this.serverSocket.close();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.kii.cloud.rest.client.logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.kii.cloud.rest.client.KiiRest;
+import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
+import com.kii.cloud.rest.client.logger.KiiRequestLogger.Level;
+import com.kii.cloud.rest.client.resource.KiiRestRequest;
+import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiConsoleRequestLoggerTest {
+	@Test
+	public void levelTest() throws Exception {
+		assertFalse(Level.OFF.includes(Level.OFF));
+		assertTrue(Level.SUMMARY.includes(Level.SUMMARY));
+		assertFalse(Level.SUMMARY.includes(Level.HEADERS));
+		assertTrue(Level.BODY.includes(Level.HEADERS));
+	}
+	@Test
+	public void defaultLoggerTest() throws Exception {
+		KiiRest rest = new KiiRest("APP_ID", "APP_KEY", KiiRest.Site.US);
+		assertEquals(Level.OFF, rest.getRequestLogger().getLevel());
+		KiiRequestLogger logger = new KiiConsoleRequestLogger(Level.SUMMARY);
+		rest.setRequestLogger(logger);
+		assertSame(logger, rest.api().getContext().getRequestLogger());
+	}
+	@Test
+	public void summaryTest() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		KiiRequestLogger logger = new KiiConsoleRequestLogger(Level.SUMMARY, new PrintStream(out, true, "UTF-8"));
+		KiiRestRequest request = new KiiRestRequest("https://api.kii.com/api/apps/APP_ID", Method.GET, null);
+		logger.onResponse(request, newResponse(request), "{}");
+		String log = out.toString("UTF-8");
+		assertTrue(log.startsWith("GET https://api.kii.com/api/apps/APP_ID  : 200"));
+		assertFalse(log.contains("{}"));
+	}
+	private static Response newResponse(KiiRestRequest request) {
+		return new Response.Builder()
+			.request(new Request.Builder().url(request.getUrl()).build())
+			.protocol(Protocol.HTTP_1_1)
+			.code(200)
+			.header("Content-Type", "application/json")
+			.build();
+	}
+}
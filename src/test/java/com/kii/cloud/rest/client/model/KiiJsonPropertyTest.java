@@ -0,0 +1,59 @@
+package com.kii.cloud.rest.client.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiThing;
+import com.kii.cloud.rest.client.model.validation.KiiInvalidPropertyException;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiJsonPropertyTest {
+	@Test
+	public void aliasTest() throws Exception {
+		JsonObject json = (JsonObject)new JsonParser().parse("{\"_id\":\"a\",\"_created\":1,\"modifiedAt\":null,\"_modified\":2}");
+		assertEquals("a", KiiObject.PROPERTY_OBJECT_ID.get(json));
+		assertEquals(Long.valueOf(1), KiiObject.PROPERTY_CREATED_AT.get(json));
+		assertEquals(1, ((KiiJsonProperty.LongProperty)KiiObject.PROPERTY_CREATED_AT).getLong(json, -1));
+		// the name that exists as null hides the alias
+		assertNull(KiiObject.PROPERTY_MODIFIED_AT.get(json));
+		assertEquals(-1, ((KiiJsonProperty.LongProperty)KiiObject.PROPERTY_MODIFIED_AT).getLong(json, -1));
+		assertNull(KiiObject.PROPERTY_OWNER.get(json));
+		assertNull(KiiObject.PROPERTY_OWNER.get(null));
+
+		KiiObject object = new KiiObject(json).setObjectID("b");
+		assertEquals("b", object.getObjectID());
+		assertEquals(1, object.getCreatedAt(0));
+		assertEquals(0, object.getModifiedAt(0));
+		assertEquals(0, object.getInt("score", 0));
+		assertEquals(3, object.set("score", 3).getInt("score", 0));
+		assertEquals(3L, object.getLong("score", 0));
+	}
+	@Test
+	public void typedPropertyTest() throws Exception {
+		JsonObject json = new JsonObject();
+		KiiJsonProperty.IntProperty count = new KiiJsonProperty.IntProperty("count");
+		count.set(json, 10);
+		assertEquals(Integer.valueOf(10), count.get(json));
+		assertEquals(10, count.getInt(json, 0));
+		KiiJsonProperty.BooleanProperty enabled = new KiiJsonProperty.BooleanProperty("enabled");
+		assertEquals(false, enabled.getBoolean(json, false));
+		enabled.set(json, true);
+		assertTrue(enabled.getBoolean(json, false));
+		assertTrue(enabled.has(json));
+
+		try {
+			KiiThing.PROPERTY_STRING_FIELD_1.set(json, "あ");
+			fail("KiiInvalidPropertyException must be thrown");
+		} catch (KiiInvalidPropertyException e) {
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.kii.cloud.rest.client.model.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiChunkedUploadJournalTest {
+	@Test
+	public void resumeTest() throws Exception {
+		File file = File.createTempFile("upload", ".journal");
+		file.deleteOnExit();
+		
+		KiiChunkedUploadContext context = new KiiChunkedUploadContext("image/jpg", "UPLOAD_ID", 2500);
+		KiiChunkedUploadJournal journal = KiiChunkedUploadJournal.create(file, context, 1000);
+		journal.acknowledge(0, 1000);
+		journal.acknowledge(2000, 500);
+		journal.close();
+		
+		journal = KiiChunkedUploadJournal.open(file);
+		assertEquals("UPLOAD_ID", journal.getContext().getUploadID());
+		assertEquals("image/jpg", journal.getContext().getContentType().toString());
+		assertEquals(2500, journal.getContext().getDataSize());
+		assertEquals(1500, journal.getContext().getUploadedSize());
+		assertEquals(1000, journal.getChunkSize());
+		assertTrue(journal.isAcknowledged(0));
+		assertFalse(journal.isAcknowledged(1000));
+		assertTrue(journal.isAcknowledged(2000));
+		assertEquals("{1000=1000}", journal.getContext().getMissingRanges().toString());
+		
+		journal.acknowledge(1000, 1000);
+		journal.close();
+		journal = KiiChunkedUploadJournal.open(file);
+		assertTrue(journal.getContext().isCompleted());
+		
+		journal.delete();
+		assertFalse(file.exists());
+	}
+	@Test
+	public void incompleteLineTest() throws Exception {
+		File file = File.createTempFile("upload", ".journal");
+		file.deleteOnExit();
+		
+		KiiChunkedUploadContext context = new KiiChunkedUploadContext("image/jpg", "UPLOAD_ID", 2500);
+		KiiChunkedUploadJournal journal = KiiChunkedUploadJournal.create(file, context, 1000);
+		journal.acknowledge(0, 1000);
+		journal.close();
+		// the process crashed while writing the line
+		Files.write(file.toPath(), "1000\t10".getBytes("UTF-8"), StandardOpenOption.APPEND);
+		
+		journal = KiiChunkedUploadJournal.open(file);
+		assertEquals(1000, journal.getContext().getUploadedSize());
+		assertFalse(journal.isAcknowledged(1000));
+		journal.acknowledge(1000, 1000);
+		journal.close();
+		
+		journal = KiiChunkedUploadJournal.open(file);
+		assertEquals(2000, journal.getContext().getUploadedSize());
+		journal.delete();
+	}
+}
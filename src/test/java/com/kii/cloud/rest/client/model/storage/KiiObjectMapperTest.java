@@ -0,0 +1,117 @@
+package com.kii.cloud.rest.client.model.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiObjectMapperTest {
+
+	public static class Score {
+		private String id;
+		private String name;
+		private int score;
+		private long created;
+		private double ratio;
+		private boolean active;
+		public String getID() {
+			return this.id;
+		}
+		public void setID(String id) {
+			this.id = id;
+		}
+		public String getName() {
+			return this.name;
+		}
+		public void setName(String name) {
+			this.name = name;
+		}
+		public int getScore() {
+			return this.score;
+		}
+		public void setScore(int score) {
+			this.score = score;
+		}
+		public long getCreated() {
+			return this.created;
+		}
+		public void setCreated(long created) {
+			this.created = created;
+		}
+		public double getRatio() {
+			return this.ratio;
+		}
+		public void setRatio(double ratio) {
+			this.ratio = ratio;
+		}
+		public boolean isActive() {
+			return this.active;
+		}
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+	}
+	public static final KiiObjectMapper<Score> MAPPER = new KiiObjectMapper<Score>(Score::new)
+			.bindString("_id", Score::getID, Score::setID)
+			.bindString("name", Score::getName, Score::setName)
+			.bindInt("score", Score::getScore, Score::setScore)
+			.bindLong("_created", Score::getCreated, Score::setCreated)
+			.bindDouble("ratio", Score::getRatio, Score::setRatio)
+			.bindBoolean("active", Score::isActive, Score::setActive);
+
+	@Test
+	public void readTest() throws Exception {
+		Score score = MAPPER.fromJson("{\"_id\":\"a\",\"name\":null,\"score\":12,\"_created\":1434000000000,"
+				+ "\"ratio\":0.5,\"active\":true,\"nested\":{\"values\":[1,2]},\"_owner\":\"user\"}");
+		assertEquals("a", score.getID());
+		assertNull(score.getName());
+		assertEquals(12, score.getScore());
+		assertEquals(1434000000000L, score.getCreated());
+		assertEquals(0.5, score.getRatio(), 0);
+		assertTrue(score.isActive());
+
+		// absent fields keep the default value
+		score = MAPPER.fromJson("{\"_id\":\"b\"}");
+		assertEquals(0, score.getScore());
+
+		try {
+			MAPPER.fromJson("{\"score\":\"twelve\"}");
+			fail("JsonParseException must be thrown");
+		} catch (JsonParseException e) {
+		}
+	}
+	@Test
+	public void writeTest() throws Exception {
+		Score score = new Score();
+		score.setName("name");
+		score.setScore(12);
+		score.setCreated(1434000000000L);
+		score.setRatio(0.5);
+		JsonObject json = (JsonObject)new JsonParser().parse(MAPPER.toJson(score));
+		assertEquals(5, json.entrySet().size());
+		assertEquals("name", json.get("name").getAsString());
+		assertEquals(12, json.get("score").getAsInt());
+		assertEquals(1434000000000L, json.get("_created").getAsLong());
+		assertEquals(0.5, json.get("ratio").getAsDouble(), 0);
+		assertEquals(false, json.get("active").getAsBoolean());
+
+		assertArrayEquals(new String[]{"_id", "name", "score", "_created", "ratio", "active"}, MAPPER.getFieldNames());
+		try {
+			new KiiObjectMapper<Score>(Score::new)
+				.bindInt("score", Score::getScore, Score::setScore)
+				.bindLong("score", Score::getCreated, Score::setCreated);
+			fail("IllegalArgumentException must be thrown");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
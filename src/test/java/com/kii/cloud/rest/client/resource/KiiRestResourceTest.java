@@ -0,0 +1,298 @@
+package com.kii.cloud.rest.client.resource;
+
+import static com.kii.cloud.rest.client.FakeServer.newResponse;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.kii.cloud.rest.client.FakeServer;
+import com.kii.cloud.rest.client.KiiResponseCache;
+import com.kii.cloud.rest.client.KiiRestContext;
+import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
+import com.kii.cloud.rest.client.exception.KiiNotFoundException;
+import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiQuery;
+import com.kii.cloud.rest.client.resource.KiiRestRequest.Method;
+import com.kii.cloud.rest.client.resource.storage.KiiBucketResource;
+import com.kii.cloud.rest.client.resource.storage.KiiObjectResource;
+import com.kii.cloud.rest.client.util.SizedInputStream;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiRestResourceTest {
+	private static final String URL = "https://api.kii.com/api/apps/APP_ID";
+	private static final MediaType MEDIA_TYPE = MediaType.parse("application/octet-stream");
+	
+	@Test
+	public void parseJsonObjectTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		KiiRestRequest request = new KiiRestRequest(URL, Method.GET, resource.newAppHeaders());
+		JsonObject json = resource.parseResponseAsJsonObject(request, newResponse(200, "{\"results\":[{\"_id\":\"a\"},{\"_id\":\"b\"}]}"));
+		assertEquals(2, json.getAsJsonArray("results").size());
+		assertEquals("b", json.getAsJsonArray("results").get(1).getAsJsonObject().get("_id").getAsString());
+		assertNull(resource.parseResponseAsJsonObject(request, newResponse(200, "")));
+	}
+	@Test
+	public void parseJsonArrayTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		KiiRestRequest request = new KiiRestRequest(URL, Method.GET, resource.newAppHeaders());
+		JsonArray json = resource.parseResponseAsJsonArray(request, newResponse(200, "[1,2,3]"));
+		assertEquals(3, json.size());
+	}
+	@Test(expected = KiiNotFoundException.class)
+	public void parseErrorTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		KiiRestRequest request = new KiiRestRequest(URL, Method.GET, resource.newAppHeaders());
+		resource.parseResponseAsJsonObject(request, newResponse(404, "{\"errorCode\":\"NOT_FOUND\"}"));
+	}
+	@Test
+	public void exceptionMessageTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		KiiRestRequest request = new KiiRestRequest(URL, Method.GET, resource.newAppHeaders());
+		try {
+			resource.parseResponseAsJsonObject(request, newResponse(404, "{\"errorCode\":\"NOT_FOUND\"}"));
+			fail("KiiNotFoundException must be thrown");
+		} catch (KiiNotFoundException e) {
+			assertSame(request, e.getRequest());
+			assertEquals(404, e.getStatus());
+			assertEquals("NOT_FOUND", e.getErrorCode());
+			assertEquals(request.getCurl(), e.getMessage());
+			assertSame(e.getMessage(), e.getMessage());
+		}
+		// the message is not affected by the later changes of the headers
+		JsonObject entity = new JsonObject();
+		entity.addProperty("score", 10);
+		request = new KiiRestRequest(URL, Method.POST, resource.newAppHeaders(), MEDIA_TYPE, entity);
+		try {
+			resource.parseResponseAsJsonObject(request, newResponse(404, "{\"errorCode\":\"NOT_FOUND\"}"));
+			fail("KiiNotFoundException must be thrown");
+		} catch (KiiNotFoundException e) {
+			String expected = request.getCurl();
+			request.getHeaders().put("Authorization", "Bearer REFRESHED");
+			assertEquals(expected, e.getMessage());
+		}
+	}
+	@Test
+	public void parseSuccessTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		KiiRestRequest request = new KiiRestRequest(URL, Method.HEAD, resource.newAppHeaders());
+		assertTrue(resource.parseResponseAsSuccess(request, newResponse(200, "")));
+		assertFalse(resource.parseResponseAsSuccess(request, newResponse(404, "{\"errorCode\":\"NOT_FOUND\"}")));
+	}
+	@Test
+	public void urlAndHeadersTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		KiiBucketResource bucket = resource.buckets("my_bucket");
+		assertEquals("https://api.kii.com/api/apps/APP_ID/buckets/my_bucket", bucket.getUrl());
+		assertEquals("https://api.kii.com/api/apps/APP_ID/buckets/my_bucket/query", bucket.getUrl("/query"));
+		assertEquals("https://api.kii.com/api/apps/APP_ID/buckets/my_bucket", bucket.getUrl());
+		Map<String, String> headers = bucket.newAuthorizedHeaders();
+		headers.put("If-Match", "1");
+		assertEquals(3, headers.size());
+		assertEquals("APP_KEY", bucket.newAppHeaders().get("X-Kii-AppKey"));
+		assertEquals(2, bucket.newAppHeaders().size());
+	}
+	@Test
+	public void requestBodyTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		byte[] data = "0123456789".getBytes("UTF-8");
+		File file = File.createTempFile("body", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), data);
+		
+		assertRequestBody(data, 10, resource.createRequestBody(MEDIA_TYPE, file.toPath()));
+		assertRequestBody(data, 10, resource.createRequestBody(MEDIA_TYPE, ByteBuffer.wrap(data)));
+		ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+		direct.put(data).flip();
+		assertRequestBody(data, 10, resource.createRequestBody(MEDIA_TYPE, direct));
+		assertRequestBody(data, 10, resource.createRequestBody(MEDIA_TYPE, new SizedInputStream(new BufferedInputStream(new ByteArrayInputStream(data)), 10)));
+		assertRequestBody(data, 10, resource.createRequestBody(MEDIA_TYPE, new ByteArrayInputStream(data)));
+		assertRequestBody(data, -1, resource.createRequestBody(MEDIA_TYPE, new BufferedInputStream(new ByteArrayInputStream(data))));
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			channel.position(4);
+			RequestBody body = resource.createRequestBody(MEDIA_TYPE, channel);
+			byte[] expected = Arrays.copyOfRange(data, 4, 10);
+			assertRequestBody(expected, 6, body);
+			// can be written again when the request is retried
+			assertRequestBody(expected, 6, body);
+		} finally {
+			channel.close();
+		}
+	}
+	@Test
+	public void repeatableTest() throws Exception {
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null);
+		byte[] data = "0123456789".getBytes("UTF-8");
+		File file = File.createTempFile("body", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), data);
+		byte[] expected = Arrays.copyOfRange(data, 4, 10);
+
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		buffer.position(4);
+		KiiRestRequest request = new KiiRestRequest(URL, Method.PUT, null, MEDIA_TYPE, buffer);
+		assertTrue(request.isRepeatable());
+		assertRequestBody(expected, 6, resource.createRequestBody(request, new Request.Builder()));
+		assertRequestBody(expected, 6, resource.createRequestBody(request, new Request.Builder()));
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			channel.position(4);
+			request = new KiiRestRequest(URL, Method.PUT, null, MEDIA_TYPE, channel);
+			assertTrue(request.isRepeatable());
+			// each attempt creates the body again, after the previous attempt moved the channel to the end
+			assertRequestBody(expected, 6, resource.createRequestBody(request, new Request.Builder()));
+			assertEquals(10, channel.position());
+			assertRequestBody(expected, 6, resource.createRequestBody(request, new Request.Builder()));
+		} finally {
+			channel.close();
+		}
+		assertFalse(new KiiRestRequest(URL, Method.PUT, null, MEDIA_TYPE, new ByteArrayInputStream(data)).isRepeatable());
+	}
+	@Test
+	public void requestCompressionTest() throws Exception {
+		KiiRestContext context = new KiiRestContext();
+		KiiAppResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context);
+		JsonObject json = new JsonObject();
+		json.addProperty("message", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+		byte[] plain = json.toString().getBytes("UTF-8");
+		KiiRestRequest request = new KiiRestRequest(URL, Method.POST, resource.newAppHeaders(), KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, json);
+		
+		// disabled by default
+		Request.Builder builder = new Request.Builder().url(URL);
+		assertRequestBody(plain, plain.length, resource.createRequestBody(request, builder));
+		assertNull(builder.build().header("Content-Encoding"));
+		
+		// smaller than the threshold
+		context.setRequestCompressionThreshold(1024);
+		builder = new Request.Builder().url(URL);
+		assertRequestBody(plain, plain.length, resource.createRequestBody(request, builder));
+		assertNull(builder.build().header("Content-Encoding"));
+		
+		context.setRequestCompressionThreshold(10);
+		builder = new Request.Builder().url(URL);
+		RequestBody body = resource.createRequestBody(request, builder);
+		assertEquals("gzip", builder.build().header("Content-Encoding"));
+		assertTrue(body.contentLength() < plain.length);
+		Buffer compressed = new Buffer();
+		body.writeTo(compressed);
+		assertArrayEquals(plain, Okio.buffer(new GzipSource(compressed)).readByteArray());
+		
+		// the large body is compressed while it is written, so the length is unknown
+		StringBuilder large = new StringBuilder();
+		while (large.length() < 128 * 1024) {
+			large.append("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+		}
+		JsonObject largeJson = new JsonObject();
+		largeJson.addProperty("message", large.toString());
+		byte[] largePlain = largeJson.toString().getBytes("UTF-8");
+		KiiRestRequest largeRequest = new KiiRestRequest(URL, Method.POST, resource.newAppHeaders(), KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, largeJson);
+		builder = new Request.Builder().url(URL);
+		body = resource.createRequestBody(largeRequest, builder);
+		assertEquals("gzip", builder.build().header("Content-Encoding"));
+		assertEquals(-1, body.contentLength());
+		for (int i = 0; i < 2; i++) {
+			// written again for the retry
+			compressed = new Buffer();
+			body.writeTo(compressed);
+			assertTrue(compressed.size() < largePlain.length);
+			assertArrayEquals(largePlain, Okio.buffer(new GzipSource(compressed)).readByteArray());
+		}
+		
+		// binary entity is never compressed
+		KiiRestRequest binaryRequest = new KiiRestRequest(URL, Method.PUT, resource.newAppHeaders(), MEDIA_TYPE, plain);
+		builder = new Request.Builder().url(URL);
+		assertRequestBody(plain, plain.length, resource.createRequestBody(binaryRequest, builder));
+		assertNull(builder.build().header("Content-Encoding"));
+	}
+	@Test
+	public void responseCacheTest() throws Exception {
+		FakeServer server = new FakeServer();
+		List<Request> requests = server.getRequests();
+		KiiRestContext context = server.newContext();
+		KiiAppResource app = server.newApp(context);
+		KiiObjectResource resource = app.buckets("bucket").objects("OBJECT_ID");
+		String body = "{\"_id\":\"OBJECT_ID\",\"_version\":\"1\",\"score\":10}";
+		
+		// disabled by default
+		server.enqueue(newResponse(200, body).newBuilder().header("ETag", "1").build());
+		assertEquals(10, resource.get().getJsonObject().get("score").getAsInt());
+		assertNull(requests.get(0).header("If-None-Match"));
+		
+		KiiResponseCache cache = new KiiResponseCache(10, 0, TimeUnit.SECONDS);
+		context.setResponseCache(cache);
+		server.enqueue(newResponse(200, body).newBuilder().header("ETag", "1").build());
+		KiiObject object = resource.get();
+		assertEquals(1, cache.size());
+		// the cached entry is not affected by the change of the returned object
+		object.getJsonObject().addProperty("score", 20);
+		
+		server.enqueue(newResponse(304, "").newBuilder().header("ETag", "1").build());
+		assertEquals(10, resource.get().getJsonObject().get("score").getAsInt());
+		assertEquals("1", requests.get(2).header("If-None-Match"));
+		server.enqueue(newResponse(304, "").newBuilder().header("ETag", "1").build());
+		assertEquals(10, resource.getAsync().get().getJsonObject().get("score").getAsInt());
+		assertEquals("1", requests.get(3).header("If-None-Match"));
+		
+		// deleting the object invalidates the entry
+		server.enqueue(newResponse(204, ""));
+		resource.delete();
+		assertEquals(0, cache.size());
+		
+		// fresh entries are returned without the request
+		context.setResponseCache(new KiiResponseCache(10, 1, TimeUnit.HOURS));
+		server.enqueue(newResponse(200, body).newBuilder().header("ETag", "1").build());
+		resource.get();
+		assertEquals(10, resource.get().getJsonObject().get("score").getAsInt());
+		assertEquals(10, resource.getAsync().get().getJsonObject().get("score").getAsInt());
+		assertEquals(6, requests.size());
+		
+		// updating the object invalidates the entry
+		server.enqueue(newResponse(200, "{\"modifiedAt\":1}").newBuilder().header("ETag", "2").build());
+		resource.update(new KiiObject().set("score", 30));
+		server.enqueue(newResponse(200, body.replace("10", "30")).newBuilder().header("ETag", "2").build());
+		assertEquals(30, resource.get().getJsonObject().get("score").getAsInt());
+		assertEquals(8, requests.size());
+		
+		// the query does not invalidate the entry
+		server.enqueue(newResponse(200, "{\"results\":[]}"));
+		app.buckets("bucket").query(new KiiQuery());
+		assertEquals(30, resource.get().getJsonObject().get("score").getAsInt());
+		assertEquals(9, requests.size());
+		assertEquals(0, server.getQueuedCount());
+	}
+	private static void assertRequestBody(byte[] expected, long expectedLength, RequestBody body) throws Exception {
+		assertEquals(expectedLength, body.contentLength());
+		Buffer sink = new Buffer();
+		body.writeTo(sink);
+		assertArrayEquals(expected, sink.readByteArray());
+	}
+}
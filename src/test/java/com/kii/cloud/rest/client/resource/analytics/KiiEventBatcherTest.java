@@ -0,0 +1,233 @@
+package com.kii.cloud.rest.client.resource.analytics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
+import com.kii.cloud.rest.client.exception.KiiBadRequestException;
+import com.kii.cloud.rest.client.exception.KiiRestException;
+import com.kii.cloud.rest.client.exception.KiiServiceUnavailableException;
+import com.kii.cloud.rest.client.model.analytics.KiiEvent;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+
+@RunWith(SkipAcceptableTestRunner.class)
+public class KiiEventBatcherTest {
+	@Test
+	public void batchTest() throws Exception {
+		RecordingEventsResource resource = new RecordingEventsResource(0);
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 10, 1, TimeUnit.HOURS, 100, KiiEventBatcher.OverflowPolicy.BLOCK, 4);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 255; j++) {
+					batcher.add(new KiiEvent().setType("test"));
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		batcher.close();
+		assertTrue(batcher.isClosed());
+		assertEquals(1020, resource.getUploadedEvents());
+		assertEquals(1020, batcher.getUploadedCount());
+		assertEquals(0, batcher.getQueuedCount());
+		assertTrue(resource.getMaxBatchSize() <= 10);
+		try {
+			batcher.add(new KiiEvent());
+			fail("IllegalStateException must be thrown");
+		} catch (IllegalStateException e) {
+		}
+	}
+	@Test
+	public void concurrentCloseTest() throws Exception {
+		RecordingEventsResource resource = new RecordingEventsResource(0);
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 10, 1, TimeUnit.HOURS, 1000, KiiEventBatcher.OverflowPolicy.BLOCK, 4);
+		AtomicInteger accepted = new AtomicInteger(0);
+		AtomicInteger unexpected = new AtomicInteger(0);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					while (true) {
+						if (batcher.add(new KiiEvent().setType("test"))) {
+							accepted.incrementAndGet();
+						}
+					}
+				} catch (IllegalStateException e) {
+					// closed
+				} catch (RuntimeException e) {
+					unexpected.incrementAndGet();
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		Thread.sleep(50);
+		batcher.close();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		// every accepted event is uploaded, and none is stranded in the queue
+		assertEquals(0, unexpected.get());
+		assertEquals(accepted.get(), resource.getUploadedEvents());
+		assertEquals(0, batcher.getQueuedCount());
+	}
+	@Test
+	public void flushIntervalTest() throws Exception {
+		RecordingEventsResource resource = new RecordingEventsResource(0);
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 10, 50, TimeUnit.MILLISECONDS, 100, KiiEventBatcher.OverflowPolicy.BLOCK, 1);
+		batcher.add(new KiiEvent());
+		batcher.add(new KiiEvent());
+		long deadline = System.currentTimeMillis() + 5000;
+		while (batcher.getUploadedCount() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, batcher.getUploadedCount());
+		batcher.close();
+	}
+	@Test
+	public void retryTest() throws Exception {
+		RecordingEventsResource resource = new RecordingEventsResource(2);
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 10, 1, TimeUnit.HOURS, 100, KiiEventBatcher.OverflowPolicy.BLOCK, 1, 3, 1);
+		for (int i = 0; i < 5; i++) {
+			batcher.add(new KiiEvent());
+		}
+		batcher.flush();
+		assertEquals(5, resource.getUploadedEvents());
+		assertEquals(3, resource.getCalls());
+		assertEquals(0, batcher.getFailedCount());
+		batcher.close();
+	}
+	@Test
+	public void failureTest() throws Exception {
+		RecordingEventsResource resource = new RecordingEventsResource(Integer.MAX_VALUE);
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 10, 1, TimeUnit.HOURS, 100, KiiEventBatcher.OverflowPolicy.BLOCK, 1, 2, 1);
+		List<KiiEvent> failed = new ArrayList<KiiEvent>();
+		batcher.setFailureListener((events, e) -> {
+			assertEquals(503, e.getStatus());
+			failed.addAll(events);
+		});
+		for (int i = 0; i < 5; i++) {
+			batcher.add(new KiiEvent());
+		}
+		batcher.close();
+		assertEquals(3, resource.getCalls());
+		assertEquals(5, batcher.getFailedCount());
+		assertEquals(5, failed.size());
+	}
+	@Test
+	public void nonRetryableFailureTest() throws Exception {
+		KiiEventsResource resource = new KiiEventsResource(new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null)) {
+			@Override
+			public void upload(List<KiiEvent> events) throws KiiRestException {
+				throw new KiiBadRequestException("bad request", null);
+			}
+		};
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 10, 1, TimeUnit.HOURS, 100, KiiEventBatcher.OverflowPolicy.BLOCK, 1, 3, 1);
+		batcher.add(new KiiEvent());
+		batcher.close();
+		assertEquals(1, batcher.getFailedCount());
+	}
+	@Test
+	public void dropNewestTest() throws Exception {
+		BlockingEventsResource resource = new BlockingEventsResource();
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 5, 1, TimeUnit.HOURS, 5, KiiEventBatcher.OverflowPolicy.DROP_NEWEST, 1);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(batcher.add(new KiiEvent().setType("first")));
+		}
+		// The first batch is held by the uploader, and the queue is empty again.
+		resource.awaitUpload();
+		for (int i = 0; i < 5; i++) {
+			assertTrue(batcher.add(new KiiEvent().setType("second")));
+		}
+		assertFalse(batcher.add(new KiiEvent().setType("third")));
+		assertEquals(1, batcher.getDroppedCount());
+		resource.release();
+		batcher.close();
+		assertEquals(10, batcher.getUploadedCount());
+	}
+	@Test
+	public void dropOldestTest() throws Exception {
+		BlockingEventsResource resource = new BlockingEventsResource();
+		KiiEventBatcher batcher = new KiiEventBatcher(resource, 5, 1, TimeUnit.HOURS, 5, KiiEventBatcher.OverflowPolicy.DROP_OLDEST, 1);
+		for (int i = 0; i < 5; i++) {
+			batcher.add(new KiiEvent().setType("first"));
+		}
+		resource.awaitUpload();
+		for (int i = 0; i < 4; i++) {
+			batcher.add(new KiiEvent().setType("second"));
+		}
+		assertTrue(batcher.add(new KiiEvent().setType("third")));
+		assertTrue(batcher.add(new KiiEvent().setType("third")));
+		assertEquals(1, batcher.getDroppedCount());
+		assertEquals(5, batcher.getQueuedCount());
+		resource.release();
+		batcher.close();
+		assertEquals(10, batcher.getUploadedCount());
+	}
+
+	private static class RecordingEventsResource extends KiiEventsResource {
+		private final AtomicInteger failures;
+		private final AtomicInteger calls = new AtomicInteger(0);
+		private final AtomicInteger uploadedEvents = new AtomicInteger(0);
+		private final AtomicInteger maxBatchSize = new AtomicInteger(0);
+		RecordingEventsResource(int failures) {
+			super(new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null));
+			this.failures = new AtomicInteger(failures);
+		}
+		@Override
+		public void upload(List<KiiEvent> events) throws KiiRestException {
+			this.calls.incrementAndGet();
+			if (this.failures.getAndDecrement() > 0) {
+				throw new KiiServiceUnavailableException("unavailable");
+			}
+			this.uploadedEvents.addAndGet(events.size());
+			this.maxBatchSize.accumulateAndGet(events.size(), Math::max);
+		}
+		int getCalls() {
+			return this.calls.get();
+		}
+		int getUploadedEvents() {
+			return this.uploadedEvents.get();
+		}
+		int getMaxBatchSize() {
+			return this.maxBatchSize.get();
+		}
+	}
+	private static class BlockingEventsResource extends KiiEventsResource {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+		BlockingEventsResource() {
+			super(new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null));
+		}
+		@Override
+		public void upload(List<KiiEvent> events) throws KiiRestException {
+			this.started.countDown();
+			try {
+				this.released.await();
+			} catch (InterruptedException e) {
+				throw new KiiRestException("interrupted", e);
+			}
+		}
+		void awaitUpload() throws InterruptedException {
+			this.started.await();
+		}
+		void release() {
+			this.released.countDown();
+		}
+	}
+}
@@ -5,12 +5,23 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import okio.Buffer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.kii.cloud.rest.client.KiiRest;
+import com.kii.cloud.rest.client.KiiRestContext;
 import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
 import com.kii.cloud.rest.client.TestApp;
 import com.kii.cloud.rest.client.TestEnvironments;
@@ -19,12 +30,20 @@ import com.kii.cloud.rest.client.model.storage.KiiBucket;
 import com.kii.cloud.rest.client.model.storage.KiiGroup;
 import com.kii.cloud.rest.client.model.storage.KiiNormalUser;
 import com.kii.cloud.rest.client.model.storage.KiiObject;
+import com.kii.cloud.rest.client.model.storage.KiiObjectMapperTest;
+import com.kii.cloud.rest.client.model.storage.KiiProjectedQueryResult;
 import com.kii.cloud.rest.client.model.storage.KiiQuery;
 import com.kii.cloud.rest.client.model.storage.KiiQueryClause;
 import com.kii.cloud.rest.client.model.storage.KiiQueryResult;
 import com.kii.cloud.rest.client.model.storage.KiiThing;
 import com.kii.cloud.rest.client.model.storage.KiiThingOwner;
-import com.kii.cloud.rest.client.resource.storage.KiiObjectsResource;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.KiiRestResource;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 
 @RunWith(SkipAcceptableTestRunner.class)
 public class KiiBucketResourceTest {
@@ -74,6 +93,30 @@ public class KiiBucketResourceTest {
 		}
 		assertFalse(queryResult.hasNext());
 		
+		// iterating all pages
+		KiiQueryIterator iterator = rest.api().buckets(appBucketName).queryAll(query);
+		int iterated = 0;
+		while (iterator.hasNext()) {
+			assertTrue(iterator.next().getInt("score") < 9);
+			iterated++;
+		}
+		assertEquals(9, iterated);
+		assertEquals(9, rest.api().buckets(appBucketName).queryAll(query, false).stream().count());
+		
+		// querying only the scores
+		KiiProjectedQueryResult<Integer> projected = rest.api().buckets(appBucketName).query(new KiiQuery(KiiQueryClause.lt("score", 9)).select("score"), object -> object.getInt("score"));
+		assertEquals(9, projected.getResults().size());
+		assertFalse(projected.hasNext());
+		
+		// scanning all objects by the ranges of score
+		List<Long> scores = rest.api().buckets(appBucketName).scanParallel(KiiQueryClause.lt("score", 9), "score", 0, 15, 3, true).stream()
+				.map(object -> object.getLong("score")).collect(Collectors.toList());
+		assertEquals(9, scores.size());
+		for (int i = 0; i < scores.size(); i++) {
+			assertEquals(i, scores.get(i).longValue());
+		}
+		assertEquals(15, rest.api().buckets(appBucketName).scanParallelByCreated(null, 4, false).stream().count());
+		
 		// counting object
 		count  = rest.api().buckets(appBucketName).count(query);
 		assertEquals(9, count);
@@ -314,4 +357,236 @@ public class KiiBucketResourceTest {
 		assertFalse(rest.api().buckets(appBucketName).isSubscribed(user));
 	}
 
+	@Test
+	public void scanParallelByCreatedTest() throws Exception {
+		final long oldest = System.currentTimeMillis() - 4000;
+		final List<JsonObject> queries = new CopyOnWriteArrayList<JsonObject>();
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> {
+			Request request = chain.request();
+			Buffer buffer = new Buffer();
+			request.body().writeTo(buffer);
+			JsonObject query = (JsonObject)new JsonParser().parse(buffer.readUtf8());
+			queries.add(query);
+			String body = query.has("bestEffortLimit")
+					? "{\"results\":[{\"_id\":\"a\",\"_created\":" + oldest + "}]}"
+					: "{\"results\":[]}";
+			return new Response.Builder()
+					.request(request)
+					.protocol(Protocol.HTTP_1_1)
+					.code(200)
+					.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, body))
+					.build();
+		});
+		KiiRestContext context = new KiiRestContext().setHttpClient(client);
+		KiiBucketResource bucket = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context).buckets("bucket");
+		
+		assertEquals(0, bucket.scanParallelByCreated(null, 4, false).stream().count());
+		// the oldest object is queried first
+		JsonObject first = queries.get(0).getAsJsonObject("bucketQuery");
+		assertEquals("_created", first.get("orderBy").getAsString());
+		assertFalse(first.get("descending").getAsBoolean());
+		assertEquals(1, queries.get(0).get("bestEffortLimit").getAsInt());
+		// the range from the oldest object to now is split evenly
+		assertEquals(5, queries.size());
+		for (JsonObject query : queries.subList(1, queries.size())) {
+			JsonObject clause = query.getAsJsonObject("bucketQuery").getAsJsonObject("clause");
+			assertEquals("_created", clause.get("field").getAsString());
+			if (!clause.has("lowerLimit")) {
+				long upperLimit = clause.get("upperLimit").getAsLong();
+				assertTrue(upperLimit - oldest >= 1000 && upperLimit - oldest < 1100);
+			}
+		}
+	}
+	@Test
+	public void scanParallelWideRangeTest() throws Exception {
+		final List<JsonObject> clauses = new CopyOnWriteArrayList<JsonObject>();
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> {
+			Request request = chain.request();
+			Buffer buffer = new Buffer();
+			request.body().writeTo(buffer);
+			JsonObject query = (JsonObject)new JsonParser().parse(buffer.readUtf8());
+			clauses.add(query.getAsJsonObject("bucketQuery").getAsJsonObject("clause"));
+			return new Response.Builder()
+					.request(request)
+					.protocol(Protocol.HTTP_1_1)
+					.code(200)
+					.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, "{\"results\":[]}"))
+					.build();
+		});
+		KiiRestContext context = new KiiRestContext().setHttpClient(client);
+		KiiBucketResource bucket = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context).buckets("bucket");
+		
+		try (KiiParallelScan scan = bucket.scanParallel(null, "score", Long.MIN_VALUE, Long.MAX_VALUE, 4, false)) {
+			assertFalse(scan.hasNext());
+		}
+		// the partitions are split evenly without the overflow
+		long width = Long.divideUnsigned(-1L, 4);
+		List<Long> boundaries = clauses.stream()
+				.map(clause -> clause.has("lowerLimit") ? clause.get("lowerLimit").getAsLong() : Long.MIN_VALUE)
+				.sorted()
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList(Long.MIN_VALUE, Long.MIN_VALUE + width, Long.MIN_VALUE + width * 2, Long.MIN_VALUE + width * 3), boundaries);
+		
+		try {
+			bucket.scanParallel(null, "score", Long.MAX_VALUE, Long.MIN_VALUE, 4, false);
+			fail("IllegalArgumentException must be thrown");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			bucket.scanParallel(null, "score", Long.MAX_VALUE - 2, Long.MAX_VALUE, 4, false);
+			fail("IllegalArgumentException must be thrown");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+	@Test
+	public void projectionTest() throws Exception {
+		String body = "{\"queryDescription\":\"WHERE ( 1 = 1 )\",\"results\":["
+				+ "{\"_id\":\"a\",\"score\":1,\"nested\":{\"values\":[1,2,3]},\"_created\":1},"
+				+ "{\"_id\":\"b\",\"score\":2,\"nested\":{\"values\":[4,5,6]},\"_created\":2}"
+				+ "],\"nextPaginationKey\":\"next\"}";
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> new Response.Builder()
+				.request(chain.request())
+				.protocol(Protocol.HTTP_1_1)
+				.code(200)
+				.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, body))
+				.build());
+		KiiRestContext context = new KiiRestContext().setHttpClient(client);
+		KiiBucketResource bucket = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context).buckets("bucket");
+		
+		KiiQuery query = new KiiQuery().select("_id", "score");
+		KiiProjectedQueryResult<KiiObject> result = bucket.query(query, object -> object);
+		assertEquals(2, result.getResults().size());
+		KiiObject object = result.getResults().get(0);
+		assertEquals("a", object.getObjectID());
+		assertEquals(1, object.getInt("score"));
+		assertFalse(object.getJsonObject().has("nested"));
+		assertFalse(object.getJsonObject().has("_created"));
+		assertTrue(result.hasNext());
+		assertEquals("next", result.getNextPaginationKey());
+		assertEquals("next", result.getNextQuery().toJson().get("paginationKey").getAsString());
+		assertEquals(2, result.getNextQuery().getProjection().size());
+		
+		// without projection, all fields are decoded
+		List<String> ids = bucket.queryAsync(new KiiQuery(), o -> o.getObjectID() + o.getJsonObject().getAsJsonObject("nested").getAsJsonArray("values").size()).get().getResults();
+		assertEquals(Arrays.asList("a3", "b3"), ids);
+		
+		// bound to the class without KiiObject
+		KiiProjectedQueryResult<KiiObjectMapperTest.Score> scores = bucket.query(new KiiQuery(), KiiObjectMapperTest.MAPPER);
+		assertEquals(2, scores.getResults().size());
+		assertEquals("b", scores.getResults().get(1).getID());
+		assertEquals(2, scores.getResults().get(1).getScore());
+		assertEquals(2L, scores.getResults().get(1).getCreated());
+		assertEquals(1, bucket.queryAsync(new KiiQuery(), KiiObjectMapperTest.MAPPER).get().getResults().get(0).getScore());
+	}
+	@Test
+	public void mappedSaveTest() throws Exception {
+		List<String> sentBodies = new CopyOnWriteArrayList<String>();
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> {
+			// the streamed body writes the same content on each call
+			for (int i = 0; i < 2; i++) {
+				Buffer buffer = new Buffer();
+				chain.request().body().writeTo(buffer);
+				sentBodies.add(buffer.readUtf8());
+			}
+			return new Response.Builder()
+					.request(chain.request())
+					.protocol(Protocol.HTTP_1_1)
+					.code(201)
+					.header("ETag", "1")
+					.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, "{\"objectID\":\"OBJECT_ID\"}"))
+					.build();
+		});
+		KiiRestContext context = new KiiRestContext().setHttpClient(client);
+		KiiBucketResource bucket = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, context).buckets("bucket");
+		
+		KiiObjectMapperTest.Score score = new KiiObjectMapperTest.Score();
+		score.setName("name");
+		score.setScore(10);
+		score.setActive(true);
+		KiiObject saved = bucket.objects().save(KiiObjectMapperTest.MAPPER, score);
+		assertEquals("OBJECT_ID", saved.getObjectID());
+		assertEquals("1", saved.getVersion());
+		assertEquals(2, sentBodies.size());
+		assertEquals(KiiObjectMapperTest.MAPPER.toJson(score), sentBodies.get(0));
+		assertEquals(sentBodies.get(0), sentBodies.get(1));
+		
+		assertEquals("OBJECT_ID", bucket.objects().saveAsync(KiiObjectMapperTest.MAPPER, score).get().getObjectID());
+	}
+	@Test
+	public void queryAllCloseTest() throws Exception {
+		PagedBucket bucket = new PagedBucket(3);
+		
+		// the abandoned iterator cancels the prefetching request when closed
+		try (KiiQueryIterator iterator = bucket.queryAll(new KiiQuery())) {
+			assertEquals("0-0", iterator.next().getObjectID());
+			assertEquals(1, bucket.prefetches.size());
+			assertFalse(bucket.prefetches.get(0).isDone());
+		}
+		assertTrue(bucket.prefetches.get(0).isCancelled());
+		
+		// so does the stream
+		bucket.prefetches.clear();
+		try (Stream<KiiObject> stream = bucket.queryAll(new KiiQuery()).stream()) {
+			assertEquals("0-0", stream.findFirst().get().getObjectID());
+		}
+		assertEquals(1, bucket.prefetches.size());
+		assertTrue(bucket.prefetches.get(0).isCancelled());
+		
+		// nothing is left in flight after the last page
+		bucket.prefetches.clear();
+		bucket.completePrefetches = true;
+		KiiQueryIterator iterator = bucket.queryAll(new KiiQuery());
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			count++;
+		}
+		assertEquals(6, count);
+		assertEquals(2, bucket.prefetches.size());
+		for (CompletableFuture<KiiQueryResult> prefetch : bucket.prefetches) {
+			assertTrue(prefetch.isDone() && !prefetch.isCancelled());
+		}
+	}
+	/**
+	 * Returns the pages of 2 objects without the requests, and holds the prefetching requests.
+	 */
+	private static class PagedBucket extends KiiBucketResource {
+		private final int pages;
+		private final List<CompletableFuture<KiiQueryResult>> prefetches = new CopyOnWriteArrayList<CompletableFuture<KiiQueryResult>>();
+		private volatile boolean completePrefetches = false;
+		private PagedBucket(int pages) {
+			super(new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null), "bucket");
+			this.pages = pages;
+		}
+		@Override
+		public KiiQueryResult query(KiiQuery query) {
+			JsonObject json = query.toJson();
+			int page = json.has("paginationKey") ? json.get("paginationKey").getAsInt() : 0;
+			JsonObject result = new JsonObject();
+			JsonArray results = new JsonArray();
+			for (int i = 0; i < 2; i++) {
+				JsonObject object = new JsonObject();
+				object.addProperty("_id", page + "-" + i);
+				results.add(object);
+			}
+			result.add("results", results);
+			if (page + 1 < this.pages) {
+				result.addProperty("nextPaginationKey", String.valueOf(page + 1));
+			}
+			return new KiiQueryResult(query, result);
+		}
+		@Override
+		public CompletableFuture<KiiQueryResult> queryAsync(KiiQuery query) {
+			CompletableFuture<KiiQueryResult> future = new CompletableFuture<KiiQueryResult>();
+			if (this.completePrefetches) {
+				future.complete(this.query(query));
+			}
+			this.prefetches.add(future);
+			return future;
+		}
+	}
 }
@@ -1,34 +1,59 @@
 package com.kii.cloud.rest.client.resource.storage;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import com.kii.cloud.rest.client.KiiRest;
+import com.kii.cloud.rest.client.KiiRestContext;
 import com.kii.cloud.rest.client.OkHttpClientFactory;
 import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
 import com.kii.cloud.rest.client.TestApp;
 import com.kii.cloud.rest.client.TestAppFilter;
 import com.kii.cloud.rest.client.TestEnvironments;
+import com.kii.cloud.rest.client.exception.KiiRestException;
 import com.kii.cloud.rest.client.model.KiiAdminCredentials;
 import com.kii.cloud.rest.client.model.storage.KiiChunkedDownloadContext;
 import com.kii.cloud.rest.client.model.storage.KiiChunkedUploadContext;
+import com.kii.cloud.rest.client.model.storage.KiiChunkedUploadJournal;
 import com.kii.cloud.rest.client.model.storage.KiiGroup;
 import com.kii.cloud.rest.client.model.storage.KiiNormalUser;
 import com.kii.cloud.rest.client.model.storage.KiiObject;
 import com.kii.cloud.rest.client.model.storage.KiiThing;
+import com.kii.cloud.rest.client.resource.KiiAppResource;
+import com.kii.cloud.rest.client.resource.KiiRestResource;
 import com.kii.cloud.rest.client.resource.storage.KiiObjectBodyResource;
 import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
 import com.squareup.okhttp.Request;
 import com.squareup.okhttp.Response;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.ResponseBody;
+
+import okio.BufferedSource;
+import okio.Okio;
 
 @RunWith(SkipAcceptableTestRunner.class)
 public class KiiObjectBodyResourceTest {
@@ -106,6 +131,37 @@ public class KiiObjectBodyResourceTest {
 			downloadContext = bodyResource.downloadByChunk(downloadContext, os);
 		}
 		assertArrayEquals(body, os.toByteArray());
+		
+		// downloading object body by parallel ranges
+		File file = File.createTempFile("body", ".jpg");
+		file.deleteOnExit();
+		assertEquals(body.length, bodyResource.downloadParallel(file, 500, 3));
+		assertArrayEquals(body, Files.readAllBytes(file.toPath()));
+		
+		// uploading object body by parallel chunks
+		byte[] newBody = this.createObjectBody(1024*3);
+		File uploadFile = File.createTempFile("body", ".jpg");
+		uploadFile.deleteOnExit();
+		Files.write(uploadFile.toPath(), newBody);
+		bodyResource.uploadParallel(uploadFile, "image/jpg", 1024, 3);
+		os = new ByteArrayOutputStream();
+		bodyResource.download(os);
+		assertArrayEquals(newBody, os.toByteArray());
+		
+		// resuming the upload that is recorded in the journal
+		File journalFile = File.createTempFile("body", ".journal");
+		journalFile.deleteOnExit();
+		uploadContext = bodyResource.beginChunkedUpload("image/jpg", body.length);
+		KiiChunkedUploadJournal journal = KiiChunkedUploadJournal.create(journalFile, uploadContext, 1024);
+		bodyResource.uploadByChunk(uploadContext, 0, ByteBuffer.wrap(body, 0, 1024));
+		journal.acknowledge(0, 1024);
+		journal.close();
+		Files.write(uploadFile.toPath(), body);
+		bodyResource.uploadResumable(uploadFile, "image/jpg", 1024, 2, journalFile);
+		assertFalse(journalFile.exists());
+		os = new ByteArrayOutputStream();
+		bodyResource.download(os);
+		assertArrayEquals(body, os.toByteArray());
 	}
 	@Test
 	public void moveToAppScopeTest() throws Exception {
@@ -278,6 +334,194 @@ public class KiiObjectBodyResourceTest {
 		assertArrayEquals(body, os.toByteArray());
 		assertFalse(rest.api().things(thing1).buckets(thingBucketName).objects(thingObject1).body().exists());
 	}
+	@Test
+	public void uploadRangesTest() throws Exception {
+		final List<String> ranges = new CopyOnWriteArrayList<String>();
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> {
+			Request request = chain.request();
+			ranges.add(request.header("Content-Range"));
+			return new Response.Builder()
+				.request(request)
+				.protocol(Protocol.HTTP_1_1)
+				.code(204)
+				.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, ""))
+				.build();
+		});
+		KiiObjectBodyResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, new KiiRestContext().setHttpClient(client))
+			.buckets("bucket").objects("OBJECT_ID").body();
+		File file = File.createTempFile("body", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), this.createObjectBody(2500));
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			// only the missing ranges are uploaded after the chunks are uploaded out of order
+			KiiChunkedUploadContext context = new KiiChunkedUploadContext("image/jpg", "UPLOAD_ID", 2500);
+			resource.uploadByChunk(context, 1000, ByteBuffer.wrap(new byte[1000]));
+			resource.uploadByChunk(context, 1000, ByteBuffer.wrap(new byte[1000]));
+			assertEquals(1000, context.getUploadedSize());
+			ranges.clear();
+			resource.uploadParallel(context, channel, 1000, 1, 0);
+			assertEquals("[bytes=0-999/2500, bytes=2000-2499/2500]", ranges.toString());
+			assertTrue(context.isCompleted());
+
+			// the chunk that failed to be recorded into the journal is not uploaded again
+			File journalFile = File.createTempFile("upload", ".journal");
+			journalFile.deleteOnExit();
+			KiiChunkedUploadJournal journal = KiiChunkedUploadJournal.create(journalFile, new KiiChunkedUploadContext("image/jpg", "UPLOAD_ID", 2500), 1000);
+			journal.close();
+			ranges.clear();
+			try {
+				resource.resumeUpload(journal, channel, 1, 3);
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+			}
+			assertEquals("[bytes=0-999/2500]", ranges.toString());
+			assertEquals(1000, journal.getContext().getUploadedSize());
+		} finally {
+			channel.close();
+		}
+	}
+	@Test
+	public void failedUploadTest() throws Exception {
+		final List<String> ranges = new CopyOnWriteArrayList<String>();
+		final CountDownLatch sending = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> {
+			Request request = chain.request();
+			String range = request.header("Content-Range");
+			ranges.add(range);
+			int code = 204;
+			try {
+				if (range.startsWith("bytes=0-")) {
+					// the first lane is still sending when the other lane fails
+					sending.countDown();
+					release.await(5, TimeUnit.SECONDS);
+				} else {
+					sending.await(5, TimeUnit.SECONDS);
+					code = 400;
+				}
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			return new Response.Builder()
+				.request(request)
+				.protocol(Protocol.HTTP_1_1)
+				.code(code)
+				.body(ResponseBody.create(KiiRestResource.MEDIA_TYPE_APPLICATION_JSON, code == 204 ? "" : "{\"errorCode\":\"INVALID_INPUT_DATA\"}"))
+				.build();
+		});
+		KiiObjectBodyResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, new KiiRestContext().setHttpClient(client))
+			.buckets("bucket").objects("OBJECT_ID").body();
+		File file = File.createTempFile("body", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), this.createObjectBody(3000));
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			KiiChunkedUploadContext context = new KiiChunkedUploadContext("image/jpg", "UPLOAD_ID", 3000);
+			try {
+				resource.uploadParallel(context, channel, 1000, 2, 0);
+				fail("KiiRestException must be thrown");
+			} catch (KiiRestException e) {
+				assertEquals(400, e.getStatus());
+			}
+			// returned while the first chunk is still blocked, because its request is cancelled.
+			// the rest is not sent, and the cancelled chunk is not acknowledged after it is released
+			assertEquals(1, release.getCount());
+			release.countDown();
+			Thread.sleep(200);
+			assertEquals(2, ranges.size());
+			assertEquals(0, context.getUploadedSize());
+		} finally {
+			release.countDown();
+			channel.close();
+		}
+	}
+	@Test
+	public void interruptedDownloadTest() throws Exception {
+		final byte[] body = this.createObjectBody(3000);
+		final CountDownLatch writing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicBoolean written = new AtomicBoolean(false);
+		OkHttpClient client = new OkHttpClient();
+		client.interceptors().add(chain -> {
+			Request request = chain.request();
+			String[] range = request.header("Range").substring("bytes=".length()).split("-");
+			int from = Integer.parseInt(range[0]);
+			int to = Integer.parseInt(range[1]);
+			InputStream stream = new ByteArrayInputStream(body, from, to - from + 1);
+			if (from > 0) {
+				// the lane blocks while it is writing the range
+				InputStream source = stream;
+				stream = new InputStream() {
+					@Override
+					public int read() throws IOException {
+						writing.countDown();
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							throw new IOException(e);
+						}
+						int b = source.read();
+						if (b < 0) {
+							written.set(true);
+						}
+						return b;
+					}
+				};
+			}
+			final BufferedSource source = Okio.buffer(Okio.source(stream));
+			final long length = to - from + 1;
+			return new Response.Builder()
+				.request(request)
+				.protocol(Protocol.HTTP_1_1)
+				.code(206)
+				.header("Content-Range", "bytes " + from + "-" + to + "/" + body.length)
+				.header("ETag", "1")
+				.body(new ResponseBody() {
+					@Override
+					public MediaType contentType() {
+						return MediaType.parse("application/octet-stream");
+					}
+					@Override
+					public long contentLength() {
+						return length;
+					}
+					@Override
+					public BufferedSource source() {
+						return source;
+					}
+				})
+				.build();
+		});
+		KiiObjectBodyResource resource = new KiiAppResource("APP_ID", "APP_KEY", "https://api.kii.com/api", null, new KiiRestContext().setHttpClient(client))
+			.buckets("bucket").objects("OBJECT_ID").body();
+		File file = File.createTempFile("body", ".bin");
+		file.deleteOnExit();
+
+		final AtomicReference<Exception> failure = new AtomicReference<Exception>();
+		Thread downloader = new Thread(() -> {
+			try {
+				resource.downloadParallel(file, 1000, 1);
+			} catch (Exception e) {
+				failure.set(e);
+			}
+		});
+		downloader.start();
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		downloader.interrupt();
+		// waits for the lane that is writing, before the file is closed
+		downloader.join(200);
+		assertTrue(downloader.isAlive());
+		release.countDown();
+		downloader.join(5000);
+		assertFalse(downloader.isAlive());
+		assertTrue(written.get());
+		assertTrue(failure.get() instanceof KiiRestException);
+	}
 	private byte[] createObjectBody(int length) {
 		byte[] body = new byte[length];
 		for (int i = 0; i < body.length; i++) {
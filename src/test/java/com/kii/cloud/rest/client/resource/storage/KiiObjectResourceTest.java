@@ -2,6 +2,12 @@ package com.kii.cloud.rest.client.resource.storage;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -10,6 +16,8 @@ import com.kii.cloud.rest.client.KiiRest;
 import com.kii.cloud.rest.client.SkipAcceptableTestRunner;
 import com.kii.cloud.rest.client.TestApp;
 import com.kii.cloud.rest.client.TestEnvironments;
+import com.kii.cloud.rest.client.exception.KiiNotFoundException;
+import com.kii.cloud.rest.client.model.storage.KiiBulkResult;
 import com.kii.cloud.rest.client.model.storage.KiiGroup;
 import com.kii.cloud.rest.client.model.storage.KiiNormalUser;
 import com.kii.cloud.rest.client.model.storage.KiiObject;
@@ -59,6 +67,49 @@ public class KiiObjectResourceTest {
 		rest.api().buckets(appBucketName).objects(object4).delete();
 	}
 	@Test
+	public void asyncTest() throws Exception {
+		TestApp testApp = TestEnvironments.random();
+		KiiRest rest = new KiiRest(testApp.getAppID(), testApp.getAppKey(), testApp.getSite());
+		
+		KiiNormalUser user = new KiiNormalUser().setUsername("test-" + System.currentTimeMillis());
+		user = rest.api().users().registerAsync(user, "password").get();
+		rest.setCredentials(user);
+		
+		String appBucketName = "app_bucket" + System.currentTimeMillis();
+		
+		// creating objects concurrently
+		List<CompletableFuture<KiiObject>> futures = new ArrayList<CompletableFuture<KiiObject>>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(rest.api().buckets(appBucketName).objects().saveAsync(new KiiObject().set("score", i)));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get();
+		KiiObject object1 = futures.get(0).get();
+		
+		// check object
+		assertTrue(rest.api().buckets(appBucketName).objects(object1).existsAsync().get());
+		
+		// updating and getting object
+		object1.set("score", 200);
+		KiiObject object2 = rest.api().buckets(appBucketName).objects(object1).updateAsync(object1)
+				.thenCompose(updated -> rest.api().buckets(appBucketName).objects(updated).getAsync())
+				.get();
+		assertEquals(200, object2.getInt("score"));
+		
+		// counting objects
+		assertEquals(5, (int)rest.api().buckets(appBucketName).countAsync().get());
+		
+		// deleting object
+		rest.api().buckets(appBucketName).objects(object2).deleteAsync().get();
+		
+		// getting deleted object
+		try {
+			rest.api().buckets(appBucketName).objects(object2).getAsync().get();
+			fail("KiiNotFoundException must be thrown");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof KiiNotFoundException);
+		}
+	}
+	@Test
 	public void groupScopeTest() throws Exception {
 		TestApp testApp = TestEnvironments.random();
 		KiiRest rest = new KiiRest(testApp.getAppID(), testApp.getAppKey(), testApp.getSite());
@@ -197,4 +248,46 @@ public class KiiObjectResourceTest {
 		// deleting object
 		rest.api().things(thing).buckets(thingBucketName).objects(object4).delete();
 	}
+	@Test
+	public void bulkTest() throws Exception {
+		TestApp testApp = TestEnvironments.random();
+		KiiRest rest = new KiiRest(testApp.getAppID(), testApp.getAppKey(), testApp.getSite());
+		
+		KiiNormalUser user = new KiiNormalUser().setUsername("test-" + System.currentTimeMillis());
+		user = rest.api().users().register(user, "password");
+		rest.setCredentials(user);
+		
+		String appBucketName = "app_bucket" + System.currentTimeMillis();
+		
+		// saving objects
+		List<KiiObject> objects = new ArrayList<KiiObject>();
+		for (int i = 0; i < 20; i++) {
+			objects.add(new KiiObject().set("score", i));
+		}
+		KiiBulkResult<KiiObject> saveResult = rest.api().buckets(appBucketName).objects().saveAll(objects, 4);
+		assertTrue(saveResult.isAllSucceeded());
+		assertEquals(20, saveResult.getSucceededCount());
+		assertTrue(saveResult.getThroughput() > 0);
+		
+		// partial updating objects, the object without ID is failed
+		List<KiiObject> updates = new ArrayList<KiiObject>();
+		List<String> objectIDs = new ArrayList<String>();
+		for (KiiObject object : objects) {
+			updates.add(new KiiObject().setObjectID(object.getObjectID()).set("level", 1));
+			objectIDs.add(object.getObjectID());
+		}
+		updates.add(new KiiObject().set("level", 1));
+		KiiBulkResult<KiiObject> updateResult = rest.api().buckets(appBucketName).objects().partialUpdateAll(updates, 4);
+		assertEquals(20, updateResult.getSucceededCount());
+		assertEquals(1, updateResult.getFailedCount());
+		assertEquals(1, rest.api().buckets(appBucketName).objects(objects.get(0)).get().getInt("level"));
+		
+		// deleting objects, the missing object is failed
+		objectIDs.add("missing-object");
+		KiiBulkResult<String> deleteResult = rest.api().buckets(appBucketName).objects().deleteAll(objectIDs, 4);
+		assertEquals(20, deleteResult.getSucceededCount());
+		assertEquals(1, deleteResult.getFailedCount());
+		assertEquals("missing-object", deleteResult.getFailed().get(0).getItem());
+		assertTrue(deleteResult.getFailed().get(0).getException() instanceof KiiNotFoundException);
+	}
 }